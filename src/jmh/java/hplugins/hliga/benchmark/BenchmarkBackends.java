@@ -0,0 +1,115 @@
+package hplugins.hliga.benchmark;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import hplugins.hliga.Main;
+import hplugins.hliga.TestFixtures;
+import hplugins.hliga.database.adapters.DatabaseAdapter;
+import hplugins.hliga.database.adapters.MySQLAdapter;
+import hplugins.hliga.database.adapters.RedisAdapter;
+import hplugins.hliga.database.adapters.SQLiteAdapter;
+import org.bukkit.configuration.file.YamlConfiguration;
+import redis.embedded.RedisServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Cria os adaptadores usados nos benchmarks sem depender de um servidor Bukkit
+ *
+ * SQLite usa um arquivo temporário, MySQL é simulado pelo H2 em modo MySQL e o Redis
+ * é um servidor embutido em uma porta livre, para que os números sejam reproduzíveis.
+ */
+public final class BenchmarkBackends implements AutoCloseable {
+
+    private final File dataFolder;
+    private final Main plugin;
+    private final DatabaseAdapter adapter;
+    private HikariDataSource dataSource;
+    private RedisServer redisServer;
+
+    public BenchmarkBackends(String backend) throws IOException {
+        this.dataFolder = Files.createTempDirectory("hliga-bench").toFile();
+
+        YamlConfiguration config = new YamlConfiguration();
+        this.plugin = TestFixtures.mockPlugin(config);
+        when(plugin.getDataFolder()).thenReturn(dataFolder);
+
+        switch (backend) {
+            case "sqlite":
+                adapter = new SQLiteAdapter(plugin);
+                break;
+            case "mysql":
+                HikariConfig hikari = new HikariConfig();
+                hikari.setJdbcUrl("jdbc:h2:mem:hliga" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+                hikari.setMaximumPoolSize(8);
+                dataSource = new HikariDataSource(hikari);
+                adapter = new MySQLAdapter(plugin, dataSource);
+                break;
+            case "redis":
+                int port = TestFixtures.freePort();
+                redisServer = new RedisServer(port);
+                redisServer.start();
+                config.set("database.redis.host", "localhost");
+                config.set("database.redis.port", port);
+                config.set("database.redis.poolSize", 16);
+                adapter = new RedisAdapter(plugin);
+                break;
+            default:
+                throw new IllegalArgumentException("Backend desconhecido: " + backend);
+        }
+
+        if (!adapter.initialize()) {
+            close();
+            throw new IllegalStateException("Falha ao inicializar o backend " + backend);
+        }
+    }
+
+    public DatabaseAdapter getAdapter() {
+        return adapter;
+    }
+
+    /**
+     * Executa um comando SQL direto no banco do benchmark, fora do adaptador
+     * Só existe para os backends SQL (sqlite e mysql)
+     */
+    public void execute(String sql) throws SQLException {
+        if (dataSource != null) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute(sql);
+            }
+            return;
+        }
+        if (!(adapter instanceof SQLiteAdapter)) {
+            throw new IllegalStateException("Comandos SQL exigem um backend SQL, não " + adapter.getClass().getSimpleName());
+        }
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + new File(dataFolder, "database.db").getAbsolutePath());
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        adapter.shutdown();
+        if (dataSource != null) {
+            dataSource.close();
+        }
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+        try (Stream<File> files = Files.walk(dataFolder.toPath()).map(java.nio.file.Path::toFile)) {
+            files.sorted(Comparator.reverseOrder()).forEach(File::delete);
+        }
+    }
+}
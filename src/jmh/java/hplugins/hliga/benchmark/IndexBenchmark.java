@@ -0,0 +1,126 @@
+package hplugins.hliga.benchmark;
+
+import hplugins.hliga.database.adapters.BulkDataAdapter;
+import hplugins.hliga.database.adapters.DatabaseAdapter;
+import hplugins.hliga.database.adapters.TransferTable;
+import hplugins.hliga.models.ClanPoints;
+import hplugins.hliga.models.PlayerTag;
+import hplugins.hliga.models.TagType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara as consultas de tags e do ranking com e sem os índices da migração 1
+ *
+ * Com {@code indexed=false} os índices são removidos depois da carga, reproduzindo o esquema antigo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IndexBenchmark {
+
+    private static final int CHUNK = 1000;
+
+    // Apenas backends SQL: os índices são removidos com SQL direto (BenchmarkBackends.execute)
+    @Param({"sqlite", "mysql"})
+    public String backend;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    @Param({"5000"})
+    public int players;
+
+    @Param({"10000"})
+    public int clans;
+
+    private BenchmarkBackends backends;
+    private DatabaseAdapter adapter;
+    private UUID[] playerIds;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        backends = new BenchmarkBackends(backend);
+        adapter = backends.getAdapter();
+        BulkDataAdapter bulk = (BulkDataAdapter) adapter;
+
+        List<Object[]> rows = new ArrayList<>(CHUNK);
+        for (int i = 0; i < clans; i++) {
+            rows.add(new Object[]{"clan" + i, i * 7 % 50000});
+            if (rows.size() == CHUNK) {
+                bulk.writeChunk(TransferTable.CLAN_POINTS, rows);
+                rows.clear();
+            }
+        }
+        bulk.writeChunk(TransferTable.CLAN_POINTS, rows);
+        rows.clear();
+
+        // Uma tag de ranking e três de temporada por jogador, metade das de temporada inativas
+        long now = System.currentTimeMillis();
+        playerIds = new UUID[players];
+        for (int i = 0; i < players; i++) {
+            playerIds[i] = UUID.randomUUID();
+            String uuid = playerIds[i].toString();
+            rows.add(new Object[]{uuid, TagType.RANKING.name(), i % 10 + 1, 0, "&6[Top]", "top", now - i, true});
+            for (int season = 1; season <= 3; season++) {
+                rows.add(new Object[]{uuid, TagType.SEASON.name(), i % 5 + 1, season, "&e[T]", "season",
+                        now - season * 1000L - i, season % 2 == 1});
+            }
+            if (rows.size() >= CHUNK) {
+                bulk.writeChunk(TransferTable.PLAYER_TAGS, rows);
+                rows.clear();
+            }
+        }
+        bulk.writeChunk(TransferTable.PLAYER_TAGS, rows);
+
+        if (!indexed) {
+            backends.execute("DROP INDEX IF EXISTS idx_player_tags_lookup");
+            backends.execute("DROP INDEX IF EXISTS idx_player_tags_type");
+            backends.execute("DROP INDEX IF EXISTS idx_clan_points_points");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        backends.close();
+    }
+
+    @Benchmark
+    public List<PlayerTag> getPlayerTags() {
+        return adapter.getPlayerTags(randomPlayer());
+    }
+
+    @Benchmark
+    public Optional<PlayerTag> getActivePlayerTag() {
+        return adapter.getActivePlayerTag(randomPlayer(), TagType.SEASON);
+    }
+
+    @Benchmark
+    public List<PlayerTag> getTagsByType() {
+        return adapter.getTagsByType(TagType.RANKING);
+    }
+
+    @Benchmark
+    public List<ClanPoints> getTopClans10() {
+        return adapter.getTopClans(10);
+    }
+
+    private UUID randomPlayer() {
+        return playerIds[ThreadLocalRandom.current().nextInt(playerIds.length)];
+    }
+}
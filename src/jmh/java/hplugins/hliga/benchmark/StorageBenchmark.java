@@ -0,0 +1,108 @@
+package hplugins.hliga.benchmark;
+
+import hplugins.hliga.database.adapters.DatabaseAdapter;
+import hplugins.hliga.models.ClanPoints;
+import hplugins.hliga.models.PlayerTag;
+import hplugins.hliga.models.TagType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks dos caminhos mais usados dos adaptadores de banco de dados
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StorageBenchmark {
+
+    /** Clãs disputados no benchmark de concorrência */
+    private static final int HOT_CLANS = 4;
+    private static final int PLAYERS = 200;
+
+    @Param({"sqlite", "mysql", "redis"})
+    public String backend;
+
+    @Param({"1000"})
+    public int clans;
+
+    private BenchmarkBackends backends;
+    private DatabaseAdapter adapter;
+    private UUID[] players;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        backends = new BenchmarkBackends(backend);
+        adapter = backends.getAdapter();
+
+        for (int i = 0; i < clans; i++) {
+            adapter.setClanPoints(clanTag(i), i * 7 % 5000);
+        }
+
+        players = new UUID[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = UUID.randomUUID();
+            adapter.savePlayerTag(new PlayerTag(players[i], i % 10 + 1, "&6[Top " + (i % 10 + 1) + "]", "top" + (i % 10 + 1)));
+            adapter.savePlayerTag(new PlayerTag(players[i], 1, i % 5 + 1, "&e[T" + (i % 5 + 1) + "]", "season" + (i % 5 + 1)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        backends.close();
+    }
+
+    @Benchmark
+    public List<ClanPoints> getTopClans10() {
+        return adapter.getTopClans(10);
+    }
+
+    @Benchmark
+    public List<ClanPoints> getTopClans100() {
+        return adapter.getTopClans(100);
+    }
+
+    @Benchmark
+    public List<ClanPoints> getTopClansAll() {
+        return adapter.getTopClans(clans);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean addClanPointsContended() {
+        return adapter.addClanPoints(clanTag(ThreadLocalRandom.current().nextInt(HOT_CLANS)), 1);
+    }
+
+    @Benchmark
+    public List<PlayerTag> getPlayerTags() {
+        return adapter.getPlayerTags(randomPlayer());
+    }
+
+    @Benchmark
+    public Optional<PlayerTag> getActivePlayerTag() {
+        return adapter.getActivePlayerTag(randomPlayer(), TagType.RANKING);
+    }
+
+    private UUID randomPlayer() {
+        return players[ThreadLocalRandom.current().nextInt(players.length)];
+    }
+
+    private static String clanTag(int index) {
+        return "clan" + index;
+    }
+}
@@ -0,0 +1,60 @@
+package hplugins.hliga.hooks;
+
+import hplugins.hliga.models.ClanPoints;
+import hplugins.hliga.models.Season;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks da resolução de placeholders a partir do snapshot e do custo de montá-lo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlaceholderSnapshotBenchmark {
+
+    @Param({"1000", "10000"})
+    public int clans;
+
+    private List<ClanPoints> ranking;
+    private PlaceholderSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ranking = new ArrayList<>(clans);
+        for (int i = 0; i < clans; i++) {
+            ranking.add(new ClanPoints("clan" + i, clans - i));
+        }
+        snapshot = new PlaceholderSnapshot(ranking, new Season(), 1L, 1L);
+    }
+
+    /** Equivalente a %hliga_top_N% */
+    @Benchmark
+    public ClanPoints resolveTopPosition() {
+        return snapshot.getAt(ThreadLocalRandom.current().nextInt(10) + 1);
+    }
+
+    /** Equivalente a %hliga_clan_points% e à posição do clã do jogador */
+    @Benchmark
+    public int resolveClanPosition() {
+        String clanTag = "clan" + ThreadLocalRandom.current().nextInt(clans);
+        return snapshot.getPosition(clanTag) + snapshot.getPoints(clanTag);
+    }
+
+    @Benchmark
+    public PlaceholderSnapshot rebuildSnapshot() {
+        return new PlaceholderSnapshot(ranking, null, 2L, 1L);
+    }
+}
@@ -0,0 +1,72 @@
+package hplugins.hliga.managers;
+
+import hplugins.hliga.models.ClanPoints;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks do índice de ranking em memória
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RankingIndexBenchmark {
+
+    @Param({"1000", "10000"})
+    public int clans;
+
+    private RankingIndex index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<ClanPoints> ranking = new ArrayList<>(clans);
+        for (int i = 0; i < clans; i++) {
+            ranking.add(new ClanPoints("clan" + i, i * 7 % 5000));
+        }
+        index = new RankingIndex();
+        index.load(ranking);
+    }
+
+    @Benchmark
+    public List<ClanPoints> getTop10() {
+        return index.getTop(10);
+    }
+
+    @Benchmark
+    public List<ClanPoints> getTop100() {
+        return index.getTop(100);
+    }
+
+    @Benchmark
+    public List<ClanPoints> getTopAll() {
+        return index.getTop(clans);
+    }
+
+    @Benchmark
+    public int getPosition() {
+        return index.getPosition(randomClan());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public int addContended() {
+        return index.add(randomClan(), 1);
+    }
+
+    private String randomClan() {
+        return "clan" + ThreadLocalRandom.current().nextInt(clans);
+    }
+}
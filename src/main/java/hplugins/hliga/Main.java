@@ -102,7 +102,8 @@ public final class Main extends JavaPlugin {
         this.inventoryManager = new InventoryManager(this);
         this.npcManager = new NPCManager(this);
         this.tagManager = new TagManager(this);
-        this.nametagManager = null;
+        this.nametagManager = tagManager.getTagsConfig() != null && tagManager.getTagsConfig().getBoolean("nametag.ativado", false)
+                ? new NametagManager(this) : null;
         this.api = new HLigaAPI(this);
 
         Bukkit.getScheduler().runTaskLater(this, () -> {
@@ -171,9 +172,11 @@ public final class Main extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        if (pointsManager != null) {pointsManager.shutdown();}
         if (databaseManager != null) {databaseManager.shutdown();}
         if (inventoryManager != null) {inventoryManager.clearAll();}
         if (nametagManager != null) {nametagManager.disable();}
+        if (ligaManager != null) {ligaManager.shutdown();}
 
 
         if (npcManager != null) {
@@ -239,7 +242,20 @@ public final class Main extends JavaPlugin {
 
     public void reload() {
         configManager.loadConfigs();
+        if (inventoryManager != null) {
+            inventoryManager.getMenuSnapshots().invalidate();
+        }
+        if (pointsManager != null) {
+            pointsManager.flushPendingPoints();
+        }
         databaseManager.reconnect();
+        if (pointsManager != null) {
+            pointsManager.reloadRanking();
+            pointsManager.updateReconciliation();
+        }
+        if (seasonManager != null) {
+            seasonManager.refreshActiveSeason();
+        }
         if (ligaManager != null && ligaManager.getDiscordWebhook() != null) {
             ligaManager.getDiscordWebhook().reloadDiscordConfig();
         }
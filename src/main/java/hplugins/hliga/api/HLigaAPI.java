@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * API principal do hLiga para integração com outros plugins
@@ -87,13 +88,29 @@ public class HLigaAPI {
     
     /**
      * Define os pontos de um clã
+     * A gravação no banco de dados é assíncrona; use {@link #setClanPointsAsync(String, int, String)}
+     * para saber quando ela termina.
      * 
      * @param clanTag Tag do clã
      * @param points Pontos a serem definidos
      * @param reason Motivo da alteração (opcional)
-     * @return true se a operação foi bem-sucedida
+     * @return true se a alteração foi aceita, false se o evento foi cancelado ou a gravação já falhou
      */
     public boolean setClanPoints(String clanTag, int points, String reason) {
+        CompletableFuture<Boolean> write = setClanPointsAsync(clanTag, points, reason);
+        return !write.isDone() || write.getNow(false);
+    }
+    
+    /**
+     * Define os pontos de um clã e informa quando a alteração foi gravada
+     * O evento {@link HLigaClanPointsChangedEvent} é disparado na thread principal depois da gravação bem-sucedida.
+     * 
+     * @param clanTag Tag do clã
+     * @param points Pontos a serem definidos
+     * @param reason Motivo da alteração (opcional)
+     * @return Futuro com true se os pontos foram gravados no banco de dados
+     */
+    public CompletableFuture<Boolean> setClanPointsAsync(String clanTag, int points, String reason) {
 
         HLigaClanPointsChangeEvent event = new HLigaClanPointsChangeEvent(
             clanTag, getClanPoints(clanTag), points, reason, HLigaClanPointsChangeEvent.ChangeType.SET
@@ -101,20 +118,20 @@ public class HLigaAPI {
         Bukkit.getPluginManager().callEvent(event);
         
         if (event.isCancelled()) {
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
         
-        boolean success = plugin.getPointsManager().setClanPoints(clanTag, event.getNewPoints());
-        
-        
-        if (success) {
-            HLigaClanPointsChangedEvent postEvent = new HLigaClanPointsChangedEvent(
-                clanTag, event.getOldPoints(), event.getNewPoints(), reason, HLigaClanPointsChangeEvent.ChangeType.SET
-            );
-            Bukkit.getPluginManager().callEvent(postEvent);
-        }
+        CompletableFuture<Boolean> write = plugin.getPointsManager().setClanPoints(clanTag, event.getNewPoints());
+        write.thenAcceptAsync(success -> {
+            if (success) {
+                HLigaClanPointsChangedEvent postEvent = new HLigaClanPointsChangedEvent(
+                    clanTag, event.getOldPoints(), event.getNewPoints(), reason, HLigaClanPointsChangeEvent.ChangeType.SET
+                );
+                Bukkit.getPluginManager().callEvent(postEvent);
+            }
+        }, plugin.getDatabaseManager().getAsync().mainThread());
         
-        return success;
+        return write;
     }
     
     /**
@@ -443,6 +460,8 @@ public class HLigaAPI {
     
     /**
      * Obtém as tags de um jogador
+     * Jogadores online vêm do cache; os demais são consultados no banco de dados na thread atual,
+     * então evite chamar para jogadores offline na thread principal.
      * 
      * @param playerId UUID do jogador
      * @return Lista de tags do jogador
@@ -298,7 +298,7 @@ public class TemporadaCommand implements CommandExecutor, TabCompleter {
         }
 
         // Isso impede que múltiplos comandos simultâneos fechem a mesma temporada
-        Season freshSeason = plugin.getDatabaseManager().getAdapter().getActiveSeason().orElse(null);
+        Season freshSeason = plugin.getSeasonManager().getCurrentSeason();
         if (freshSeason == null || !freshSeason.active) {
             sender.sendMessage(messages.getMessage("temporada.nao_ativa"));
             return true;
@@ -343,7 +343,7 @@ public class TemporadaCommand implements CommandExecutor, TabCompleter {
         }
 
         // Isso impede que múltiplos comandos simultâneos fechem a mesma temporada
-        Season freshSeason = plugin.getDatabaseManager().getAdapter().getActiveSeason().orElse(null);
+        Season freshSeason = plugin.getSeasonManager().getCurrentSeason();
         if (freshSeason == null || !freshSeason.active) {
             sender.sendMessage(messages.getMessage("temporada.nao_ativa"));
             return true;
@@ -355,8 +355,8 @@ public class TemporadaCommand implements CommandExecutor, TabCompleter {
 
         if (success) {
 
-            List<hplugins.hliga.models.ClanPoints> topClans = plugin.getDatabaseManager().getAdapter()
-                    .getTopClans(plugin.getConfigManager().getTopsConfig().getInt("top.quantidade", 5));
+            List<hplugins.hliga.models.ClanPoints> topClans = plugin.getPointsManager().getRankingIndex()
+                    .getTop(plugin.getConfigManager().getTopsConfig().getInt("top.quantidade", 5));
 
             String clanVencedor = "Nenhum";
             int pontosVencedor = 0;
@@ -380,7 +380,11 @@ public class TemporadaCommand implements CommandExecutor, TabCompleter {
 
 
             if (plugin.getConfigManager().getConfig().getBoolean("temporada.resetar_pontos", true)) {
-                plugin.getPointsManager().resetAllPoints();
+                plugin.getDatabaseManager().getAsync().sync(plugin.getPointsManager().resetAllPoints(), success -> {
+                    if (!success) {
+                        sender.sendMessage(messages.getMessage("geral.erro_interno"));
+                    }
+                });
             }
         } else {
             sender.sendMessage(messages.getMessage("geral.erro_interno"));
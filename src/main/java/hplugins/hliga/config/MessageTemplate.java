@@ -0,0 +1,117 @@
+package hplugins.hliga.config;
+
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mensagem já interpretada: trechos fixos com as cores traduzidas e as posições dos placeholders
+ *
+ * Montar a mensagem é uma única passagem por um {@link StringBuilder}, sem regex nem substituições repetidas.
+ * Placeholders sem valor informado continuam no texto como estão. Imutável.
+ */
+public final class MessageTemplate {
+
+    /** Trechos fixos: literals[i] vem antes de placeholders[i]; o último trecho fecha a mensagem */
+    private final String[] literals;
+    /** Placeholders com as chaves, ex: {clan} */
+    private final String[] placeholders;
+    /** Mensagem sem substituições, com as cores traduzidas */
+    private final String text;
+
+    private MessageTemplate(String[] literals, String[] placeholders, String text) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+        this.text = text;
+    }
+
+    /**
+     * Interpreta uma mensagem com placeholders no formato {nome} e códigos de cor com &
+     *
+     * @param message Mensagem original
+     * @return Template da mensagem
+     */
+    public static MessageTemplate compile(String message) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+
+        int literalStart = 0;
+        int open = message.indexOf('{');
+        while (open >= 0) {
+            int close = message.indexOf('}', open + 1);
+            if (close < 0) {
+                break;
+            }
+            if (close == open + 1) {
+                open = message.indexOf('{', close);
+                continue;
+            }
+
+            literals.add(translate(message.substring(literalStart, open)));
+            placeholders.add(message.substring(open, close + 1));
+            literalStart = close + 1;
+            open = message.indexOf('{', literalStart);
+        }
+        literals.add(translate(message.substring(literalStart)));
+
+        return new MessageTemplate(literals.toArray(new String[0]), placeholders.toArray(new String[0]),
+                translate(message));
+    }
+
+    /**
+     * Obtém a mensagem sem substituições
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Verifica se a mensagem usa algum placeholder
+     */
+    public boolean hasPlaceholders() {
+        return placeholders.length > 0;
+    }
+
+    /**
+     * Monta a mensagem substituindo os placeholders
+     * Códigos de cor com & nos valores também são traduzidos.
+     *
+     * @param values Pares placeholder/valor (formato: chave1, valor1, chave2, valor2...)
+     * @return Mensagem montada
+     */
+    public String render(String... values) {
+        if (placeholders.length == 0 || values == null || values.length < 2) {
+            return text;
+        }
+
+        StringBuilder builder = new StringBuilder(text.length() + 16 * placeholders.length);
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(literals[i]);
+
+            String value = find(placeholders[i], values);
+            builder.append(value != null ? value : placeholders[i]);
+        }
+        builder.append(literals[placeholders.length]);
+        return builder.toString();
+    }
+
+    private static String find(String placeholder, String[] values) {
+        for (int i = 0; i + 1 < values.length; i += 2) {
+            if (placeholder.equals(values[i])) {
+                String value = values[i + 1];
+                return value != null && value.indexOf('&') >= 0 ? translate(value) : value;
+            }
+        }
+        return null;
+    }
+
+    private static String translate(String message) {
+        return ChatColor.translateAlternateColorCodes('&', message);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -1,16 +1,24 @@
 package hplugins.hliga.config;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.bukkit.ChatColor;
 import org.bukkit.configuration.file.FileConfiguration;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Classe para gerenciar mensagens localizadas
+ *
+ * As mensagens são interpretadas uma vez ao carregar (ou recarregar) o messages.yml em {@link MessageTemplate}s,
+ * então obter uma mensagem não percorre a configuração nem faz substituições encadeadas.
  */
 @Getter
 public class Messages {
@@ -23,8 +31,58 @@ public class Messages {
      */
     private final FileConfiguration config;
     private final Pattern placeholderPattern = Pattern.compile("\\{([^}]+)\\}");
+    /** Caminho → mensagem interpretada */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, MessageTemplate> templates = new ConcurrentHashMap<>();
+    /** Caminho → linhas interpretadas */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, List<MessageTemplate>> listTemplates = new HashMap<>();
+
     public Messages(FileConfiguration config) {
         this.config = config;
+        compileAll();
+    }
+
+    /**
+     * Interpreta todas as mensagens e listas de mensagens do arquivo
+     */
+    private void compileAll() {
+        for (String path : config.getKeys(true)) {
+            if (config.isConfigurationSection(path)) {
+                continue;
+            }
+
+            String message = config.getString(path);
+            if (message != null) {
+                templates.put(path, MessageTemplate.compile(message));
+            }
+            if (config.isList(path)) {
+                List<MessageTemplate> lines = new ArrayList<>();
+                for (String line : config.getStringList(path)) {
+                    lines.add(MessageTemplate.compile(line));
+                }
+                listTemplates.put(path, Collections.unmodifiableList(lines));
+            }
+        }
+    }
+
+    /**
+     * Obtém a mensagem interpretada de um caminho
+     *
+     * @param path Caminho da mensagem
+     * @return Template ou null se o caminho não for uma mensagem
+     */
+    public MessageTemplate getTemplate(String path) {
+        MessageTemplate template = templates.get(path);
+        if (template == null) {
+            // Mensagens que só existem nos valores padrão não aparecem em getKeys
+            String message = config.getString(path);
+            if (message != null) {
+                template = MessageTemplate.compile(message);
+                templates.put(path, template);
+            }
+        }
+        return template;
     }
     
     /**
@@ -44,9 +102,9 @@ public class Messages {
      * @return Mensagem formatada ou o caminho se não encontrada
      */
     public String getMessage(String path) {
-        String message = config.getString(path);
+        MessageTemplate template = getTemplate(path);
         
-        if (message == null) {
+        if (template == null) {
             
             System.out.println("[hLiga Debug] Mensagem não encontrada: " + path);
             
@@ -66,7 +124,7 @@ public class Messages {
             }
         }
         
-        return ChatColor.translateAlternateColorCodes('&', message);
+        return template.getText();
     }
     
     /**
@@ -77,44 +135,46 @@ public class Messages {
      * @return Mensagem formatada com placeholders substituídos
      */
     public String getMessage(String path, String... placeholders) {
-        String message = config.getString(path);
-        
-        if (message == null) {
+        MessageTemplate template = getTemplate(path);
+        boolean validPlaceholders = placeholders != null && placeholders.length > 0 && placeholders.length % 2 == 0;
+
+        if (template != null) {
+            if (!validPlaceholders) {
+                return template.getText();
+            }
+            return bracedPlaceholders(placeholders) ? template.render(placeholders)
+                    : replaceAll(config.getString(path), placeholders);
+        }
+
+        String message;
+        if (placeholders != null && placeholders.length == 1) {
+            message = placeholders[0]; 
+        } else {
+            
+            System.out.println("[hLiga Debug] Mensagem não encontrada: " + path);
+            
             
-            if (placeholders != null && placeholders.length == 1) {
-                message = placeholders[0]; 
+            if (path.contains(".titulo")) {
+                message = "&c&lTEMPORADA ENCERRADA";
+            } else if (path.contains(".subtitulo")) {
+                message = "&f&lParabéns aos vencedores!";
+            } else if (path.contains(".vencedor")) {
+                message = "&cNenhum vencedor";
+            } else if (path.contains(".sem_clan")) {
+                message = "&7Nenhum clã encontrado";
+            } else if (path.contains(".pontos")) {
+                message = "0";
+            } else if (path.contains("sem_temporada")) {
+                message = "&c[X] &fNenhuma temporada ativa.";
+            } else if (path.contains("tempo_finalizada")) {
+                message = "&c[X] &fTemporada já finalizada.";
             } else {
-                
-                System.out.println("[hLiga Debug] Mensagem não encontrada: " + path);
-                
-                
-                if (path.contains(".titulo")) {
-                    message = "&c&lTEMPORADA ENCERRADA";
-                } else if (path.contains(".subtitulo")) {
-                    message = "&f&lParabéns aos vencedores!";
-                } else if (path.contains(".vencedor")) {
-                    message = "&cNenhum vencedor";
-                } else if (path.contains(".sem_clan")) {
-                    message = "&7Nenhum clã encontrado";
-                } else if (path.contains(".pontos")) {
-                    message = "0";
-                } else if (path.contains("sem_temporada")) {
-                    message = "&c[X] &fNenhuma temporada ativa.";
-                } else if (path.contains("tempo_finalizada")) {
-                    message = "&c[X] &fTemporada já finalizada.";
-                } else {
-                    message = "&c[Mensagem não encontrada: " + path + "]";
-                }
+                message = "&c[Mensagem não encontrada: " + path + "]";
             }
         }
         
-        if (placeholders != null && placeholders.length > 0 && placeholders.length % 2 == 0) {
-            for (int i = 0; i < placeholders.length; i += 2) {
-                String placeholder = placeholders[i];
-                String value = placeholders[i + 1];
-                
-                message = message.replace(placeholder, value);
-            }
+        if (validPlaceholders) {
+            return replaceAll(message, placeholders);
         }
         
         return ChatColor.translateAlternateColorCodes('&', message);
@@ -137,16 +197,38 @@ public class Messages {
                 throw new IllegalArgumentException("Número de argumentos de placeholder deve ser par");
             }
             
-            for (int i = 0; i < placeholders.length; i += 2) {
-                String placeholder = placeholders[i];
-                String value = placeholders[i + 1];
-                
-                message = message.replace(placeholder, value);
+            if (!bracedPlaceholders(placeholders)) {
+                return replaceAll(message, placeholders);
             }
+            return MessageTemplate.compile(message).render(placeholders);
         }
         
         return ChatColor.translateAlternateColorCodes('&', message);
     }
+
+    /**
+     * Verifica se todos os placeholders estão no formato {nome}, o único reconhecido pelos templates
+     */
+    private static boolean bracedPlaceholders(String[] placeholders) {
+        for (int i = 0; i < placeholders.length; i += 2) {
+            String placeholder = placeholders[i];
+            if (placeholder == null || placeholder.length() < 3
+                    || placeholder.charAt(0) != '{' || placeholder.charAt(placeholder.length() - 1) != '}') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Substitui os placeholders um a um (usado para placeholders fora do formato {nome})
+     */
+    private static String replaceAll(String message, String[] placeholders) {
+        for (int i = 0; i < placeholders.length; i += 2) {
+            message = message.replace(placeholders[i], placeholders[i + 1]);
+        }
+        return ChatColor.translateAlternateColorCodes('&', message);
+    }
     
     /**
      * Verifica se uma mensagem contém um placeholder específico
@@ -207,14 +289,23 @@ public class Messages {
      * @return Lista de strings formatada com placeholders substituídos
      */
     public List<String> getStringList(String path, String... placeholders) {
-        List<String> messages = getStringList(path);
-        List<String> formattedMessages = new ArrayList<>();
-        
-        for (String message : messages) {
-            String formattedMessage = formatMessage(message, placeholders);
-            formattedMessages.add(formattedMessage);
+        List<MessageTemplate> lines = listTemplates.get(path);
+        if (lines == null || (placeholders != null && placeholders.length > 0 && !bracedPlaceholders(placeholders))) {
+            List<String> formattedMessages = new ArrayList<>();
+            for (String message : getStringList(path)) {
+                formattedMessages.add(formatMessage(message, placeholders));
+            }
+            return formattedMessages;
+        }
+
+        if (placeholders != null && placeholders.length % 2 != 0) {
+            throw new IllegalArgumentException("Número de argumentos de placeholder deve ser par");
+        }
+
+        List<String> formattedMessages = new ArrayList<>(lines.size());
+        for (MessageTemplate line : lines) {
+            formattedMessages.add(line.render(placeholders));
         }
-        
         return formattedMessages;
     }
 
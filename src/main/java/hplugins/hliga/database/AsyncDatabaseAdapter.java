@@ -0,0 +1,274 @@
+package hplugins.hliga.database;
+
+import hplugins.hliga.Main;
+import hplugins.hliga.database.adapters.DatabaseAdapter;
+import hplugins.hliga.models.ClanPoints;
+import hplugins.hliga.models.PlayerTag;
+import hplugins.hliga.models.Season;
+import hplugins.hliga.models.TagType;
+import hplugins.hliga.utils.LogUtils;
+import org.bukkit.Bukkit;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Fachada assíncrona para o {@link DatabaseAdapter}
+ *
+ * Todas as operações são executadas em um executor próprio, limitado ao tamanho do pool de conexões,
+ * e retornam {@link CompletableFuture}. Use {@link #sync(CompletableFuture, Consumer)} para voltar à
+ * thread principal antes de acessar a API do Bukkit.
+ *
+ * Alterações de pontos passam por uma fila de escrita com uma única thread ({@link #write(Function)}),
+ * então são aplicadas no banco na mesma ordem em que foram enviadas.
+ */
+public class AsyncDatabaseAdapter {
+
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10L;
+
+    private final DatabaseManager databaseManager;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor writer;
+    private final Executor mainThread;
+
+    public AsyncDatabaseAdapter(Main plugin, DatabaseManager databaseManager, int threads) {
+        this.databaseManager = databaseManager;
+
+        int size = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(size, size, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(QUEUE_CAPACITY), new NamedThreadFactory("hLiga-DB-"));
+        this.executor.allowCoreThreadTimeOut(true);
+        this.writer = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(QUEUE_CAPACITY), new NamedThreadFactory("hLiga-DB-Escrita-"));
+        this.writer.allowCoreThreadTimeOut(true);
+
+        this.mainThread = task -> {
+            if (Bukkit.isPrimaryThread()) {
+                task.run();
+            } else if (plugin.isEnabled()) {
+                Bukkit.getScheduler().runTask(plugin, task);
+            }
+        };
+
+        LogUtils.debug("Executor assíncrono do banco de dados iniciado com " + size + " threads");
+    }
+
+    /**
+     * Executa uma operação no banco de dados fora da thread principal
+     *
+     * @param operation Operação a ser executada com o adaptador atual
+     * @return Futuro com o resultado da operação
+     */
+    public <T> CompletableFuture<T> supply(Function<DatabaseAdapter, T> operation) {
+        return submit(operation, executor);
+    }
+
+    /**
+     * Executa uma alteração na fila de escrita, depois de todas as alterações enviadas antes dela
+     * Leituras feitas por aqui enxergam o resultado das alterações anteriores.
+     *
+     * @param operation Operação a ser executada com o adaptador atual
+     * @return Futuro com o resultado da operação (concluído com erro se a fila estiver cheia)
+     */
+    public <T> CompletableFuture<T> write(Function<DatabaseAdapter, T> operation) {
+        return submit(operation, writer);
+    }
+
+    private <T> CompletableFuture<T> submit(Function<DatabaseAdapter, T> operation, Executor target) {
+        try {
+            return CompletableFuture.supplyAsync(() -> operation.apply(databaseManager.getAdapter()), target);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            LogUtils.warning("Fila do banco de dados cheia - operação descartada");
+            return failed;
+        }
+    }
+
+    /**
+     * Executa uma operação sem retorno no banco de dados fora da thread principal
+     *
+     * @param operation Operação a ser executada com o adaptador atual
+     * @return Futuro concluído ao término da operação
+     */
+    public CompletableFuture<Void> run(Consumer<DatabaseAdapter> operation) {
+        return supply(adapter -> {
+            operation.accept(adapter);
+            return null;
+        });
+    }
+
+    /**
+     * Entrega o resultado de um futuro na thread principal do servidor
+     * Erros são registrados no log e a ação não é executada
+     *
+     * @param future Futuro de origem
+     * @param action Ação executada na thread principal com o resultado
+     * @return Futuro concluído após a execução da ação
+     */
+    public <T> CompletableFuture<Void> sync(CompletableFuture<T> future, Consumer<T> action) {
+        return future.whenComplete((result, error) -> {
+            if (error != null) {
+                LogUtils.warning("Erro em operação assíncrona do banco de dados", error);
+            }
+        }).thenAcceptAsync(action, mainThread);
+    }
+
+    /**
+     * Obtém o executor que agenda tarefas na thread principal do servidor
+     *
+     * @return Executor da thread principal
+     */
+    public Executor mainThread() {
+        return mainThread;
+    }
+
+    /**
+     * Obtém a quantidade de operações aguardando execução
+     *
+     * @return Tamanho da fila do executor
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size() + writer.getQueue().size();
+    }
+
+    /**
+     * Finaliza o executor aguardando as operações pendentes
+     */
+    public void shutdown() {
+        writer.shutdown();
+        executor.shutdown();
+        try {
+            if (!writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LogUtils.warning("Alterações do banco de dados não finalizadas a tempo: " + writer.shutdownNow().size());
+            }
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LogUtils.warning("Operações do banco de dados não finalizadas a tempo: " + executor.shutdownNow().size());
+            }
+        } catch (InterruptedException e) {
+            writer.shutdownNow();
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // PONTOS
+
+    public CompletableFuture<Integer> getClanPoints(String clanTag) {
+        return supply(adapter -> adapter.getClanPoints(clanTag));
+    }
+
+    public CompletableFuture<Boolean> setClanPoints(String clanTag, int points) {
+        return write(adapter -> adapter.setClanPoints(clanTag, points));
+    }
+
+    public CompletableFuture<Integer> incrementAndGet(String clanTag, int points) {
+        return write(adapter -> adapter.incrementAndGet(clanTag, points));
+    }
+
+    public CompletableFuture<Integer> decrementIfAtLeast(String clanTag, int points) {
+        return write(adapter -> adapter.decrementIfAtLeast(clanTag, points));
+    }
+
+    public CompletableFuture<Boolean> resetAllPoints() {
+        return write(DatabaseAdapter::resetAllPoints);
+    }
+
+    public CompletableFuture<Boolean> resetAllClanPoints() {
+        return write(DatabaseAdapter::resetAllClanPoints);
+    }
+
+    public CompletableFuture<List<ClanPoints>> getTopClans(int limit) {
+        return supply(adapter -> adapter.getTopClans(limit));
+    }
+
+    public CompletableFuture<List<ClanPoints>> getAllClanPoints() {
+        return supply(DatabaseAdapter::getAllClanPoints);
+    }
+
+    public CompletableFuture<Boolean> applyPointDeltas(Map<String, Integer> deltas) {
+        return write(adapter -> adapter.applyPointDeltas(deltas));
+    }
+
+    // TEMPORADAS
+
+    public CompletableFuture<Boolean> saveSeason(Season season) {
+        return supply(adapter -> adapter.saveSeason(season));
+    }
+
+    public CompletableFuture<Optional<Season>> getSeason(int id) {
+        return supply(adapter -> adapter.getSeason(id));
+    }
+
+    public CompletableFuture<Optional<Season>> getActiveSeason() {
+        return supply(DatabaseAdapter::getActiveSeason);
+    }
+
+    public CompletableFuture<Boolean> endActiveSeason() {
+        return supply(DatabaseAdapter::endActiveSeason);
+    }
+
+    public CompletableFuture<List<Season>> getSeasonHistory() {
+        return supply(DatabaseAdapter::getSeasonHistory);
+    }
+
+    // TAGS
+
+    public CompletableFuture<Boolean> savePlayerTag(PlayerTag tag) {
+        return supply(adapter -> adapter.savePlayerTag(tag));
+    }
+
+    public CompletableFuture<List<PlayerTag>> getPlayerTags(UUID playerUuid) {
+        return supply(adapter -> adapter.getPlayerTags(playerUuid));
+    }
+
+    public CompletableFuture<List<PlayerTag>> getTagsByType(TagType tagType) {
+        return supply(adapter -> adapter.getTagsByType(tagType));
+    }
+
+    public CompletableFuture<Boolean> removeAllRankingTags() {
+        return supply(DatabaseAdapter::removeAllRankingTags);
+    }
+
+    public CompletableFuture<Boolean> replaceRankingTags(Collection<UUID> removedPlayers, List<PlayerTag> newTags) {
+        return supply(adapter -> adapter.replaceRankingTags(removedPlayers, newTags));
+    }
+
+    public CompletableFuture<Boolean> getPlayerTagPreference(UUID playerUuid) {
+        return supply(adapter -> adapter.getPlayerTagPreference(playerUuid));
+    }
+
+    public CompletableFuture<Void> savePlayerTagPreference(UUID playerUuid, boolean tagsEnabled) {
+        return run(adapter -> adapter.savePlayerTagPreference(playerUuid, tagsEnabled));
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+        private final String prefix;
+
+        private NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,405 @@
+package hplugins.hliga.database;
+
+import hplugins.hliga.database.adapters.DatabaseAdapter;
+import hplugins.hliga.database.adapters.RedisCacheAdapter;
+import hplugins.hliga.models.ClanPoints;
+import hplugins.hliga.models.PlayerTag;
+import hplugins.hliga.models.Season;
+import hplugins.hliga.models.TagType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptador com leitura em camadas: memória local, cache Redis e, por último, o banco primário
+ *
+ * Temporada ativa e tags dos jogadores são servidas das camadas de cache. Toda escrita é repassada ao
+ * banco primário e invalida as entradas afetadas nas duas camadas. A memória local usa um TTL curto
+ * para que alterações feitas por outros servidores apareçam logo.
+ *
+ * Pontos e ranking vão direto ao banco primário: as leituras frequentes do ranking já são servidas pelo
+ * índice em memória do {@link hplugins.hliga.managers.PointsManager}.
+ */
+public class CachedDatabaseAdapter implements DatabaseAdapter {
+
+    private static final class Entry<T> {
+        final T value;
+        final long expiresAt;
+
+        Entry(T value, long ttlMillis) {
+            this.value = value;
+            this.expiresAt = System.currentTimeMillis() + ttlMillis;
+        }
+
+        boolean isValid() {
+            return System.currentTimeMillis() < expiresAt;
+        }
+    }
+
+    private final DatabaseAdapter primary;
+    private final RedisCacheAdapter cache;
+    private final long localTtlMillis;
+
+    private volatile Entry<Optional<Season>> activeSeason;
+    private final Map<UUID, Entry<List<PlayerTag>>> playerTags = new ConcurrentHashMap<>();
+
+    private final AtomicLong seasonGeneration = new AtomicLong();
+    private final AtomicLong tagsGeneration = new AtomicLong();
+
+    private final AtomicLong localHits = new AtomicLong();
+    private final AtomicLong redisHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public CachedDatabaseAdapter(DatabaseAdapter primary, RedisCacheAdapter cache, long localTtlMillis) {
+        this.primary = primary;
+        this.cache = cache;
+        this.localTtlMillis = localTtlMillis;
+    }
+
+    /**
+     * Obtém o adaptador do banco primário
+     *
+     * @return Adaptador primário
+     */
+    public DatabaseAdapter getPrimary() {
+        return primary;
+    }
+
+    public long getLocalHits() {
+        return localHits.get();
+    }
+
+    public long getRedisHits() {
+        return redisHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Obtém as estatísticas de acerto do cache
+     */
+    public String getStats() {
+        long local = localHits.get();
+        long redis = redisHits.get();
+        long miss = misses.get();
+        long total = local + redis + miss;
+        double ratio = total > 0 ? (local + redis) * 100.0 / total : 0.0;
+        return String.format("Cache: %d acertos locais, %d acertos Redis, %d falhas (%.1f%% de acerto)",
+                local, redis, miss, ratio);
+    }
+
+    /**
+     * Descarta todo o conteúdo das camadas de cache
+     */
+    public void invalidateAll() {
+        invalidateSeason();
+        invalidateAllTags();
+    }
+
+    /**
+     * Descarta apenas a memória local, mantendo o cache Redis compartilhado
+     * Usado quando outro servidor avisa que alterou os dados
+     */
+    public void invalidateLocal() {
+        seasonGeneration.incrementAndGet();
+        tagsGeneration.incrementAndGet();
+        activeSeason = null;
+        playerTags.clear();
+    }
+
+    private boolean redisAvailable() {
+        return cache != null && cache.isAvailable();
+    }
+
+    // TEMPORADA
+
+    private Optional<Season> activeSeason() {
+        Entry<Optional<Season>> entry = activeSeason;
+        if (entry != null && entry.isValid()) {
+            localHits.incrementAndGet();
+            return entry.value;
+        }
+
+        long generation = seasonGeneration.get();
+        Optional<Season> loaded = Optional.empty();
+        boolean fromRedis = false;
+        if (redisAvailable()) {
+            loaded = cache.getCachedActiveSeason();
+            fromRedis = loaded.isPresent();
+        }
+
+        if (fromRedis) {
+            redisHits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            loaded = primary.getActiveSeason();
+            if (loaded.isPresent() && redisAvailable() && seasonGeneration.get() == generation) {
+                cache.cacheActiveSeason(loaded.get());
+            }
+        }
+
+        if (seasonGeneration.get() == generation) {
+            activeSeason = new Entry<>(loaded, localTtlMillis);
+        }
+        return loaded;
+    }
+
+    private void invalidateSeason() {
+        seasonGeneration.incrementAndGet();
+        activeSeason = null;
+        if (redisAvailable()) {
+            cache.invalidateActiveSeason();
+        }
+    }
+
+    // TAGS
+
+    private List<PlayerTag> playerTags(UUID playerUuid) {
+        Entry<List<PlayerTag>> entry = playerTags.get(playerUuid);
+        if (entry != null && entry.isValid()) {
+            localHits.incrementAndGet();
+            return entry.value;
+        }
+
+        long generation = tagsGeneration.get();
+        List<PlayerTag> loaded = null;
+        if (redisAvailable()) {
+            Optional<List<PlayerTag>> cached = cache.getCachedPlayerTags(playerUuid);
+            if (cached.isPresent()) {
+                redisHits.incrementAndGet();
+                loaded = cached.get();
+            }
+        }
+
+        if (loaded == null) {
+            misses.incrementAndGet();
+            loaded = primary.getPlayerTags(playerUuid);
+            if (redisAvailable() && tagsGeneration.get() == generation) {
+                cache.cachePlayerTags(playerUuid, loaded);
+            }
+        }
+
+        loaded = Collections.unmodifiableList(new ArrayList<>(loaded));
+        if (tagsGeneration.get() == generation) {
+            playerTags.put(playerUuid, new Entry<>(loaded, localTtlMillis));
+        }
+        return loaded;
+    }
+
+    private void invalidateTags(UUID playerUuid) {
+        tagsGeneration.incrementAndGet();
+        playerTags.remove(playerUuid);
+        if (redisAvailable()) {
+            cache.invalidatePlayerTags(playerUuid);
+        }
+    }
+
+    private void invalidateAllTags() {
+        tagsGeneration.incrementAndGet();
+        playerTags.clear();
+        if (redisAvailable()) {
+            cache.invalidateAllPlayerTags();
+        }
+    }
+
+    @Override
+    public boolean initialize() {
+        return primary.initialize();
+    }
+
+    @Override
+    public void shutdown() {
+        primary.shutdown();
+    }
+
+    @Override
+    public int getClanPoints(String clanTag) {
+        return primary.getClanPoints(clanTag);
+    }
+
+    @Override
+    public boolean setClanPoints(String clanTag, int points) {
+        return primary.setClanPoints(clanTag, points);
+    }
+
+    @Override
+    public boolean clanExists(String clanTag) {
+        return primary.clanExists(clanTag);
+    }
+
+    @Override
+    public boolean addClanPoints(String clanTag, int points) {
+        return primary.addClanPoints(clanTag, points);
+    }
+
+    @Override
+    public boolean removeClanPoints(String clanTag, int points) {
+        return primary.removeClanPoints(clanTag, points);
+    }
+
+    @Override
+    public int incrementAndGet(String clanTag, int points) {
+        return primary.incrementAndGet(clanTag, points);
+    }
+
+    @Override
+    public int decrementIfAtLeast(String clanTag, int points) {
+        return primary.decrementIfAtLeast(clanTag, points);
+    }
+
+    @Override
+    public boolean resetAllPoints() {
+        return primary.resetAllPoints();
+    }
+
+    @Override
+    public List<ClanPoints> getTopClans(int limit) {
+        return primary.getTopClans(limit);
+    }
+
+    @Override
+    public boolean saveSeason(Season season) {
+        boolean result = primary.saveSeason(season);
+        invalidateSeason();
+        return result;
+    }
+
+    @Override
+    public Optional<Season> getSeason(int id) {
+        return primary.getSeason(id);
+    }
+
+    @Override
+    public Optional<Season> getActiveSeason() {
+        return activeSeason();
+    }
+
+    @Override
+    public boolean setActiveSeason(int seasonId) {
+        boolean result = primary.setActiveSeason(seasonId);
+        invalidateSeason();
+        return result;
+    }
+
+    @Override
+    public boolean endActiveSeason() {
+        boolean result = primary.endActiveSeason();
+        invalidateSeason();
+        return result;
+    }
+
+    @Override
+    public List<Season> getSeasonHistory() {
+        return primary.getSeasonHistory();
+    }
+
+    @Override
+    public List<Season> getAllSeasons() {
+        return primary.getAllSeasons();
+    }
+
+    @Override
+    public List<ClanPoints> getAllClanPoints() {
+        return primary.getAllClanPoints();
+    }
+
+    @Override
+    public boolean saveClanPoints(String clanTag, int points) {
+        return primary.saveClanPoints(clanTag, points);
+    }
+
+    @Override
+    public boolean resetAllClanPoints() {
+        return primary.resetAllClanPoints();
+    }
+
+    @Override
+    public boolean applyPointDeltas(Map<String, Integer> deltas) {
+        return primary.applyPointDeltas(deltas);
+    }
+
+    @Override
+    public boolean savePlayerTag(PlayerTag tag) {
+        boolean result = primary.savePlayerTag(tag);
+        invalidateTags(tag.getPlayerUuid());
+        return result;
+    }
+
+    @Override
+    public List<PlayerTag> getPlayerTags(UUID playerUuid) {
+        return new ArrayList<>(playerTags(playerUuid));
+    }
+
+    @Override
+    public boolean clearAllRankingTags() {
+        boolean result = primary.clearAllRankingTags();
+        invalidateAllTags();
+        return result;
+    }
+
+    @Override
+    public boolean removePlayerTag(UUID playerUuid, String tagType, int position) {
+        boolean result = primary.removePlayerTag(playerUuid, tagType, position);
+        invalidateTags(playerUuid);
+        return result;
+    }
+
+    @Override
+    public Optional<PlayerTag> getActivePlayerTag(UUID playerUuid, TagType tagType) {
+        // getPlayerTags já retorna apenas tags ativas, da mais recente para a mais antiga
+        for (PlayerTag tag : playerTags(playerUuid)) {
+            if (tag.getTagType() == tagType) {
+                return Optional.of(tag);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<PlayerTag> getTagsByType(TagType tagType) {
+        return primary.getTagsByType(tagType);
+    }
+
+    @Override
+    public boolean removeAllRankingTags() {
+        boolean result = primary.removeAllRankingTags();
+        invalidateAllTags();
+        return result;
+    }
+
+    @Override
+    public boolean replaceRankingTags(Collection<UUID> removedPlayers, List<PlayerTag> newTags) {
+        boolean result = primary.replaceRankingTags(removedPlayers, newTags);
+        for (UUID playerUuid : removedPlayers) {
+            invalidateTags(playerUuid);
+        }
+        for (PlayerTag tag : newTags) {
+            invalidateTags(tag.getPlayerUuid());
+        }
+        return result;
+    }
+
+    @Override
+    public boolean hasAnySeasonTags() {
+        return primary.hasAnySeasonTags();
+    }
+
+    @Override
+    public void savePlayerTagPreference(UUID playerUuid, boolean tagsEnabled) {
+        primary.savePlayerTagPreference(playerUuid, tagsEnabled);
+    }
+
+    @Override
+    public boolean getPlayerTagPreference(UUID playerUuid) {
+        return primary.getPlayerTagPreference(playerUuid);
+    }
+}
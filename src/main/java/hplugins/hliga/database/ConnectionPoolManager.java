@@ -9,17 +9,20 @@ import org.bukkit.configuration.file.FileConfiguration;
 import javax.sql.DataSource;
 import java.io.File;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.logging.Level;
 
 /**
  * Gerenciador de pool de conexões para bancos de dados
- * Suporta MySQL e SQLite com pools otimizados
+ * Suporta MySQL (HikariCP) e SQLite (escritor único com leitores em modo WAL)
  */
 public class ConnectionPoolManager {
     
     private final Main plugin;
     private HikariDataSource dataSource;
+    private SQLiteConnectionPool sqlitePool;
     private String databaseType;
     
     public ConnectionPoolManager(Main plugin) {
@@ -34,18 +37,18 @@ public class ConnectionPoolManager {
         databaseType = config.getString("database.type", "sqlite").toLowerCase();
         
         try {
-            HikariConfig hikariConfig = new HikariConfig();
-            
             switch (databaseType) {
                 case "mysql":
-                    return initializeMySQL(hikariConfig, config);
+                case "mariadb":
+                    return initializeMySQL(new HikariConfig(), config);
                     
                 case "sqlite":
-                    return initializeSQLite(hikariConfig, config);
+                    return initializeSQLite(config);
                     
                 default:
-                    LogUtils.error("Tipo de banco de dados não suportado: " + databaseType);
-                    return false;
+                    // Mesmo comportamento do DatabaseManager: tipos desconhecidos usam SQLite
+                    LogUtils.warning("Tipo de banco de dados não suportado: " + databaseType + " - usando SQLite");
+                    return initializeSQLite(config);
             }
         } catch (Exception e) {
             LogUtils.error("Erro ao inicializar pool de conexões: " + e.getMessage());
@@ -85,7 +88,7 @@ public class ConnectionPoolManager {
             config.setPoolName("hLiga-MySQL-Pool");
             
             config.addDataSourceProperty("cachePrepStmts", "true");
-            config.addDataSourceProperty("prepStmtCacheSize", "250");
+            config.addDataSourceProperty("prepStmtCacheSize", String.valueOf(pluginConfig.getInt("database.mysql.prepStmtCacheSize", 250)));
             config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
             config.addDataSourceProperty("useServerPrepStmts", "true");
             config.addDataSourceProperty("useLocalSessionState", "true");
@@ -111,43 +114,20 @@ public class ConnectionPoolManager {
     
     /**
      * Configura pool para SQLite
+     * Um escritor serializado e, no modo WAL, conexões somente leitura em paralelo
      */
-    private boolean initializeSQLite(HikariConfig config, FileConfiguration pluginConfig) {
+    private boolean initializeSQLite(FileConfiguration pluginConfig) {
         try {
-            File dataFolder = plugin.getDataFolder();
-            if (!dataFolder.exists()) {
-                dataFolder.mkdirs();
-            }
-            
             String dbFile = pluginConfig.getString("database.sqlite.file", "database.db");
-            File sqliteFile = new File(dataFolder, dbFile);
-            String jdbcUrl = "jdbc:sqlite:" + sqliteFile.getAbsolutePath();
-            
-            config.setJdbcUrl(jdbcUrl);
-            config.setDriverClassName("org.sqlite.JDBC");
-            
-            config.setMaximumPoolSize(1); // SQLite suporta apenas 1 conexão de escrita
-            config.setMinimumIdle(1);
-            config.setConnectionTimeout(30000);
-            config.setIdleTimeout(600000);
-            config.setMaxLifetime(1800000);
-            
-            config.setPoolName("hLiga-SQLite-Pool");
-            
-            config.addDataSourceProperty("journal_mode", "WAL");
-            config.addDataSourceProperty("synchronous", "NORMAL");
-            config.addDataSourceProperty("cache_size", "10000");
-            config.addDataSourceProperty("foreign_keys", "true");
-            config.addDataSourceProperty("busy_timeout", "30000");
-            
-            dataSource = new HikariDataSource(config);
-            
-            try (Connection connection = dataSource.getConnection()) {
-                LogUtils.info("Pool de conexões SQLite inicializado com sucesso");
-                LogUtils.debug("Banco SQLite localizado em: " + sqliteFile.getAbsolutePath());
-                return true;
-            }
-            
+            File sqliteFile = new File(plugin.getDataFolder(), dbFile);
+
+            sqlitePool = new SQLiteConnectionPool(sqliteFile, pluginConfig.getConfigurationSection("database.sqlite"));
+            sqlitePool.initialize();
+
+            LogUtils.info("Pool de conexões SQLite inicializado com sucesso" + (sqlitePool.isWal() ? " (WAL)" : ""));
+            LogUtils.debug("Banco SQLite localizado em: " + sqliteFile.getAbsolutePath());
+            return true;
+
         } catch (Exception e) {
             LogUtils.error("Erro ao configurar pool SQLite: " + e.getMessage());
             return false;
@@ -158,12 +138,24 @@ public class ConnectionPoolManager {
      * Obtém uma conexão do pool
      */
     public Connection getConnection() throws SQLException {
+        if (sqlitePool != null) {
+            return sqlitePool.getWriteConnection();
+        }
         if (dataSource == null || dataSource.isClosed()) {
             throw new SQLException("Pool de conexões não está disponível");
         }
         return dataSource.getConnection();
     }
     
+    /**
+     * Obtém o pool do SQLite
+     *
+     * @return Pool ou null se o banco configurado não for SQLite
+     */
+    public SQLiteConnectionPool getSQLitePool() {
+        return sqlitePool;
+    }
+    
     /**
      * Obtém o DataSource
      */
@@ -178,10 +170,23 @@ public class ConnectionPoolManager {
         return databaseType;
     }
     
+    /**
+     * Obtém o tamanho máximo configurado para o pool
+     */
+    public int getMaximumPoolSize() {
+        if (sqlitePool != null) {
+            return sqlitePool.getSize();
+        }
+        return dataSource != null ? dataSource.getMaximumPoolSize() : 1;
+    }
+    
     /**
      * Verifica se o pool está ativo
      */
     public boolean isActive() {
+        if (sqlitePool != null) {
+            return sqlitePool.isActive();
+        }
         return dataSource != null && !dataSource.isClosed();
     }
     
@@ -189,6 +194,9 @@ public class ConnectionPoolManager {
      * Obtém estatísticas do pool
      */
     public String getPoolStats() {
+        if (sqlitePool != null) {
+            return sqlitePool.getStats();
+        }
         if (dataSource == null) {
             return "Pool não inicializado";
         }
@@ -196,13 +204,47 @@ public class ConnectionPoolManager {
         return String.format("Pool: %d/%d conexões ativas, %d idle", 
                 dataSource.getHikariPoolMXBean().getActiveConnections(),
                 dataSource.getHikariPoolMXBean().getTotalConnections(),
-                dataSource.getHikariPoolMXBean().getIdleConnections());
+                dataSource.getHikariPoolMXBean().getIdleConnections()) + getServerStatementStats();
+    }
+    
+    /**
+     * Obtém do servidor MySQL a quantidade de statements preparados e executados
+     * Os contadores são globais do servidor; com o cache funcionando, as execuções crescem bem mais que as preparações
+     */
+    private String getServerStatementStats() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SHOW GLOBAL STATUS WHERE Variable_name IN " +
+                     "('Com_stmt_prepare', 'Com_stmt_execute', 'Prepared_stmt_count')")) {
+            
+            long prepared = 0;
+            long executed = 0;
+            long open = 0;
+            while (resultSet.next()) {
+                String name = resultSet.getString(1);
+                long value = resultSet.getLong(2);
+                if ("Com_stmt_prepare".equalsIgnoreCase(name)) {
+                    prepared = value;
+                } else if ("Com_stmt_execute".equalsIgnoreCase(name)) {
+                    executed = value;
+                } else if ("Prepared_stmt_count".equalsIgnoreCase(name)) {
+                    open = value;
+                }
+            }
+            return String.format("; statements no servidor: %d preparados, %d execuções, %d abertos", prepared, executed, open);
+        } catch (SQLException e) {
+            LogUtils.debug("Não foi possível obter estatísticas de statements do MySQL: " + e.getMessage());
+            return "";
+        }
     }
     
     /**
      * Finaliza o pool de conexões
      */
     public void shutdown() {
+        if (sqlitePool != null) {
+            sqlitePool.close();
+        }
         if (dataSource != null && !dataSource.isClosed()) {
             try {
                 LogUtils.debug("Finalizando pool de conexões...");
@@ -218,6 +260,9 @@ public class ConnectionPoolManager {
      * Força o fechamento de todas as conexões
      */
     public void forceShutdown() {
+        if (sqlitePool != null) {
+            sqlitePool.close();
+        }
         if (dataSource != null) {
             try {
                 dataSource.getHikariPoolMXBean().softEvictConnections();
@@ -0,0 +1,125 @@
+package hplugins.hliga.database;
+
+import hplugins.hliga.database.adapters.BulkDataAdapter;
+import hplugins.hliga.database.adapters.TransferChunk;
+import hplugins.hliga.database.adapters.TransferTable;
+import hplugins.hliga.utils.LogUtils;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Copia todas as tabelas de um banco de dados para outro em blocos
+ *
+ * Cada bloco é gravado em uma transação e o cursor do último bloco gravado é salvo no arquivo de
+ * checkpoint. Se a transferência for interrompida, a próxima execução com a mesma origem e destino
+ * continua a partir desse cursor; o arquivo é apagado quando todas as tabelas terminam.
+ */
+public class DataTransfer {
+
+    private final BulkDataAdapter source;
+    private final BulkDataAdapter target;
+    private final String sourceType;
+    private final String targetType;
+    private final File checkpointFile;
+    private final int chunkSize;
+    private YamlConfiguration checkpoint;
+
+    public DataTransfer(BulkDataAdapter source, BulkDataAdapter target, String sourceType, String targetType,
+                        File checkpointFile, int chunkSize) {
+        this.source = source;
+        this.target = target;
+        this.sourceType = sourceType;
+        this.targetType = targetType;
+        this.checkpointFile = checkpointFile;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Executa a transferência de todas as tabelas
+     *
+     * @return true se todas as tabelas foram copiadas
+     */
+    public boolean run() {
+        loadCheckpoint();
+
+        long start = System.nanoTime();
+        long totalRows = 0;
+        try {
+            for (TransferTable table : TransferTable.values()) {
+                totalRows += transferTable(table);
+            }
+        } catch (Exception e) {
+            LogUtils.severe("Transferência " + sourceType + " -> " + targetType + " interrompida; " +
+                    "execute o mesmo comando para continuar de onde parou", e);
+            return false;
+        }
+
+        LogUtils.info(String.format("Transferência %s -> %s concluída: %d registros em %s",
+                sourceType, targetType, totalRows, formatRate(totalRows, System.nanoTime() - start)));
+
+        if (checkpointFile.exists() && !checkpointFile.delete()) {
+            LogUtils.warning("Não foi possível apagar o checkpoint da transferência: " + checkpointFile.getName());
+        }
+        return true;
+    }
+
+    private long transferTable(TransferTable table) throws Exception {
+        String path = "tabelas." + table.getTableName();
+        if (checkpoint.getBoolean(path + ".concluida", false)) {
+            LogUtils.info("Tabela " + table.getTableName() + " já transferida, pulando");
+            return 0;
+        }
+
+        String cursor = checkpoint.getString(path + ".cursor");
+        long rows = checkpoint.getLong(path + ".registros", 0L);
+        if (cursor != null) {
+            LogUtils.info("Retomando " + table.getTableName() + " após " + rows + " registros");
+        }
+
+        long start = System.nanoTime();
+        long copied = 0;
+        TransferChunk chunk;
+        do {
+            chunk = source.readChunk(table, cursor, chunkSize);
+            target.writeChunk(table, chunk.getRows());
+
+            copied += chunk.getRows().size();
+            cursor = chunk.getNextCursor();
+            checkpoint.set(path + ".cursor", cursor);
+            checkpoint.set(path + ".registros", rows + copied);
+            checkpoint.set(path + ".concluida", chunk.isLast());
+            saveCheckpoint();
+
+            LogUtils.debug(table.getTableName() + ": " + (rows + copied) + " registros (" +
+                    formatRate(copied, System.nanoTime() - start) + ")");
+        } while (!chunk.isLast());
+
+        LogUtils.info(String.format("Tabela %s: %d registros em %s",
+                table.getTableName(), copied, formatRate(copied, System.nanoTime() - start)));
+        return copied;
+    }
+
+    private void loadCheckpoint() {
+        checkpoint = checkpointFile.exists() ? YamlConfiguration.loadConfiguration(checkpointFile) : new YamlConfiguration();
+        if (!sourceType.equals(checkpoint.getString("origem")) || !targetType.equals(checkpoint.getString("destino"))) {
+            if (checkpointFile.exists()) {
+                LogUtils.info("Checkpoint de outra transferência descartado (" + checkpoint.getString("origem") +
+                        " -> " + checkpoint.getString("destino") + ")");
+            }
+            checkpoint = new YamlConfiguration();
+            checkpoint.set("origem", sourceType);
+            checkpoint.set("destino", targetType);
+        }
+    }
+
+    private void saveCheckpoint() throws IOException {
+        checkpoint.save(checkpointFile);
+    }
+
+    private static String formatRate(long rows, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        return String.format("%.1fs (%.0f registros/s)", seconds, seconds > 0 ? rows / seconds : 0.0);
+    }
+}
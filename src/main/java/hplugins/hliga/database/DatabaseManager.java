@@ -1,18 +1,19 @@
 package hplugins.hliga.database;
 
 import hplugins.hliga.Main;
+import hplugins.hliga.database.adapters.BulkDataAdapter;
 import hplugins.hliga.database.adapters.DatabaseAdapter;
 import hplugins.hliga.database.adapters.MySQLAdapter;
 import hplugins.hliga.database.adapters.RedisAdapter;
 import hplugins.hliga.database.adapters.RedisCacheAdapter;
 import hplugins.hliga.database.adapters.SQLiteAdapter;
-import hplugins.hliga.models.ClanPoints;
-import hplugins.hliga.models.Season;
 import hplugins.hliga.utils.LogUtils;
 import lombok.Getter;
+import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.FileConfiguration;
+import redis.clients.jedis.JedisPool;
 
-import java.util.List;
+import java.io.File;
 import java.util.logging.Level;
 
 public class DatabaseManager {
@@ -21,11 +22,34 @@ public class DatabaseManager {
     private DatabaseAdapter adapter;
     private ConnectionPoolManager poolManager;
     private RedisCacheAdapter cacheAdapter;
+    private CachedDatabaseAdapter cachedAdapter;
+    private AsyncDatabaseAdapter asyncAdapter;
+    private RedisSyncChannel syncChannel;
     
+    /**
+     * Obtém o adaptador do banco de dados
+     * Com o cache ativado, as leituras passam pela memória local e pelo Redis antes do banco primário
+     */
     public DatabaseAdapter getAdapter() {
+        return cachedAdapter != null ? cachedAdapter : adapter;
+    }
+    
+    /**
+     * Obtém o adaptador do banco primário, sem as camadas de cache
+     * Usado quando a leitura precisa refletir o banco, como ao ressincronizar o ranking
+     */
+    public DatabaseAdapter getPrimaryAdapter() {
         return adapter;
     }
     
+    /**
+     * Obtém a fachada assíncrona do banco de dados
+     * Deve ser usada sempre que a operação partir da thread principal do servidor
+     */
+    public AsyncDatabaseAdapter getAsync() {
+        return asyncAdapter;
+    }
+    
     public RedisCacheAdapter getCacheAdapter() {
         return cacheAdapter;
     }
@@ -34,6 +58,31 @@ public class DatabaseManager {
         return cacheAdapter != null && cacheAdapter.isAvailable();
     }
     
+    /**
+     * Obtém o canal de sincronização entre servidores
+     *
+     * @return Canal ativo ou null se a sincronização estiver desativada
+     */
+    public RedisSyncChannel getSyncChannel() {
+        return syncChannel;
+    }
+    
+    /**
+     * Descarta a memória local do cache de leitura após uma alteração feita por outro servidor
+     */
+    public void invalidateLocalCache() {
+        if (cachedAdapter != null) {
+            cachedAdapter.invalidateLocal();
+        }
+    }
+    
+    /**
+     * Obtém as estatísticas de acerto do cache de leitura
+     */
+    public String getCacheStats() {
+        return cachedAdapter != null ? cachedAdapter.getStats() : "Cache desativado";
+    }
+    
     @Getter
     private ConnectionPoolManager connectionPoolManager;
     
@@ -68,7 +117,14 @@ public class DatabaseManager {
                     break;
                 case "SQLITE":
                 default:
-                    this.adapter = new SQLiteAdapter(plugin);
+                    this.poolManager = new ConnectionPoolManager(plugin);
+                    this.connectionPoolManager = poolManager;
+                    
+                    if (!poolManager.initialize()) {
+                        LogUtils.error("Falha ao inicializar pool de conexões para SQLITE");
+                        return false;
+                    }
+                    this.adapter = new SQLiteAdapter(plugin, poolManager.getSQLitePool());
                     break;
             }
             
@@ -81,13 +137,65 @@ public class DatabaseManager {
                 }
             }
             
-            return adapter.initialize();
+            if (!adapter.initialize()) {
+                return false;
+            }
+            
+            long localTtl = config.getLong("database.cache.local_ttl", 5L) * 1000L;
+            if (!"REDIS".equals(databaseType) && (localTtl > 0 || isCacheAvailable())) {
+                this.cachedAdapter = new CachedDatabaseAdapter(adapter, isCacheAvailable() ? cacheAdapter : null, localTtl);
+                LogUtils.debug("Leitura em camadas ativada (memória" + (isCacheAvailable() ? ", Redis" : "") + ", " + databaseType + ")");
+            }
+            
+            this.asyncAdapter = new AsyncDatabaseAdapter(plugin, this, getAsyncThreads(databaseType));
+            
+            if (config.getBoolean("database.sincronizacao.ativado", false)) {
+                startSyncChannel(config.getString("database.sincronizacao.canal", "hliga:sync"));
+            }
+            return true;
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Erro ao inicializar banco de dados", e);
             return false;
         }
     }
     
+    /**
+     * Inicia o canal de sincronização usando o pool do cache Redis ou do Redis primário
+     */
+    private void startSyncChannel(String channel) {
+        JedisPool pool = null;
+        if (isCacheAvailable()) {
+            pool = cacheAdapter.getJedisPool();
+        } else if (adapter instanceof RedisAdapter) {
+            pool = ((RedisAdapter) adapter).getJedisPool();
+        }
+        
+        if (pool == null) {
+            LogUtils.warning("Sincronização entre servidores requer o Redis (database.redis.enabled) - desativada");
+            return;
+        }
+        
+        this.syncChannel = new RedisSyncChannel(plugin, pool, channel);
+        syncChannel.start();
+    }
+    
+    /**
+     * Calcula a quantidade de threads do executor assíncrono a partir do pool de conexões
+     * Mais threads do que conexões só gerariam espera pelo pool
+     */
+    private int getAsyncThreads(String databaseType) {
+        switch (databaseType) {
+            case "MYSQL":
+            case "MARIADB":
+                return poolManager.getMaximumPoolSize();
+            case "REDIS":
+                return plugin.getConfig().getInt("database.redis.poolSize", 8);
+            default:
+                // SQLite: um escritor e, no modo WAL, os leitores
+                return poolManager != null ? poolManager.getMaximumPoolSize() : 1;
+        }
+    }
+    
     /**
      * Reconecta ao banco de dados
      * 
@@ -102,6 +210,21 @@ public class DatabaseManager {
      * Desliga o gerenciador de banco de dados
      */
     public void shutdown() {
+        if (syncChannel != null) {
+            syncChannel.shutdown();
+            syncChannel = null;
+        }
+        
+        if (asyncAdapter != null) {
+            asyncAdapter.shutdown();
+            asyncAdapter = null;
+        }
+        
+        if (cachedAdapter != null) {
+            LogUtils.debug(cachedAdapter.getStats());
+            cachedAdapter = null;
+        }
+        
         if (adapter != null) {
             adapter.shutdown();
         }
@@ -111,12 +234,14 @@ public class DatabaseManager {
         }
         
         if (poolManager != null) {
+            LogUtils.debug(poolManager.getPoolStats());
             poolManager.shutdown();
         }
     }
     
     /**
      * Transfere dados entre diferentes tipos de banco de dados
+     * Todas as tabelas são copiadas em blocos transacionais e a transferência pode ser retomada (ver {@link DataTransfer})
      *
      * @param sourceType Tipo de banco de dados de origem (sqlite, mysql, redis)
      * @param targetType Tipo de banco de dados de destino (sqlite, mysql, redis)
@@ -136,74 +261,108 @@ public class DatabaseManager {
             return false;
         }
         
+        String currentType = getCurrentDatabaseType();
+        DatabaseAdapter sourceAdapter = null;
+        DatabaseAdapter targetAdapter = null;
         try {
-            DatabaseAdapter sourceAdapter = createAdapter(sourceType);
+            sourceAdapter = openTransferAdapter(sourceType, currentType, "origem");
             if (sourceAdapter == null) {
-                plugin.getLogger().severe("Falha ao criar adaptador para o banco de dados de origem: " + sourceType);
                 return false;
             }
             
-            if (!sourceAdapter.initialize()) {
-                plugin.getLogger().severe("Falha ao inicializar adaptador para o banco de dados de origem: " + sourceType);
-                sourceAdapter.shutdown();
+            targetAdapter = openTransferAdapter(targetType, currentType, "destino");
+            if (targetAdapter == null) {
                 return false;
             }
             
-            DatabaseAdapter targetAdapter;
-            if (targetType.equals(getCurrentDatabaseType())) {
-                targetAdapter = this.adapter;
-            } else {
-                targetAdapter = createAdapter(targetType);
-                if (targetAdapter == null) {
-                    plugin.getLogger().severe("Falha ao criar adaptador para o banco de dados de destino: " + targetType);
-                    sourceAdapter.shutdown();
-                    return false;
-                }
-                
-                if (!targetAdapter.initialize()) {
-                    plugin.getLogger().severe("Falha ao inicializar adaptador para o banco de dados de destino: " + targetType);
-                    sourceAdapter.shutdown();
-                    targetAdapter.shutdown();
-                    return false;
-                }
-            }
-            
-            LogUtils.debug("Iniciando transferência de pontos de clãs...");
-            List<ClanPoints> clanPoints = sourceAdapter.getAllClanPoints();
-            int pointsCount = 0;
-            
-            for (ClanPoints clan : clanPoints) {
-                targetAdapter.saveClanPoints(clan.getClanTag(), clan.getPoints());
-                pointsCount++;
+            if (!(sourceAdapter instanceof BulkDataAdapter) || !(targetAdapter instanceof BulkDataAdapter)) {
+                plugin.getLogger().severe("Transferência em blocos não suportada: " + sourceType + " -> " + targetType);
+                return false;
             }
-            LogUtils.debug("Transferidos " + pointsCount + " registros de pontos de clãs.");
-            
-            LogUtils.debug("Iniciando transferência de temporadas...");
-            List<Season> seasons = sourceAdapter.getAllSeasons();
-            int seasonsCount = 0;
             
-            for (Season season : seasons) {
-                targetAdapter.saveSeason(season);
-                seasonsCount++;
-            }
-            LogUtils.debug("Transferidas " + seasonsCount + " temporadas.");
+            DataTransfer transfer = new DataTransfer((BulkDataAdapter) sourceAdapter, (BulkDataAdapter) targetAdapter,
+                    sourceType, targetType, new File(plugin.getDataFolder(), "transferencia.yml"),
+                    plugin.getConfig().getInt("database.transferencia.tamanho_lote", 1000));
+            boolean success = transfer.run();
             
-            if (!sourceType.equals(getCurrentDatabaseType())) {
-                sourceAdapter.shutdown();
+            if (cachedAdapter != null) {
+                cachedAdapter.invalidateAll();
             }
             
-            if (!targetType.equals(getCurrentDatabaseType()) && targetAdapter != this.adapter) {
-                targetAdapter.shutdown();
+            if (success && targetType.equals(currentType)) {
+                reloadLiveData();
             }
             
-            return true;
+            return success;
             
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Erro ao transferir dados entre bancos de dados", e);
             return false;
+        } finally {
+            if (sourceAdapter != null && sourceAdapter != this.adapter) {
+                sourceAdapter.shutdown();
+            }
+            if (targetAdapter != null && targetAdapter != this.adapter) {
+                targetAdapter.shutdown();
+            }
         }
     }
     
+    /**
+     * Recarrega os dados mantidos em memória depois que uma transferência substituiu o banco em uso
+     * O ranking é lido na thread atual; temporada e tags são recarregadas na thread principal
+     */
+    private void reloadLiveData() {
+        if (plugin.getPointsManager() != null) {
+            plugin.getPointsManager().reloadRanking();
+        }
+        
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            if (plugin.getSeasonManager() != null) {
+                plugin.getSeasonManager().refreshActiveSeason();
+            }
+            if (plugin.getTagManager() != null) {
+                plugin.getTagManager().reloadOnlinePlayers();
+            }
+        });
+        LogUtils.info("Dados em memória recarregados após a transferência para o banco em uso");
+    }
+    
+    /**
+     * Obtém o adaptador de uma ponta da transferência
+     * O banco em uso é reaproveitado; os demais são criados e inicializados
+     *
+     * @return O adaptador ou null em caso de falha
+     */
+    private DatabaseAdapter openTransferAdapter(String type, String currentType, String role) {
+        if (type.equals(currentType)) {
+            return this.adapter;
+        }
+        
+        DatabaseAdapter created = createAdapter(type);
+        if (created == null) {
+            plugin.getLogger().severe("Falha ao criar adaptador para o banco de dados de " + role + ": " + type);
+            return null;
+        }
+        
+        if (!created.initialize()) {
+            plugin.getLogger().severe("Falha ao inicializar adaptador para o banco de dados de " + role + ": " + type);
+            created.shutdown();
+            return null;
+        }
+        return created;
+    }
+    
+    /**
+     * Verifica se o banco de dados atual pode ser compartilhado por vários servidores
+     *
+     * @return true para MySQL/MariaDB e Redis
+     */
+    public boolean isSharedBackend() {
+        String type = getCurrentDatabaseType();
+        return "MYSQL".equals(type) || "REDIS".equals(type);
+    }
+    
     /**
      * Obtém o tipo atual do banco de dados
      * 
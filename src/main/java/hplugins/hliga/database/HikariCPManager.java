@@ -55,7 +55,7 @@ public class HikariCPManager {
             hikariConfig.setMaxLifetime(1800000);
             
             hikariConfig.addDataSourceProperty("cachePrepStmts", "true");
-            hikariConfig.addDataSourceProperty("prepStmtCacheSize", "250");
+            hikariConfig.addDataSourceProperty("prepStmtCacheSize", String.valueOf(config.getInt("database.mysql.prepStmtCacheSize", 250)));
             hikariConfig.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
             hikariConfig.addDataSourceProperty("useServerPrepStmts", "true");
             hikariConfig.addDataSourceProperty("useLocalSessionState", "true");
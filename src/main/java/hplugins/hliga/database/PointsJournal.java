@@ -0,0 +1,509 @@
+package hplugins.hliga.database;
+
+import hplugins.hliga.Main;
+import hplugins.hliga.database.adapters.DatabaseAdapter;
+import hplugins.hliga.utils.LogUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Diário de gravação adiada (write-behind) para variações de pontos dos clãs
+ *
+ * As variações são acumuladas em memória por clã, registradas em um arquivo de diário
+ * para recuperação após queda do servidor e gravadas em lote pela fila de escrita do
+ * {@link AsyncDatabaseAdapter}, na mesma ordem das demais alterações de pontos.
+ *
+ * Cada lote tem o próprio arquivo (points-journal.flushing.N), removido só depois que o lote é gravado.
+ * Lotes que falham ficam aguardando nova tentativa junto com os seus arquivos.
+ */
+public class PointsJournal {
+
+    private static final String JOURNAL_FILE = "points-journal.log";
+    private static final String FLUSHING_FILE = "points-journal.flushing";
+
+    private final Main plugin;
+    private final File journalFile;
+    private final AtomicBoolean lagFlushQueued = new AtomicBoolean(false);
+
+    private final boolean enabled;
+    private final long flushIntervalTicks;
+    private final long maxLagMillis;
+
+    private Map<String, Integer> pending = new HashMap<>();
+    /** Variações de lotes que falharam, gravadas antes de qualquer alteração enviada depois delas */
+    private Map<String, Integer> retry = new HashMap<>();
+    private List<File> retryFiles = new ArrayList<>();
+    private long oldestPendingAt;
+    private long nextBatchId;
+    private BufferedWriter writer;
+    private BukkitTask flushTask;
+
+    private volatile long flushedBatches;
+    private volatile long flushedRows;
+
+    public PointsJournal(Main plugin) {
+        this.plugin = plugin;
+        this.journalFile = new File(plugin.getDataFolder(), JOURNAL_FILE);
+
+        FileConfiguration config = plugin.getConfig();
+        this.enabled = config.getBoolean("database.write_behind.ativado", false);
+        this.flushIntervalTicks = Math.max(1, config.getInt("database.write_behind.intervalo_flush", 5)) * 20L;
+        this.maxLagMillis = Math.max(0, config.getInt("database.write_behind.atraso_maximo", 30)) * 1000L;
+    }
+
+    /**
+     * Verifica se a gravação adiada está ativada
+     *
+     * @return true se as variações de pontos devem passar pelo diário
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Inicia a tarefa assíncrona de gravação periódica
+     */
+    public void start() {
+        // Variações de uma recuperação que falhou continuam sendo gravadas mesmo com o diário desativado
+        if ((!enabled && getPendingCount() == 0) || flushTask != null) {
+            return;
+        }
+
+        flushTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::submitFlush,
+                flushIntervalTicks, flushIntervalTicks);
+        LogUtils.debug("Gravação adiada de pontos ativada - intervalo de " + (flushIntervalTicks / 20) + "s");
+    }
+
+    /**
+     * Registra uma variação de pontos para gravação posterior
+     *
+     * @param clanTag Tag do clã
+     * @param delta Variação de pontos (positiva ou negativa)
+     */
+    public void record(String clanTag, int delta) {
+        if (delta == 0) {
+            return;
+        }
+
+        boolean lagExceeded;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            pending.merge(clanTag, delta, Integer::sum);
+            if (oldestPendingAt == 0) {
+                oldestPendingAt = now;
+            }
+            append(clanTag, delta);
+            lagExceeded = maxLagMillis > 0 && now - oldestPendingAt >= maxLagMillis;
+        }
+
+        if (lagExceeded && lagFlushQueued.compareAndSet(false, true)) {
+            submitFlush().whenComplete((success, error) -> lagFlushQueued.set(false));
+        }
+    }
+
+    /**
+     * Obtém a quantidade de clãs com variações pendentes
+     *
+     * @return Número de clãs aguardando gravação
+     */
+    public synchronized int getPendingCount() {
+        if (retry.isEmpty()) {
+            return pending.size();
+        }
+        Set<String> clans = new HashSet<>(pending.keySet());
+        clans.addAll(retry.keySet());
+        return clans.size();
+    }
+
+    /**
+     * Obtém a variação ainda não gravada no banco de dados de um clã
+     *
+     * @param clanTag Tag do clã
+     * @return Soma das variações pendentes do clã
+     */
+    public synchronized int getPendingDelta(String clanTag) {
+        return pending.getOrDefault(clanTag, 0) + retry.getOrDefault(clanTag, 0);
+    }
+
+    /**
+     * Envia as variações pendentes para a fila de escrita sem aguardar a gravação
+     *
+     * @return Futuro com true se não havia pendências ou se o lote foi gravado com sucesso
+     */
+    public synchronized CompletableFuture<Boolean> submitFlush() {
+        Batch batch = cut();
+        if (batch == null) {
+            return CompletableFuture.completedFuture(getPendingCount() == 0);
+        }
+        return submit(batch);
+    }
+
+    /**
+     * Grava todas as variações pendentes no banco de dados em um único lote e aguarda o resultado
+     * Não deve ser chamado pela fila de escrita
+     *
+     * @return true se não havia pendências ou se o lote foi gravado com sucesso
+     */
+    public boolean flush() {
+        try {
+            return submitFlush().join();
+        } catch (CompletionException | CancellationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Executa uma alteração na fila de escrita depois de todas as variações registradas até agora
+     *
+     * As variações pendentes são enviadas como um lote imediatamente antes da alteração; se algum lote
+     * anterior falhou, ele é gravado antes e a alteração falha caso ainda não seja possível gravá-lo.
+     * Assim uma variação antiga nunca é aplicada depois de uma definição ou reset de pontos.
+     *
+     * @param operation Alteração a ser executada com o adaptador atual
+     * @return Futuro com o resultado da alteração
+     */
+    public synchronized <T> CompletableFuture<T> submitAfterPending(Function<DatabaseAdapter, T> operation) {
+        Batch batch = cut();
+        if (batch != null) {
+            submit(batch);
+        }
+
+        return async().write(adapter -> {
+            Batch failed;
+            synchronized (this) {
+                failed = takeRetry();
+            }
+            if (failed != null && !apply(adapter, failed)) {
+                throw new IllegalStateException("Variações de pontos anteriores ainda não foram gravadas");
+            }
+            return operation.apply(adapter);
+        });
+    }
+
+    /**
+     * Reaplica no banco de dados as variações que ficaram no diário após uma queda
+     * Deve ser chamado antes de carregar o ranking em memória
+     *
+     * @return Quantidade de clãs recuperados
+     */
+    public int replay() {
+        List<File> files = new ArrayList<>();
+        File legacy = new File(plugin.getDataFolder(), FLUSHING_FILE);
+        if (legacy.exists()) {
+            files.add(legacy);
+        }
+        files.addAll(listFlushingFiles());
+
+        synchronized (this) {
+            for (File file : files) {
+                nextBatchId = Math.max(nextBatchId, batchId(file) + 1);
+            }
+            if (journalFile.exists()) {
+                File file = nextFlushingFile();
+                if (journalFile.renameTo(file)) {
+                    files.add(file);
+                } else {
+                    // Sem renomear, o diário continua recebendo linhas e não pode ser removido como parte do lote
+                    LogUtils.warning("Não foi possível mover o diário de pontos para recuperação");
+                    readIntoPending(journalFile);
+                }
+            }
+        }
+
+        Map<String, Integer> recovered = new HashMap<>();
+        for (File file : files) {
+            readInto(file, recovered);
+        }
+
+        if (recovered.isEmpty()) {
+            deleteAll(files);
+            return 0;
+        }
+
+        LogUtils.info("Recuperando " + recovered.size() + " variações de pontos pendentes do diário...");
+        if (!plugin.getDatabaseManager().getAdapter().applyPointDeltas(recovered)) {
+            // Os arquivos são mantidos e as variações aguardam nova tentativa antes de qualquer outra alteração
+            LogUtils.error("Falha ao recuperar o diário de pontos - as variações serão gravadas no próximo lote");
+            synchronized (this) {
+                restore(new Batch(recovered, files));
+            }
+            return 0;
+        }
+
+        deleteAll(files);
+        return recovered.size();
+    }
+
+    /**
+     * Obtém uma cópia das variações ainda não gravadas no banco de dados
+     * Após uma recuperação que falhou, o índice de ranking precisa somá-las aos totais do banco
+     *
+     * @return Tag do clã → variação pendente
+     */
+    public synchronized Map<String, Integer> getPendingDeltas() {
+        Map<String, Integer> deltas = new HashMap<>(retry);
+        pending.forEach((clan, delta) -> deltas.merge(clan, delta, Integer::sum));
+        return deltas;
+    }
+
+    /**
+     * Cancela a tarefa periódica e grava todas as pendências
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+
+        flush();
+
+        synchronized (this) {
+            closeWriter();
+            if (pending.isEmpty() && retry.isEmpty()) {
+                journalFile.delete();
+            }
+        }
+
+        if (flushedBatches > 0) {
+            LogUtils.debug("Diário de pontos finalizado - " + flushedBatches + " lotes, " + flushedRows + " registros gravados");
+        }
+    }
+
+    /**
+     * Separa as pendências (incluindo lotes que falharam) em um novo lote
+     * Deve ser chamado com o monitor do diário
+     *
+     * @return Lote a ser gravado ou null se não há pendências ou o diário não pôde ser rotacionado
+     */
+    private Batch cut() {
+        if (pending.isEmpty() && retry.isEmpty()) {
+            return null;
+        }
+
+        Batch batch = takeRetry();
+        if (batch == null) {
+            batch = new Batch(new HashMap<>(), new ArrayList<>());
+        }
+
+        if (!pending.isEmpty()) {
+            closeWriter();
+            if (journalFile.exists()) {
+                File file = nextFlushingFile();
+                if (!journalFile.renameTo(file)) {
+                    // O arquivo do lote precisa corresponder às variações; tenta de novo no próximo flush
+                    LogUtils.warning("Não foi possível rotacionar o diário de pontos");
+                    restore(batch);
+                    return null;
+                }
+                batch.files.add(file);
+            }
+            pending.forEach((clan, delta) -> batch.deltas.merge(clan, delta, Integer::sum));
+            pending = new HashMap<>();
+            oldestPendingAt = 0;
+        }
+        return batch;
+    }
+
+    private Batch takeRetry() {
+        if (retry.isEmpty()) {
+            return null;
+        }
+        Batch batch = new Batch(retry, retryFiles);
+        retry = new HashMap<>();
+        retryFiles = new ArrayList<>();
+        return batch;
+    }
+
+    private void restore(Batch batch) {
+        batch.deltas.forEach((clan, delta) -> retry.merge(clan, delta, Integer::sum));
+        retryFiles.addAll(batch.files);
+        if (oldestPendingAt == 0) {
+            oldestPendingAt = System.currentTimeMillis();
+        }
+    }
+
+    private CompletableFuture<Boolean> submit(Batch batch) {
+        AtomicBoolean started = new AtomicBoolean(false);
+        CompletableFuture<Boolean> future = async().write(adapter -> {
+            started.set(true);
+            return apply(adapter, batch);
+        });
+
+        return future.exceptionally(error -> {
+            if (!started.get()) {
+                // Fila cheia ou finalizada: o lote volta inteiro para as pendências
+                synchronized (this) {
+                    restore(batch);
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Grava um lote na fila de escrita; em caso de falha o lote volta para as pendências
+     */
+    private boolean apply(DatabaseAdapter adapter, Batch batch) {
+        long start = System.currentTimeMillis();
+        boolean success;
+        try {
+            success = adapter.applyPointDeltas(batch.deltas);
+        } catch (RuntimeException e) {
+            LogUtils.warning("Erro ao gravar lote de pontos: " + e.getMessage());
+            success = false;
+        }
+
+        if (!success) {
+            LogUtils.warning("Falha ao gravar lote de pontos - " + batch.deltas.size() + " clãs mantidos no diário");
+            synchronized (this) {
+                restore(batch);
+            }
+            return false;
+        }
+
+        flushedBatches++;
+        flushedRows += batch.deltas.size();
+        LogUtils.debugHigh("Lote de pontos gravado: " + batch.deltas.size() + " clãs em " +
+                (System.currentTimeMillis() - start) + "ms");
+        deleteAll(batch.files);
+        return true;
+    }
+
+    private AsyncDatabaseAdapter async() {
+        return plugin.getDatabaseManager().getAsync();
+    }
+
+    private void append(String clanTag, int delta) {
+        try {
+            if (writer == null) {
+                File parent = journalFile.getParentFile();
+                if (parent != null && !parent.exists()) {
+                    parent.mkdirs();
+                }
+                writer = new BufferedWriter(new OutputStreamWriter(
+                        new FileOutputStream(journalFile, true), StandardCharsets.UTF_8));
+            }
+            writer.write(clanTag);
+            writer.write('\t');
+            writer.write(Integer.toString(delta));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            LogUtils.warning("Erro ao registrar variação de pontos no diário: " + e.getMessage());
+        }
+    }
+
+    private File nextFlushingFile() {
+        return new File(plugin.getDataFolder(), FLUSHING_FILE + "." + (nextBatchId++));
+    }
+
+    private List<File> listFlushingFiles() {
+        File[] files = plugin.getDataFolder().listFiles((dir, name) -> name.startsWith(FLUSHING_FILE + ".")
+                && batchId(new File(dir, name)) >= 0);
+        List<File> result = new ArrayList<>();
+        if (files != null) {
+            Collections.addAll(result, files);
+            result.sort(Comparator.comparingLong(PointsJournal::batchId));
+        }
+        return result;
+    }
+
+    private static long batchId(File file) {
+        String name = file.getName();
+        if (!name.startsWith(FLUSHING_FILE + ".")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(FLUSHING_FILE.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void deleteAll(List<File> files) {
+        for (File file : files) {
+            if (!file.delete() && file.exists()) {
+                LogUtils.warning("Não foi possível remover o arquivo " + file.getName());
+            }
+        }
+    }
+
+    private void readIntoPending(File file) {
+        Map<String, Integer> deltas = new HashMap<>();
+        readInto(file, deltas);
+        deltas.forEach((clan, delta) -> pending.merge(clan, delta, Integer::sum));
+        if (!deltas.isEmpty() && oldestPendingAt == 0) {
+            oldestPendingAt = System.currentTimeMillis();
+        }
+    }
+
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                LogUtils.warning("Erro ao fechar o diário de pontos: " + e.getMessage());
+            }
+            writer = null;
+        }
+    }
+
+    private void readInto(File file, Map<String, Integer> target) {
+        if (!file.exists()) {
+            return;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.lastIndexOf('\t');
+                if (separator <= 0) {
+                    continue;
+                }
+                try {
+                    int delta = Integer.parseInt(line.substring(separator + 1).trim());
+                    target.merge(line.substring(0, separator), delta, Integer::sum);
+                } catch (NumberFormatException e) {
+                    LogUtils.debug("Linha inválida ignorada no diário de pontos: " + line);
+                }
+            }
+        } catch (IOException e) {
+            LogUtils.warning("Erro ao ler o diário de pontos " + file.getName() + ": " + e.getMessage());
+        }
+    }
+
+    private static final class Batch {
+        private final Map<String, Integer> deltas;
+        private final List<File> files;
+
+        private Batch(Map<String, Integer> deltas, List<File> files) {
+            this.deltas = deltas;
+            this.files = files;
+        }
+    }
+}
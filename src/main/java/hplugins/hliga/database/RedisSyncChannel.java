@@ -0,0 +1,244 @@
+package hplugins.hliga.database;
+
+import hplugins.hliga.Main;
+import hplugins.hliga.utils.LogUtils;
+import org.bukkit.Bukkit;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPubSub;
+
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Canal de sincronização entre servidores via Redis pub/sub
+ *
+ * Cada servidor publica eventos compactos de alteração (pontos, reset, temporada e tags) e aplica
+ * os eventos dos demais diretamente nos seus dados em memória, sem esperar pelos timers locais.
+ *
+ * Formato das mensagens: {@code servidor;tipo;campos...}
+ * <ul>
+ *   <li>{@code P;variação;total;clã} - pontos de um clã gravados no banco, com o total devolvido por ele</li>
+ *   <li>{@code D;variação;clã} - variação de pontos registrada no diário, ainda não gravada no banco</li>
+ *   <li>{@code R;pontos} - pontos de todos os clãs redefinidos (-1 remove todos)</li>
+ *   <li>{@code S;id;ativa} - temporada iniciada ou encerrada</li>
+ *   <li>{@code T} - tags de jogadores alteradas</li>
+ * </ul>
+ */
+public class RedisSyncChannel {
+
+    private static final long RECONNECT_DELAY_MILLIS = 5000L;
+
+    private final Main plugin;
+    private final JedisPool jedisPool;
+    private final String channel;
+    private final String serverId = UUID.randomUUID().toString().substring(0, 8);
+    private final ExecutorService publisher;
+    private final Executor mainThread;
+
+    private volatile boolean running;
+    private volatile JedisPubSub subscriber;
+    private Thread listenerThread;
+
+    public RedisSyncChannel(Main plugin, JedisPool jedisPool, String channel) {
+        this(plugin, jedisPool, channel, task -> Bukkit.getScheduler().runTask(plugin, task));
+    }
+
+    /**
+     * @param mainThread Executor onde os eventos recebidos são aplicados
+     */
+    RedisSyncChannel(Main plugin, JedisPool jedisPool, String channel, Executor mainThread) {
+        this.plugin = plugin;
+        this.mainThread = mainThread;
+        this.jedisPool = jedisPool;
+        this.channel = channel;
+        this.publisher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hLiga-Sync-Publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Inicia a escuta do canal em uma thread dedicada
+     */
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listen, "hLiga-Sync-Listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+        LogUtils.info("Sincronização entre servidores ativada no canal " + channel + " (servidor " + serverId + ")");
+    }
+
+    /**
+     * Encerra a escuta e as publicações pendentes
+     */
+    public void shutdown() {
+        running = false;
+
+        JedisPubSub current = subscriber;
+        if (current != null && current.isSubscribed()) {
+            try {
+                current.unsubscribe();
+            } catch (Exception e) {
+                LogUtils.debug("Erro ao cancelar inscrição do canal de sincronização: " + e.getMessage());
+            }
+        }
+
+        publisher.shutdown();
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Jedis jedis = jedisPool.getResource()) {
+                subscriber = new JedisPubSub() {
+                    @Override
+                    public void onMessage(String channel, String message) {
+                        handle(message);
+                    }
+                };
+                jedis.subscribe(subscriber, channel);
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                LogUtils.warning("Conexão com o canal de sincronização perdida, reconectando: " + e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // PUBLICAÇÃO
+
+    /**
+     * Publica uma alteração de pontos já gravada no banco de dados
+     *
+     * @param clanTag Tag do clã
+     * @param delta Variação aplicada (0 quando os pontos foram definidos)
+     * @param newTotal Pontuação devolvida pelo banco de dados
+     */
+    public void publishPoints(String clanTag, int delta, int newTotal) {
+        publish("P;" + delta + ";" + newTotal + ";" + clanTag);
+    }
+
+    /**
+     * Publica uma variação de pontos que ainda está no diário de gravação adiada
+     * Os demais servidores somam a variação, já que o total local não está no banco.
+     *
+     * @param clanTag Tag do clã
+     * @param delta Variação registrada
+     */
+    public void publishDelta(String clanTag, int delta) {
+        publish("D;" + delta + ";" + clanTag);
+    }
+
+    public void publishReset(int points) {
+        publish("R;" + points);
+    }
+
+    public void publishSeason(int seasonId, boolean active) {
+        publish("S;" + seasonId + ";" + (active ? 1 : 0));
+    }
+
+    public void publishTags() {
+        publish("T");
+    }
+
+    private void publish(String event) {
+        if (!running) {
+            return;
+        }
+
+        String message = serverId + ";" + event;
+        try {
+            publisher.execute(() -> {
+                try (Jedis jedis = jedisPool.getResource()) {
+                    jedis.publish(channel, message);
+                } catch (Exception e) {
+                    LogUtils.debug("Erro ao publicar evento de sincronização: " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LogUtils.debug("Evento de sincronização descartado durante o desligamento: " + event);
+        }
+    }
+
+    // RECEBIMENTO
+
+    void handle(String message) {
+        String[] parts = message.split(";", 3);
+        if (parts.length < 2 || serverId.equals(parts[0])) {
+            return;
+        }
+
+        try {
+            Runnable action = parse(parts[1], parts.length > 2 ? parts[2] : "");
+            if (action != null && plugin.isEnabled()) {
+                mainThread.execute(action);
+            }
+        } catch (RuntimeException e) {
+            LogUtils.debug("Evento de sincronização inválido: " + message);
+        }
+    }
+
+    private Runnable parse(String type, String fields) {
+        switch (type) {
+            case "P": {
+                String[] parts = fields.split(";", 3);
+                int newTotal = Integer.parseInt(parts[1]);
+                String clanTag = parts[2];
+                return () -> {
+                    invalidateLocalCache();
+                    plugin.getPointsManager().applyRemoteTotal(clanTag, newTotal);
+                };
+            }
+            case "D": {
+                String[] parts = fields.split(";", 2);
+                int delta = Integer.parseInt(parts[0]);
+                String clanTag = parts[1];
+                return () -> {
+                    invalidateLocalCache();
+                    plugin.getPointsManager().applyRemoteDelta(clanTag, delta);
+                };
+            }
+            case "R": {
+                int points = Integer.parseInt(fields);
+                return () -> {
+                    invalidateLocalCache();
+                    plugin.getPointsManager().applyRemoteReset(points);
+                };
+            }
+            case "S": {
+                boolean active = "1".equals(fields.split(";", 2)[1]);
+                return () -> {
+                    invalidateLocalCache();
+                    plugin.getSeasonManager().applyRemoteSeasonChange(active);
+                };
+            }
+            case "T":
+                return () -> {
+                    invalidateLocalCache();
+                    if (plugin.getTagManager() != null) {
+                        plugin.getTagManager().reloadOnlinePlayers();
+                    }
+                };
+            default:
+                return null;
+        }
+    }
+
+    private void invalidateLocalCache() {
+        plugin.getDatabaseManager().invalidateLocalCache();
+    }
+}
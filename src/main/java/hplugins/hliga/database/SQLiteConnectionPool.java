@@ -0,0 +1,309 @@
+package hplugins.hliga.database;
+
+import hplugins.hliga.utils.LogUtils;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool de conexões do SQLite com um único escritor serializado
+ *
+ * No modo WAL as leituras usam um pequeno pool de conexões somente leitura e seguem em paralelo
+ * com as gravações. Sem WAL, leituras e gravações compartilham a conexão do escritor, sempre uma
+ * thread por vez. As conexões entregues são devolvidas ao pool no {@link Connection#close()}.
+ */
+public class SQLiteConnectionPool {
+
+    private final File databaseFile;
+    private final boolean wal;
+    private final int readers;
+    private final long mmapSize;
+    private final int cacheSize;
+    private final int busyTimeout;
+
+    /** Statements preparados mantidos por conexão */
+    private static final int STATEMENT_CACHE_SIZE = 64;
+
+    private final ReentrantLock writeLock = new ReentrantLock(true);
+    private final BlockingQueue<Connection> readPool;
+    private final List<Connection> readConnections = new ArrayList<>();
+    private Connection writeConnection;
+    private volatile boolean closed;
+
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong writeWaits = new AtomicLong();
+    private final AtomicLong writeWaitNanos = new AtomicLong();
+    private final AtomicLong maxWriteWaitNanos = new AtomicLong();
+    private final AtomicLong reads = new AtomicLong();
+    private final AtomicLong readWaits = new AtomicLong();
+    private final AtomicLong readWaitNanos = new AtomicLong();
+    private final AtomicLong statementsPrepared = new AtomicLong();
+    private final AtomicLong statementsExecuted = new AtomicLong();
+    private final Map<Connection, StatementCache> statementCaches = new IdentityHashMap<>();
+
+    /**
+     * @param databaseFile Arquivo do banco de dados
+     * @param config Seção {@code database.sqlite} do config.yml (pode ser null)
+     */
+    public SQLiteConnectionPool(File databaseFile, ConfigurationSection config) {
+        this.databaseFile = databaseFile;
+        this.wal = config != null && config.getBoolean("wal.ativado", false);
+        this.readers = wal ? Math.max(1, config.getInt("wal.leitores", 4)) : 0;
+        this.mmapSize = config != null ? config.getLong("pragmas.mmap_size", 0L) : 0L;
+        this.cacheSize = config != null ? config.getInt("pragmas.cache_size", -16000) : -16000;
+        this.busyTimeout = config != null ? config.getInt("pragmas.busy_timeout", 5000) : 5000;
+        this.readPool = new ArrayBlockingQueue<>(Math.max(1, readers));
+    }
+
+    /**
+     * Abre a conexão do escritor e, no modo WAL, as conexões de leitura
+     */
+    public void initialize() throws SQLException {
+        try {
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("Driver SQLite não encontrado", e);
+        }
+
+        File parent = databaseFile.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+
+        writeConnection = open();
+        try (Statement statement = writeConnection.createStatement()) {
+            statement.execute("PRAGMA journal_mode=" + (wal ? "WAL" : "DELETE"));
+            statement.execute("PRAGMA synchronous=NORMAL");
+        }
+
+        for (int i = 0; i < readers; i++) {
+            Connection connection = open();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA query_only=1");
+            }
+            readConnections.add(connection);
+            readPool.add(connection);
+        }
+
+        LogUtils.debug("Pool SQLite iniciado (" + (wal ? "WAL, " + readers + " leitores" : "sem WAL, conexão única") + ")");
+    }
+
+    private Connection open() throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA busy_timeout=" + busyTimeout);
+            statement.execute("PRAGMA cache_size=" + cacheSize);
+            statement.execute("PRAGMA temp_store=MEMORY");
+            if (mmapSize > 0) {
+                statement.execute("PRAGMA mmap_size=" + mmapSize);
+            }
+        }
+        statementCaches.put(connection, new StatementCache(connection, STATEMENT_CACHE_SIZE,
+                statementsPrepared, statementsExecuted));
+        return connection;
+    }
+
+    /**
+     * Obtém a conexão do escritor, aguardando a gravação em andamento
+     * A conexão deve ser fechada para liberar o escritor
+     */
+    public Connection getWriteConnection() throws SQLException {
+        ensureOpen();
+        writes.incrementAndGet();
+        acquireWriter();
+        return lease(writeConnection, writeLock::unlock);
+    }
+
+    /**
+     * Obtém uma conexão de leitura
+     * Sem WAL, retorna a conexão do escritor
+     * A conexão deve ser fechada para ser devolvida ao pool
+     */
+    public Connection getReadConnection() throws SQLException {
+        ensureOpen();
+        reads.incrementAndGet();
+        if (readers == 0) {
+            acquireWriter();
+            return lease(writeConnection, writeLock::unlock);
+        }
+
+        Connection connection = readPool.poll();
+        if (connection == null) {
+            readWaits.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                connection = readPool.poll(busyTimeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrompido aguardando conexão de leitura", e);
+            } finally {
+                readWaitNanos.addAndGet(System.nanoTime() - start);
+            }
+            if (connection == null) {
+                throw new SQLException("Tempo esgotado aguardando conexão de leitura do SQLite");
+            }
+        }
+
+        Connection leased = connection;
+        return lease(leased, () -> readPool.offer(leased));
+    }
+
+    private void acquireWriter() throws SQLException {
+        if (writeLock.tryLock()) {
+            return;
+        }
+
+        writeWaits.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            writeLock.lockInterruptibly();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompido aguardando o escritor do SQLite", e);
+        } finally {
+            long waited = System.nanoTime() - start;
+            writeWaitNanos.addAndGet(waited);
+            maxWriteWaitNanos.accumulateAndGet(waited, Math::max);
+        }
+    }
+
+    private void ensureOpen() throws SQLException {
+        if (closed || writeConnection == null) {
+            throw new SQLException("Pool SQLite não está disponível");
+        }
+    }
+
+    /**
+     * Envolve a conexão para que o close() a devolva ao pool em vez de fechá-la
+     * e para que prepareStatement(sql) reaproveite os statements já preparados nela
+     */
+    private Connection lease(Connection target, Runnable release) {
+        AtomicBoolean released = new AtomicBoolean();
+        StatementCache cache = statementCaches.get(target);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            if (released.compareAndSet(false, true)) {
+                                release.run();
+                            }
+                            return null;
+                        case "isClosed":
+                            return released.get() || target.isClosed();
+                        case "prepareStatement":
+                            if (args.length == 1) {
+                                return cache.prepare((String) args[0]);
+                            }
+                            // fall through
+                        default:
+                            try {
+                                return method.invoke(target, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                    }
+                });
+    }
+
+    public boolean isWal() {
+        return wal;
+    }
+
+    /**
+     * Obtém a quantidade total de conexões (escritor + leitores)
+     */
+    public int getSize() {
+        return readers + 1;
+    }
+
+    public boolean isActive() {
+        return !closed && writeConnection != null;
+    }
+
+    /**
+     * Obtém estatísticas de uso e contenção do pool
+     */
+    public String getStats() {
+        long waitCount = writeWaits.get();
+        double averageWait = waitCount > 0 ? writeWaitNanos.get() / (double) waitCount / 1_000_000.0 : 0.0;
+        String writerStats = String.format("escritor %s: %d gravações, %d esperas (média %.1f ms, máx %.1f ms)",
+                writeLock.isLocked() ? "ocupado" : "livre", writes.get(), waitCount, averageWait,
+                maxWriteWaitNanos.get() / 1_000_000.0);
+
+        long preparedCount = statementsPrepared.get();
+        long executedCount = statementsExecuted.get();
+        String statementStats = String.format("statements: %d preparados, %d execuções (%.0f%% reaproveitados)",
+                preparedCount, executedCount,
+                executedCount > 0 ? Math.max(0, executedCount - preparedCount) * 100.0 / executedCount : 0.0);
+
+        if (readers == 0) {
+            return "SQLite sem WAL: " + writerStats + ", " + reads.get() + " leituras na mesma conexão; " + statementStats;
+        }
+
+        long readWaitCount = readWaits.get();
+        double averageReadWait = readWaitCount > 0 ? readWaitNanos.get() / (double) readWaitCount / 1_000_000.0 : 0.0;
+        return String.format("SQLite WAL: %s; leitores %d/%d livres, %d leituras, %d esperas (média %.1f ms); %s",
+                writerStats, readPool.size(), readers, reads.get(), readWaitCount, averageReadWait, statementStats);
+    }
+
+    /**
+     * Fecha todas as conexões
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        for (Connection connection : readConnections) {
+            statementCaches.get(connection).clear();
+            closeQuietly(connection);
+        }
+        readConnections.clear();
+        readPool.clear();
+
+        if (writeConnection != null) {
+            boolean locked = false;
+            try {
+                // Aguarda a gravação em andamento, sem travar o desligamento indefinidamente
+                locked = writeLock.tryLock(busyTimeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            try {
+                statementCaches.get(writeConnection).clear();
+                closeQuietly(writeConnection);
+            } finally {
+                if (locked) {
+                    writeLock.unlock();
+                }
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            if (!connection.isClosed()) {
+                connection.close();
+            }
+        } catch (SQLException e) {
+            LogUtils.warning("Erro ao fechar conexão SQLite", e);
+        }
+    }
+}
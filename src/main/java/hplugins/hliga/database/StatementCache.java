@@ -0,0 +1,122 @@
+package hplugins.hliga.database;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache de {@link PreparedStatement} de uma conexão
+ *
+ * Cada SQL é preparado uma única vez por conexão; o close() do statement entregue apenas limpa os
+ * parâmetros e o devolve ao cache. Deve ser usado por uma thread de cada vez (a dona da conexão).
+ */
+final class StatementCache {
+
+    private final Connection connection;
+    private final AtomicLong prepared;
+    private final AtomicLong executed;
+    private final Map<String, PreparedStatement> statements;
+    private final Set<PreparedStatement> inUse = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    StatementCache(Connection connection, int capacity, AtomicLong prepared, AtomicLong executed) {
+        this.connection = connection;
+        this.prepared = prepared;
+        this.executed = executed;
+        this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= capacity || inUse.contains(eldest.getValue())) {
+                    return false;
+                }
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Obtém o statement do SQL, preparando-o apenas na primeira vez
+     * Se o statement em cache ainda estiver aberto por quem o pediu antes, um novo statement não
+     * armazenado é criado e fechado normalmente
+     */
+    PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement != null && !inUse.contains(statement) && !statement.isClosed()) {
+            inUse.add(statement);
+            return wrap(statement, true);
+        }
+
+        prepared.incrementAndGet();
+        PreparedStatement created = connection.prepareStatement(sql);
+        if (statement != null && inUse.contains(statement)) {
+            return wrap(created, false);
+        }
+
+        statements.put(sql, created);
+        inUse.add(created);
+        return wrap(created, true);
+    }
+
+    private PreparedStatement wrap(PreparedStatement target, boolean cached) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if ("close".equals(name)) {
+                        release(target, cached);
+                        return null;
+                    }
+                    if (name.startsWith("execute")) {
+                        executed.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private void release(PreparedStatement statement, boolean cached) throws SQLException {
+        if (!cached) {
+            statement.close();
+            return;
+        }
+        if (!inUse.remove(statement)) {
+            return;
+        }
+        try {
+            statement.clearBatch();
+            statement.clearParameters();
+        } catch (SQLException e) {
+            statements.values().remove(statement);
+            closeQuietly(statement);
+        }
+    }
+
+    /**
+     * Fecha todos os statements armazenados
+     */
+    void clear() {
+        for (PreparedStatement statement : statements.values()) {
+            closeQuietly(statement);
+        }
+        statements.clear();
+        inUse.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // O statement já está inválido; a conexão continua utilizável
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package hplugins.hliga.database.adapters;
+
+import java.util.List;
+
+/**
+ * Adaptador capaz de exportar e importar tabelas inteiras em blocos
+ * Usado na transferência de dados entre bancos de dados
+ */
+public interface BulkDataAdapter {
+
+    /**
+     * Lê o próximo bloco de registros de uma tabela
+     *
+     * @param table Tabela lida
+     * @param cursor Cursor retornado pelo bloco anterior ou null para começar do início
+     * @param limit Quantidade aproximada de registros do bloco
+     * @return Bloco lido
+     */
+    TransferChunk readChunk(TransferTable table, String cursor, int limit) throws Exception;
+
+    /**
+     * Grava um bloco de registros em uma única transação
+     * A gravação é idempotente: repetir o mesmo bloco não duplica registros
+     *
+     * @param table Tabela de destino
+     * @param rows Registros na ordem das colunas da tabela
+     */
+    void writeChunk(TransferTable table, List<Object[]> rows) throws Exception;
+}
@@ -5,7 +5,9 @@ import hplugins.hliga.models.PlayerTag;
 import hplugins.hliga.models.Season;
 import hplugins.hliga.models.TagType;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -69,6 +71,25 @@ public interface DatabaseAdapter {
      */
     boolean removeClanPoints(String clanTag, int points);
 
+    /**
+     * Soma pontos a um clã em uma única operação atômica, criando o registro se necessário
+     * A pontuação resultante nunca fica negativa
+     *
+     * @param clanTag Tag do clã
+     * @param points Pontos a serem somados (positivos ou negativos)
+     * @return Nova pontuação do clã ou -1 em caso de erro
+     */
+    int incrementAndGet(String clanTag, int points);
+
+    /**
+     * Remove pontos de um clã em uma única operação atômica, somente se ele possuir ao menos a quantidade informada
+     *
+     * @param clanTag Tag do clã
+     * @param points Pontos a serem removidos
+     * @return Nova pontuação do clã ou -1 se a pontuação for insuficiente ou ocorrer erro
+     */
+    int decrementIfAtLeast(String clanTag, int points);
+
     /**
      * Reseta os pontos de todos os clãs
      *
@@ -159,6 +180,15 @@ public interface DatabaseAdapter {
      */
     boolean resetAllClanPoints();
 
+    /**
+     * Aplica um lote de variações de pontos em uma única operação
+     * Clãs inexistentes são criados e a pontuação resultante nunca fica negativa
+     *
+     * @param deltas Variação de pontos por tag de clã
+     * @return true se todo o lote foi aplicado
+     */
+    boolean applyPointDeltas(Map<String, Integer> deltas);
+
     // MÉTODOS PARA SISTEMA DE TAGS
 
     /**
@@ -216,6 +246,17 @@ public interface DatabaseAdapter {
      */
     boolean removeAllRankingTags();
 
+    /**
+     * Substitui as tags de ranking de um grupo de jogadores em uma única operação
+     * As tags de ranking dos jogadores removidos e dos jogadores que recebem uma nova tag
+     * são apagadas antes da gravação das novas tags
+     *
+     * @param removedPlayers Jogadores que perderam a tag de ranking
+     * @param newTags Novas tags de ranking
+     * @return true se todas as alterações foram aplicadas
+     */
+    boolean replaceRankingTags(Collection<UUID> removedPlayers, List<PlayerTag> newTags);
+
     /**
      * Verifica se existem tags de temporada ativas no banco
      *
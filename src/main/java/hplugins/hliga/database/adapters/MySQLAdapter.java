@@ -3,6 +3,8 @@ package hplugins.hliga.database.adapters;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import hplugins.hliga.Main;
+import hplugins.hliga.database.migration.SchemaMigrations;
+import hplugins.hliga.database.migration.SqlMigrator;
 import hplugins.hliga.models.ClanPoints;
 import hplugins.hliga.models.PlayerTag;
 import hplugins.hliga.models.Season;
@@ -15,12 +17,14 @@ import org.bukkit.configuration.file.FileConfiguration;
 import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Level;
 
-public class MySQLAdapter implements DatabaseAdapter {
+public class MySQLAdapter implements DatabaseAdapter, BulkDataAdapter {
 
     private final Main plugin;
     private final DataSource dataSource;
@@ -62,11 +66,17 @@ public class MySQLAdapter implements DatabaseAdapter {
                     "tag_name VARCHAR(50) NOT NULL, " +
                     "obtained_date BIGINT NOT NULL, " +
                     "active BOOLEAN NOT NULL DEFAULT TRUE, " +
-                    "INDEX idx_player_uuid (player_uuid), " +
-                    "INDEX idx_tag_type (tag_type), " +
+                    // Consultas por jogador e por tipo usam os índices compostos da migração 1
                     "INDEX idx_active (active)" +
                     ")");
 
+            statement.executeUpdate("CREATE TABLE IF NOT EXISTS player_tag_preferences (" +
+                    "player_uuid VARCHAR(36) PRIMARY KEY, " +
+                    "tags_enabled BOOLEAN NOT NULL DEFAULT TRUE" +
+                    ")");
+
+            SqlMigrator.migrate(connection, SchemaMigrations.mysql(), "MySQL", true);
+
             return true;
         } catch (SQLException e) {
             plugin.getLogger().log(Level.SEVERE, "Erro ao inicializar tabelas do MySQL", e);
@@ -119,46 +129,75 @@ public class MySQLAdapter implements DatabaseAdapter {
 
     @Override
     public boolean addClanPoints(String clanTag, int points) {
-        String sql = "INSERT INTO clan_points (clan_tag, points) VALUES (?, ?) " +
-                "ON DUPLICATE KEY UPDATE points = points + ?";
+        return incrementAndGet(clanTag, points) >= 0;
+    }
+
+    @Override
+    public boolean removeClanPoints(String clanTag, int points) {
+        if (points <= 0) {
+            return true; // Nada a remover
+        }
+
+        return incrementAndGet(clanTag, -points) >= 0;
+    }
+
+    @Override
+    public int incrementAndGet(String clanTag, int points) {
+        // LAST_INSERT_ID(expr) devolve o novo total no próprio pacote de resposta, sem uma segunda consulta
+        String sql = "INSERT INTO clan_points (clan_tag, points) VALUES (?, LAST_INSERT_ID(GREATEST(0, ?))) " +
+                "ON DUPLICATE KEY UPDATE points = LAST_INSERT_ID(GREATEST(0, points + ?))";
 
         try (Connection connection = dataSource.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+             PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             statement.setString(1, clanTag);
             statement.setInt(2, points);
             statement.setInt(3, points);
+            statement.executeUpdate();
 
-            return statement.executeUpdate() > 0;
+            return readLastInsertId(connection, statement);
         } catch (SQLException e) {
             plugin.getLogger().log(Level.WARNING, "Erro ao adicionar pontos ao clã: " + clanTag, e);
-            return false;
+            return -1;
         }
     }
 
     @Override
-    public boolean removeClanPoints(String clanTag, int points) {
-        int currentPoints = getClanPoints(clanTag);
-        if (currentPoints < points) {
-            points = currentPoints; // Não permitir pontos negativos
-        }
-
-        if (points <= 0) {
-            return true; // Nada a remover
-        }
-
-        String sql = "UPDATE clan_points SET points = points - ? WHERE clan_tag = ?";
+    public int decrementIfAtLeast(String clanTag, int points) {
+        String sql = "UPDATE clan_points SET points = LAST_INSERT_ID(points - ?) WHERE clan_tag = ? AND points >= ?";
 
         try (Connection connection = dataSource.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+             PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             statement.setInt(1, points);
             statement.setString(2, clanTag);
+            statement.setInt(3, points);
 
-            return statement.executeUpdate() > 0;
+            if (statement.executeUpdate() == 0) {
+                return -1;
+            }
+
+            return readLastInsertId(connection, statement);
         } catch (SQLException e) {
             plugin.getLogger().log(Level.WARNING, "Erro ao remover pontos do clã: " + clanTag, e);
-            return false;
+            return -1;
+        }
+    }
+
+    /**
+     * Lê o valor definido por LAST_INSERT_ID(expr) na última instrução executada
+     * O driver não informa chaves geradas quando o valor é zero, por isso há uma consulta de reserva
+     */
+    private int readLastInsertId(Connection connection, PreparedStatement statement) throws SQLException {
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            if (keys.next()) {
+                return keys.getInt(1);
+            }
+        }
+
+        try (Statement fallback = connection.createStatement();
+             ResultSet resultSet = fallback.executeQuery("SELECT LAST_INSERT_ID()")) {
+            return resultSet.next() ? resultSet.getInt(1) : 0;
         }
     }
 
@@ -197,7 +236,7 @@ public class MySQLAdapter implements DatabaseAdapter {
 
     @Override
     public List<ClanPoints> getTopClans(int limit) {
-        String sql = "SELECT clan_tag, points FROM clan_points ORDER BY points DESC LIMIT ?";
+        String sql = "SELECT clan_tag, points FROM clan_points ORDER BY points DESC, clan_tag LIMIT ?";
         List<ClanPoints> result = new ArrayList<>();
 
         try (Connection connection = dataSource.getConnection();
@@ -536,6 +575,42 @@ public class MySQLAdapter implements DatabaseAdapter {
         }
     }
 
+    @Override
+    public boolean applyPointDeltas(Map<String, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return true;
+        }
+
+        String sql = "INSERT INTO clan_points (clan_tag, points) VALUES (?, GREATEST(0, ?)) " +
+                "ON DUPLICATE KEY UPDATE points = GREATEST(0, points + ?)";
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (Map.Entry<String, Integer> entry : deltas.entrySet()) {
+                    statement.setString(1, entry.getKey());
+                    statement.setInt(2, entry.getValue());
+                    statement.setInt(3, entry.getValue());
+                    statement.addBatch();
+                }
+
+                statement.executeBatch();
+                connection.commit();
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.WARNING, "Erro ao aplicar lote de pontos (" + deltas.size() + " clãs)", e);
+            return false;
+        }
+    }
+
 
     @Override
     public boolean savePlayerTag(PlayerTag tag) {
@@ -731,6 +806,60 @@ public class MySQLAdapter implements DatabaseAdapter {
         }
     }
 
+    @Override
+    public boolean replaceRankingTags(Collection<UUID> removedPlayers, List<PlayerTag> newTags) {
+        if (removedPlayers.isEmpty() && newTags.isEmpty()) {
+            return true;
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement deleteStatement = connection.prepareStatement(
+                         "DELETE FROM player_tags WHERE player_uuid = ? AND tag_type = ?");
+                 PreparedStatement insertStatement = connection.prepareStatement(
+                         "INSERT INTO player_tags (player_uuid, tag_type, position, season_number, formatted_tag, tag_name, obtained_date, active) " +
+                         "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+
+                for (UUID playerUuid : removedPlayers) {
+                    deleteStatement.setString(1, playerUuid.toString());
+                    deleteStatement.setString(2, TagType.RANKING.name());
+                    deleteStatement.addBatch();
+                }
+
+                for (PlayerTag tag : newTags) {
+                    deleteStatement.setString(1, tag.getPlayerUuid().toString());
+                    deleteStatement.setString(2, TagType.RANKING.name());
+                    deleteStatement.addBatch();
+
+                    insertStatement.setString(1, tag.getPlayerUuid().toString());
+                    insertStatement.setString(2, tag.getTagType().name());
+                    insertStatement.setInt(3, tag.getPosition());
+                    insertStatement.setInt(4, tag.getSeasonNumber());
+                    insertStatement.setString(5, tag.getFormattedTag());
+                    insertStatement.setString(6, tag.getTagName());
+                    insertStatement.setLong(7, tag.getObtainedDate());
+                    insertStatement.setBoolean(8, tag.isActive());
+                    insertStatement.addBatch();
+                }
+
+                deleteStatement.executeBatch();
+                insertStatement.executeBatch();
+                connection.commit();
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.WARNING, "Erro ao substituir tags de ranking (" + removedPlayers.size() + " removidas, " + newTags.size() + " novas)", e);
+            return false;
+        }
+    }
+
     @Override
     public boolean hasAnySeasonTags() {
         String sql = "SELECT COUNT(*) FROM player_tags WHERE tag_type = ? AND active = 1";
@@ -796,4 +925,18 @@ public class MySQLAdapter implements DatabaseAdapter {
 
         return true;
     }
-}
\ No newline at end of file
+
+    @Override
+    public TransferChunk readChunk(TransferTable table, String cursor, int limit) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return SqlBulkTransfer.read(connection, table, cursor, limit);
+        }
+    }
+
+    @Override
+    public void writeChunk(TransferTable table, List<Object[]> rows) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            SqlBulkTransfer.write(connection, table, rows);
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import hplugins.hliga.Main;
+import hplugins.hliga.database.migration.RedisMigrator;
+import hplugins.hliga.database.migration.SchemaMigrations;
 import hplugins.hliga.models.ClanPoints;
 import hplugins.hliga.models.PlayerTag;
 import hplugins.hliga.models.Season;
@@ -14,12 +16,18 @@ import org.bukkit.configuration.file.FileConfiguration;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Transaction;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
+import redis.clients.jedis.resps.Tuple;
 
 import java.util.*;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 
-public class RedisAdapter implements DatabaseAdapter {
+public class RedisAdapter implements DatabaseAdapter, BulkDataAdapter {
 
     private final Main plugin;
 
@@ -30,11 +38,32 @@ public class RedisAdapter implements DatabaseAdapter {
 
     private JedisPool jedisPool;
 
-    private static final String KEY_CLAN_POINTS = "hliga:clan_points";
+    /** Sorted set com a pontuação de cada clã (membro = tag, score = pontos) */
+    private static final String KEY_CLAN_RANKING = "hliga:clan_ranking";
     private static final String KEY_SEASONS = "hliga:seasons";
     private static final String KEY_ACTIVE_SEASON = "hliga:active_season";
     private static final String KEY_LAST_SEASON_ID = "hliga:last_season_id";
     private static final String KEY_PLAYER_TAGS = "hliga:player_tags";
+    private static final String KEY_TAG_PREFERENCES = "player_tag_preferences";
+
+    /**
+     * Soma uma variação ao score do membro sem deixar o resultado negativo
+     * KEYS[1] = sorted set, ARGV[1] = membro, ARGV[2] = variação
+     */
+    private static final String SCRIPT_INCREMENT_FLOOR =
+            "local v = tonumber(redis.call('ZINCRBY', KEYS[1], ARGV[2], ARGV[1])) " +
+            "if v < 0 then redis.call('ZADD', KEYS[1], 0, ARGV[1]) return 0 end " +
+            "return v";
+
+    /**
+     * Subtrai pontos do membro somente se o score atual for suficiente
+     * KEYS[1] = sorted set, ARGV[1] = membro, ARGV[2] = quantidade; retorna -1 se insuficiente
+     */
+    private static final String SCRIPT_DECREMENT_IF_AT_LEAST =
+            "local c = tonumber(redis.call('ZSCORE', KEYS[1], ARGV[1]) or '0') " +
+            "local d = tonumber(ARGV[2]) " +
+            "if c < d then return -1 end " +
+            "return tonumber(redis.call('ZINCRBY', KEYS[1], -d, ARGV[1]))";
 
     @Override
     public boolean initialize() {
@@ -63,6 +92,7 @@ public class RedisAdapter implements DatabaseAdapter {
             try (Jedis jedis = jedisPool.getResource()) {
                 jedis.ping();
                 LogUtils.debug("Conexão com o Redis estabelecida com sucesso!");
+                RedisMigrator.migrate(jedis, SchemaMigrations.redis());
                 return true;
             }
         } catch (Exception e) {
@@ -78,14 +108,15 @@ public class RedisAdapter implements DatabaseAdapter {
         }
     }
 
+    public JedisPool getJedisPool() {
+        return jedisPool;
+    }
+
     @Override
     public int getClanPoints(String clanTag) {
         try (Jedis jedis = jedisPool.getResource()) {
-            String pointsStr = jedis.hget(KEY_CLAN_POINTS, clanTag);
-            if (pointsStr != null) {
-                return Integer.parseInt(pointsStr);
-            }
-            return 0;
+            Double score = jedis.zscore(KEY_CLAN_RANKING, clanTag);
+            return score != null ? score.intValue() : 0;
         } catch (Exception e) {
             plugin.getLogger().log(Level.WARNING, "Erro ao obter pontos do clã: " + clanTag, e);
             return 0;
@@ -95,7 +126,7 @@ public class RedisAdapter implements DatabaseAdapter {
     @Override
     public boolean setClanPoints(String clanTag, int points) {
         try (Jedis jedis = jedisPool.getResource()) {
-            jedis.hset(KEY_CLAN_POINTS, clanTag, String.valueOf(points));
+            jedis.zadd(KEY_CLAN_RANKING, points, clanTag);
             return true;
         } catch (Exception e) {
             plugin.getLogger().log(Level.WARNING, "Erro ao definir pontos do clã: " + clanTag, e);
@@ -105,49 +136,52 @@ public class RedisAdapter implements DatabaseAdapter {
 
     @Override
     public boolean addClanPoints(String clanTag, int points) {
-        try (Jedis jedis = jedisPool.getResource()) {
-            String currentPointsStr = jedis.hget(KEY_CLAN_POINTS, clanTag);
-            int currentPoints = 0;
-            if (currentPointsStr != null) {
-                currentPoints = Integer.parseInt(currentPointsStr);
-            }
+        return incrementAndGet(clanTag, points) >= 0;
+    }
 
-            int newPoints = currentPoints + points;
-            jedis.hset(KEY_CLAN_POINTS, clanTag, String.valueOf(newPoints));
+    @Override
+    public boolean removeClanPoints(String clanTag, int points) {
+        if (points <= 0) {
             return true;
-        } catch (Exception e) {
-            plugin.getLogger().log(Level.WARNING, "Erro ao adicionar pontos ao clã: " + clanTag, e);
-            return false;
         }
+
+        return incrementAndGet(clanTag, -points) >= 0;
     }
 
     @Override
-    public boolean removeClanPoints(String clanTag, int points) {
+    public int incrementAndGet(String clanTag, int points) {
         try (Jedis jedis = jedisPool.getResource()) {
-            String currentPointsStr = jedis.hget(KEY_CLAN_POINTS, clanTag);
-            int currentPoints = 0;
-            if (currentPointsStr != null) {
-                currentPoints = Integer.parseInt(currentPointsStr);
+            if (points >= 0) {
+                return (int) jedis.zincrby(KEY_CLAN_RANKING, points, clanTag);
             }
 
-            int newPoints = Math.max(0, currentPoints - points);
-
-            if (currentPoints == newPoints) {
-                return true;
-            }
+            Object result = jedis.eval(SCRIPT_INCREMENT_FLOOR,
+                    Collections.singletonList(KEY_CLAN_RANKING),
+                    Arrays.asList(clanTag, String.valueOf(points)));
+            return ((Long) result).intValue();
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Erro ao adicionar pontos ao clã: " + clanTag, e);
+            return -1;
+        }
+    }
 
-            jedis.hset(KEY_CLAN_POINTS, clanTag, String.valueOf(newPoints));
-            return true;
+    @Override
+    public int decrementIfAtLeast(String clanTag, int points) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            Object result = jedis.eval(SCRIPT_DECREMENT_IF_AT_LEAST,
+                    Collections.singletonList(KEY_CLAN_RANKING),
+                    Arrays.asList(clanTag, String.valueOf(points)));
+            return ((Long) result).intValue();
         } catch (Exception e) {
             plugin.getLogger().log(Level.WARNING, "Erro ao remover pontos do clã: " + clanTag, e);
-            return false;
+            return -1;
         }
     }
 
     @Override
     public boolean clanExists(String clanTag) {
         try (Jedis jedis = jedisPool.getResource()) {
-            return jedis.hexists(KEY_CLAN_POINTS, clanTag);
+            return jedis.zscore(KEY_CLAN_RANKING, clanTag) != null;
         } catch (Exception e) {
             plugin.getLogger().log(Level.WARNING, "Erro ao verificar existência do clã " + clanTag, e);
             return false;
@@ -157,7 +191,7 @@ public class RedisAdapter implements DatabaseAdapter {
     @Override
     public boolean resetAllPoints() {
         try (Jedis jedis = jedisPool.getResource()) {
-            jedis.del(KEY_CLAN_POINTS);
+            jedis.del(KEY_CLAN_RANKING);
             return true;
         } catch (Exception e) {
             plugin.getLogger().log(Level.WARNING, "Erro ao resetar pontos de todos os clãs", e);
@@ -167,27 +201,12 @@ public class RedisAdapter implements DatabaseAdapter {
 
     @Override
     public List<ClanPoints> getTopClans(int limit) {
-        try (Jedis jedis = jedisPool.getResource()) {
-            Map<String, String> allPoints = jedis.hgetAll(KEY_CLAN_POINTS);
-
-            List<ClanPoints> clanPointsList = new ArrayList<>();
-            for (Map.Entry<String, String> entry : allPoints.entrySet()) {
-                ClanPoints clanPoints = new ClanPoints(entry.getKey(), Integer.parseInt(entry.getValue()));
-                clanPointsList.add(clanPoints);
-            }
-
-            Collections.sort(clanPointsList, new Comparator<ClanPoints>() {
-                @Override
-                public int compare(ClanPoints o1, ClanPoints o2) {
-                    return Integer.compare(o2.points, o1.points); // Ordem decrescente
-                }
-            });
-
-            if (clanPointsList.size() > limit) {
-                return clanPointsList.subList(0, limit);
-            }
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
 
-            return clanPointsList;
+        try (Jedis jedis = jedisPool.getResource()) {
+            return toClanPoints(jedis.zrevrangeWithScores(KEY_CLAN_RANKING, 0, limit - 1L));
         } catch (Exception e) {
             plugin.getLogger().log(Level.WARNING, "Erro ao obter ranking de clãs", e);
             return new ArrayList<>();
@@ -382,18 +401,7 @@ public class RedisAdapter implements DatabaseAdapter {
         List<ClanPoints> result = new ArrayList<>();
 
         try (Jedis jedis = jedisPool.getResource()) {
-            Map<String, String> clans = jedis.hgetAll(KEY_CLAN_POINTS);
-
-            for (Map.Entry<String, String> entry : clans.entrySet()) {
-                try {
-                    String clanTag = entry.getKey();
-                    int points = Integer.parseInt(entry.getValue());
-
-                    result.add(new ClanPoints(clanTag, points));
-                } catch (NumberFormatException e) {
-                    plugin.getLogger().log(Level.WARNING, "Erro ao converter pontos para o clã " + entry.getKey(), e);
-                }
-            }
+            result.addAll(toClanPoints(jedis.zrevrangeWithScores(KEY_CLAN_RANKING, 0, -1)));
         } catch (Exception e) {
             plugin.getLogger().log(Level.WARNING, "Erro ao obter todos os pontos de clãs", e);
         }
@@ -404,13 +412,13 @@ public class RedisAdapter implements DatabaseAdapter {
     @Override
     public boolean resetAllClanPoints() {
         try (Jedis jedis = jedisPool.getResource()) {
-            Map<String, String> allClans = jedis.hgetAll(KEY_CLAN_POINTS);
+            List<String> allClans = jedis.zrange(KEY_CLAN_RANKING, 0, -1);
             if (!allClans.isEmpty()) {
-                Map<String, String> resetData = new HashMap<>();
-                for (String clanTag : allClans.keySet()) {
-                    resetData.put(clanTag, "0");
+                Map<String, Double> resetData = new HashMap<>();
+                for (String clanTag : allClans) {
+                    resetData.put(clanTag, 0.0);
                 }
-                jedis.hmset(KEY_CLAN_POINTS, resetData);
+                jedis.zadd(KEY_CLAN_RANKING, resetData);
                 LogUtils.info("Pontos de " + allClans.size() + " clãs foram resetados para zero");
             }
             return true;
@@ -427,7 +435,7 @@ public class RedisAdapter implements DatabaseAdapter {
         }
 
         try (Jedis jedis = jedisPool.getResource()) {
-            jedis.hset(KEY_CLAN_POINTS, clanTag, String.valueOf(points));
+            jedis.zadd(KEY_CLAN_RANKING, points, clanTag);
             return true;
         } catch (Exception e) {
             plugin.getLogger().log(Level.WARNING, "Erro ao salvar pontos do clã " + clanTag, e);
@@ -435,6 +443,40 @@ public class RedisAdapter implements DatabaseAdapter {
         }
     }
 
+    @Override
+    public boolean applyPointDeltas(Map<String, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return true;
+        }
+
+        // Cada variação passa pelo script com piso em zero, então nenhum servidor lê um total negativo;
+        // o MULTI/EXEC aplica o lote inteiro ou nada, se a conexão cair antes do EXEC
+        List<String> keys = Collections.singletonList(KEY_CLAN_RANKING);
+        try (Jedis jedis = jedisPool.getResource()) {
+            Transaction transaction = jedis.multi();
+            for (Map.Entry<String, Integer> entry : deltas.entrySet()) {
+                transaction.eval(SCRIPT_INCREMENT_FLOOR, keys, Arrays.asList(entry.getKey(), String.valueOf(entry.getValue())));
+            }
+            for (Object result : transaction.exec()) {
+                if (result instanceof Exception) {
+                    throw (Exception) result;
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Erro ao aplicar lote de pontos (" + deltas.size() + " clãs)", e);
+            return false;
+        }
+    }
+
+    private List<ClanPoints> toClanPoints(List<Tuple> tuples) {
+        List<ClanPoints> result = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            result.add(new ClanPoints(tuple.getElement(), (int) tuple.getScore()));
+        }
+        return result;
+    }
+
 
     @Override
     public boolean savePlayerTag(PlayerTag tag) {
@@ -593,6 +635,47 @@ public class RedisAdapter implements DatabaseAdapter {
         }
     }
 
+    @Override
+    public boolean replaceRankingTags(Collection<UUID> removedPlayers, List<PlayerTag> newTags) {
+        if (removedPlayers.isEmpty() && newTags.isEmpty()) {
+            return true;
+        }
+
+        Set<UUID> affected = new HashSet<>(removedPlayers);
+        for (PlayerTag tag : newTags) {
+            affected.add(tag.getPlayerUuid());
+        }
+
+        try (Jedis jedis = jedisPool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            Map<UUID, Response<Set<String>>> fields = new HashMap<>();
+            for (UUID playerUuid : affected) {
+                fields.put(playerUuid, pipeline.hkeys(KEY_PLAYER_TAGS + ":" + playerUuid));
+            }
+            pipeline.sync();
+
+            Transaction transaction = jedis.multi();
+            for (Map.Entry<UUID, Response<Set<String>>> entry : fields.entrySet()) {
+                String[] rankingFields = entry.getValue().get().stream()
+                        .filter(field -> field.startsWith("RANKING"))
+                        .toArray(String[]::new);
+                if (rankingFields.length > 0) {
+                    transaction.hdel(KEY_PLAYER_TAGS + ":" + entry.getKey(), rankingFields);
+                }
+            }
+            for (PlayerTag tag : newTags) {
+                transaction.hset(KEY_PLAYER_TAGS + ":" + tag.getPlayerUuid(),
+                        tag.getTagType().name() + ":" + tag.getPosition(), gson.toJson(tag));
+            }
+            transaction.exec();
+
+            return true;
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Erro ao substituir tags de ranking no Redis", e);
+            return false;
+        }
+    }
+
     @Override
     public boolean hasAnySeasonTags() {
         try (Jedis jedis = jedisPool.getResource()) {
@@ -622,7 +705,7 @@ public class RedisAdapter implements DatabaseAdapter {
     @Override
     public void savePlayerTagPreference(java.util.UUID playerUuid, boolean tagsEnabled) {
         try (Jedis jedis = jedisPool.getResource()) {
-            String key = "player_tag_preferences:" + playerUuid.toString();
+            String key = KEY_TAG_PREFERENCES + ":" + playerUuid.toString();
             jedis.set(key, tagsEnabled ? "1" : "0");
             LogUtils.debug("Preferência de tags salva no Redis para jogador " + playerUuid + ": " + tagsEnabled);
 
@@ -634,7 +717,7 @@ public class RedisAdapter implements DatabaseAdapter {
     @Override
     public boolean getPlayerTagPreference(java.util.UUID playerUuid) {
         try (Jedis jedis = jedisPool.getResource()) {
-            String key = "player_tag_preferences:" + playerUuid.toString();
+            String key = KEY_TAG_PREFERENCES + ":" + playerUuid.toString();
             String value = jedis.get(key);
 
             if (value != null) {
@@ -649,4 +732,148 @@ public class RedisAdapter implements DatabaseAdapter {
 
         return true;
     }
-}
\ No newline at end of file
+
+    /**
+     * Lê um bloco com SCAN/ZSCAN/HSCAN; o cursor é o cursor do próprio Redis
+     * O limite é apenas uma sugestão (COUNT), então o bloco pode ter mais ou menos registros
+     */
+    @Override
+    public TransferChunk readChunk(TransferTable table, String cursor, int limit) {
+        String scanCursor = cursor != null ? cursor : ScanParams.SCAN_POINTER_START;
+        List<Object[]> rows = new ArrayList<>();
+        String next;
+
+        try (Jedis jedis = jedisPool.getResource()) {
+            switch (table) {
+                case CLAN_POINTS: {
+                    ScanResult<Tuple> result = jedis.zscan(KEY_CLAN_RANKING, scanCursor, new ScanParams().count(limit));
+                    for (Tuple tuple : result.getResult()) {
+                        rows.add(new Object[]{tuple.getElement(), (int) tuple.getScore()});
+                    }
+                    next = result.getCursor();
+                    break;
+                }
+                case SEASONS: {
+                    ScanResult<Map.Entry<String, String>> result = jedis.hscan(KEY_SEASONS, scanCursor, new ScanParams().count(limit));
+                    for (Map.Entry<String, String> entry : result.getResult()) {
+                        Season season = gson.fromJson(entry.getValue(), Season.class);
+                        rows.add(new Object[]{season.id, season.name, season.startDate, season.endDate, season.active,
+                                season.winnerClan, season.winnerPoints, gson.toJson(season.topClans)});
+                    }
+                    next = result.getCursor();
+                    break;
+                }
+                case PLAYER_TAGS: {
+                    ScanResult<String> result = jedis.scan(scanCursor, new ScanParams().match(KEY_PLAYER_TAGS + ":*").count(limit));
+                    Pipeline pipeline = jedis.pipelined();
+                    List<Response<Map<String, String>>> responses = new ArrayList<>();
+                    for (String key : result.getResult()) {
+                        responses.add(pipeline.hgetAll(key));
+                    }
+                    pipeline.sync();
+                    for (Response<Map<String, String>> response : responses) {
+                        for (String tagJson : response.get().values()) {
+                            PlayerTag tag = gson.fromJson(tagJson, PlayerTag.class);
+                            rows.add(new Object[]{tag.getPlayerUuid().toString(), tag.getTagType().name(), tag.getPosition(),
+                                    tag.getSeasonNumber(), tag.getFormattedTag(), tag.getTagName(), tag.getObtainedDate(),
+                                    tag.isActive()});
+                        }
+                    }
+                    next = result.getCursor();
+                    break;
+                }
+                case TAG_PREFERENCES: {
+                    ScanResult<String> result = jedis.scan(scanCursor, new ScanParams().match(KEY_TAG_PREFERENCES + ":*").count(limit));
+                    Pipeline pipeline = jedis.pipelined();
+                    Map<String, Response<String>> responses = new LinkedHashMap<>();
+                    for (String key : result.getResult()) {
+                        responses.put(key.substring(KEY_TAG_PREFERENCES.length() + 1), pipeline.get(key));
+                    }
+                    pipeline.sync();
+                    for (Map.Entry<String, Response<String>> entry : responses.entrySet()) {
+                        if (entry.getValue().get() != null) {
+                            rows.add(new Object[]{entry.getKey(), "1".equals(entry.getValue().get())});
+                        }
+                    }
+                    next = result.getCursor();
+                    break;
+                }
+                default:
+                    throw new IllegalArgumentException("Tabela não suportada: " + table);
+            }
+        }
+
+        return new TransferChunk(rows, ScanParams.SCAN_POINTER_START.equals(next) ? null : next);
+    }
+
+    /**
+     * Grava o bloco em uma única transação MULTI/EXEC
+     */
+    @Override
+    public void writeChunk(TransferTable table, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try (Jedis jedis = jedisPool.getResource()) {
+            long lastSeasonId = table == TransferTable.SEASONS ? parseLong(jedis.get(KEY_LAST_SEASON_ID)) : 0L;
+
+            Transaction transaction = jedis.multi();
+            for (Object[] row : rows) {
+                switch (table) {
+                    case CLAN_POINTS:
+                        transaction.zadd(KEY_CLAN_RANKING, toInt(row[1]), (String) row[0]);
+                        break;
+                    case SEASONS: {
+                        Season season = new Season(toInt(row[0]), (String) row[1], toLong(row[2]), toLong(row[3]), Boolean.TRUE.equals(row[4]));
+                        season.winnerClan = (String) row[5];
+                        season.winnerPoints = toInt(row[6]);
+                        if (row[7] != null && !((String) row[7]).isEmpty()) {
+                            season.topClans = new ArrayList<>(Arrays.asList(gson.fromJson((String) row[7], ClanPoints[].class)));
+                        }
+                        transaction.hset(KEY_SEASONS, String.valueOf(season.id), gson.toJson(season));
+                        if (season.active) {
+                            transaction.set(KEY_ACTIVE_SEASON, String.valueOf(season.id));
+                        }
+                        lastSeasonId = Math.max(lastSeasonId, season.id);
+                        break;
+                    }
+                    case PLAYER_TAGS: {
+                        PlayerTag tag = new PlayerTag(UUID.fromString((String) row[0]), TagType.valueOf((String) row[1]),
+                                toInt(row[2]), toInt(row[3]), (String) row[4], (String) row[5]);
+                        tag.setObtainedDate(toLong(row[6]));
+                        tag.setActive(Boolean.TRUE.equals(row[7]));
+                        transaction.hset(KEY_PLAYER_TAGS + ":" + tag.getPlayerUuid(),
+                                tag.getTagType().name() + ":" + tag.getPosition(), gson.toJson(tag));
+                        break;
+                    }
+                    case TAG_PREFERENCES:
+                        transaction.set(KEY_TAG_PREFERENCES + ":" + row[0], Boolean.TRUE.equals(row[1]) ? "1" : "0");
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Tabela não suportada: " + table);
+                }
+            }
+            if (table == TransferTable.SEASONS) {
+                transaction.set(KEY_LAST_SEASON_ID, String.valueOf(lastSeasonId));
+            }
+            transaction.exec();
+        }
+    }
+
+    private static int toInt(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return value != null ? Long.parseLong(value) : 0L;
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+}
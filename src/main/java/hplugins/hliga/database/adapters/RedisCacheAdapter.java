@@ -3,7 +3,6 @@ package hplugins.hliga.database.adapters;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import hplugins.hliga.Main;
-import hplugins.hliga.models.ClanPoints;
 import hplugins.hliga.models.PlayerTag;
 import hplugins.hliga.models.Season;
 import hplugins.hliga.models.TagType;
@@ -12,6 +11,8 @@ import org.bukkit.configuration.file.FileConfiguration;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
 
 import java.util.*;
 import java.util.logging.Level;
@@ -23,17 +24,16 @@ import java.util.logging.Level;
 public class RedisCacheAdapter {
     
     private final Main plugin;
-    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private final Gson gson = new GsonBuilder().create();
     private JedisPool jedisPool;
     
-    private static final String KEY_CLAN_POINTS = "hliga:cache:clan_points";
-    private static final String KEY_RANKINGS = "hliga:cache:rankings";
     private static final String KEY_ACTIVE_SEASON = "hliga:cache:active_season";
     private static final String KEY_PLAYER_TAGS = "hliga:cache:player_tags:";
     
-    private static final int CACHE_TTL_RANKINGS = 300; // 5 minutos
-    private static final int CACHE_TTL_SEASON = 1800;  // 30 minutos
-    private static final int CACHE_TTL_TAGS = 600;     // 10 minutos
+    private static final int SCAN_BATCH = 500;
+    
+    private int ttlSeason = 1800;  // 30 minutos
+    private int ttlTags = 600;     // 10 minutos
     
     public RedisCacheAdapter(Main plugin) {
         this.plugin = plugin;
@@ -47,6 +47,8 @@ public class RedisCacheAdapter {
             String password = config.getString("database.redis.password", "");
             int database = config.getInt("database.redis.database", 0);
             int poolSize = config.getInt("database.redis.poolSize", 8);
+            ttlSeason = config.getInt("database.redis.cache_ttl.seasons", ttlSeason);
+            ttlTags = config.getInt("database.redis.cache_ttl.player_tags", ttlTags);
             
             JedisPoolConfig poolConfig = new JedisPoolConfig();
             poolConfig.setMaxTotal(poolSize);
@@ -69,6 +71,7 @@ public class RedisCacheAdapter {
             }
         } catch (Exception e) {
             LogUtils.debug("Redis Cache não disponível: " + e.getMessage());
+            shutdown();
             return false;
         }
     }
@@ -83,32 +86,8 @@ public class RedisCacheAdapter {
         return jedisPool != null && !jedisPool.isClosed();
     }
     
-    
-    public void cacheRankings(List<ClanPoints> rankings) {
-        if (!isAvailable()) return;
-        
-        try (Jedis jedis = jedisPool.getResource()) {
-            String rankingsJson = gson.toJson(rankings);
-            jedis.setex(KEY_RANKINGS, CACHE_TTL_RANKINGS, rankingsJson);
-        } catch (Exception e) {
-            LogUtils.debug("Erro ao cachear rankings: " + e.getMessage());
-        }
-    }
-    
-    public Optional<List<ClanPoints>> getCachedRankings() {
-        if (!isAvailable()) return Optional.empty();
-        
-        try (Jedis jedis = jedisPool.getResource()) {
-            String rankingsJson = jedis.get(KEY_RANKINGS);
-            if (rankingsJson != null) {
-                ClanPoints[] rankings = gson.fromJson(rankingsJson, ClanPoints[].class);
-                return Optional.of(Arrays.asList(rankings));
-            }
-        } catch (Exception e) {
-            LogUtils.debug("Erro ao obter rankings do cache: " + e.getMessage());
-        }
-        
-        return Optional.empty();
+    public JedisPool getJedisPool() {
+        return jedisPool;
     }
     
     
@@ -117,7 +96,7 @@ public class RedisCacheAdapter {
         
         try (Jedis jedis = jedisPool.getResource()) {
             String seasonJson = gson.toJson(season);
-            jedis.setex(KEY_ACTIVE_SEASON, CACHE_TTL_SEASON, seasonJson);
+            jedis.setex(KEY_ACTIVE_SEASON, ttlSeason, seasonJson);
         } catch (Exception e) {
             LogUtils.debug("Erro ao cachear temporada ativa: " + e.getMessage());
         }
@@ -146,7 +125,7 @@ public class RedisCacheAdapter {
         try (Jedis jedis = jedisPool.getResource()) {
             String key = KEY_PLAYER_TAGS + playerUuid.toString();
             String tagsJson = gson.toJson(tags);
-            jedis.setex(key, CACHE_TTL_TAGS, tagsJson);
+            jedis.setex(key, ttlTags, tagsJson);
         } catch (Exception e) {
             LogUtils.debug("Erro ao cachear tags do jogador: " + e.getMessage());
         }
@@ -170,75 +149,63 @@ public class RedisCacheAdapter {
     }
     
     
-    public void cacheClanPoints(String clanTag, int points) {
+    public void invalidateActiveSeason() {
         if (!isAvailable()) return;
         
         try (Jedis jedis = jedisPool.getResource()) {
-            jedis.hset(KEY_CLAN_POINTS, clanTag, String.valueOf(points));
-            jedis.expire(KEY_CLAN_POINTS, CACHE_TTL_RANKINGS);
-        } catch (Exception e) {
-            LogUtils.debug("Erro ao cachear pontos do clã: " + e.getMessage());
-        }
-    }
-    
-    public Optional<Integer> getCachedClanPoints(String clanTag) {
-        if (!isAvailable()) return Optional.empty();
-        
-        try (Jedis jedis = jedisPool.getResource()) {
-            String pointsStr = jedis.hget(KEY_CLAN_POINTS, clanTag);
-            if (pointsStr != null) {
-                return Optional.of(Integer.parseInt(pointsStr));
-            }
+            jedis.del(KEY_ACTIVE_SEASON);
         } catch (Exception e) {
-            LogUtils.debug("Erro ao obter pontos do clã do cache: " + e.getMessage());
+            LogUtils.debug("Erro ao invalidar cache de temporada ativa: " + e.getMessage());
         }
-        
-        return Optional.empty();
     }
     
-    
-    public void invalidateRankings() {
+    public void invalidatePlayerTags(UUID playerUuid) {
         if (!isAvailable()) return;
         
         try (Jedis jedis = jedisPool.getResource()) {
-            jedis.del(KEY_RANKINGS);
-            jedis.del(KEY_CLAN_POINTS);
+            String key = KEY_PLAYER_TAGS + playerUuid.toString();
+            jedis.del(key);
         } catch (Exception e) {
-            LogUtils.debug("Erro ao invalidar cache de rankings: " + e.getMessage());
+            LogUtils.debug("Erro ao invalidar cache de tags do jogador: " + e.getMessage());
         }
     }
     
-    public void invalidateActiveSeason() {
+    /**
+     * Remove as tags em cache de todos os jogadores
+     */
+    public void invalidateAllPlayerTags() {
         if (!isAvailable()) return;
         
         try (Jedis jedis = jedisPool.getResource()) {
-            jedis.del(KEY_ACTIVE_SEASON);
+            deleteMatching(jedis, KEY_PLAYER_TAGS + "*");
         } catch (Exception e) {
-            LogUtils.debug("Erro ao invalidar cache de temporada ativa: " + e.getMessage());
+            LogUtils.debug("Erro ao invalidar cache de tags dos jogadores: " + e.getMessage());
         }
     }
     
-    public void invalidatePlayerTags(UUID playerUuid) {
+    public void clearAllCache() {
         if (!isAvailable()) return;
         
         try (Jedis jedis = jedisPool.getResource()) {
-            String key = KEY_PLAYER_TAGS + playerUuid.toString();
-            jedis.del(key);
+            deleteMatching(jedis, "hliga:cache:*");
         } catch (Exception e) {
-            LogUtils.debug("Erro ao invalidar cache de tags do jogador: " + e.getMessage());
+            LogUtils.debug("Erro ao limpar todo o cache: " + e.getMessage());
         }
     }
     
-    public void clearAllCache() {
-        if (!isAvailable()) return;
-        
-        try (Jedis jedis = jedisPool.getResource()) {
-            Set<String> keys = jedis.keys("hliga:cache:*");
+    /**
+     * Remove as chaves que correspondem a um padrão usando SCAN, sem bloquear o Redis como KEYS
+     */
+    private void deleteMatching(Jedis jedis, String pattern) {
+        ScanParams params = new ScanParams().match(pattern).count(SCAN_BATCH);
+        String cursor = ScanParams.SCAN_POINTER_START;
+        do {
+            ScanResult<String> result = jedis.scan(cursor, params);
+            List<String> keys = result.getResult();
             if (!keys.isEmpty()) {
                 jedis.del(keys.toArray(new String[0]));
             }
-        } catch (Exception e) {
-            LogUtils.debug("Erro ao limpar todo o cache: " + e.getMessage());
-        }
+            cursor = result.getCursor();
+        } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
     }
 }
\ No newline at end of file
@@ -3,6 +3,9 @@ package hplugins.hliga.database.adapters;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import hplugins.hliga.Main;
+import hplugins.hliga.database.SQLiteConnectionPool;
+import hplugins.hliga.database.migration.SchemaMigrations;
+import hplugins.hliga.database.migration.SqlMigrator;
 import hplugins.hliga.models.ClanPoints;
 import hplugins.hliga.models.PlayerTag;
 import hplugins.hliga.models.Season;
@@ -14,45 +17,45 @@ import java.io.File;
 import java.util.Arrays;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.logging.Level;
 
-public class SQLiteAdapter implements DatabaseAdapter {
+public class SQLiteAdapter implements DatabaseAdapter, BulkDataAdapter {
 
     private final Main plugin;
+    private SQLiteConnectionPool pool;
 
     public SQLiteAdapter(Main plugin) {
         this.plugin = plugin;
     }
+
+    /**
+     * Cria o adaptador usando um pool já configurado pelo {@link hplugins.hliga.database.ConnectionPoolManager}
+     */
+    public SQLiteAdapter(Main plugin, SQLiteConnectionPool pool) {
+        this.plugin = plugin;
+        this.pool = pool;
+    }
     private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
-    private Connection connection;
 
 
 
     @Override
     public boolean initialize() {
-        File dataFolder = plugin.getDataFolder();
-        if (!dataFolder.exists()) {
-            dataFolder.mkdirs();
-        }
-
-        File dbFile = new File(dataFolder, "database.db");
-
         try {
-            Class.forName("org.sqlite.JDBC");
-
-            String jdbcUrl = "jdbc:sqlite:" + dbFile.getAbsolutePath();
-            connection = DriverManager.getConnection(jdbcUrl);
-
-            try (Statement stmt = connection.createStatement()) {
-                stmt.execute("PRAGMA journal_mode=DELETE");  // Não usar WAL para evitar arquivos extras
-                stmt.execute("PRAGMA synchronous=NORMAL");
-                stmt.execute("PRAGMA temp_store=MEMORY");
+            if (pool == null) {
+                String fileName = plugin.getConfig().getString("database.sqlite.file", "database.db");
+                pool = new SQLiteConnectionPool(new File(plugin.getDataFolder(), fileName),
+                        plugin.getConfig().getConfigurationSection("database.sqlite"));
+                pool.initialize();
             }
 
-            try (Statement statement = connection.createStatement()) {
+            try (Connection connection = pool.getWriteConnection();
+                 Statement statement = connection.createStatement()) {
                 statement.execute("CREATE TABLE IF NOT EXISTS clan_points (" +
                         "clan_tag TEXT PRIMARY KEY, " +
                         "points INTEGER NOT NULL DEFAULT 0" +
@@ -86,12 +89,13 @@ public class SQLiteAdapter implements DatabaseAdapter {
                         "tags_enabled INTEGER NOT NULL DEFAULT 1" +
                         ")");
 
-                checkDatabaseIntegrity();
+                SqlMigrator.migrate(connection, SchemaMigrations.sqlite(), "SQLite", false);
+                checkDatabaseIntegrity(connection);
             }
 
             LogUtils.debugHigh("Banco de dados SQLite inicializado com sucesso");
             return true;
-        } catch (ClassNotFoundException | SQLException e) {
+        } catch (SQLException e) {
             LogUtils.severe("Erro ao inicializar banco de dados SQLite", e);
             return false;
         }
@@ -100,9 +104,9 @@ public class SQLiteAdapter implements DatabaseAdapter {
     /**
      * Verifica a integridade do banco de dados SQLite
      */
-    private void checkDatabaseIntegrity() {
-        try (Statement statement = connection.createStatement()) {
-            ResultSet rs = statement.executeQuery("PRAGMA integrity_check(10)");
+    private void checkDatabaseIntegrity(Connection connection) {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA integrity_check(10)")) {
 
             boolean hasProblems = false;
             while (rs.next()) {
@@ -124,13 +128,9 @@ public class SQLiteAdapter implements DatabaseAdapter {
 
     @Override
     public void shutdown() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                LogUtils.debugHigh("Conexão SQLite fechada com sucesso");
-            }
-        } catch (SQLException e) {
-            LogUtils.warning("Erro ao fechar conexão SQLite", e);
+        if (pool != null) {
+            pool.close();
+            LogUtils.debugHigh("Conexões SQLite fechadas com sucesso");
         }
     }
 
@@ -138,7 +138,8 @@ public class SQLiteAdapter implements DatabaseAdapter {
     public int getClanPoints(String clanTag) {
         String sql = "SELECT points FROM clan_points WHERE clan_tag = ?";
 
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, clanTag);
 
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -158,7 +159,8 @@ public class SQLiteAdapter implements DatabaseAdapter {
     public boolean setClanPoints(String clanTag, int points) {
         String sql = "INSERT OR REPLACE INTO clan_points (clan_tag, points) VALUES (?, ?)";
 
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getWriteConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, clanTag);
             statement.setInt(2, points);
 
@@ -175,20 +177,96 @@ public class SQLiteAdapter implements DatabaseAdapter {
 
     @Override
     public boolean addClanPoints(String clanTag, int points) {
-        int currentPoints = getClanPoints(clanTag);
-        return setClanPoints(clanTag, currentPoints + points);
+        return incrementAndGet(clanTag, points) >= 0;
     }
 
     @Override
     public boolean removeClanPoints(String clanTag, int points) {
-        int currentPoints = getClanPoints(clanTag);
-        int newPoints = Math.max(0, currentPoints - points);
-
-        if (currentPoints == newPoints) {
+        if (points <= 0) {
             return true; // Nada a remover
         }
 
-        return setClanPoints(clanTag, newPoints);
+        return incrementAndGet(clanTag, -points) >= 0;
+    }
+
+    @Override
+    public int incrementAndGet(String clanTag, int points) {
+        try (Connection connection = pool.getWriteConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement insertStatement = connection.prepareStatement(
+                         "INSERT OR IGNORE INTO clan_points (clan_tag, points) VALUES (?, 0)");
+                 PreparedStatement updateStatement = connection.prepareStatement(
+                         "UPDATE clan_points SET points = MAX(0, points + ?) WHERE clan_tag = ?")) {
+
+                insertStatement.setString(1, clanTag);
+                insertStatement.executeUpdate();
+
+                updateStatement.setInt(1, points);
+                updateStatement.setString(2, clanTag);
+                updateStatement.executeUpdate();
+
+                int newPoints = readPoints(connection, clanTag);
+                connection.commit();
+                return newPoints;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            LogUtils.warning("Erro ao adicionar pontos ao clã: " + clanTag, e);
+            return -1;
+        }
+    }
+
+    @Override
+    public int decrementIfAtLeast(String clanTag, int points) {
+        try (Connection connection = pool.getWriteConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE clan_points SET points = points - ? WHERE clan_tag = ? AND points >= ?")) {
+
+                statement.setInt(1, points);
+                statement.setString(2, clanTag);
+                statement.setInt(3, points);
+
+                if (statement.executeUpdate() == 0) {
+                    connection.rollback();
+                    return -1;
+                }
+
+                int newPoints = readPoints(connection, clanTag);
+                connection.commit();
+                return newPoints;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            LogUtils.warning("Erro ao remover pontos do clã: " + clanTag, e);
+            return -1;
+        }
+    }
+
+    /**
+     * Lê a pontuação de um clã dentro da transação atual
+     */
+    private int readPoints(Connection connection, String clanTag) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT points FROM clan_points WHERE clan_tag = ?")) {
+            statement.setString(1, clanTag);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : 0;
+            }
+        }
     }
 
     /**
@@ -197,7 +275,8 @@ public class SQLiteAdapter implements DatabaseAdapter {
     public boolean clanExists(String clanTag) {
         String sql = "SELECT 1 FROM clan_points WHERE clan_tag = ?";
 
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, clanTag);
 
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -213,7 +292,8 @@ public class SQLiteAdapter implements DatabaseAdapter {
     public boolean resetAllPoints() {
         String sql = "DELETE FROM clan_points";
 
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getWriteConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.executeUpdate();
             LogUtils.debug("Pontos de todos os clãs foram resetados");
             return true;
@@ -225,10 +305,11 @@ public class SQLiteAdapter implements DatabaseAdapter {
 
     @Override
     public List<ClanPoints> getTopClans(int limit) {
-        String sql = "SELECT clan_tag, points FROM clan_points ORDER BY points DESC LIMIT ?";
+        String sql = "SELECT clan_tag, points FROM clan_points ORDER BY points DESC, clan_tag LIMIT ?";
         List<ClanPoints> result = new ArrayList<>();
 
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setInt(1, limit);
 
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -254,7 +335,8 @@ public class SQLiteAdapter implements DatabaseAdapter {
             String sql = "UPDATE seasons SET name = ?, start_date = ?, end_date = ?, active = ?, " +
                     "winner_clan = ?, winner_points = ?, top_clans = ? WHERE id = ?";
 
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            try (Connection connection = pool.getWriteConnection();
+                 PreparedStatement statement = connection.prepareStatement(sql)) {
                 statement.setString(1, season.name);
                 statement.setLong(2, season.startDate);
                 statement.setLong(3, season.endDate);
@@ -277,7 +359,8 @@ public class SQLiteAdapter implements DatabaseAdapter {
             String sql = "INSERT INTO seasons (name, start_date, end_date, active, winner_clan, winner_points, top_clans) " +
                     "VALUES (?, ?, ?, ?, ?, ?, ?)";
 
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            try (Connection connection = pool.getWriteConnection();
+                 PreparedStatement statement = connection.prepareStatement(sql)) {
                 statement.setString(1, season.name);
                 statement.setLong(2, season.startDate);
                 statement.setLong(3, season.endDate);
@@ -310,7 +393,8 @@ public class SQLiteAdapter implements DatabaseAdapter {
     public Optional<Season> getSeason(int id) {
         String sql = "SELECT * FROM seasons WHERE id = ?";
 
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setInt(1, id);
 
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -351,7 +435,8 @@ public class SQLiteAdapter implements DatabaseAdapter {
     public Optional<Season> getActiveSeason() {
         String sql = "SELECT * FROM seasons WHERE active = 1 LIMIT 1";
 
-        try (PreparedStatement statement = connection.prepareStatement(sql);
+        try (Connection connection = pool.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(sql);
              ResultSet resultSet = statement.executeQuery()) {
 
             if (resultSet.next()) {
@@ -388,7 +473,7 @@ public class SQLiteAdapter implements DatabaseAdapter {
 
     @Override
     public boolean setActiveSeason(int seasonId) {
-        try {
+        try (Connection connection = pool.getWriteConnection()) {
             try (PreparedStatement deactivateStatement = connection.prepareStatement("UPDATE seasons SET active = 0")) {
                 deactivateStatement.executeUpdate();
             }
@@ -445,7 +530,8 @@ public class SQLiteAdapter implements DatabaseAdapter {
         String sql = "SELECT * FROM seasons ORDER BY start_date DESC";
         List<Season> result = new ArrayList<>();
 
-        try (PreparedStatement statement = connection.prepareStatement(sql);
+        try (Connection connection = pool.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(sql);
              ResultSet resultSet = statement.executeQuery()) {
 
             while (resultSet.next()) {
@@ -483,11 +569,9 @@ public class SQLiteAdapter implements DatabaseAdapter {
     public List<Season> getAllSeasons() {
         List<Season> result = new ArrayList<>();
 
-        try {
-            PreparedStatement statement = connection.prepareStatement(
-                    "SELECT * FROM seasons");
-
-            ResultSet resultSet = statement.executeQuery();
+        try (Connection connection = pool.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT * FROM seasons");
+             ResultSet resultSet = statement.executeQuery()) {
 
             while (resultSet.next()) {
                 int id = resultSet.getInt("id");
@@ -515,9 +599,6 @@ public class SQLiteAdapter implements DatabaseAdapter {
 
                 result.add(season);
             }
-
-            resultSet.close();
-            statement.close();
         } catch (SQLException e) {
             plugin.getLogger().warning("Erro ao obter todas as temporadas: " + e.getMessage());
         }
@@ -529,11 +610,9 @@ public class SQLiteAdapter implements DatabaseAdapter {
     public List<ClanPoints> getAllClanPoints() {
         List<ClanPoints> result = new ArrayList<>();
 
-        try {
-            PreparedStatement statement = connection.prepareStatement(
-                    "SELECT * FROM clan_points");
-
-            ResultSet resultSet = statement.executeQuery();
+        try (Connection connection = pool.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT * FROM clan_points");
+             ResultSet resultSet = statement.executeQuery()) {
 
             while (resultSet.next()) {
                 String clanTag = resultSet.getString("clan_tag");
@@ -541,9 +620,6 @@ public class SQLiteAdapter implements DatabaseAdapter {
 
                 result.add(new ClanPoints(clanTag, points));
             }
-
-            resultSet.close();
-            statement.close();
         } catch (SQLException e) {
             plugin.getLogger().warning("Erro ao obter todos os pontos de clãs: " + e.getMessage());
         }
@@ -553,10 +629,9 @@ public class SQLiteAdapter implements DatabaseAdapter {
 
     @Override
     public boolean resetAllClanPoints() {
-        try {
-            PreparedStatement statement = connection.prepareStatement("UPDATE clan_points SET points = 0");
+        try (Connection connection = pool.getWriteConnection();
+             PreparedStatement statement = connection.prepareStatement("UPDATE clan_points SET points = 0")) {
             int rowsAffected = statement.executeUpdate();
-            statement.close();
 
             LogUtils.info("Pontos de " + rowsAffected + " clãs foram resetados para zero");
             return true;
@@ -572,37 +647,69 @@ public class SQLiteAdapter implements DatabaseAdapter {
             return false;
         }
 
-        try {
-            PreparedStatement checkStatement = connection.prepareStatement(
-                    "SELECT * FROM clan_points WHERE clan_tag = ?");
-
-            checkStatement.setString(1, clanTag);
-            ResultSet resultSet = checkStatement.executeQuery();
-
-            boolean exists = resultSet.next();
-            resultSet.close();
-            checkStatement.close();
+        try (Connection connection = pool.getWriteConnection()) {
+            boolean exists;
+            try (PreparedStatement checkStatement = connection.prepareStatement(
+                    "SELECT 1 FROM clan_points WHERE clan_tag = ?")) {
+                checkStatement.setString(1, clanTag);
+                try (ResultSet resultSet = checkStatement.executeQuery()) {
+                    exists = resultSet.next();
+                }
+            }
 
-            PreparedStatement statement;
+            String sql = exists
+                    ? "UPDATE clan_points SET points = ? WHERE clan_tag = ?"
+                    : "INSERT INTO clan_points (points, clan_tag) VALUES (?, ?)";
 
-            if (exists) {
-                statement = connection.prepareStatement(
-                        "UPDATE clan_points SET points = ? WHERE clan_tag = ?");
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
                 statement.setInt(1, points);
                 statement.setString(2, clanTag);
-            } else {
-                statement = connection.prepareStatement(
-                        "INSERT INTO clan_points (clan_tag, points) VALUES (?, ?)");
-                statement.setString(1, clanTag);
-                statement.setInt(2, points);
+                return statement.executeUpdate() > 0;
             }
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Erro ao salvar pontos do clã " + clanTag + ": " + e.getMessage());
+            return false;
+        }
+    }
 
-            int result = statement.executeUpdate();
-            statement.close();
+    @Override
+    public boolean applyPointDeltas(Map<String, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return true;
+        }
 
-            return result > 0;
+        try (Connection connection = pool.getWriteConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement insertStatement = connection.prepareStatement(
+                         "INSERT OR IGNORE INTO clan_points (clan_tag, points) VALUES (?, 0)");
+                 PreparedStatement updateStatement = connection.prepareStatement(
+                         "UPDATE clan_points SET points = MAX(0, points + ?) WHERE clan_tag = ?")) {
+
+                for (Map.Entry<String, Integer> entry : deltas.entrySet()) {
+                    insertStatement.setString(1, entry.getKey());
+                    insertStatement.addBatch();
+
+                    updateStatement.setInt(1, entry.getValue());
+                    updateStatement.setString(2, entry.getKey());
+                    updateStatement.addBatch();
+                }
+
+                insertStatement.executeBatch();
+                updateStatement.executeBatch();
+                connection.commit();
+
+                LogUtils.debugMedium("Lote de pontos aplicado para " + deltas.size() + " clãs");
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
         } catch (SQLException e) {
-            plugin.getLogger().warning("Erro ao salvar pontos do clã " + clanTag + ": " + e.getMessage());
+            LogUtils.warning("Erro ao aplicar lote de pontos (" + deltas.size() + " clãs)", e);
             return false;
         }
     }
@@ -620,7 +727,8 @@ public class SQLiteAdapter implements DatabaseAdapter {
                     "(player_uuid, tag_type, position, season_number, formatted_tag, tag_name, obtained_date, active) " +
                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
 
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            try (Connection connection = pool.getWriteConnection();
+                 PreparedStatement statement = connection.prepareStatement(sql)) {
                 statement.setString(1, tag.getPlayerUuid().toString());
                 statement.setString(2, tag.getTagType().name());
                 statement.setInt(3, tag.getPosition());
@@ -643,7 +751,8 @@ public class SQLiteAdapter implements DatabaseAdapter {
         List<PlayerTag> tags = new ArrayList<>();
         String sql = "SELECT * FROM player_tags WHERE player_uuid = ? AND active = 1 ORDER BY obtained_date DESC";
 
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, playerUuid.toString());
 
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -676,7 +785,8 @@ public class SQLiteAdapter implements DatabaseAdapter {
         try {
             String sql = "DELETE FROM player_tags WHERE tag_type = ?";
 
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            try (Connection connection = pool.getWriteConnection();
+                 PreparedStatement statement = connection.prepareStatement(sql)) {
                 statement.setString(1, TagType.RANKING.name());
 
                 int deletedRows = statement.executeUpdate();
@@ -693,7 +803,8 @@ public class SQLiteAdapter implements DatabaseAdapter {
     public boolean removePlayerTag(UUID playerUuid, String tagType, int position) {
         String sql = "UPDATE player_tags SET active = 0 WHERE player_uuid = ? AND tag_type = ? AND position = ?";
 
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getWriteConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, playerUuid.toString());
             statement.setString(2, tagType);
             statement.setInt(3, position);
@@ -712,7 +823,8 @@ public class SQLiteAdapter implements DatabaseAdapter {
     public Optional<PlayerTag> getActivePlayerTag(UUID playerUuid, TagType tagType) {
         String sql = "SELECT * FROM player_tags WHERE player_uuid = ? AND tag_type = ? AND active = 1 ORDER BY obtained_date DESC LIMIT 1";
 
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, playerUuid.toString());
             statement.setString(2, tagType.name());
 
@@ -745,7 +857,8 @@ public class SQLiteAdapter implements DatabaseAdapter {
         String sql = "SELECT * FROM player_tags WHERE tag_type = ? AND active = 1 ORDER BY obtained_date DESC";
         List<PlayerTag> tags = new ArrayList<>();
 
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, tagType.name());
 
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -774,13 +887,12 @@ public class SQLiteAdapter implements DatabaseAdapter {
 
     @Override
     public boolean removeAllRankingTags() {
-        try {
-            PreparedStatement statement = connection.prepareStatement(
-                    "DELETE FROM player_tags WHERE tag_type = ?");
+        try (Connection connection = pool.getWriteConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "DELETE FROM player_tags WHERE tag_type = ?")) {
             statement.setString(1, TagType.RANKING.name());
 
             int rowsAffected = statement.executeUpdate();
-            statement.close();
 
             if (rowsAffected > 0) {
                 LogUtils.debug("Removidas " + rowsAffected + " tags de ranking do banco de dados");
@@ -794,24 +906,72 @@ public class SQLiteAdapter implements DatabaseAdapter {
     }
 
     @Override
-    public boolean hasAnySeasonTags() {
-        try {
-            PreparedStatement statement = connection.prepareStatement(
-                    "SELECT COUNT(*) FROM player_tags WHERE tag_type = ? AND active = 1");
-            statement.setString(1, TagType.SEASON.name());
+    public boolean replaceRankingTags(Collection<UUID> removedPlayers, List<PlayerTag> newTags) {
+        if (removedPlayers.isEmpty() && newTags.isEmpty()) {
+            return true;
+        }
 
-            ResultSet resultSet = statement.executeQuery();
-            boolean hasSeasonTags = false;
+        try (Connection connection = pool.getWriteConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement deleteStatement = connection.prepareStatement(
+                         "DELETE FROM player_tags WHERE player_uuid = ? AND tag_type = ?");
+                 PreparedStatement insertStatement = connection.prepareStatement(
+                         "INSERT INTO player_tags " +
+                         "(player_uuid, tag_type, position, season_number, formatted_tag, tag_name, obtained_date, active) " +
+                         "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+
+                for (UUID playerUuid : removedPlayers) {
+                    deleteStatement.setString(1, playerUuid.toString());
+                    deleteStatement.setString(2, TagType.RANKING.name());
+                    deleteStatement.addBatch();
+                }
 
-            if (resultSet.next()) {
-                int count = resultSet.getInt(1);
-                hasSeasonTags = count > 0;
+                for (PlayerTag tag : newTags) {
+                    deleteStatement.setString(1, tag.getPlayerUuid().toString());
+                    deleteStatement.setString(2, TagType.RANKING.name());
+                    deleteStatement.addBatch();
+
+                    insertStatement.setString(1, tag.getPlayerUuid().toString());
+                    insertStatement.setString(2, tag.getTagType().name());
+                    insertStatement.setInt(3, tag.getPosition());
+                    insertStatement.setInt(4, tag.getSeasonNumber());
+                    insertStatement.setString(5, tag.getFormattedTag());
+                    insertStatement.setString(6, tag.getTagName());
+                    insertStatement.setLong(7, tag.getObtainedDate());
+                    insertStatement.setInt(8, tag.isActive() ? 1 : 0);
+                    insertStatement.addBatch();
+                }
+
+                deleteStatement.executeBatch();
+                insertStatement.executeBatch();
+                connection.commit();
+
+                LogUtils.debugMedium("Tags de ranking substituídas: " + removedPlayers.size() + " removidas, " + newTags.size() + " gravadas");
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
             }
+        } catch (SQLException e) {
+            LogUtils.warning("Erro ao substituir tags de ranking", e);
+            return false;
+        }
+    }
 
-            resultSet.close();
-            statement.close();
+    @Override
+    public boolean hasAnySeasonTags() {
+        try (Connection connection = pool.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM player_tags WHERE tag_type = ? AND active = 1")) {
+            statement.setString(1, TagType.SEASON.name());
 
-            return hasSeasonTags;
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getInt(1) > 0;
+            }
 
         } catch (SQLException e) {
             LogUtils.warning("Erro ao verificar tags de temporada: " + e.getMessage());
@@ -825,7 +985,8 @@ public class SQLiteAdapter implements DatabaseAdapter {
     public void savePlayerTagPreference(UUID playerUuid, boolean tagsEnabled) {
         String sql = "INSERT OR REPLACE INTO player_tag_preferences (player_uuid, tags_enabled) VALUES (?, ?)";
 
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getWriteConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, playerUuid.toString());
             statement.setInt(2, tagsEnabled ? 1 : 0);
 
@@ -844,7 +1005,8 @@ public class SQLiteAdapter implements DatabaseAdapter {
     public boolean getPlayerTagPreference(UUID playerUuid) {
         String sql = "SELECT tags_enabled FROM player_tag_preferences WHERE player_uuid = ?";
 
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, playerUuid.toString());
 
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -861,4 +1023,18 @@ public class SQLiteAdapter implements DatabaseAdapter {
 
         return true;
     }
+
+    @Override
+    public TransferChunk readChunk(TransferTable table, String cursor, int limit) throws SQLException {
+        try (Connection connection = pool.getReadConnection()) {
+            return SqlBulkTransfer.read(connection, table, cursor, limit);
+        }
+    }
+
+    @Override
+    public void writeChunk(TransferTable table, List<Object[]> rows) throws SQLException {
+        try (Connection connection = pool.getWriteConnection()) {
+            SqlBulkTransfer.write(connection, table, rows);
+        }
+    }
 }
@@ -0,0 +1,159 @@
+package hplugins.hliga.database.adapters;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Leitura e gravação em blocos compartilhada pelos adaptadores SQL
+ *
+ * A leitura pagina pela chave (WHERE chave > ? ORDER BY chave LIMIT ?), sem OFFSET, e a gravação
+ * usa um único batch por bloco dentro de uma transação.
+ */
+final class SqlBulkTransfer {
+
+    private SqlBulkTransfer() {
+    }
+
+    static TransferChunk read(Connection connection, TransferTable table, String cursor, int limit) throws SQLException {
+        String key = table.getCursorColumn();
+        String sql = "SELECT " + key + ", " + String.join(", ", table.getColumns()) +
+                " FROM " + table.getTableName() +
+                (cursor != null ? " WHERE " + key + " > ?" : "") +
+                " ORDER BY " + key + " LIMIT ?";
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int index = 1;
+            if (cursor != null) {
+                if (table.isNumericCursor()) {
+                    statement.setLong(index++, Long.parseLong(cursor));
+                } else {
+                    statement.setString(index++, cursor);
+                }
+            }
+            statement.setInt(index, limit);
+
+            List<Object[]> rows = new ArrayList<>(limit);
+            String lastKey = null;
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    lastKey = resultSet.getString(1);
+                    rows.add(readRow(resultSet, table));
+                }
+            }
+            return new TransferChunk(rows, rows.size() < limit ? null : lastKey);
+        }
+    }
+
+    private static Object[] readRow(ResultSet resultSet, TransferTable table) throws SQLException {
+        TransferTable.ColumnType[] types = table.getTypes();
+        Object[] row = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            int column = i + 2;
+            switch (types[i]) {
+                case INT:
+                    row[i] = resultSet.getInt(column);
+                    break;
+                case LONG:
+                    row[i] = resultSet.getLong(column);
+                    break;
+                case BOOLEAN:
+                    row[i] = resultSet.getBoolean(column);
+                    break;
+                default:
+                    row[i] = resultSet.getString(column);
+                    break;
+            }
+            if (resultSet.wasNull()) {
+                row[i] = null;
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Grava o bloco em uma transação, substituindo registros com a mesma chave
+     * REPLACE INTO é aceito tanto pelo SQLite quanto pelo MySQL
+     */
+    static void write(Connection connection, TransferTable table, List<Object[]> rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        String[] columns = table.getColumns();
+        String placeholders = String.join(", ", Collections.nCopies(columns.length, "?"));
+        String[] naturalKey = table.getNaturalKey();
+        String insertSql = (naturalKey == null ? "REPLACE" : "INSERT") + " INTO " + table.getTableName() +
+                " (" + String.join(", ", columns) + ") VALUES (" + placeholders + ")";
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            if (naturalKey != null) {
+                String deleteSql = "DELETE FROM " + table.getTableName() + " WHERE " +
+                        String.join(" = ? AND ", naturalKey) + " = ?";
+                try (PreparedStatement statement = connection.prepareStatement(deleteSql)) {
+                    for (Object[] row : rows) {
+                        for (int i = 0; i < naturalKey.length; i++) {
+                            int column = table.indexOf(naturalKey[i]);
+                            bind(statement, i + 1, table.getTypes()[column], row[column]);
+                        }
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(insertSql)) {
+                for (Object[] row : rows) {
+                    for (int i = 0; i < columns.length; i++) {
+                        bind(statement, i + 1, table.getTypes()[i], row[i]);
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static void bind(PreparedStatement statement, int index, TransferTable.ColumnType type, Object value) throws SQLException {
+        switch (type) {
+            case INT:
+                if (value == null) {
+                    statement.setNull(index, Types.INTEGER);
+                } else {
+                    statement.setInt(index, ((Number) value).intValue());
+                }
+                break;
+            case LONG:
+                if (value == null) {
+                    statement.setNull(index, Types.BIGINT);
+                } else {
+                    statement.setLong(index, ((Number) value).longValue());
+                }
+                break;
+            case BOOLEAN:
+                statement.setBoolean(index, value != null && (Boolean) value);
+                break;
+            default:
+                if (value == null) {
+                    statement.setNull(index, Types.VARCHAR);
+                } else {
+                    statement.setString(index, value.toString());
+                }
+                break;
+        }
+    }
+}
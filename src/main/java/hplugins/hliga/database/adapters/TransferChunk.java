@@ -0,0 +1,36 @@
+package hplugins.hliga.database.adapters;
+
+import java.util.List;
+
+/**
+ * Bloco de registros lido durante uma transferência
+ */
+public class TransferChunk {
+
+    private final List<Object[]> rows;
+    private final String nextCursor;
+
+    /**
+     * @param rows Registros lidos, na ordem das colunas da tabela
+     * @param nextCursor Cursor para o próximo bloco ou null se a tabela terminou
+     */
+    public TransferChunk(List<Object[]> rows, String nextCursor) {
+        this.rows = rows;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Object[]> getRows() {
+        return rows;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Verifica se este é o último bloco da tabela
+     */
+    public boolean isLast() {
+        return nextCursor == null;
+    }
+}
@@ -0,0 +1,96 @@
+package hplugins.hliga.database.adapters;
+
+/**
+ * Tabelas copiadas na transferência entre bancos de dados
+ *
+ * Cada registro transferido é um {@code Object[]} com os valores na ordem de {@link #getColumns()}.
+ * Tabelas com chave natural são gravadas apagando o registro equivalente antes da inserção, já que
+ * o ID gerado pelo banco de origem não existe no Redis.
+ */
+public enum TransferTable {
+
+    CLAN_POINTS("clan_points", "clan_tag", null,
+            new String[]{"clan_tag", "points"},
+            new ColumnType[]{ColumnType.STRING, ColumnType.INT}),
+
+    SEASONS("seasons", "id", null,
+            new String[]{"id", "name", "start_date", "end_date", "active", "winner_clan", "winner_points", "top_clans"},
+            new ColumnType[]{ColumnType.INT, ColumnType.STRING, ColumnType.LONG, ColumnType.LONG,
+                    ColumnType.BOOLEAN, ColumnType.STRING, ColumnType.INT, ColumnType.STRING}),
+
+    PLAYER_TAGS("player_tags", "id", new String[]{"player_uuid", "tag_type", "position", "season_number"},
+            new String[]{"player_uuid", "tag_type", "position", "season_number", "formatted_tag", "tag_name",
+                    "obtained_date", "active"},
+            new ColumnType[]{ColumnType.STRING, ColumnType.STRING, ColumnType.INT, ColumnType.INT,
+                    ColumnType.STRING, ColumnType.STRING, ColumnType.LONG, ColumnType.BOOLEAN}),
+
+    TAG_PREFERENCES("player_tag_preferences", "player_uuid", null,
+            new String[]{"player_uuid", "tags_enabled"},
+            new ColumnType[]{ColumnType.STRING, ColumnType.BOOLEAN});
+
+    /**
+     * Tipo de uma coluna, usado para ler e gravar os valores sem depender do driver
+     */
+    public enum ColumnType {
+        STRING, INT, LONG, BOOLEAN
+    }
+
+    private final String tableName;
+    private final String cursorColumn;
+    private final String[] naturalKey;
+    private final String[] columns;
+    private final ColumnType[] types;
+
+    TransferTable(String tableName, String cursorColumn, String[] naturalKey, String[] columns, ColumnType[] types) {
+        this.tableName = tableName;
+        this.cursorColumn = cursorColumn;
+        this.naturalKey = naturalKey;
+        this.columns = columns;
+        this.types = types;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Coluna usada para paginar a leitura (ordem crescente)
+     */
+    public String getCursorColumn() {
+        return cursorColumn;
+    }
+
+    /**
+     * Verifica se o cursor da tabela é numérico
+     */
+    public boolean isNumericCursor() {
+        return "id".equals(cursorColumn);
+    }
+
+    /**
+     * Colunas que identificam um registro no destino ou null se a tabela usa chave primária
+     */
+    public String[] getNaturalKey() {
+        return naturalKey;
+    }
+
+    public String[] getColumns() {
+        return columns;
+    }
+
+    public ColumnType[] getTypes() {
+        return types;
+    }
+
+    /**
+     * Obtém a posição de uma coluna no registro
+     */
+    public int indexOf(String column) {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].equals(column)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Coluna " + column + " não pertence a " + tableName);
+    }
+}
@@ -0,0 +1,45 @@
+package hplugins.hliga.database.migration;
+
+import redis.clients.jedis.Jedis;
+
+/**
+ * Migração da estrutura de chaves do Redis
+ * Deve ser idempotente e, para chaves grandes, usar SCAN/HSCAN em lotes em vez de KEYS/HGETALL
+ */
+public class RedisMigration {
+
+    /**
+     * Alteração aplicada pela migração
+     */
+    @FunctionalInterface
+    public interface Step {
+
+        /**
+         * @param jedis Conexão com o Redis
+         * @param keepAlive Renova o lock de migração; deve ser chamado entre lotes de migrações longas
+         */
+        void apply(Jedis jedis, Runnable keepAlive);
+    }
+
+    private final int version;
+    private final String description;
+    private final Step step;
+
+    public RedisMigration(int version, String description, Step step) {
+        this.version = version;
+        this.description = description;
+        this.step = step;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Step getStep() {
+        return step;
+    }
+}
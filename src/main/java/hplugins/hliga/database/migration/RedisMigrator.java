@@ -0,0 +1,108 @@
+package hplugins.hliga.database.migration;
+
+import hplugins.hliga.utils.LogUtils;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.params.SetParams;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Aplica as migrações pendentes do Redis
+ *
+ * A versão atual fica em {@value #KEY_VERSION} e o histórico em {@value #KEY_HISTORY}. Como o Redis é
+ * compartilhado entre os servidores da rede, um lock com expiração garante que apenas um deles migre por vez.
+ * O lock é renovado entre migrações e entre os lotes de cada uma; se o servidor cair, ele expira sozinho.
+ */
+public final class RedisMigrator {
+
+    private static final String KEY_VERSION = "hliga:schema_version";
+    private static final String KEY_HISTORY = "hliga:schema_history";
+    private static final String KEY_LOCK = "hliga:schema_lock";
+    private static final long LOCK_TTL_MILLIS = 120_000L;
+    private static final long LOCK_POLL_MILLIS = 500L;
+
+    /** Renova o lock somente se ele ainda pertence a este servidor */
+    private static final String RENEW_SCRIPT =
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('PEXPIRE', KEYS[1], ARGV[2]) end return 0";
+    /** Libera o lock somente se ele ainda pertence a este servidor */
+    private static final String RELEASE_SCRIPT =
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0";
+
+    private RedisMigrator() {
+    }
+
+    /**
+     * Aplica as migrações com versão maior que a registrada no Redis
+     *
+     * @param jedis Conexão com o Redis
+     * @param migrations Migrações em ordem crescente de versão
+     */
+    public static void migrate(Jedis jedis, List<RedisMigration> migrations) {
+        if (migrations.isEmpty() || getCurrentVersion(jedis) >= migrations.get(migrations.size() - 1).getVersion()) {
+            return;
+        }
+
+        String token = UUID.randomUUID().toString();
+        acquireLock(jedis, token);
+        Runnable keepAlive = () -> renewLock(jedis, token);
+        try {
+            int current = getCurrentVersion(jedis);
+            for (RedisMigration migration : migrations) {
+                if (migration.getVersion() <= current) {
+                    continue;
+                }
+
+                keepAlive.run();
+                long start = System.currentTimeMillis();
+                migration.getStep().apply(jedis, keepAlive);
+                jedis.hset(KEY_HISTORY, String.valueOf(migration.getVersion()),
+                        migration.getDescription() + " @ " + System.currentTimeMillis());
+                jedis.set(KEY_VERSION, String.valueOf(migration.getVersion()));
+                current = migration.getVersion();
+
+                LogUtils.info("Migração Redis " + migration.getVersion() + " aplicada: " +
+                        migration.getDescription() + " (" + (System.currentTimeMillis() - start) + "ms)");
+            }
+        } finally {
+            jedis.eval(RELEASE_SCRIPT, Collections.singletonList(KEY_LOCK), Collections.singletonList(token));
+        }
+    }
+
+    /**
+     * Obtém a última versão aplicada ou 0 se nenhuma migração foi aplicada
+     */
+    public static int getCurrentVersion(Jedis jedis) {
+        String value = jedis.get(KEY_VERSION);
+        try {
+            return value != null ? Integer.parseInt(value) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Aguarda o lock enquanto outro servidor migra
+     * Não há prazo fixo: o servidor que migra renova o lock a cada lote, e o lock expira se ele parar
+     */
+    private static void acquireLock(Jedis jedis, String token) {
+        while (jedis.set(KEY_LOCK, token, SetParams.setParams().nx().px(LOCK_TTL_MILLIS)) == null) {
+            try {
+                Thread.sleep(LOCK_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrompido aguardando o lock de migração do Redis", e);
+            }
+        }
+    }
+
+    private static void renewLock(Jedis jedis, String token) {
+        Object renewed = jedis.eval(RENEW_SCRIPT, Collections.singletonList(KEY_LOCK),
+                Arrays.asList(token, Long.toString(LOCK_TTL_MILLIS)));
+        if (!Long.valueOf(1L).equals(renewed)) {
+            throw new IllegalStateException("Lock de migração do Redis perdido - outro servidor pode estar migrando");
+        }
+    }
+}
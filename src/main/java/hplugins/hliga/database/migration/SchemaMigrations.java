@@ -0,0 +1,104 @@
+package hplugins.hliga.database.migration;
+
+import hplugins.hliga.utils.LogUtils;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
+
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Migrações de esquema de cada banco, em ordem de versão
+ * Novas migrações devem ser adicionadas ao final, com a próxima versão; as já publicadas não podem mudar.
+ * As tabelas base continuam sendo criadas no initialize() de cada adaptador (versão 0).
+ */
+public final class SchemaMigrations {
+
+    /** Linhas ou chaves alteradas por lote nas migrações online */
+    private static final int BATCH_SIZE = 1000;
+
+    private SchemaMigrations() {
+    }
+
+    public static List<SqlMigration> sqlite() {
+        return Collections.unmodifiableList(Arrays.asList(
+                new SqlMigration(1, "índices de consulta de player_tags e clan_points", connection -> {
+                    try (Statement statement = connection.createStatement()) {
+                        // getPlayerTags / getActivePlayerTag: filtro por jogador, tipo e ativa, ordenado pela data
+                        statement.execute("CREATE INDEX IF NOT EXISTS idx_player_tags_lookup " +
+                                "ON player_tags (player_uuid, tag_type, active, obtained_date)");
+                        // getTagsByType / hasAnySeasonTags: filtro por tipo sem jogador
+                        statement.execute("CREATE INDEX IF NOT EXISTS idx_player_tags_type " +
+                                "ON player_tags (tag_type, active, obtained_date)");
+                        // getTopClans: clan_tag no índice evita voltar à tabela (clan_tag não é o rowid)
+                        statement.execute("CREATE INDEX IF NOT EXISTS idx_clan_points_points " +
+                                "ON clan_points (points DESC, clan_tag)");
+                        statement.execute("ANALYZE");
+                    }
+                }),
+                // Tags antigas podem ter season_number nulo, que não casa com season_number = ? nas consultas
+                SqlMigration.online(2, "season_number nulo em player_tags", connection ->
+                        SqlMigrator.updateInBatches(connection, "player_tags", "season_number = 0",
+                                "season_number IS NULL", BATCH_SIZE))
+        ));
+    }
+
+    public static List<SqlMigration> mysql() {
+        return Collections.unmodifiableList(Arrays.asList(
+                new SqlMigration(1, "índices de consulta de player_tags e clan_points", connection -> {
+                    SqlMigrator.createIndexIfMissing(connection, "player_tags", "idx_player_tags_lookup",
+                            "player_uuid, tag_type, active, obtained_date");
+                    SqlMigrator.createIndexIfMissing(connection, "player_tags", "idx_player_tags_type",
+                            "tag_type, active, obtained_date");
+                    // O InnoDB inclui a chave primária (clan_tag) em todo índice secundário
+                    SqlMigrator.createIndexIfMissing(connection, "clan_points", "idx_clan_points_points",
+                            "points DESC");
+                }),
+                // Prefixos dos índices compostos da versão 1: só aumentam o custo das gravações
+                new SqlMigration(2, "remove índices redundantes de player_tags", connection -> {
+                    SqlMigrator.dropIndexIfExists(connection, "player_tags", "idx_player_uuid");
+                    SqlMigrator.dropIndexIfExists(connection, "player_tags", "idx_tag_type");
+                })
+        ));
+    }
+
+    public static List<RedisMigration> redis() {
+        return Collections.unmodifiableList(Arrays.asList(
+                // Pontuação antiga em hash (hliga:clan_points) para o sorted set de ranking, copiada com HSCAN em lotes
+                new RedisMigration(1, "pontuação dos clãs em sorted set", (jedis, keepAlive) -> {
+                    if (!"hash".equals(jedis.type("hliga:clan_points"))) {
+                        return;
+                    }
+
+                    int migrated = 0;
+                    ScanParams params = new ScanParams().count(BATCH_SIZE);
+                    String cursor = ScanParams.SCAN_POINTER_START;
+                    do {
+                        ScanResult<Map.Entry<String, String>> result = jedis.hscan("hliga:clan_points", cursor, params);
+                        Map<String, Double> scores = new HashMap<>();
+                        for (Map.Entry<String, String> entry : result.getResult()) {
+                            try {
+                                scores.put(entry.getKey(), (double) Math.max(0, Integer.parseInt(entry.getValue())));
+                            } catch (NumberFormatException e) {
+                                LogUtils.warning("Pontuação inválida ignorada na migração do clã " + entry.getKey());
+                            }
+                        }
+                        if (!scores.isEmpty()) {
+                            jedis.zadd("hliga:clan_ranking", scores);
+                            migrated += scores.size();
+                        }
+                        cursor = result.getCursor();
+                        keepAlive.run();
+                    } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+
+                    // O hash é mantido como backup
+                    jedis.rename("hliga:clan_points", "hliga:clan_points:migrated");
+                    LogUtils.info("Pontuação de " + migrated + " clãs migrada para o ranking ordenado do Redis");
+                })
+        ));
+    }
+}
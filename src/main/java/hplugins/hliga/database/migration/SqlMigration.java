@@ -0,0 +1,63 @@
+package hplugins.hliga.database.migration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Migração de esquema de um banco SQL
+ * Cada migração é aplicada uma única vez, na ordem da versão
+ *
+ * Migrações comuns rodam em uma transação. Migrações online ({@link #online}) rodam em autocommit e
+ * devem gravar em lotes pequenos (ver {@link SqlMigrator#updateInBatches}), para não bloquear tabelas grandes.
+ */
+public class SqlMigration {
+
+    /**
+     * Alteração aplicada pela migração
+     * Deve ser idempotente, já que DDL no MySQL não participa da transação
+     */
+    @FunctionalInterface
+    public interface Step {
+        void apply(Connection connection) throws SQLException;
+    }
+
+    private final int version;
+    private final String description;
+    private final Step step;
+    private final boolean transactional;
+
+    public SqlMigration(int version, String description, Step step) {
+        this(version, description, step, true);
+    }
+
+    private SqlMigration(int version, String description, Step step, boolean transactional) {
+        this.version = version;
+        this.description = description;
+        this.step = step;
+        this.transactional = transactional;
+    }
+
+    /**
+     * Cria uma migração executada fora de transação, em lotes
+     * Se for interrompida, é executada de novo por inteiro, então cada lote deve ser idempotente
+     */
+    public static SqlMigration online(int version, String description, Step step) {
+        return new SqlMigration(version, description, step, false);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Step getStep() {
+        return step;
+    }
+
+    public boolean isTransactional() {
+        return transactional;
+    }
+}
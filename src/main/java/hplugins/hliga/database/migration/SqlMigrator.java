@@ -0,0 +1,211 @@
+package hplugins.hliga.database.migration;
+
+import hplugins.hliga.utils.LogUtils;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Aplica as migrações pendentes de um banco SQL
+ *
+ * A versão atual fica na tabela schema_version. Cada migração é aplicada em uma transação junto com
+ * o registro da sua versão, então uma falha interrompe a inicialização sem marcar a migração como feita.
+ * Em bancos compartilhados entre servidores, um lock nomeado garante que apenas um servidor migre por vez.
+ */
+public final class SqlMigrator {
+
+    private static final String LOCK_NAME = "hliga_schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 120;
+
+    private SqlMigrator() {
+    }
+
+    /**
+     * Aplica as migrações com versão maior que a registrada no banco
+     *
+     * @param connection Conexão com permissão de escrita
+     * @param migrations Migrações em ordem crescente de versão
+     * @param backend Nome do banco, usado nos logs
+     * @param shared true se outros servidores podem migrar o mesmo banco ao mesmo tempo (MySQL)
+     */
+    public static void migrate(Connection connection, List<SqlMigration> migrations, String backend, boolean shared) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                    "version INTEGER PRIMARY KEY, " +
+                    "description VARCHAR(128) NOT NULL, " +
+                    "applied_at BIGINT NOT NULL" +
+                    ")");
+        }
+
+        if (migrations.isEmpty() || getCurrentVersion(connection) >= migrations.get(migrations.size() - 1).getVersion()) {
+            return;
+        }
+
+        boolean locked = shared && acquireLock(connection);
+        try {
+            // Relido após o lock: outro servidor pode ter aplicado as migrações enquanto este aguardava
+            int current = getCurrentVersion(connection);
+            for (SqlMigration migration : migrations) {
+                if (migration.getVersion() > current) {
+                    apply(connection, migration, backend);
+                    current = migration.getVersion();
+                }
+            }
+        } finally {
+            if (locked) {
+                releaseLock(connection);
+            }
+        }
+    }
+
+    private static void apply(Connection connection, SqlMigration migration, String backend) throws SQLException {
+        long start = System.currentTimeMillis();
+        boolean autoCommit = connection.getAutoCommit();
+        try {
+            if (migration.isTransactional()) {
+                connection.setAutoCommit(false);
+                migration.getStep().apply(connection);
+                recordVersion(connection, migration);
+                connection.commit();
+            } else {
+                connection.setAutoCommit(true);
+                migration.getStep().apply(connection);
+                recordVersion(connection, migration);
+            }
+        } catch (SQLException e) {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+            }
+            throw new SQLException("Falha na migração " + migration.getVersion() + " (" +
+                    migration.getDescription() + ") do " + backend, e);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+
+        LogUtils.info("Migração " + backend + " " + migration.getVersion() + " aplicada: " +
+                migration.getDescription() + " (" + (System.currentTimeMillis() - start) + "ms)");
+    }
+
+    private static void recordVersion(Connection connection, SqlMigration migration) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO schema_version (version, description, applied_at) VALUES (?, ?, ?)")) {
+            statement.setInt(1, migration.getVersion());
+            statement.setString(2, migration.getDescription());
+            statement.setLong(3, System.currentTimeMillis());
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Obtém a última versão aplicada ou 0 se nenhuma migração foi aplicada
+     */
+    public static int getCurrentVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT MAX(version) FROM schema_version")) {
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Obtém o lock nomeado do MySQL (GET_LOCK), aguardando outro servidor terminar de migrar
+     *
+     * @return true se o lock foi obtido; false se o banco não suporta locks nomeados
+     */
+    private static boolean acquireLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next() && resultSet.getInt(1) == 1) {
+                    return true;
+                }
+            }
+        } catch (SQLException e) {
+            LogUtils.debug("Lock de migração indisponível, migrando sem coordenação: " + e.getMessage());
+            return false;
+        }
+        throw new SQLException("Tempo esgotado aguardando outro servidor terminar as migrações");
+    }
+
+    private static void releaseLock(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.executeQuery().close();
+        } catch (SQLException e) {
+            LogUtils.warning("Erro ao liberar o lock de migração: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Executa um UPDATE em lotes por faixa de id, cada lote confirmado separadamente
+     * Usado por migrações online em tabelas grandes; a tabela precisa de uma coluna id numérica
+     *
+     * @param set Cláusula SET (sem a palavra SET)
+     * @param where Condição que seleciona as linhas ainda não migradas
+     * @return Quantidade de linhas alteradas
+     */
+    public static long updateInBatches(Connection connection, String table, String set, String where, int batchSize) throws SQLException {
+        long maxId;
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT MAX(id) FROM " + table)) {
+            maxId = resultSet.next() ? resultSet.getLong(1) : 0L;
+        }
+
+        long updated = 0;
+        String sql = "UPDATE " + table + " SET " + set + " WHERE id > ? AND id <= ? AND (" + where + ")";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (long from = 0; from < maxId; from += batchSize) {
+                statement.setLong(1, from);
+                statement.setLong(2, from + batchSize);
+                updated += statement.executeUpdate();
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+                LogUtils.debugHigh("Migração de " + table + ": até id " + Math.min(from + batchSize, maxId) + " de " + maxId);
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Cria um índice se ainda não existir um com o mesmo nome na tabela
+     * Usa os metadados do driver porque o MySQL não aceita CREATE INDEX IF NOT EXISTS
+     */
+    public static void createIndexIfMissing(Connection connection, String table, String index, String columns) throws SQLException {
+        if (indexExists(connection, table, index)) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX " + index + " ON " + table + " (" + columns + ")");
+        }
+    }
+
+    /**
+     * Remove um índice se ele existir (sintaxe do MySQL)
+     */
+    public static void dropIndexIfExists(Connection connection, String table, String index) throws SQLException {
+        if (!indexExists(connection, table, index)) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP INDEX " + index + " ON " + table);
+        }
+    }
+
+    private static boolean indexExists(Connection connection, String table, String index) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet resultSet = metaData.getIndexInfo(connection.getCatalog(), null, table, false, false)) {
+            while (resultSet.next()) {
+                if (index.equalsIgnoreCase(resultSet.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
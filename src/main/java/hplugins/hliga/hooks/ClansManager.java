@@ -425,9 +425,7 @@ public class ClansManager {
             int syncCount = 0;
 
             for (String clanTag : allClanTags) {
-                int currentPoints = plugin.getPointsManager().getClanPoints(clanTag);
-
-                if (!plugin.getDatabaseManager().getAdapter().clanExists(clanTag)) {
+                if (!plugin.getPointsManager().getRankingIndex().contains(clanTag)) {
                     plugin.getPointsManager().setClanPoints(clanTag, 0);
                     syncCount++;
                     LogUtils.debug("Clã sincronizado com 0 pontos: " + clanTag);
@@ -0,0 +1,553 @@
+package hplugins.hliga.hooks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import hplugins.hliga.utils.LogUtils;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Fila de entrega das mensagens dos webhooks do Discord
+ *
+ * Uma única thread envia as mensagens em ordem, juntando até {@value #MAX_EMBEDS} embeds do mesmo webhook por
+ * requisição. Respeita os limites informados pelo Discord (Retry-After e X-RateLimit-*), tenta de novo com espera
+ * crescente em falhas temporárias e salva o que não foi entregue ao desligar, para enviar na próxima inicialização.
+ *
+ * Alterações agrupáveis (ver {@link Coalescible}) com a mesma chave viram uma só mensagem dentro da janela de
+ * agrupamento. Os webhooks são identificados por um alvo (ex: "staff"), resolvido para a URL no momento do envio.
+ */
+public class DiscordDeliveryQueue {
+
+    /** Limite de embeds por requisição do Discord */
+    public static final int MAX_EMBEDS = 10;
+    /** Limite de caracteres dos embeds de uma requisição (estimado pelo JSON, que é maior que o texto contado) */
+    private static final int MAX_EMBED_CHARS = 6000;
+    private static final int MAX_QUEUE_SIZE = 1000;
+    private static final long MIN_BACKOFF_MILLIS = 1000L;
+    private static final long MAX_BACKOFF_MILLIS = 5 * 60 * 1000L;
+    private static final long STOP_TIMEOUT_MILLIS = 3000L;
+    private static final int TIMEOUT_MILLIS = 10000;
+
+    /**
+     * Alteração que pode ser agrupada com outras de mesma chave antes do envio
+     */
+    public interface Coalescible {
+
+        /**
+         * Junta esta alteração com uma mais recente de mesma chave
+         */
+        Coalescible merge(Coalescible newer);
+
+        /**
+         * Monta a mensagem final (chamado na thread da fila); null descarta a alteração
+         */
+        Delivery toDelivery();
+    }
+
+    /**
+     * Mensagem com um embed para um webhook
+     */
+    @Getter
+    public static final class Delivery {
+        private final String target;
+        private final String content;
+        private final JsonObject embed;
+
+        public Delivery(String target, String content, JsonObject embed) {
+            this.target = target;
+            this.content = content;
+            this.embed = embed;
+        }
+    }
+
+    private static final class PendingMerge {
+        private Coalescible value;
+        private final long deadline;
+
+        private PendingMerge(Coalescible value, long deadline) {
+            this.value = value;
+            this.deadline = deadline;
+        }
+    }
+
+    private final File file;
+    private final Function<String, String> urlResolver;
+    private final String botName;
+    private final String botAvatar;
+    private final long coalesceMillis;
+
+    private final Object lock = new Object();
+    private final Deque<Delivery> queue = new ArrayDeque<>();
+    private final Map<String, PendingMerge> coalescing = new LinkedHashMap<>();
+    /** Alvo → momento a partir do qual pode receber a próxima requisição */
+    private final Map<String, Long> notBefore = new HashMap<>();
+    /** Alvo → falhas seguidas */
+    private final Map<String, Integer> failures = new HashMap<>();
+    /** Lote sendo enviado (salvo junto com a fila se o envio não terminar a tempo) */
+    private List<Delivery> inFlight = Collections.emptyList();
+    private boolean running;
+    private Thread worker;
+
+    /**
+     * @param file Arquivo onde as mensagens não entregues são salvas
+     * @param urlResolver Alvo → URL do webhook (null descarta as mensagens do alvo); pode apontar para um servidor local
+     * @param botName Nome exibido nas mensagens (opcional)
+     * @param botAvatar Avatar exibido nas mensagens (opcional)
+     * @param coalesceMillis Janela de agrupamento das alterações com a mesma chave
+     */
+    public DiscordDeliveryQueue(File file, Function<String, String> urlResolver, String botName, String botAvatar,
+                                long coalesceMillis) {
+        this.file = file;
+        this.urlResolver = urlResolver;
+        this.botName = botName;
+        this.botAvatar = botAvatar;
+        this.coalesceMillis = Math.max(0L, coalesceMillis);
+    }
+
+    /**
+     * Carrega as mensagens salvas e inicia a thread de envio
+     */
+    public void start() {
+        synchronized (lock) {
+            if (running) {
+                return;
+            }
+            load();
+            running = true;
+            worker = new Thread(this::run, "hLiga-Discord");
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    /**
+     * Para a thread de envio e salva as mensagens ainda não entregues
+     * Alterações em agrupamento são montadas e salvas também.
+     */
+    public void stop() {
+        Thread thread;
+        synchronized (lock) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            thread = worker;
+            lock.notifyAll();
+        }
+
+        try {
+            thread.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<Coalescible> pending;
+        synchronized (lock) {
+            pending = new ArrayList<>();
+            for (PendingMerge merge : coalescing.values()) {
+                pending.add(merge.value);
+            }
+            coalescing.clear();
+        }
+        for (Delivery delivery : toDeliveries(pending)) {
+            enqueue(delivery);
+        }
+
+        save(thread.isAlive());
+    }
+
+    /**
+     * Adiciona uma mensagem ao fim da fila
+     */
+    public void enqueue(Delivery delivery) {
+        synchronized (lock) {
+            if (queue.size() >= MAX_QUEUE_SIZE) {
+                queue.pollFirst();
+                LogUtils.warning("Fila do Discord cheia - a mensagem mais antiga foi descartada");
+            }
+            queue.addLast(delivery);
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Agrupa uma alteração com as pendentes de mesma chave; o grupo é enviado ao fim da janela de agrupamento
+     */
+    public void enqueueCoalesced(String key, Coalescible change) {
+        synchronized (lock) {
+            PendingMerge pending = coalescing.get(key);
+            if (pending != null) {
+                pending.value = pending.value.merge(change);
+                return;
+            }
+            coalescing.put(key, new PendingMerge(change, System.currentTimeMillis() + coalesceMillis));
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Quantidade de mensagens aguardando envio (sem contar as em agrupamento)
+     */
+    public int size() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                List<Coalescible> expired = new ArrayList<>();
+                List<Delivery> batch;
+                synchronized (lock) {
+                    batch = awaitWork(expired);
+                    if (batch == null && expired.isEmpty()) {
+                        return;
+                    }
+                    if (batch != null) {
+                        inFlight = batch;
+                    }
+                }
+
+                if (!expired.isEmpty()) {
+                    for (Delivery delivery : toDeliveries(expired)) {
+                        enqueue(delivery);
+                    }
+                    continue;
+                }
+
+                deliver(batch);
+                synchronized (lock) {
+                    inFlight = Collections.emptyList();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Espera até haver alterações com a janela encerrada ou um lote pronto para envio
+     *
+     * @param expired Recebe as alterações com a janela encerrada
+     * @return Lote para envio ou null (com expired vazio) se a fila foi parada
+     */
+    private List<Delivery> awaitWork(List<Coalescible> expired) throws InterruptedException {
+        while (running) {
+            long now = System.currentTimeMillis();
+            long wakeUp = Long.MAX_VALUE;
+
+            Iterator<PendingMerge> pending = coalescing.values().iterator();
+            while (pending.hasNext()) {
+                PendingMerge merge = pending.next();
+                if (merge.deadline <= now) {
+                    expired.add(merge.value);
+                    pending.remove();
+                } else {
+                    wakeUp = Math.min(wakeUp, merge.deadline);
+                }
+            }
+            if (!expired.isEmpty()) {
+                return null;
+            }
+
+            for (Delivery delivery : queue) {
+                long readyAt = notBefore.getOrDefault(delivery.getTarget(), 0L);
+                if (readyAt <= now) {
+                    return takeBatch(delivery.getTarget());
+                }
+                wakeUp = Math.min(wakeUp, readyAt);
+            }
+
+            lock.wait(wakeUp == Long.MAX_VALUE ? 0L : Math.max(1L, wakeUp - now));
+        }
+        return null;
+    }
+
+    /**
+     * Retira da fila as próximas mensagens de um alvo que cabem em uma requisição
+     */
+    private List<Delivery> takeBatch(String target) {
+        List<Delivery> batch = new ArrayList<>();
+        int chars = 0;
+
+        Iterator<Delivery> iterator = queue.iterator();
+        while (iterator.hasNext() && batch.size() < MAX_EMBEDS) {
+            Delivery delivery = iterator.next();
+            if (!delivery.getTarget().equals(target)) {
+                continue;
+            }
+
+            int size = delivery.getEmbed().toString().length();
+            boolean hasContent = delivery.getContent() != null && !delivery.getContent().isEmpty();
+            if (!batch.isEmpty() && (hasContent || chars + size > MAX_EMBED_CHARS)) {
+                break;
+            }
+
+            batch.add(delivery);
+            chars += size;
+            iterator.remove();
+        }
+        return batch;
+    }
+
+    private List<Delivery> toDeliveries(List<Coalescible> changes) {
+        List<Delivery> deliveries = new ArrayList<>(changes.size());
+        for (Coalescible change : changes) {
+            try {
+                Delivery delivery = change.toDelivery();
+                if (delivery != null) {
+                    deliveries.add(delivery);
+                }
+            } catch (Exception e) {
+                LogUtils.warning("Erro ao montar mensagem agrupada do Discord: " + e.getMessage());
+            }
+        }
+        return deliveries;
+    }
+
+    /**
+     * Envia um lote, devolvendo-o ao início da fila em falhas temporárias
+     */
+    private void deliver(List<Delivery> batch) {
+        String target = batch.get(0).getTarget();
+        String url = urlResolver.apply(target);
+        if (url == null || url.isEmpty()) {
+            LogUtils.warning("Webhook do Discord '" + target + "' não configurado - " + batch.size() + " mensagens descartadas");
+            return;
+        }
+
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setRequestMethod("POST");
+            connection.setRequestProperty("Content-Type", "application/json");
+            connection.setRequestProperty("User-Agent", "hLiga/1.0");
+            connection.setConnectTimeout(TIMEOUT_MILLIS);
+            connection.setReadTimeout(TIMEOUT_MILLIS);
+            connection.setDoOutput(true);
+
+            byte[] payload = buildPayload(batch).toString().getBytes(StandardCharsets.UTF_8);
+            try (OutputStream os = connection.getOutputStream()) {
+                os.write(payload);
+            }
+
+            int responseCode = connection.getResponseCode();
+            // Ler a resposta até o fim permite que a conexão seja reaproveitada pelo próximo envio
+            String body = readBody(connection, responseCode);
+            long now = System.currentTimeMillis();
+
+            if (responseCode >= 200 && responseCode < 300) {
+                synchronized (lock) {
+                    failures.remove(target);
+                    long resetAfter = parseSeconds(connection.getHeaderField("X-RateLimit-Reset-After"));
+                    if ("0".equals(connection.getHeaderField("X-RateLimit-Remaining")) && resetAfter > 0) {
+                        notBefore.put(target, now + resetAfter);
+                    } else {
+                        notBefore.remove(target);
+                    }
+                }
+                LogUtils.debug("Discord: " + batch.size() + " mensagens entregues ao webhook " + target);
+                return;
+            }
+
+            if (responseCode == 429) {
+                long retryAfter = parseSeconds(connection.getHeaderField("Retry-After"));
+                if (retryAfter <= 0) {
+                    retryAfter = parseRetryAfterBody(body);
+                }
+                retry(batch, Math.max(retryAfter, MIN_BACKOFF_MILLIS), false);
+                LogUtils.debug("Discord: limite de envios atingido, aguardando " + retryAfter + "ms");
+                return;
+            }
+
+            if (responseCode >= 500) {
+                LogUtils.warning(describeError(responseCode));
+                retry(batch, 0L, true);
+                return;
+            }
+
+            // Demais erros (payload ou webhook inválidos) não se resolvem com novas tentativas
+            LogUtils.warning(describeError(responseCode) + " (" + batch.size() + " mensagens descartadas)");
+        } catch (IOException e) {
+            LogUtils.warning("Erro ao enviar mensagem para o Discord: " + e.getMessage());
+            retry(batch, 0L, true);
+        }
+    }
+
+    /**
+     * Devolve o lote ao início da fila e bloqueia o alvo pelo tempo indicado ou pela espera crescente
+     */
+    private void retry(List<Delivery> batch, long delayMillis, boolean backoff) {
+        synchronized (lock) {
+            String target = batch.get(0).getTarget();
+            if (backoff) {
+                int attempt = failures.merge(target, 1, Integer::sum);
+                delayMillis = Math.min(MAX_BACKOFF_MILLIS, MIN_BACKOFF_MILLIS << Math.min(attempt - 1, 20));
+            }
+            notBefore.put(target, System.currentTimeMillis() + delayMillis);
+
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                queue.addFirst(batch.get(i));
+            }
+        }
+    }
+
+    private JsonObject buildPayload(List<Delivery> batch) {
+        JsonObject json = new JsonObject();
+
+        if (botName != null && !botName.isEmpty()) {
+            json.addProperty("username", botName);
+        }
+
+        if (botAvatar != null && !botAvatar.isEmpty()) {
+            json.addProperty("avatar_url", botAvatar);
+        }
+
+        String content = batch.get(0).getContent();
+        if (content != null && !content.isEmpty()) {
+            json.addProperty("content", content);
+        }
+
+        JsonArray embeds = new JsonArray();
+        for (Delivery delivery : batch) {
+            embeds.add(delivery.getEmbed());
+        }
+        json.add("embeds", embeds);
+        return json;
+    }
+
+    private static String readBody(HttpURLConnection connection, int responseCode) throws IOException {
+        InputStream stream = responseCode >= 400 ? connection.getErrorStream() : connection.getInputStream();
+        if (stream == null) {
+            return "";
+        }
+
+        try (InputStream input = stream) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+            return new String(output.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Converte um valor em segundos (com casas decimais) para milissegundos; 0 se ausente ou inválido
+     */
+    private static long parseSeconds(String value) {
+        if (value == null || value.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return (long) Math.ceil(Double.parseDouble(value.trim()) * 1000.0);
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private static long parseRetryAfterBody(String body) {
+        try {
+            JsonObject json = new JsonParser().parse(body).getAsJsonObject();
+            return json.has("retry_after") ? parseSeconds(json.get("retry_after").getAsString()) : 0L;
+        } catch (Exception e) {
+            return 0L;
+        }
+    }
+
+    private static String describeError(int responseCode) {
+        String errorMessage = "Erro ao enviar mensagem para o Discord. Código: " + responseCode;
+        if (responseCode == 400) {
+            errorMessage += " - Payload inválido. Verifique o formato da mensagem.";
+        } else if (responseCode == 401 || responseCode == 403) {
+            errorMessage += " - Webhook inválido. Verifique se a URL está correta em config.yml.";
+        } else if (responseCode == 404) {
+            errorMessage += " - Webhook não encontrado. O webhook pode ter sido excluído no Discord.";
+        } else if (responseCode >= 500) {
+            errorMessage += " - Erro nos servidores do Discord. Nova tentativa em instantes.";
+        }
+        return errorMessage;
+    }
+
+    private void load() {
+        if (!file.exists()) {
+            return;
+        }
+
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file.toPath()), StandardCharsets.UTF_8)) {
+            JsonArray entries = new JsonParser().parse(reader).getAsJsonArray();
+            for (JsonElement element : entries) {
+                JsonObject entry = element.getAsJsonObject();
+                queue.addLast(new Delivery(entry.get("alvo").getAsString(),
+                        entry.has("conteudo") ? entry.get("conteudo").getAsString() : null,
+                        entry.getAsJsonObject("embed")));
+            }
+            LogUtils.debug("Fila do Discord: " + queue.size() + " mensagens pendentes carregadas");
+        } catch (Exception e) {
+            LogUtils.warning("Erro ao carregar mensagens pendentes do Discord: " + e.getMessage());
+        }
+
+        if (!file.delete()) {
+            LogUtils.warning("Não foi possível remover " + file.getName());
+        }
+    }
+
+    /**
+     * Salva a fila (e o lote em envio, se a thread ainda não terminou) para a próxima inicialização
+     */
+    private void save(boolean includeInFlight) {
+        JsonArray entries = new JsonArray();
+        synchronized (lock) {
+            List<Delivery> pending = new ArrayList<>();
+            if (includeInFlight) {
+                pending.addAll(inFlight);
+            }
+            pending.addAll(queue);
+
+            for (Delivery delivery : pending) {
+                JsonObject entry = new JsonObject();
+                entry.addProperty("alvo", delivery.getTarget());
+                if (delivery.getContent() != null) {
+                    entry.addProperty("conteudo", delivery.getContent());
+                }
+                entry.add("embed", delivery.getEmbed());
+                entries.add(entry);
+            }
+        }
+
+        if (entries.size() == 0) {
+            return;
+        }
+
+        try {
+            Files.write(file.toPath(), entries.toString().getBytes(StandardCharsets.UTF_8));
+            LogUtils.info("Discord: " + entries.size() + " mensagens não entregues salvas para a próxima inicialização");
+        } catch (IOException e) {
+            LogUtils.error("Erro ao salvar mensagens pendentes do Discord: " + e.getMessage());
+        }
+    }
+}
@@ -12,17 +12,18 @@ import org.bukkit.configuration.file.FileConfiguration;
 import java.util.List;
 
 import java.awt.Color;
-import java.io.IOException;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
 
 public class DiscordWebhook {
 
+    private static final String TARGET_MAIN = "principal";
+    private static final String TARGET_STAFF = "staff";
+    /** Tamanho a partir do qual descrições agrupadas deixam de receber novos trechos */
+    private static final int MAX_MERGED_DESCRIPTION = 200;
+
     private final Main plugin;
     private final String webhookUrl; // Webhook principal para temporadas
     private final String staffWebhookUrl; // Webhook para logs da staff (pontos)
@@ -30,6 +31,7 @@ public class DiscordWebhook {
     private final String botAvatar;
     private final int embedColor;
     private final DiscordMessageManager messageManager;
+    private final DiscordDeliveryQueue deliveryQueue;
 
     public DiscordWebhook(Main plugin) {
         this.plugin = plugin;
@@ -43,6 +45,11 @@ public class DiscordWebhook {
 
         this.messageManager = new DiscordMessageManager(plugin);
 
+        long coalesceMillis = Math.max(0L, config.getLong("discord.janela_agrupamento", 5L)) * 1000L;
+        this.deliveryQueue = new DiscordDeliveryQueue(new File(plugin.getDataFolder(), "discord_fila.json"),
+                this::resolveWebhookUrl, botName, botAvatar, coalesceMillis);
+        this.deliveryQueue.start();
+
         if (!this.webhookUrl.isEmpty()) {
             LogUtils.debug("Webhook principal do Discord configurado.");
         }
@@ -53,11 +60,11 @@ public class DiscordWebhook {
     }
 
     /**
-     * Envia uma mensagem para o webhook do Discord
+     * Coloca uma mensagem na fila de envio para o webhook do Discord
      *
      * @param embed Embed a ser enviado
      * @param useStaffWebhook Se true, usa o webhook de staff, caso contrário usa o webhook principal
-     * @return true se o envio foi bem-sucedido, false caso contrário
+     * @return true se a mensagem foi enfileirada, false se o webhook não estiver configurado
      */
     public boolean sendMessage(WebhookEmbed embed, boolean useStaffWebhook) {
         String targetWebhook = useStaffWebhook ? staffWebhookUrl : webhookUrl;
@@ -68,115 +75,61 @@ public class DiscordWebhook {
             return false;
         }
 
-        try {
-            URL url = new URL(targetWebhook);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("POST");
-            connection.setRequestProperty("Content-Type", "application/json");
-            connection.setRequestProperty("User-Agent", "hLiga/1.0");
-            connection.setDoOutput(true);
-
-            JsonObject json = new JsonObject();
-
-            if (botName != null && !botName.isEmpty()) {
-                json.addProperty("username", botName);
-            }
-
-            if (botAvatar != null && !botAvatar.isEmpty()) {
-                json.addProperty("avatar_url", botAvatar);
-            }
-
-            if (embed.getContent() != null && !embed.getContent().isEmpty()) {
-                json.addProperty("content", embed.getContent());
-            }
-
-            JsonObject embedJson = new JsonObject();
-
-            if (embed.getTitle() != null && !embed.getTitle().isEmpty()) {
-                embedJson.addProperty("title", embed.getTitle());
-            }
+        deliveryQueue.enqueue(new DiscordDeliveryQueue.Delivery(useStaffWebhook ? TARGET_STAFF : TARGET_MAIN,
+                embed.getContent(), toJson(embed)));
+        return true;
+    }
 
-            if (embed.getDescription() != null && !embed.getDescription().isEmpty()) {
-                embedJson.addProperty("description", embed.getDescription());
-            }
+    /**
+     * Converte um embed para o formato JSON do Discord
+     */
+    private JsonObject toJson(WebhookEmbed embed) {
+        JsonObject embedJson = new JsonObject();
 
-            if (embed.getColor() != 0) {
-                embedJson.addProperty("color", embed.getColor());
-            } else {
-                embedJson.addProperty("color", embedColor);
-            }
+        if (embed.getTitle() != null && !embed.getTitle().isEmpty()) {
+            embedJson.addProperty("title", embed.getTitle());
+        }
 
-            if (embed.getFooter() != null && !embed.getFooter().isEmpty()) {
-                JsonObject footerJson = new JsonObject();
-                footerJson.addProperty("text", embed.getFooter());
-                embedJson.add("footer", footerJson);
-            }
+        if (embed.getDescription() != null && !embed.getDescription().isEmpty()) {
+            embedJson.addProperty("description", embed.getDescription());
+        }
 
-            if (embed.getThumbnail() != null && !embed.getThumbnail().isEmpty()) {
-                JsonObject thumbnailJson = new JsonObject();
-                thumbnailJson.addProperty("url", embed.getThumbnail());
-                embedJson.add("thumbnail", thumbnailJson);
-            }
+        if (embed.getColor() != 0) {
+            embedJson.addProperty("color", embed.getColor());
+        } else {
+            embedJson.addProperty("color", embedColor);
+        }
 
-            if (!embed.getFields().isEmpty()) {
-                JsonObject[] fieldsJson = new JsonObject[embed.getFields().size()];
+        if (embed.getFooter() != null && !embed.getFooter().isEmpty()) {
+            JsonObject footerJson = new JsonObject();
+            footerJson.addProperty("text", embed.getFooter());
+            embedJson.add("footer", footerJson);
+        }
 
-                for (int i = 0; i < embed.getFields().size(); i++) {
-                    WebhookEmbed.Field field = embed.getFields().get(i);
+        if (embed.getThumbnail() != null && !embed.getThumbnail().isEmpty()) {
+            JsonObject thumbnailJson = new JsonObject();
+            thumbnailJson.addProperty("url", embed.getThumbnail());
+            embedJson.add("thumbnail", thumbnailJson);
+        }
 
-                    JsonObject fieldJson = new JsonObject();
-                    fieldJson.addProperty("name", field.name);
-                    fieldJson.addProperty("value", field.value);
-                    fieldJson.addProperty("inline", field.inline);
+        if (!embed.getFields().isEmpty()) {
+            JsonObject[] fieldsJson = new JsonObject[embed.getFields().size()];
 
-                    fieldsJson[i] = fieldJson;
-                }
+            for (int i = 0; i < embed.getFields().size(); i++) {
+                WebhookEmbed.Field field = embed.getFields().get(i);
 
-                embedJson.add("fields", gson.toJsonTree(fieldsJson));
-            }
+                JsonObject fieldJson = new JsonObject();
+                fieldJson.addProperty("name", field.name);
+                fieldJson.addProperty("value", field.value);
+                fieldJson.addProperty("inline", field.inline);
 
-            JsonObject[] embedsJson = new JsonObject[1];
-            embedsJson[0] = embedJson;
-            json.add("embeds", gson.toJsonTree(embedsJson));
-
-            OutputStream os = null;
-            try {
-                os = connection.getOutputStream();
-                byte[] input = json.toString().getBytes("UTF-8");
-                os.write(input, 0, input.length);
-            } finally {
-                if (os != null) {
-                    try {
-                        os.close();
-                    } catch (IOException ignored) {
-                    }
-                }
+                fieldsJson[i] = fieldJson;
             }
 
-            int responseCode = connection.getResponseCode();
-
-            if (responseCode >= 200 && responseCode < 300) {
-                return true;
-            } else {
-                String errorMessage = "Erro ao enviar mensagem para o Discord. Código: " + responseCode;
-                if (responseCode == 400) {
-                    errorMessage += " - Payload inválido. Verifique o formato da mensagem.";
-                } else if (responseCode == 401 || responseCode == 403) {
-                    errorMessage += " - Webhook inválido. Verifique se a URL está correta em config.yml.";
-                } else if (responseCode == 404) {
-                    errorMessage += " - Webhook não encontrado. O webhook pode ter sido excluído no Discord.";
-                } else if (responseCode == 429) {
-                    errorMessage += " - Muitas solicitações. Tente novamente mais tarde.";
-                } else if (responseCode >= 500) {
-                    errorMessage += " - Erro nos servidores do Discord. Tente novamente mais tarde.";
-                }
-                plugin.getLogger().warning(errorMessage);
-                return false;
-            }
-        } catch (IOException e) {
-            plugin.getLogger().log(Level.WARNING, "Erro ao enviar mensagem para o Discord", e);
-            return false;
+            embedJson.add("fields", gson.toJsonTree(fieldsJson));
         }
+
+        return embedJson;
     }
 
     /**
@@ -184,7 +137,7 @@ public class DiscordWebhook {
      * Envia uma mensagem para o webhook principal
      *
      * @param embed Embed a ser enviado
-     * @return true se o envio foi bem-sucedido, false caso contrário
+     * @return true se a mensagem foi enfileirada, false caso contrário
      */
     public boolean sendMessage(WebhookEmbed embed) {
         return sendMessage(embed, false); // Usa o webhook principal por padrão
@@ -209,7 +162,7 @@ public class DiscordWebhook {
      * @param points Pontos adicionados (positivo) ou removidos (negativo)
      * @param totalPoints Total de pontos do clã após a operação
      * @param description Descrição opcional da operação
-     * @return true se o envio foi bem-sucedido, false caso contrário
+     * @return true se a notificação foi enfileirada, false caso contrário
      */
     public boolean sendClanPointsNotification(String clanTag, int points, int totalPoints, String description) {
         FileConfiguration config = plugin.getConfig();
@@ -231,17 +184,16 @@ public class DiscordWebhook {
         }
 
         try {
-            int position = calcularPosicaoClan(clanTag);
-
-            WebhookEmbed embed = messageManager.createClanPointsEmbed(clanTag, points, totalPoints, position, description);
-
-            if (embed == null) {
-                LogUtils.warning("Erro ao criar embed de pontos para Discord");
+            if (!isValidWebhookUrl(staffWebhookUrl)) {
+                plugin.getLogger().warning("URL do webhook staff do Discord não configurada ou inválida. Mensagem não enviada.");
                 return false;
             }
 
-            LogUtils.debug("Enviando notificação de pontos para o webhook de staff (clã: " + clanTag + ", pontos: " + points + ")");
-            return sendMessage(embed, true); // true = usar webhook de staff
+            // Alterações do mesmo clã dentro da janela de agrupamento viram uma só mensagem
+            LogUtils.debug("Enfileirando notificação de pontos para o webhook de staff (clã: " + clanTag + ", pontos: " + points + ")");
+            deliveryQueue.enqueueCoalesced("pontos:" + clanTag + (points >= 0 ? ":+" : ":-"),
+                    new PointsChange(clanTag, points, totalPoints, description));
+            return true;
 
         } catch (Exception e) {
             LogUtils.warning("Erro ao enviar notificação de pontos para Discord: " + e.getMessage());
@@ -466,9 +418,12 @@ public class DiscordWebhook {
 
     /**
      * Verifica se a URL do webhook é válida e bem formatada
-     * Uma URL válida deve seguir este formato:
+     * Uma URL do Discord deve seguir este formato:
      * https://discord.com/api/webhooks/ID/TOKEN
      *
+     * Outros endereços http(s) são aceitos como estão, para uso com um proxy de webhooks
+     * ou um servidor local de testes.
+     *
      * @param url URL a ser validada
      * @return true se a URL for válida
      */
@@ -478,15 +433,18 @@ public class DiscordWebhook {
             return false;
         }
 
-        if (!url.startsWith("https://discord.com/api/webhooks/") &&
-                !url.startsWith("https://discordapp.com/api/webhooks/")) {
-            plugin.getLogger().warning("URL do webhook do Discord inválida. Deve começar com https://discord.com/api/webhooks/ ou https://discordapp.com/api/webhooks/");
-            return false;
+        if (url.startsWith("https://discord.com/api/webhooks/") ||
+                url.startsWith("https://discordapp.com/api/webhooks/")) {
+            String[] parts = url.split("/");
+            if (parts.length < 7) {
+                plugin.getLogger().warning("URL do webhook do Discord mal formatada. Deve conter ID e TOKEN no formato: https://discord.com/api/webhooks/ID/TOKEN");
+                return false;
+            }
+            return true;
         }
 
-        String[] parts = url.split("/");
-        if (parts.length < 7) {
-            plugin.getLogger().warning("URL do webhook do Discord mal formatada. Deve conter ID e TOKEN no formato: https://discord.com/api/webhooks/ID/TOKEN");
+        if (!url.startsWith("https://") && !url.startsWith("http://")) {
+            plugin.getLogger().warning("URL do webhook do Discord inválida. Deve começar com https://discord.com/api/webhooks/");
             return false;
         }
 
@@ -503,21 +461,83 @@ public class DiscordWebhook {
      */
     private int calcularPosicaoClan(String clanTag) {
         try {
-            List<ClanPoints> topClans = plugin.getDatabaseManager().getAdapter().getTopClans(Integer.MAX_VALUE);
+            int position = plugin.getPointsManager().getRankingIndex().getPosition(clanTag);
+            return position > 0 ? position : 999;
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Erro ao calcular posição do clã", e);
+            return 999;
+        }
+    }
 
-            for (int i = 0; i < topClans.size(); i++) {
-                if (topClans.get(i).getClanTag().equals(clanTag)) {
-                    return i + 1; // Posições começam em 1, não 0
+    /**
+     * Obtém a URL do webhook de um alvo da fila de envio
+     */
+    private String resolveWebhookUrl(String target) {
+        String url = TARGET_STAFF.equals(target) ? staffWebhookUrl : webhookUrl;
+        return isValidWebhookUrl(url) ? url : null;
+    }
+
+    /**
+     * Alterações de pontos de um clã agrupadas até o envio
+     */
+    private final class PointsChange implements DiscordDeliveryQueue.Coalescible {
+        private final String clanTag;
+        private final int points;
+        private final int totalPoints;
+        private final String description;
+        private final int count;
+
+        private PointsChange(String clanTag, int points, int totalPoints, String description) {
+            this(clanTag, points, totalPoints, description, 1);
+        }
+
+        private PointsChange(String clanTag, int points, int totalPoints, String description, int count) {
+            this.clanTag = clanTag;
+            this.points = points;
+            this.totalPoints = totalPoints;
+            this.description = description;
+            this.count = count;
+        }
+
+        @Override
+        public DiscordDeliveryQueue.Coalescible merge(DiscordDeliveryQueue.Coalescible newer) {
+            PointsChange change = (PointsChange) newer;
+            String mergedDescription = description;
+            if (change.description != null && !change.description.isEmpty()) {
+                if (mergedDescription == null || mergedDescription.isEmpty()) {
+                    mergedDescription = change.description;
+                } else if (!mergedDescription.contains(change.description)
+                        && mergedDescription.length() < MAX_MERGED_DESCRIPTION) {
+                    mergedDescription = mergedDescription + "; " + change.description;
                 }
             }
+            return new PointsChange(clanTag, points + change.points, change.totalPoints, mergedDescription,
+                    count + change.count);
+        }
 
-            return 999;
-        } catch (Exception e) {
-            plugin.getLogger().log(Level.WARNING, "Erro ao calcular posição do clã", e);
-            return 999;
+        @Override
+        public DiscordDeliveryQueue.Delivery toDelivery() {
+            WebhookEmbed embed = messageManager.createClanPointsEmbed(clanTag, points, totalPoints,
+                    calcularPosicaoClan(clanTag), description);
+            if (embed == null) {
+                LogUtils.warning("Erro ao criar embed de pontos para Discord");
+                return null;
+            }
+
+            if (count > 1) {
+                LogUtils.debug("Notificação de pontos do clã " + clanTag + " agrupou " + count + " alterações");
+            }
+            return new DiscordDeliveryQueue.Delivery(TARGET_STAFF, embed.getContent(), toJson(embed));
         }
     }
 
+    /**
+     * Para a fila de envio, salvando as mensagens ainda não entregues
+     */
+    public void shutdown() {
+        deliveryQueue.stop();
+    }
+
     /**
      * Recarrega as configurações do discord.json
      * Útil para testar mudanças sem reiniciar o servidor
@@ -0,0 +1,48 @@
+package hplugins.hliga.hooks;
+
+import hplugins.hliga.utils.LogUtils;
+import hplugins.hliga.utils.MinecraftVersion;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+
+/**
+ * Envio de pacotes de time (nametag) para um único jogador, sem alterar nenhum scoreboard do servidor
+ */
+public interface NametagPackets {
+
+    /**
+     * Indica se os pacotes são realmente enviados (false no fallback sem efeito)
+     */
+    boolean isSupported();
+
+    void createTeam(Player viewer, String teamName, String prefix, Collection<String> entries);
+
+    void addEntries(Player viewer, String teamName, Collection<String> entries);
+
+    void removeEntries(Player viewer, String teamName, Collection<String> entries);
+
+    void removeTeam(Player viewer, String teamName);
+
+    /**
+     * Obtém a implementação disponível no servidor
+     * Usa o ProtocolLib (1.17+) quando instalado; caso contrário, o fallback sem efeito.
+     */
+    static NametagPackets create() {
+        if (Bukkit.getPluginManager().getPlugin("ProtocolLib") == null) {
+            return NoopNametagPackets.INSTANCE;
+        }
+        if (!MinecraftVersion.isAtLeast(MinecraftVersion.V1_17)) {
+            LogUtils.warning("Nametags por pacotes requerem Minecraft 1.17+");
+            return NoopNametagPackets.INSTANCE;
+        }
+
+        try {
+            return new ProtocolLibNametagPackets();
+        } catch (Throwable e) {
+            LogUtils.warning("ProtocolLib incompatível com nametags por pacotes: " + e.getMessage());
+            return NoopNametagPackets.INSTANCE;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package hplugins.hliga.hooks;
+
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+
+/**
+ * Fallback de {@link NametagPackets} que não envia nada
+ */
+public final class NoopNametagPackets implements NametagPackets {
+
+    public static final NoopNametagPackets INSTANCE = new NoopNametagPackets();
+
+    private NoopNametagPackets() {
+    }
+
+    @Override
+    public boolean isSupported() {
+        return false;
+    }
+
+    @Override
+    public void createTeam(Player viewer, String teamName, String prefix, Collection<String> entries) {
+    }
+
+    @Override
+    public void addEntries(Player viewer, String teamName, Collection<String> entries) {
+    }
+
+    @Override
+    public void removeEntries(Player viewer, String teamName, Collection<String> entries) {
+    }
+
+    @Override
+    public void removeTeam(Player viewer, String teamName) {
+    }
+}
@@ -6,25 +6,90 @@ import hplugins.hliga.models.GenericClan;
 import hplugins.hliga.models.Season;
 import hplugins.hliga.models.PlayerTag;
 import hplugins.hliga.models.TagType;
+import hplugins.hliga.utils.LogUtils;
 import hplugins.hliga.utils.TimeUtils;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Plugin de integração com o PlaceholderAPI para fornecer placeholders
  * Atualizado para usar nossa nova abstração GenericClan
+ *
+ * Os placeholders de ranking e temporada são respondidos a partir de um {@link PlaceholderSnapshot},
+ * reconstruído de forma assíncrona quando o ranking ou a temporada mudam.
  */
 public class PlaceholderAPIHook extends PlaceholderExpansion {
     
+    private static final long SEASON_MAX_AGE = 60_000L;
+
     private final Main plugin;
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    private volatile PlaceholderSnapshot snapshot = PlaceholderSnapshot.EMPTY;
+    private volatile long seasonLoadedAt;
     
     public PlaceholderAPIHook(Main plugin) {
         this.plugin = plugin;
+        requestRebuild();
+    }
+
+    /**
+     * Obtém a cópia atual dos dados de placeholders
+     * Se o ranking ou a temporada mudaram, agenda uma reconstrução e devolve a cópia anterior
+     *
+     * @return Cópia atual (nunca nula)
+     */
+    public PlaceholderSnapshot getSnapshot() {
+        PlaceholderSnapshot current = snapshot;
+        if (current.getRankingVersion() != plugin.getPointsManager().getRankingIndex().getVersion()
+                || current.getSeasonVersion() != plugin.getSeasonManager().getSeasonVersion()
+                || System.currentTimeMillis() - seasonLoadedAt > SEASON_MAX_AGE) {
+            requestRebuild();
+        }
+        return current;
+    }
+
+    /**
+     * Agenda a reconstrução assíncrona da cópia de dados, se ainda não houver uma em andamento
+     */
+    public void requestRebuild() {
+        if (!plugin.isEnabled() || !rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                snapshot = buildSnapshot();
+            } catch (Exception e) {
+                LogUtils.warning("Erro ao atualizar dados dos placeholders: " + e.getMessage());
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+    }
+
+    private PlaceholderSnapshot buildSnapshot() {
+        long rankingVersion = plugin.getPointsManager().getRankingIndex().getVersion();
+        long seasonVersion = plugin.getSeasonManager().getSeasonVersion();
+
+        List<ClanPoints> ranking = plugin.getPointsManager().getTopClans(Integer.MAX_VALUE);
+
+        PlaceholderSnapshot previous = snapshot;
+        Season activeSeason;
+        if (previous != PlaceholderSnapshot.EMPTY && previous.getSeasonVersion() == seasonVersion
+                && System.currentTimeMillis() - seasonLoadedAt <= SEASON_MAX_AGE) {
+            activeSeason = previous.getActiveSeason();
+        } else {
+            activeSeason = plugin.getSeasonManager().getActiveSeason().orElse(null);
+            seasonLoadedAt = System.currentTimeMillis();
+        }
+
+        return new PlaceholderSnapshot(ranking, activeSeason, rankingVersion, seasonVersion);
     }
     
     @Override
@@ -93,46 +158,24 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
             
             String clanTag = clan.getTag();
             
-            return String.valueOf(plugin.getPointsManager().getClanPoints(clanTag));
+            return String.valueOf(getSnapshot().getPoints(clanTag));
         }
         
         
-        if (identifier.startsWith("top_")) {
+        if (identifier.startsWith("top_points_")) {
             try {
-                int position = Integer.parseInt(identifier.substring(4)) - 1;
-                if (position < 0) {
-                    return "";
-                }
-                
-                List<ClanPoints> topClans = plugin.getPointsManager().getTopClans(position + 1);
-                
-                if (topClans.size() <= position) {
-                    return "";
-                }
-                
-                ClanPoints clanPoints = topClans.get(position);
-                return clanPoints.clanTag;
+                ClanPoints clanPoints = getSnapshot().getAt(Integer.parseInt(identifier.substring(11)));
+                return clanPoints != null ? String.valueOf(clanPoints.points) : "";
             } catch (NumberFormatException e) {
                 return "";
             }
         }
         
         
-        if (identifier.startsWith("top_points_")) {
+        if (identifier.startsWith("top_")) {
             try {
-                int position = Integer.parseInt(identifier.substring(11)) - 1;
-                if (position < 0) {
-                    return "";
-                }
-                
-                List<ClanPoints> topClans = plugin.getPointsManager().getTopClans(position + 1);
-                
-                if (topClans.size() <= position) {
-                    return "";
-                }
-                
-                ClanPoints clanPoints = topClans.get(position);
-                return String.valueOf(clanPoints.points);
+                ClanPoints clanPoints = getSnapshot().getAt(Integer.parseInt(identifier.substring(4)));
+                return clanPoints != null ? clanPoints.clanTag : "";
             } catch (NumberFormatException e) {
                 return "";
             }
@@ -140,35 +183,34 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
         
         
         if (identifier.equals("season_active")) {
-            return plugin.getSeasonManager().isSeasonActive() ? "true" : "false";
+            return getSnapshot().getActiveSeason() != null ? "true" : "false";
         }
         
         
         if (identifier.equals("season_name")) {
-            Optional<Season> optionalSeason = plugin.getSeasonManager().getActiveSeason();
-            return optionalSeason.isPresent() ? optionalSeason.get().name : "";
+            Season season = getSnapshot().getActiveSeason();
+            return season != null ? season.name : "";
         }
         
         
         if (identifier.equals("season_start")) {
-            Optional<Season> optionalSeason = plugin.getSeasonManager().getActiveSeason();
-            return optionalSeason.isPresent() ? TimeUtils.formatDate(optionalSeason.get().startDate) : "";
+            Season season = getSnapshot().getActiveSeason();
+            return season != null ? TimeUtils.formatDate(season.startDate) : "";
         }
         
         
         if (identifier.equals("season_end")) {
-            Optional<Season> optionalSeason = plugin.getSeasonManager().getActiveSeason();
-            return optionalSeason.isPresent() ? TimeUtils.formatDate(optionalSeason.get().endDate) : "";
+            Season season = getSnapshot().getActiveSeason();
+            return season != null ? TimeUtils.formatDate(season.endDate) : "";
         }
         
         
         if (identifier.equals("season_remaining")) {
-            Optional<Season> optionalSeason = plugin.getSeasonManager().getActiveSeason();
-            if (!optionalSeason.isPresent()) {
+            Season season = getSnapshot().getActiveSeason();
+            if (season == null) {
                 return "";
             }
             
-            Season season = optionalSeason.get();
             long remaining = season.endDate - System.currentTimeMillis();
             
             if (remaining <= 0) {
@@ -191,17 +233,8 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
                 return "";
             }
             
-            String clanTag = clan.getTag();
-            
-            List<ClanPoints> topClans = plugin.getPointsManager().getTopClans(Integer.MAX_VALUE);
-            
-            for (int i = 0; i < topClans.size(); i++) {
-                if (topClans.get(i).clanTag.equals(clanTag)) {
-                    return String.valueOf(i + 1);
-                }
-            }
-            
-            return "";
+            int position = getSnapshot().getPosition(clan.getTag());
+            return position > 0 ? String.valueOf(position) : "";
         }
         
         
@@ -0,0 +1,88 @@
+package hplugins.hliga.hooks;
+
+import hplugins.hliga.models.ClanPoints;
+import hplugins.hliga.models.Season;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cópia imutável dos dados usados pelos placeholders
+ *
+ * Montada fora da thread principal a partir do índice de ranking e da temporada ativa,
+ * permitindo que cada placeholder seja respondido com uma leitura O(1) em memória.
+ */
+public final class PlaceholderSnapshot {
+
+    static final PlaceholderSnapshot EMPTY = new PlaceholderSnapshot(
+            Collections.emptyList(), null, -1L, -1L);
+
+    private final ClanPoints[] ranking;
+    private final Map<String, Integer> positions;
+    private final Map<String, Integer> points;
+    private final Season activeSeason;
+    private final long rankingVersion;
+    private final long seasonVersion;
+
+    PlaceholderSnapshot(List<ClanPoints> ranking, Season activeSeason, long rankingVersion, long seasonVersion) {
+        this.ranking = ranking.toArray(new ClanPoints[0]);
+        this.positions = new HashMap<>(this.ranking.length * 2);
+        this.points = new HashMap<>(this.ranking.length * 2);
+        for (int i = 0; i < this.ranking.length; i++) {
+            positions.put(this.ranking[i].clanTag, i + 1);
+            points.put(this.ranking[i].clanTag, this.ranking[i].points);
+        }
+        this.activeSeason = activeSeason;
+        this.rankingVersion = rankingVersion;
+        this.seasonVersion = seasonVersion;
+    }
+
+    /**
+     * Obtém o clã em uma posição do ranking
+     *
+     * @param position Posição (começando em 1)
+     * @return Clã na posição ou null se não existir
+     */
+    public ClanPoints getAt(int position) {
+        if (position <= 0 || position > ranking.length) {
+            return null;
+        }
+        return ranking[position - 1];
+    }
+
+    /**
+     * Obtém a posição de um clã no ranking
+     *
+     * @param clanTag Tag do clã
+     * @return Posição (começando em 1) ou -1 se o clã não estiver no ranking
+     */
+    public int getPosition(String clanTag) {
+        Integer position = positions.get(clanTag);
+        return position != null ? position : -1;
+    }
+
+    /**
+     * Obtém a pontuação de um clã
+     *
+     * @param clanTag Tag do clã
+     * @return Pontuação do clã ou 0 se não estiver no ranking
+     */
+    public int getPoints(String clanTag) {
+        Integer value = points.get(clanTag);
+        return value != null ? value : 0;
+    }
+
+    public Season getActiveSeason() {
+        return activeSeason;
+    }
+
+    public long getRankingVersion() {
+        return rankingVersion;
+    }
+
+    public long getSeasonVersion() {
+        return seasonVersion;
+    }
+}
@@ -0,0 +1,85 @@
+package hplugins.hliga.hooks;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.ProtocolLibrary;
+import com.comphenix.protocol.ProtocolManager;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.wrappers.EnumWrappers;
+import com.comphenix.protocol.wrappers.WrappedChatComponent;
+import com.comphenix.protocol.wrappers.WrappedTeamParameters;
+import hplugins.hliga.utils.LogUtils;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * {@link NametagPackets} usando o ProtocolLib (formato do pacote de times da 1.17+)
+ * Só deve ser instanciada quando o ProtocolLib estiver instalado.
+ */
+public class ProtocolLibNametagPackets implements NametagPackets {
+
+    private static final int MODE_CREATE = 0;
+    private static final int MODE_REMOVE = 1;
+    private static final int MODE_ADD_ENTRIES = 3;
+    private static final int MODE_REMOVE_ENTRIES = 4;
+
+    private final ProtocolManager protocolManager;
+
+    public ProtocolLibNametagPackets() {
+        this.protocolManager = ProtocolLibrary.getProtocolManager();
+    }
+
+    @Override
+    public boolean isSupported() {
+        return true;
+    }
+
+    @Override
+    public void createTeam(Player viewer, String teamName, String prefix, Collection<String> entries) {
+        PacketContainer packet = packet(teamName, MODE_CREATE, entries);
+        WrappedTeamParameters parameters = WrappedTeamParameters.newBuilder()
+                .displayName(WrappedChatComponent.fromText(teamName))
+                .prefix(WrappedChatComponent.fromLegacyText(prefix))
+                .suffix(WrappedChatComponent.fromText(""))
+                .nametagVisibility("always")
+                .collisionRule("always")
+                .color(EnumWrappers.ChatFormatting.RESET)
+                .options(0)
+                .build();
+        packet.getOptionalTeamParameters().write(0, Optional.of(parameters));
+        send(viewer, packet);
+    }
+
+    @Override
+    public void addEntries(Player viewer, String teamName, Collection<String> entries) {
+        send(viewer, packet(teamName, MODE_ADD_ENTRIES, entries));
+    }
+
+    @Override
+    public void removeEntries(Player viewer, String teamName, Collection<String> entries) {
+        send(viewer, packet(teamName, MODE_REMOVE_ENTRIES, entries));
+    }
+
+    @Override
+    public void removeTeam(Player viewer, String teamName) {
+        send(viewer, packet(teamName, MODE_REMOVE, new ArrayList<>()));
+    }
+
+    private PacketContainer packet(String teamName, int mode, Collection<String> entries) {
+        PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.SCOREBOARD_TEAM);
+        packet.getStrings().write(0, teamName);
+        packet.getIntegers().write(0, mode);
+        packet.getSpecificModifier(Collection.class).write(0, new ArrayList<>(entries));
+        return packet;
+    }
+
+    private void send(Player viewer, PacketContainer packet) {
+        try {
+            protocolManager.sendServerPacket(viewer, packet);
+        } catch (Exception e) {
+            LogUtils.debug("Erro ao enviar pacote de nametag para " + viewer.getName() + ": " + e.getMessage());
+        }
+    }
+}
@@ -15,6 +15,7 @@ import org.bukkit.event.inventory.InventoryDragEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.Inventory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -37,6 +38,9 @@ public class InventoryManager implements Listener {
     @Getter
     private final Map<UUID, Integer> playerPages = new HashMap<>();
 
+    @Getter
+    private final MenuSnapshotCache menuSnapshots;
+
     /**
      * Construtor do gerenciador de inventários
      *
@@ -44,6 +48,7 @@ public class InventoryManager implements Listener {
      */
     public InventoryManager(Main plugin) {
         this.plugin = plugin;
+        this.menuSnapshots = new MenuSnapshotCache(plugin);
         plugin.getServer().getPluginManager().registerEvents(this, plugin);
     }
 
@@ -177,26 +182,38 @@ public class InventoryManager implements Listener {
     }
 
     /**
-     * Atualiza todos os menus abertos forçando recarregamento dos dados
+     * Atualiza todos os menus abertos com os dados atuais
+     * Menus de ranking trocam os itens no próprio inventário aberto; os demais são fechados.
      * Usado após reset de temporada para limpar cache obsoleto
      */
     public void refreshAllMenus() {
         LogUtils.info("Iniciando refresh de todos os menus abertos...");
 
-        for (Map.Entry<UUID, BaseGui> entry : openGuis.entrySet()) {
+        menuSnapshots.invalidate();
+
+        int redrawn = 0;
+        // Cópia: fechar ou reabrir um menu altera o registro de GUIs abertas
+        for (Map.Entry<UUID, BaseGui> entry : new ArrayList<>(openGuis.entrySet())) {
             try {
                 Player player = plugin.getServer().getPlayer(entry.getKey());
-                if (player != null && player.isOnline()) {
+                if (player == null || !player.isOnline()) {
+                    openGuis.remove(entry.getKey());
+                    playerPages.remove(entry.getKey());
+                    continue;
+                }
+
+                if (entry.getValue().redraw()) {
+                    redrawn++;
+                } else {
                     player.closeInventory();
                     LogUtils.debug("Menu fechado para jogador: " + player.getName());
                 }
             } catch (Exception e) {
-                LogUtils.warning("Erro ao fechar menu para jogador: " + e.getMessage());
+                LogUtils.warning("Erro ao atualizar menu para jogador: " + e.getMessage());
             }
         }
 
-        clearAll();
-        LogUtils.info("Cache de menus limpo após reset de temporada");
+        LogUtils.info("Menus atualizados após reset de temporada (" + redrawn + " reaproveitados)");
     }
 
     /**
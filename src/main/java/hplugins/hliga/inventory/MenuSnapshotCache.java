@@ -0,0 +1,196 @@
+package hplugins.hliga.inventory;
+
+import hplugins.hliga.Main;
+import hplugins.hliga.models.ClanPoints;
+import hplugins.hliga.utils.LogUtils;
+import lombok.Getter;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache dos itens de clãs exibidos nos menus de ranking
+ *
+ * Os itens de cada faixa do ranking (o topo ou uma página) são montados uma vez por versão do índice de
+ * ranking e compartilhados entre todos os jogadores; abrir o menu ou trocar de página apenas posiciona os
+ * itens já prontos. Placeholders do jogador ({@value #VIEWER_PLACEHOLDER}) são aplicados só nos itens que
+ * os usam, no momento de exibir.
+ * Usado apenas na thread principal.
+ */
+public class MenuSnapshotCache {
+
+    /** Placeholder substituído pelo nome de quem está vendo o menu */
+    public static final String VIEWER_PLACEHOLDER = "{jogador}";
+
+    /**
+     * Monta o item de um clã em uma posição do ranking
+     */
+    @FunctionalInterface
+    public interface ClanItemRenderer {
+        ItemStack render(ClanPoints clanPoints, int position);
+    }
+
+    /**
+     * Clãs com pontos de uma faixa do ranking e seus itens, como estavam em uma versão do ranking
+     * O item de índice i corresponde à posição firstPosition + i. Nenhuma das listas pode ser alterada.
+     */
+    public static final class Snapshot {
+
+        @Getter
+        private final long version;
+        @Getter
+        private final int firstPosition;
+        @Getter
+        private final List<ClanPoints> clans;
+        private final List<ItemStack> items;
+        private final boolean[] perViewer;
+
+        private Snapshot(long version, int firstPosition, List<ClanPoints> clans, List<ItemStack> items, boolean[] perViewer) {
+            this.version = version;
+            this.firstPosition = firstPosition;
+            this.clans = Collections.unmodifiableList(clans);
+            this.items = Collections.unmodifiableList(items);
+            this.perViewer = perViewer;
+        }
+
+        public int size() {
+            return items.size();
+        }
+
+        /**
+         * Obtém o item de um índice, com os placeholders do jogador já aplicados
+         * O item retornado é compartilhado quando não depende do jogador e não deve ser modificado.
+         */
+        public ItemStack getItem(int index, Player viewer) {
+            ItemStack item = items.get(index);
+            if (item == null || !perViewer[index] || viewer == null) {
+                return item;
+            }
+            return applyViewer(item, viewer);
+        }
+
+        /**
+         * Obtém todos os itens, com os placeholders do jogador aplicados
+         */
+        public List<ItemStack> getItems(Player viewer) {
+            List<ItemStack> result = new ArrayList<>(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                result.add(getItem(i, viewer));
+            }
+            return result;
+        }
+    }
+
+    private final Main plugin;
+    private final Map<String, Snapshot> snapshots = new HashMap<>();
+    private long cachedVersion = -1L;
+
+    public MenuSnapshotCache(Main plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Obtém os itens do topo do ranking para a versão atual, montando-os se o ranking mudou
+     *
+     * @param menuKey Chave do menu
+     * @param limit Máximo de clãs do topo
+     * @param renderer Montagem do item de cada clã
+     * @return Snapshot compartilhado
+     */
+    public Snapshot get(String menuKey, int limit, ClanItemRenderer renderer) {
+        return getRange(menuKey, 1, limit, renderer);
+    }
+
+    /**
+     * Obtém os itens de uma faixa do ranking para a versão atual, montando apenas essa faixa se necessário
+     *
+     * @param menuKey Chave do menu (um cache por menu e faixa)
+     * @param position Primeira posição da faixa (começando em 1)
+     * @param count Quantidade de posições
+     * @param renderer Montagem do item de cada clã
+     * @return Snapshot compartilhado
+     */
+    public Snapshot getRange(String menuKey, int position, int count, ClanItemRenderer renderer) {
+        // A versão é lida antes do ranking: uma alteração durante a leitura só gera uma remontagem a mais
+        long version = plugin.getPointsManager().getRankingIndex().getVersion();
+        if (version != cachedVersion) {
+            snapshots.clear();
+            cachedVersion = version;
+        }
+
+        String key = menuKey + ':' + position + ':' + count;
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        // Clãs sem pontos ficam no fim do ranking, então filtrá-los não desloca as posições
+        List<ClanPoints> clans = new ArrayList<>();
+        for (ClanPoints clanPoints : plugin.getPointsManager().getRankingIndex().getRange(position, count)) {
+            if (clanPoints.getPoints() > 0) {
+                clans.add(clanPoints);
+            }
+        }
+
+        List<ItemStack> items = new ArrayList<>(clans.size());
+        boolean[] perViewer = new boolean[clans.size()];
+        for (int i = 0; i < clans.size(); i++) {
+            ItemStack item = renderer.render(clans.get(i), position + i);
+            items.add(item);
+            perViewer[i] = usesViewer(item);
+        }
+
+        snapshot = new Snapshot(version, position, clans, items, perViewer);
+        snapshots.put(key, snapshot);
+        LogUtils.debugHigh("Menu " + menuKey + " montado para a versão " + version + " do ranking (posições " +
+                position + "-" + (position + items.size() - 1) + ")");
+        return snapshot;
+    }
+
+    /**
+     * Descarta todos os snapshots (por exemplo, após recarregar o menus.yml)
+     */
+    public void invalidate() {
+        snapshots.clear();
+        cachedVersion = -1L;
+    }
+
+    private static boolean usesViewer(ItemStack item) {
+        if (item == null || !item.hasItemMeta()) {
+            return false;
+        }
+        ItemMeta meta = item.getItemMeta();
+        if (meta.hasDisplayName() && meta.getDisplayName().contains(VIEWER_PLACEHOLDER)) {
+            return true;
+        }
+        if (meta.hasLore()) {
+            for (String line : meta.getLore()) {
+                if (line.contains(VIEWER_PLACEHOLDER)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static ItemStack applyViewer(ItemStack item, Player viewer) {
+        ItemStack copy = item.clone();
+        ItemMeta meta = copy.getItemMeta();
+        if (meta.hasDisplayName()) {
+            meta.setDisplayName(meta.getDisplayName().replace(VIEWER_PLACEHOLDER, viewer.getName()));
+        }
+        if (meta.hasLore()) {
+            List<String> lore = new ArrayList<>(meta.getLore());
+            lore.replaceAll(line -> line.replace(VIEWER_PLACEHOLDER, viewer.getName()));
+            meta.setLore(lore);
+        }
+        copy.setItemMeta(meta);
+        return copy;
+    }
+}
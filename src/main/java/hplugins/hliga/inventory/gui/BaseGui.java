@@ -86,6 +86,15 @@ public abstract class BaseGui {
      */
     protected abstract void buildInventory();
     
+    /**
+     * Atualiza os itens no inventário já aberto, sem reabrir o menu
+     * 
+     * @return false se o menu não suporta atualização e precisa ser reaberto
+     */
+    public boolean redraw() {
+        return false;
+    }
+    
     /**
      * Registra uma ação de clique para um slot específico
      * 
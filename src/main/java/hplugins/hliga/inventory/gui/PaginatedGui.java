@@ -63,8 +63,7 @@ public abstract class PaginatedGui extends BaseGui {
         this.currentPage = Math.max(1, page);
         
         
-        List<ItemStack> allItems = getContent();
-        this.totalPages = Math.max(1, (int) Math.ceil((double) allItems.size() / itemsPerPage));
+        this.totalPages = countPages();
         
         
         if (currentPage > totalPages) {
@@ -95,6 +94,29 @@ public abstract class PaginatedGui extends BaseGui {
         int size = menuConfig.getInt("tamanho", 54);
         
         this.inventory = Bukkit.createInventory(null, size, title);
+        populate();
+    }
+    
+    /**
+     * Reposiciona os itens da página atual no inventário aberto
+     * O título mostra o total de páginas; se ele mudar o menu precisa ser reaberto
+     */
+    @Override
+    public boolean redraw() {
+        if (menuConfig == null || inventory == null) {
+            return false;
+        }
+        
+        if (countPages() != totalPages) {
+            return false;
+        }
+        
+        inventory.clear();
+        populate();
+        return true;
+    }
+    
+    private void populate() {
         this.clickActions.clear();
         
         
@@ -115,20 +137,21 @@ public abstract class PaginatedGui extends BaseGui {
      * Adiciona o conteúdo paginado ao inventário
      */
     protected void addPaginatedContent() {
-        List<ItemStack> allItems = getContent();
-        
         int startIndex = (currentPage - 1) * itemsPerPage;
-        int endIndex = Math.min(startIndex + itemsPerPage, allItems.size());
+        List<ItemStack> pageItems = getPageContent(startIndex, itemsPerPage);
         
-        int slotIndex = 0;
-        for (int i = startIndex; i < endIndex && slotIndex < contentSlots.size(); i++, slotIndex++) {
-            int slot = contentSlots.get(slotIndex);
-            ItemStack item = allItems.get(i);
+        for (int i = 0; i < pageItems.size() && i < contentSlots.size(); i++) {
+            int slot = contentSlots.get(i);
+            ItemStack item = pageItems.get(i);
             
             inventory.setItem(slot, item);
             
             
-            addContentClickAction(slot, i, item);
+            addContentClickAction(slot, startIndex + i, item);
+        }
+        
+        if (currentPage < totalPages) {
+            prefetchPage(startIndex + itemsPerPage, itemsPerPage);
         }
     }
     
@@ -139,6 +162,44 @@ public abstract class PaginatedGui extends BaseGui {
      */
     protected abstract List<ItemStack> getContent();
     
+    /**
+     * Obtém a quantidade total de itens de conteúdo
+     * Menus com muito conteúdo devem sobrescrever sem montar os itens
+     * 
+     * @return Total de itens
+     */
+    protected int getContentSize() {
+        return getContent().size();
+    }
+    
+    /**
+     * Obtém os itens de uma página
+     * Menus com muito conteúdo devem sobrescrever para montar apenas a faixa pedida
+     * 
+     * @param startIndex Índice do primeiro item
+     * @param count Quantidade de itens
+     * @return Itens da faixa (pode ter menos itens que o pedido)
+     */
+    protected List<ItemStack> getPageContent(int startIndex, int count) {
+        List<ItemStack> allItems = getContent();
+        int from = Math.min(startIndex, allItems.size());
+        return allItems.subList(from, Math.min(from + count, allItems.size()));
+    }
+    
+    /**
+     * Prepara antecipadamente a próxima página, para a troca de página não precisar montar itens
+     * 
+     * @param startIndex Índice do primeiro item da página
+     * @param count Quantidade de itens
+     */
+    protected void prefetchPage(int startIndex, int count) {
+        
+    }
+    
+    private int countPages() {
+        return Math.max(1, (int) Math.ceil((double) getContentSize() / itemsPerPage));
+    }
+    
     /**
      * Adiciona ação de clique para um item de conteúdo
      * 
@@ -168,9 +229,7 @@ public abstract class PaginatedGui extends BaseGui {
      * Vai para a última página
      */
     public void goToLastPage() {
-        List<ItemStack> allItems = getContent();
-        int lastPage = Math.max(1, (int) Math.ceil((double) allItems.size() / itemsPerPage));
-        open(lastPage);
+        open(countPages());
     }
     
     /**
@@ -197,8 +256,7 @@ public abstract class PaginatedGui extends BaseGui {
      * @return String com informações da paginação
      */
     public String getPaginationInfo() {
-        List<ItemStack> allItems = getContent();
-        int totalItems = allItems.size();
+        int totalItems = getContentSize();
         int startItem = (currentPage - 1) * itemsPerPage + 1;
         int endItem = Math.min(currentPage * itemsPerPage, totalItems);
         
@@ -2,6 +2,7 @@ package hplugins.hliga.inventory.menus;
 
 import com.cryptomorin.xseries.XMaterial;
 import hplugins.hliga.Main;
+import hplugins.hliga.inventory.MenuSnapshotCache;
 import hplugins.hliga.inventory.gui.PaginatedGui;
 import hplugins.hliga.inventory.utils.ItemBuilder;
 import hplugins.hliga.models.ClanPoints;
@@ -37,68 +38,70 @@ public class ClanListMenu extends PaginatedGui {
 
     @Override
     protected List<ItemStack> getContent() {
-        List<ItemStack> items = new ArrayList<>();
-
-        try {
-            if (plugin.getPointsManager() == null) {
-                return items;
-            }
-
-            List<ClanPoints> allClanPointsList = plugin.getPointsManager().getTopClans(Integer.MAX_VALUE);
-
-            List<ClanPoints> validClansList = new ArrayList<>();
-            for (ClanPoints clanPoints : allClanPointsList) {
-                if (clanPoints.getPoints() > 0) {
-                    validClansList.add(clanPoints);
-                }
-            }
+        return getPageContent(0, getContentSize());
+    }
 
-            ConfigurationSection formatConfig = menuConfig != null ? menuConfig.getConfigurationSection("formato_clan") : null;
+    /**
+     * Total de clãs com pontos, contado no índice de ranking sem montar itens
+     */
+    @Override
+    protected int getContentSize() {
+        if (plugin.getPointsManager() == null) {
+            return 0;
+        }
+        return plugin.getPointsManager().getRankingIndex().countAbove(0);
+    }
 
-            if (formatConfig == null) {
-                return createDefaultClanItems(validClansList);
+    @Override
+    protected List<ItemStack> getPageContent(int startIndex, int count) {
+        try {
+            if (plugin.getPointsManager() == null || count <= 0) {
+                return new ArrayList<>();
             }
 
-            int position = 1;
-            for (ClanPoints clanPoints : validClansList) {
-                ItemStack clanItem = createClanItem(clanPoints, position, formatConfig);
-                if (clanItem != null) {
-                    items.add(clanItem);
-                }
-                position++;
-            }
+            return getPageSnapshot(startIndex, count).getItems(player);
         } catch (Exception e) {
             plugin.getLogger().warning("Erro ao carregar lista de clãs: " + e.getMessage());
+            return new ArrayList<>();
         }
+    }
 
-        return items;
+    @Override
+    protected void prefetchPage(int startIndex, int count) {
+        getPageSnapshot(startIndex, count);
     }
 
     /**
-     * Cria itens padrão para clãs quando não há configuração
+     * Obtém os clãs e itens de uma faixa do ranking, montados uma vez por versão do ranking
      */
-    private List<ItemStack> createDefaultClanItems(List<ClanPoints> clanPointsList) {
-        List<ItemStack> items = new ArrayList<>();
-
-        int position = 1;
-        for (ClanPoints clanPoints : clanPointsList) {
-            String coloredTag = plugin.getClansManager().getColoredClanTag(clanPoints.getClanTag());
-
-            ItemStack clanItem = new ItemBuilder(XMaterial.PLAYER_HEAD)
-                    .name("&6Clã: " + coloredTag)
-                    .lore(
-                            "&7Nome: &f" + clanPoints.getClanName(),
-                            "&7Pontos: &f" + plugin.getPointsManager().formatPoints(clanPoints.getPoints()),
-                            "&7Posição: &f#" + position,
-                            "",
-                            "&8➥ &7Clique para mais informações"
-                    )
-                    .build();
-            items.add(clanItem);
-            position++;
-        }
+    private MenuSnapshotCache.Snapshot getPageSnapshot(int startIndex, int count) {
+        return plugin.getInventoryManager().getMenuSnapshots()
+                .getRange(configKey, startIndex + 1, count, this::renderClanItem);
+    }
 
-        return items;
+    private ItemStack renderClanItem(ClanPoints clanPoints, int position) {
+        ConfigurationSection formatConfig = menuConfig != null ? menuConfig.getConfigurationSection("formato_clan") : null;
+        return formatConfig != null
+                ? createClanItem(clanPoints, position, formatConfig)
+                : createDefaultClanItem(clanPoints, position);
+    }
+
+    /**
+     * Cria o item padrão de um clã quando não há configuração
+     */
+    private ItemStack createDefaultClanItem(ClanPoints clanPoints, int position) {
+        String coloredTag = plugin.getClansManager().getColoredClanTag(clanPoints.getClanTag());
+
+        return new ItemBuilder(XMaterial.PLAYER_HEAD)
+                .name("&6Clã: " + coloredTag)
+                .lore(
+                        "&7Nome: &f" + clanPoints.getClanName(),
+                        "&7Pontos: &f" + plugin.getPointsManager().formatPoints(clanPoints.getPoints()),
+                        "&7Posição: &f#" + position,
+                        "",
+                        "&8➥ &7Clique para mais informações"
+                )
+                .build();
     }
 
     /**
@@ -147,17 +150,12 @@ public class ClanListMenu extends PaginatedGui {
     @Override
     protected void addContentClickAction(int slot, int contentIndex, ItemStack item) {
         addClickAction(slot, event -> {
-            List<ClanPoints> allClans = plugin.getPointsManager().getTopClans(Integer.MAX_VALUE);
-
-            List<ClanPoints> validClans = new ArrayList<>();
-            for (ClanPoints cp : allClans) {
-                if (cp.getPoints() > 0) {
-                    validClans.add(cp);
-                }
-            }
+            int startIndex = (currentPage - 1) * itemsPerPage;
+            List<ClanPoints> pageClans = getPageSnapshot(startIndex, itemsPerPage).getClans();
 
-            if (contentIndex < validClans.size()) {
-                ClanPoints clanPoints = validClans.get(contentIndex);
+            int pageIndex = contentIndex - startIndex;
+            if (pageIndex >= 0 && pageIndex < pageClans.size()) {
+                ClanPoints clanPoints = pageClans.get(pageIndex);
                 String coloredTag = plugin.getClansManager().getColoredClanTag(clanPoints.getClanTag());
 
                 List<String> menuClans = plugin.getConfigManager().getMessages().getStringList("menu_clans");
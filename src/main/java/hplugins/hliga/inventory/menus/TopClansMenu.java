@@ -1,6 +1,7 @@
 package hplugins.hliga.inventory.menus;
 
 import hplugins.hliga.Main;
+import hplugins.hliga.inventory.MenuSnapshotCache;
 import hplugins.hliga.inventory.gui.BaseGui;
 import hplugins.hliga.models.ClanPoints;
 import hplugins.hliga.utils.NumberFormatter;
@@ -10,7 +11,6 @@ import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +24,9 @@ import java.util.Map;
  */
 public class TopClansMenu extends BaseGui {
 
+    private static final String CONFIG_KEY = "menu_top_clans";
+    private static final int TOP_LIMIT = 10;
+
     /**
      * Construtor do menu de top clãs
      *
@@ -43,7 +46,7 @@ public class TopClansMenu extends BaseGui {
 
     @Override
     protected void buildInventory() {
-        ConfigurationSection config = plugin.getConfigManager().getMenusConfig().getConfigurationSection("menu_top_clans");
+        ConfigurationSection config = plugin.getConfigManager().getMenusConfig().getConfigurationSection(CONFIG_KEY);
 
         if (config == null) {
             player.sendMessage(ChatColor.translateAlternateColorCodes('&',
@@ -55,21 +58,35 @@ public class TopClansMenu extends BaseGui {
         int size = config.getInt("tamanho", 45);
 
         this.inventory = Bukkit.createInventory(null, size, title);
+        populate(config);
+    }
+
+    /**
+     * Reposiciona os itens no inventário aberto com o ranking atual
+     */
+    @Override
+    public boolean redraw() {
+        ConfigurationSection config = plugin.getConfigManager().getMenusConfig().getConfigurationSection(CONFIG_KEY);
+        if (config == null || inventory == null) {
+            return false;
+        }
+
+        inventory.clear();
+        populate(config);
+        return true;
+    }
+
+    private void populate(ConfigurationSection config) {
         this.clickActions.clear();
 
         createBorder(config);
 
-        List<ClanPoints> allTopClans = plugin.getPointsManager().getTopClans(10);
-        List<ClanPoints> validTopClans = new ArrayList<>();
-        for (ClanPoints clanPoints : allTopClans) {
-            if (clanPoints.getPoints() > 0) {
-                validTopClans.add(clanPoints);
-            }
-        }
+        MenuSnapshotCache.Snapshot snapshot = plugin.getInventoryManager().getMenuSnapshots()
+                .get(CONFIG_KEY, TOP_LIMIT, (clanPoints, position) -> renderClanItem(config, clanPoints, position));
 
-        addPodiumItems(config, validTopClans);
+        addPodiumItems(config, snapshot);
 
-        addRankingItems(config, validTopClans);
+        addRankingItems(config, snapshot);
 
         addNavigationItems(config);
 
@@ -77,25 +94,32 @@ public class TopClansMenu extends BaseGui {
     }
 
     /**
-     * Adiciona os itens do pódio (1º, 2º e 3º lugares)
-     *
-     * @param config Configuração do menu
-     * @param topClans Lista dos top clãs
+     * Monta o item de um clã (compartilhado entre os jogadores pelo cache de menus)
      */
-    private void addPodiumItems(ConfigurationSection config, List<ClanPoints> topClans) {
-        ConfigurationSection podiumConfig = config.getConfigurationSection("formato_podio");
-        if (podiumConfig == null) return;
+    private ItemStack renderClanItem(ConfigurationSection config, ClanPoints clanPoints, int position) {
+        ConfigurationSection itemConfig = position <= 3
+                ? getPodiumConfig(config, position)
+                : config.getConfigurationSection("formato_outros");
+        return itemConfig != null ? createConfigItem(itemConfig, createClanPlaceholders(clanPoints, position)) : null;
+    }
 
-        if (!topClans.isEmpty()) {
-            addPodiumItem(podiumConfig.getConfigurationSection("primeiro"), topClans.get(0), 1);
-        }
+    private ConfigurationSection getPodiumConfig(ConfigurationSection config, int position) {
+        ConfigurationSection podiumConfig = config.getConfigurationSection("formato_podio");
+        if (podiumConfig == null) return null;
 
-        if (topClans.size() >= 2) {
-            addPodiumItem(podiumConfig.getConfigurationSection("segundo"), topClans.get(1), 2);
-        }
+        String[] keys = {"primeiro", "segundo", "terceiro"};
+        return podiumConfig.getConfigurationSection(keys[position - 1]);
+    }
 
-        if (topClans.size() >= 3) {
-            addPodiumItem(podiumConfig.getConfigurationSection("terceiro"), topClans.get(2), 3);
+    /**
+     * Adiciona os itens do pódio (1º, 2º e 3º lugares)
+     *
+     * @param config Configuração do menu
+     * @param snapshot Top clãs e seus itens
+     */
+    private void addPodiumItems(ConfigurationSection config, MenuSnapshotCache.Snapshot snapshot) {
+        for (int position = 1; position <= 3 && position <= snapshot.size(); position++) {
+            addPodiumItem(getPodiumConfig(config, position), snapshot, position);
         }
     }
 
@@ -103,16 +127,16 @@ public class TopClansMenu extends BaseGui {
      * Adiciona um item do pódio
      *
      * @param itemConfig Configuração do item
-     * @param clanPoints Dados do clã
+     * @param snapshot Top clãs e seus itens
      * @param position Posição no ranking
      */
-    private void addPodiumItem(ConfigurationSection itemConfig, ClanPoints clanPoints, int position) {
-        if (itemConfig == null || clanPoints == null) return;
+    private void addPodiumItem(ConfigurationSection itemConfig, MenuSnapshotCache.Snapshot snapshot, int position) {
+        if (itemConfig == null) return;
 
         int slot = itemConfig.getInt("slot", 13);
-        Map<String, String> placeholders = createClanPlaceholders(clanPoints, position);
+        ClanPoints clanPoints = snapshot.getClans().get(position - 1);
 
-        ItemStack item = createConfigItem(itemConfig, placeholders);
+        ItemStack item = snapshot.getItem(position - 1, player);
         if (item != null) {
             inventory.setItem(slot, item);
 
@@ -151,22 +175,20 @@ public class TopClansMenu extends BaseGui {
      * Adiciona os itens do ranking (4º ao 10º lugar)
      *
      * @param config Configuração do menu
-     * @param topClans Lista dos top clãs
+     * @param snapshot Top clãs e seus itens
      */
-    private void addRankingItems(ConfigurationSection config, List<ClanPoints> topClans) {
+    private void addRankingItems(ConfigurationSection config, MenuSnapshotCache.Snapshot snapshot) {
         List<Integer> otherSlots = config.getIntegerList("outros_slots");
-        ConfigurationSection formatConfig = config.getConfigurationSection("formato_outros");
 
-        if (otherSlots.isEmpty() || formatConfig == null) return;
+        if (otherSlots.isEmpty()) return;
 
         int slotIndex = 0;
-        for (int i = 3; i < topClans.size() && slotIndex < otherSlots.size(); i++, slotIndex++) {
-            ClanPoints clanPoints = topClans.get(i);
+        for (int i = 3; i < snapshot.size() && slotIndex < otherSlots.size(); i++, slotIndex++) {
+            ClanPoints clanPoints = snapshot.getClans().get(i);
             int position = i + 1;
             int slot = otherSlots.get(slotIndex);
 
-            Map<String, String> placeholders = createClanPlaceholders(clanPoints, position);
-            ItemStack item = createConfigItem(formatConfig, placeholders);
+            ItemStack item = snapshot.getItem(i, player);
 
             if (item != null) {
                 inventory.setItem(slot, item);
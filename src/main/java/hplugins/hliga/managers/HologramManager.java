@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import lombok.Getter;
 import org.bukkit.Bukkit;
@@ -16,6 +17,9 @@ import hplugins.hliga.utils.LogUtils;
 
 import me.filoghost.holographicdisplays.api.HolographicDisplaysAPI;
 import me.filoghost.holographicdisplays.api.hologram.Hologram;
+import me.filoghost.holographicdisplays.api.hologram.HologramLines;
+import me.filoghost.holographicdisplays.api.hologram.line.HologramLine;
+import me.filoghost.holographicdisplays.api.hologram.line.TextHologramLine;
 
 
 import eu.decentsoftware.holograms.api.DHAPI;
@@ -23,11 +27,16 @@ import eu.decentsoftware.holograms.api.DHAPI;
 /**
  * Gerenciador de hologramas com suporte a HolographicDisplays e DecentHolograms
  * Sistema com fallback automático entre as duas APIs
+ *
+ * As últimas linhas exibidas de cada holograma ficam guardadas: atualizações editam apenas as linhas
+ * alteradas e são ignoradas quando nada mudou, sem recriar as entidades do holograma.
  */
 public class HologramManager {
     
     private final Main plugin;
     private final Map<String, Object> activeHolograms = new HashMap<>();
+    private final Map<String, List<String>> renderedLines = new HashMap<>();
+    private final Map<String, Location> hologramLocations = new HashMap<>();
     /**
      * -- GETTER --
      *  Retorna o provider atual
@@ -84,6 +93,7 @@ public class HologramManager {
     
     /**
      * Cria um holograma na localização especificada
+     * Se o holograma já existe no mesmo local, apenas as linhas alteradas são atualizadas
      */
     public boolean createHologram(String id, Location location, List<String> lines) {
         if (provider == HologramProvider.NONE) {
@@ -91,24 +101,39 @@ public class HologramManager {
             return false;
         }
         
+        if (activeHolograms.containsKey(id) && sameLocation(hologramLocations.get(id), location)) {
+            return updateHologram(id, lines);
+        }
         
         removeHologram(id);
         
         try {
+            boolean created;
             switch (provider) {
                 case HOLOGRAPHIC_DISPLAYS:
-                    return createHolographicDisplaysHologram(id, location, lines);
+                    created = createHolographicDisplaysHologram(id, location, lines);
+                    break;
                 case DECENT_HOLOGRAMS:
-                    return createDecentHologram(id, location, lines);
+                    created = createDecentHologram(id, location, lines);
+                    break;
                 default:
                     return false;
             }
+            if (created) {
+                renderedLines.put(id, new ArrayList<>(lines));
+                hologramLocations.put(id, location.clone());
+            }
+            return created;
         } catch (Exception e) {
             LogUtils.error("Erro ao criar holograma " + id + ": " + e.getMessage());
             return false;
         }
     }
     
+    private static boolean sameLocation(Location a, Location b) {
+        return a != null && b != null && Objects.equals(a.getWorld(), b.getWorld()) && a.distanceSquared(b) < 1.0E-6;
+    }
+    
     /**
      * Cria holograma usando HolographicDisplays
      */
@@ -155,6 +180,7 @@ public class HologramManager {
     
     /**
      * Atualiza as linhas de um holograma existente
+     * Apenas as linhas diferentes das exibidas são alteradas; sem diferenças, nada é enviado
      */
     public boolean updateHologram(String id, List<String> lines) {
         if (!activeHolograms.containsKey(id)) {
@@ -162,37 +188,79 @@ public class HologramManager {
             return false;
         }
         
+        List<String> previous = renderedLines.getOrDefault(id, new ArrayList<>());
+        if (previous.equals(lines)) {
+            return true;
+        }
+        
         try {
+            boolean updated;
             switch (provider) {
                 case HOLOGRAPHIC_DISPLAYS:
-                    return updateHolographicDisplaysHologram(id, lines);
+                    updated = updateHolographicDisplaysHologram(id, previous, lines);
+                    break;
                 case DECENT_HOLOGRAMS:
-                    return updateDecentHologram(id, lines);
+                    updated = updateDecentHologram(id, previous, lines);
+                    break;
                 default:
                     return false;
             }
+            if (updated) {
+                renderedLines.put(id, new ArrayList<>(lines));
+            } else {
+                // Estado desconhecido: a próxima atualização reenvia todas as linhas
+                renderedLines.remove(id);
+            }
+            return updated;
         } catch (Exception e) {
+            renderedLines.remove(id);
             LogUtils.error("Erro ao atualizar holograma " + id + ": " + e.getMessage());
             return false;
         }
     }
     
     /**
-     * Atualiza holograma HolographicDisplays
+     * Atualiza holograma HolographicDisplays editando o texto das linhas alteradas
      */
-    private boolean updateHolographicDisplaysHologram(String id, List<String> lines) {
+    private boolean updateHolographicDisplaysHologram(String id, List<String> previous, List<String> lines) {
         try {
             Hologram hologram = (Hologram) activeHolograms.get(id);
+            HologramLines hologramLines = hologram.getLines();
             
+            if (hologramLines.size() != previous.size()) {
+                hologramLines.clear();
+                for (String line : lines) {
+                    hologramLines.appendText(line);
+                }
+                LogUtils.debug("Holograma HolographicDisplays reconstruído: " + id);
+                return true;
+            }
             
-            hologram.getLines().clear();
-            
-            
-            for (String line : lines) {
-                hologram.getLines().appendText(line);
+            int changed = 0;
+            int common = Math.min(previous.size(), lines.size());
+            for (int i = 0; i < common; i++) {
+                if (previous.get(i).equals(lines.get(i))) {
+                    continue;
+                }
+                HologramLine line = hologramLines.get(i);
+                if (line instanceof TextHologramLine) {
+                    ((TextHologramLine) line).setText(lines.get(i));
+                } else {
+                    hologramLines.remove(i);
+                    hologramLines.insertText(i, lines.get(i));
+                }
+                changed++;
+            }
+            for (int i = hologramLines.size() - 1; i >= lines.size(); i--) {
+                hologramLines.remove(i);
+                changed++;
+            }
+            for (int i = common; i < lines.size(); i++) {
+                hologramLines.appendText(lines.get(i));
+                changed++;
             }
             
-            LogUtils.debug("Holograma HolographicDisplays atualizado: " + id);
+            LogUtils.debug("Holograma HolographicDisplays atualizado: " + id + " (" + changed + " linhas)");
             return true;
             
         } catch (Exception e) {
@@ -202,16 +270,39 @@ public class HologramManager {
     }
     
     /**
-     * Atualiza holograma DecentHolograms
+     * Atualiza holograma DecentHolograms editando apenas as linhas alteradas
      */
-    private boolean updateDecentHologram(String id, List<String> lines) {
+    private boolean updateDecentHologram(String id, List<String> previous, List<String> lines) {
         try {
             eu.decentsoftware.holograms.api.holograms.Hologram hologram = DHAPI.getHologram(id);
-            if (hologram != null) {
+            if (hologram == null) {
+                return false;
+            }
+            
+            if (hologram.getPage(0).size() != previous.size()) {
                 DHAPI.setHologramLines(hologram, lines);
+                LogUtils.debug("Holograma DecentHolograms reconstruído: " + id);
+                return true;
             }
             
-            LogUtils.debug("Holograma DecentHolograms atualizado: " + id);
+            int changed = 0;
+            int common = Math.min(previous.size(), lines.size());
+            for (int i = 0; i < common; i++) {
+                if (!previous.get(i).equals(lines.get(i))) {
+                    DHAPI.setHologramLine(hologram, i, lines.get(i));
+                    changed++;
+                }
+            }
+            for (int i = previous.size() - 1; i >= lines.size(); i--) {
+                DHAPI.removeHologramLine(hologram, i);
+                changed++;
+            }
+            for (int i = common; i < lines.size(); i++) {
+                DHAPI.addHologramLine(hologram, lines.get(i));
+                changed++;
+            }
+            
+            LogUtils.debug("Holograma DecentHolograms atualizado: " + id + " (" + changed + " linhas)");
             return true;
             
         } catch (Exception e) {
@@ -251,6 +342,7 @@ public class HologramManager {
             Hologram hologram = (Hologram) activeHolograms.get(id);
             hologram.delete();
             activeHolograms.remove(id);
+            forgetRendered(id);
             
             LogUtils.debug("Holograma HolographicDisplays removido: " + id);
             return true;
@@ -269,6 +361,7 @@ public class HologramManager {
             DHAPI.removeHologram(id);
             
             activeHolograms.remove(id);
+            forgetRendered(id);
             LogUtils.debug("Holograma DecentHolograms removido: " + id);
             return true;
             
@@ -278,6 +371,11 @@ public class HologramManager {
         }
     }
     
+    private void forgetRendered(String id) {
+        renderedLines.remove(id);
+        hologramLocations.remove(id);
+    }
+    
     /**
      * Remove todos os hologramas
      */
@@ -20,6 +20,11 @@ public class LigaManager {
 
     public LigaManager(Main plugin) {
         this.plugin = plugin;
+
+        // A fila do Discord inicia já na ativação para entregar as mensagens salvas no último desligamento
+        if (plugin.getConfig().getBoolean("discord.ativado", true)) {
+            getDiscordWebhook();
+        }
     }
     private DiscordWebhook discordWebhook;
 
@@ -28,13 +33,22 @@ public class LigaManager {
      *
      * @return Instância do webhook
      */
-    public DiscordWebhook getDiscordWebhook() {
+    public synchronized DiscordWebhook getDiscordWebhook() {
         if (discordWebhook == null) {
             discordWebhook = new DiscordWebhook(plugin);
         }
         return discordWebhook;
     }
 
+    /**
+     * Finaliza a fila de envio do Discord, se ela foi iniciada
+     */
+    public synchronized void shutdown() {
+        if (discordWebhook != null) {
+            discordWebhook.shutdown();
+        }
+    }
+
     /**
      * Envia notificação para o Discord quando pontos são adicionados a um clã
      *
@@ -66,9 +80,8 @@ public class LigaManager {
             return;
         }
 
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            getDiscordWebhook().sendClanPointsNotification(clanTag, points, totalPoints, description);
-        });
+        // A fila do webhook agrupa as alterações por clã e envia fora da thread principal
+        getDiscordWebhook().sendClanPointsNotification(clanTag, points, totalPoints, description);
     }
 
     /**
@@ -135,7 +148,7 @@ public class LigaManager {
         Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
             boolean success = getDiscordWebhook().sendSeasonEndNotification(season, finalTopClans);
             if (success) {
-                LogUtils.debug("Webhook Discord de fim de temporada enviado com sucesso");
+                LogUtils.debug("Webhook Discord de fim de temporada enfileirado para envio");
             } else {
                 LogUtils.warning("Erro ao enviar webhook Discord de fim de temporada");
             }
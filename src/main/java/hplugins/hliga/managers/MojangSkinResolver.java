@@ -0,0 +1,74 @@
+package hplugins.hliga.managers;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import hplugins.hliga.models.SkinTexture;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Resolve skins pela API pública da Mojang (nome → UUID → perfil com textura assinada)
+ */
+public class MojangSkinResolver implements SkinResolver {
+
+    private static final String PROFILE_URL = "https://api.mojang.com/users/profiles/minecraft/";
+    private static final String SESSION_URL = "https://sessionserver.mojang.com/session/minecraft/profile/%s?unsigned=false";
+    private static final int TIMEOUT_MILLIS = 5000;
+
+    @Override
+    public SkinTexture resolve(String playerName) throws IOException {
+        JsonObject profile = get(PROFILE_URL + URLEncoder.encode(playerName, "UTF-8"));
+        if (profile == null || !profile.has("id")) {
+            return null;
+        }
+
+        JsonObject session = get(String.format(SESSION_URL, profile.get("id").getAsString()));
+        if (session == null || !session.has("properties")) {
+            return null;
+        }
+
+        JsonArray properties = session.getAsJsonArray("properties");
+        for (JsonElement element : properties) {
+            JsonObject property = element.getAsJsonObject();
+            if ("textures".equals(property.get("name").getAsString()) && property.has("signature")) {
+                return new SkinTexture(property.get("value").getAsString(),
+                        property.get("signature").getAsString(), System.currentTimeMillis());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Faz uma requisição GET e retorna o JSON da resposta ou null se o recurso não existir
+     */
+    private JsonObject get(String address) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(address).openConnection();
+        connection.setConnectTimeout(TIMEOUT_MILLIS);
+        connection.setReadTimeout(TIMEOUT_MILLIS);
+        connection.setRequestProperty("User-Agent", "hLiga/1.0");
+
+        try {
+            int status = connection.getResponseCode();
+            if (status == HttpURLConnection.HTTP_NO_CONTENT || status == HttpURLConnection.HTTP_NOT_FOUND) {
+                return null;
+            }
+            if (status != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Resposta HTTP " + status + " de " + connection.getURL().getHost());
+            }
+
+            try (Reader reader = new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8)) {
+                return new JsonParser().parse(reader).getAsJsonObject();
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
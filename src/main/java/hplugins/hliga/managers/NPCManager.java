@@ -5,8 +5,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -18,10 +22,12 @@ import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
+import org.bukkit.plugin.IllegalPluginAccessException;
 
 import hplugins.hliga.Main;
 import hplugins.hliga.models.ClanPoints;
 import hplugins.hliga.models.GenericClan;
+import hplugins.hliga.models.SkinTexture;
 import hplugins.hliga.utils.LogUtils;
 import hplugins.hliga.utils.NumberFormatter;
 import net.citizensnpcs.api.CitizensAPI;
@@ -43,6 +49,16 @@ public class NPCManager {
     private final Map<String, Integer> npcIds = new HashMap<>();
     private final HologramManager hologramManager;
     
+    /** Clã e pontuação exibidos em cada posição na última atualização dos NPCs */
+    private final Map<Integer, ClanPoints> renderedPositions = new HashMap<>();
+    /** Versão do índice de ranking refletida nos NPCs (-1 força a próxima atualização) */
+    private long renderedVersion = -1L;
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    
+    /** Posições além dos NPCs cujas skins são pré-carregadas, para clãs prestes a entrar no topo */
+    private static final int SKIN_PREWARM_MARGIN = 3;
+    private final SkinCache skinCache;
+    
     /**
      * Construtor do gerenciador de NPCs
      */
@@ -52,6 +68,10 @@ public class NPCManager {
         this.hologramManager = new HologramManager(plugin);
         
         loadConfigs();
+        
+        long ttlMillis = TimeUnit.HOURS.toMillis(Math.max(1L, npcConfig.getLong("npc.skin.cache_horas", 24L)));
+        this.skinCache = new SkinCache(plugin, new MojangSkinResolver(), ttlMillis);
+        skinCache.prewarm(Arrays.asList(getDefaultSkinPlayer()), this::onSkinsResolved);
     }
     
     /**
@@ -229,12 +249,6 @@ public class NPCManager {
                 applySkinToNPC(npc, id, position);
                 
                 
-                Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                    applySkinToNPC(npc, id, position);
-                    LogUtils.debug("Segunda aplicação de skin executada para garantir funcionamento");
-                }, 3L);
-                
-                
                 Bukkit.getScheduler().runTaskLater(plugin, () -> {
                     createHologram(id, position, npc.getStoredLocation());
                 }, 5L);
@@ -298,7 +312,7 @@ public class NPCManager {
             }
             
             
-            List<ClanPoints> topClans = plugin.getDatabaseManager().getAdapter().getTopClans(Math.max(position * 2, 10));
+            List<ClanPoints> topClans = plugin.getPointsManager().getRankingIndex().getTop(Math.max(position * 2, 10));
             ClanPoints clanPoints = null;
             
             
@@ -450,7 +464,6 @@ public class NPCManager {
             Location hologramLocation = location.clone().add(0, 3.2, 0);
             
             
-            hologramManager.removeHologram("hliga_" + npcId);
             boolean created = hologramManager.createHologram("hliga_" + npcId, hologramLocation, processedLines);
             
             if (created) {
@@ -514,6 +527,7 @@ public class NPCManager {
                     reset++;
                 }
             }
+            forgetRenderedRanking();
             
             LogUtils.info("Resetados " + reset + " NPCs para skin padrão");
             
@@ -543,9 +557,9 @@ public class NPCManager {
             }
             
             
-            String defaultPlayerName = npcConfig.getString("npc.skin.jogador_padrao", "MHF_Question");
+            String defaultPlayerName = getDefaultSkinPlayer();
             LogUtils.debug("Resetando NPC " + id + " para skin padrão: " + defaultPlayerName);
-            applySkinWithPlayerName(npc, id, defaultPlayerName);
+            applyCachedSkin(npc, id, defaultPlayerName);
             
             
             updateHologramToDefault(id);
@@ -613,34 +627,113 @@ public class NPCManager {
     }
     
     /**
-     * MÉTODO UNIFICADO - Aplica skin ao NPC usando APENAS nomes de jogadores
+     * Aplica ao NPC a skin do líder do clã na posição ou a do jogador padrão
+     * Usa apenas texturas já resolvidas pelo cache; as ausentes são resolvidas em segundo plano e
+     * aplicadas quando ficarem prontas (ver {@link #onSkinsResolved(Set)}).
      */
     private void applySkinToNPC(NPC npc, String npcId, int position) {
         try {
             String playerName = getPlayerNameForPosition(position);
+            if (playerName == null || playerName.isEmpty() || "Nenhum".equals(playerName)) {
+                playerName = getDefaultSkinPlayer();
+            }
             
             LogUtils.debug("Determinando skin para NPC " + npcId + " posição " + position + ": " + playerName);
+            applyCachedSkin(npc, npcId, playerName);
             
+        } catch (Exception e) {
+            LogUtils.debug("Erro ao aplicar skin ao NPC " + npcId + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Aplica a textura em cache do jogador; sem ela, a do jogador padrão ou a skin_padrao do tops.yml
+     * Se nenhuma estiver disponível a skin atual do NPC é mantida
+     */
+    private void applyCachedSkin(NPC npc, String npcId, String playerName) {
+        String defaultPlayerName = getDefaultSkinPlayer();
+        skinCache.prewarm(Arrays.asList(playerName, defaultPlayerName), this::onSkinsResolved);
+        
+        SkinTexture texture = skinCache.get(playerName);
+        String skinName = playerName;
+        if (texture == null) {
+            texture = skinCache.get(defaultPlayerName);
+            skinName = defaultPlayerName;
+        }
+        if (texture == null) {
+            String value = npcConfig.getString("npc.skin.skin_padrao.value", "");
+            String signature = npcConfig.getString("npc.skin.skin_padrao.signature", "");
+            if (!value.isEmpty() && !signature.isEmpty()) {
+                texture = new SkinTexture(value, signature, 0L);
+            }
+        }
+        
+        if (texture == null) {
+            LogUtils.debug("Skin de " + playerName + " ainda não resolvida - NPC " + npcId + " mantém a skin atual");
+            return;
+        }
+        applySkinTexture(npc, npcId, skinName, texture);
+    }
+    
+    /**
+     * Aplica uma textura já resolvida ao SkinTrait do Citizens, sem consultas à Mojang
+     */
+    private void applySkinTexture(NPC npc, String npcId, String skinName, SkinTexture texture) {
+        try {
+            Class<?> skinTraitClass = Class.forName("net.citizensnpcs.trait.SkinTrait");
+            Object skinTrait = npc.getOrAddTrait(skinTraitClass.asSubclass(net.citizensnpcs.api.trait.Trait.class));
             
-            if (playerName != null && !playerName.isEmpty() && !"Nenhum".equals(playerName)) {
-                
-                LogUtils.debug("→ Usando skin do jogador: " + playerName);
-                applySkinWithPlayerName(npc, npcId, playerName);
-            } else {
+            try {
+                skinTrait.getClass().getMethod("setSkinPersistent", String.class, String.class, String.class)
+                        .invoke(skinTrait, skinName, texture.getSignature(), texture.getValue());
+            } catch (NoSuchMethodException e) {
+                skinTrait.getClass().getMethod("setTexture", String.class, String.class)
+                        .invoke(skinTrait, texture.getValue(), texture.getSignature());
+            }
+            
+            // Impede que o Citizens busque a skin por conta própria
+            try {
+                skinTrait.getClass().getMethod("setShouldUpdateSkins", boolean.class).invoke(skinTrait, false);
+            } catch (NoSuchMethodException ignored) {
                 
-                String defaultPlayerName = npcConfig.getString("npc.skin.jogador_padrao", "Steve");
-                LogUtils.debug("→ Usando skin padrão do jogador: " + defaultPlayerName);
-                applySkinWithPlayerName(npc, npcId, defaultPlayerName);
             }
             
+            LogUtils.debug("✅ Skin de " + skinName + " aplicada ao NPC " + npcId);
+            
         } catch (Exception e) {
-            LogUtils.debug("Erro ao aplicar skin ao NPC " + npcId + ": " + e.getMessage());
+            LogUtils.warning("Falha ao aplicar skin de " + skinName + " ao NPC " + npcId + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Reaplica a skin dos NPCs afetados por texturas recém-resolvidas
+     * Se a do jogador padrão mudou, também os NPCs que ainda dependem dela.
+     */
+    private void onSkinsResolved(Set<String> resolvedNames) {
+        ConfigurationSection section = npcConfig.getConfigurationSection("npc_positions");
+        if (section == null) {
+            return;
+        }
+        
+        boolean defaultResolved = resolvedNames.contains(getDefaultSkinPlayer().toLowerCase(Locale.ROOT));
+        for (String id : section.getKeys(false)) {
+            int position = section.getInt(id + ".position", 1);
+            String playerName = getPlayerNameForPosition(position);
+            if (playerName == null) {
+                playerName = getDefaultSkinPlayer();
+            }
             
-            LogUtils.debug("→ Fallback: usando skin do Steve");
-            applySkinWithPlayerName(npc, npcId, "Steve");
+            if (resolvedNames.contains(playerName.toLowerCase(Locale.ROOT)) ||
+                (defaultResolved && skinCache.get(playerName) == null)) {
+                updateNPCSkin(id, position);
+            }
         }
     }
     
+    private String getDefaultSkinPlayer() {
+        return npcConfig.getString("npc.skin.jogador_padrao", "MHF_Question");
+    }
+    
     /**
      * Obtém o nome do jogador para uma posição específica
      */
@@ -809,64 +902,6 @@ public class NPCManager {
         }
     }
     
-    /**
-     * Aplica skin de jogador ao NPC - Sistema simplificado por nome
-     */
-    private void applySkinWithPlayerName(NPC npc, String npcId, String playerName) {
-        try {
-            LogUtils.debug("Aplicando skin do jogador " + playerName + " ao NPC " + npcId);
-            
-            
-            Class<?> skinTraitClass = Class.forName("net.citizensnpcs.trait.SkinTrait");
-            Object skinTrait = npc.getOrAddTrait(skinTraitClass.asSubclass(net.citizensnpcs.api.trait.Trait.class));
-            
-            if (skinTrait == null) {
-                LogUtils.warning("Falha ao obter SkinTrait para NPC " + npcId);
-                return;
-            }
-            
-            
-            boolean skinApplied = false;
-            
-            
-            try {
-                java.lang.reflect.Method setSkinNameMethod = skinTrait.getClass().getMethod("setSkinName", String.class);
-                setSkinNameMethod.invoke(skinTrait, playerName);
-                LogUtils.debug("✅ setSkinName(" + playerName + ") aplicado");
-                skinApplied = true;
-            } catch (Exception e) {
-                
-                try {
-                    java.lang.reflect.Method setSkinMethod = skinTrait.getClass().getMethod("setSkin", String.class);
-                    setSkinMethod.invoke(skinTrait, playerName);
-                    LogUtils.debug("✅ setSkin(" + playerName + ") aplicado");
-                    skinApplied = true;
-                } catch (Exception e2) {
-                    LogUtils.warning("Não foi possível aplicar skin por nome: " + e2.getMessage());
-                }
-            }
-            
-            if (!skinApplied) {
-                LogUtils.warning("❌ Falha ao aplicar skin do jogador " + playerName + " ao NPC " + npcId);
-                return;
-            }
-            
-            
-            try {
-                java.lang.reflect.Method fetchSkinMethod = skinTrait.getClass().getMethod("fetchSkin");
-                fetchSkinMethod.invoke(skinTrait);
-                LogUtils.debug("✅ fetchSkin() executado para " + playerName);
-            } catch (Exception e) {
-                LogUtils.debug("fetchSkin() não disponível: " + e.getMessage());
-            }
-            
-            LogUtils.debug("✅ Skin do jogador " + playerName + " aplicada ao NPC " + npcId);
-            
-        } catch (Exception e) {
-            LogUtils.error("Erro ao aplicar skin do jogador " + playerName + ": " + e.getMessage());
-        }
-    }
-    
     /**
      * Atualiza holograma existente com novos dados
      */
@@ -877,7 +912,7 @@ public class NPCManager {
             }
             
             
-            List<ClanPoints> freshTopClans = plugin.getDatabaseManager().getAdapter().getTopClans(position + 2);
+            List<ClanPoints> freshTopClans = plugin.getPointsManager().getRankingIndex().getTop(position + 2);
             ClanPoints clanPoints = null;
             
             
@@ -1104,6 +1139,7 @@ public class NPCManager {
             
             updateHologram(id, position);
             
+            renderedPositions.put(position, getRankedClanAt(position));
             LogUtils.debug("NPC " + id + " atualizado (skin + holograma)");
             return true;
         } catch (Exception e) {
@@ -1123,11 +1159,13 @@ public class NPCManager {
                 return 0;
             }
             
+            long version = plugin.getPointsManager().getRankingIndex().getVersion();
             for (String id : section.getKeys(false)) {
                 if (updateNPC(id)) {
                     updated++;
                 }
             }
+            renderedVersion = version;
             
             LogUtils.debug("Atualizados " + updated + " NPCs");
             return updated;
@@ -1137,6 +1175,134 @@ public class NPCManager {
         }
     }
     
+    /**
+     * Marca o ranking como alterado e agenda uma única atualização dos NPCs
+     * As alterações feitas enquanto a atualização aguarda são aplicadas juntas, sem adiar a já agendada.
+     * Pode ser chamado de qualquer thread.
+     */
+    public void markRankingDirty() {
+        if (!refreshScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        
+        long delayTicks = Math.max(1L, npcConfig.getLong("configuracoes.atraso_atualizacao", 5L) * 20L);
+        try {
+            Bukkit.getScheduler().runTaskLater(plugin, this::refreshChangedNPCs, delayTicks);
+        } catch (IllegalPluginAccessException e) {
+            // Plugin sendo desativado
+            refreshScheduled.set(false);
+        }
+    }
+    
+    /**
+     * Atualiza apenas os NPCs cuja posição mudou de clã ou de pontuação desde a última atualização
+     * Troca de clã atualiza skin e holograma; mudança só de pontos atualiza apenas o holograma
+     *
+     * @return Número de NPCs atualizados
+     */
+    public int refreshChangedNPCs() {
+        refreshScheduled.set(false);
+        
+        RankingIndex rankingIndex = plugin.getPointsManager().getRankingIndex();
+        long version = rankingIndex.getVersion();
+        if (version == renderedVersion) {
+            return 0;
+        }
+        
+        ConfigurationSection section = npcConfig.getConfigurationSection("npc_positions");
+        if (section == null) {
+            renderedVersion = version;
+            return 0;
+        }
+        
+        Map<String, Integer> positions = new HashMap<>();
+        int maxPosition = 0;
+        for (String id : section.getKeys(false)) {
+            int position = section.getInt(id + ".position", 1);
+            positions.put(id, position);
+            maxPosition = Math.max(maxPosition, position);
+        }
+        
+        List<ClanPoints> ranked = getRankedClans(maxPosition + SKIN_PREWARM_MARGIN);
+        prewarmLeaderSkins(ranked);
+        Map<Integer, ClanPoints> current = new HashMap<>();
+        int updated = 0;
+        for (Map.Entry<String, Integer> entry : positions.entrySet()) {
+            int position = entry.getValue();
+            ClanPoints now = position > 0 && position <= ranked.size() ? ranked.get(position - 1) : null;
+            ClanPoints before = renderedPositions.get(position);
+            current.put(position, now);
+            
+            String nowTag = now != null ? now.getClanTag() : null;
+            String beforeTag = before != null ? before.getClanTag() : null;
+            boolean clanChanged = !renderedPositions.containsKey(position) || !Objects.equals(nowTag, beforeTag);
+            if (!clanChanged && (now == null || now.getPoints() == before.getPoints())) {
+                continue;
+            }
+            
+            try {
+                if (clanChanged) {
+                    updateNPCSkin(entry.getKey(), position);
+                }
+                updateHologram(entry.getKey(), position);
+                updated++;
+            } catch (Exception e) {
+                LogUtils.error("Erro ao atualizar NPC " + entry.getKey() + ": " + e.getMessage());
+            }
+        }
+        
+        renderedPositions.putAll(current);
+        renderedVersion = version;
+        
+        if (updated > 0) {
+            LogUtils.debug("Ranking alterado: " + updated + " de " + positions.size() + " NPCs atualizados");
+        }
+        return updated;
+    }
+    
+    /**
+     * Resolve em segundo plano as skins dos líderes dos clãs informados
+     */
+    private void prewarmLeaderSkins(List<ClanPoints> clans) {
+        List<String> leaders = new ArrayList<>();
+        for (ClanPoints clan : clans) {
+            String leader = plugin.getClansManager().getClanLeaderName(clan.getClanTag());
+            if (leader != null && !leader.isEmpty() && !"Nenhum".equals(leader)) {
+                leaders.add(leader);
+            }
+        }
+        skinCache.prewarm(leaders, this::onSkinsResolved);
+    }
+    
+    /**
+     * Obtém os clãs com pontos do topo do ranking, como exibidos pelos NPCs
+     */
+    private List<ClanPoints> getRankedClans(int limit) {
+        List<ClanPoints> ranked = new ArrayList<>();
+        if (limit <= 0) {
+            return ranked;
+        }
+        for (ClanPoints clan : plugin.getPointsManager().getRankingIndex().getTop(limit)) {
+            if (clan != null && clan.getPoints() > 0) {
+                ranked.add(clan);
+            }
+        }
+        return ranked;
+    }
+    
+    private ClanPoints getRankedClanAt(int position) {
+        List<ClanPoints> ranked = getRankedClans(position);
+        return position > 0 && position <= ranked.size() ? ranked.get(position - 1) : null;
+    }
+    
+    /**
+     * Esquece o ranking exibido, forçando a próxima atualização de todos os NPCs
+     */
+    private void forgetRenderedRanking() {
+        renderedPositions.clear();
+        renderedVersion = -1L;
+    }
+    
     /**
      * Recria todos os NPCs salvos no arquivo tops.yml
      * REGRA: Só recria se tiver dados no arquivo - não usa memória
@@ -1510,6 +1676,7 @@ public class NPCManager {
                     LogUtils.error("Erro ao resetar NPC " + npcId + ": " + e.getMessage());
                 }
             }
+            forgetRenderedRanking();
             
             LogUtils.info("Reset completo finalizado - " + reseted + " NPCs resetados para skin padrão");
             
@@ -1566,7 +1733,6 @@ public class NPCManager {
             Location hologramLocation = location.clone().add(0, 3.2, 0);
             
             
-            hologramManager.removeHologram("hliga_" + npcId);
             hologramManager.createHologram("hliga_" + npcId, hologramLocation, processedLines);
             
             LogUtils.debug("Holograma de " + npcId + " atualizado com valores padrão");
@@ -1,172 +1,306 @@
 package hplugins.hliga.managers;
 
 import hplugins.hliga.Main;
+import hplugins.hliga.hooks.NametagPackets;
 import hplugins.hliga.utils.LogUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
-import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.IllegalPluginAccessException;
+import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.scoreboard.Scoreboard;
 import org.bukkit.scoreboard.Team;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Gerenciador de nametags para exibir tags acima da cabeça dos jogadores
+ *
+ * Jogadores com a mesma tag compartilham um único time do scoreboard. O time de cada jogador fica em memória,
+ * então trocar a tag não percorre os times do servidor. As tags vêm do cache do {@link TagManager} e as
+ * alterações pedidas durante um tick são aplicadas juntas no tick seguinte.
+ *
+ * No modo "pacotes" o scoreboard principal não é alterado: cada jogador recebe, por pacotes, apenas os times
+ * dos jogadores que estão ao seu alcance (ver {@link PacketNametagView}).
  */
 public class NametagManager implements Listener {
-    
+
+    private static final String TEAM_PREFIX = "hliga_nt_";
+    /** Prefixo usado por versões anteriores, comum demais para remover times com jogadores */
+    private static final String LEGACY_TEAM_PREFIX = "hl_";
+    /** Limite do prefixo de times em versões antigas (1.8 - 1.12) */
+    private static final int MAX_PREFIX_LENGTH = 16;
+
     private final Main plugin;
-    private final Map<UUID, String> playerNametags = new HashMap<>();
     private final Scoreboard scoreboard;
-    
+
+    /** Prefixo exibido → nome do time que o usa */
+    private final Map<String, String> teamsByPrefix = new HashMap<>();
+    /** Nome do time → quantidade de jogadores nele */
+    private final Map<String, Integer> teamSizes = new HashMap<>();
+    /** Jogador → time atual */
+    private final Map<UUID, String> playerTeams = new HashMap<>();
+    private int nextTeamId;
+
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /** Nametags por pacotes (null no modo scoreboard) */
+    private PacketNametagView packetView;
+    private BukkitTask visibilityTask;
+
     public NametagManager(Main plugin) {
         this.plugin = plugin;
         this.scoreboard = Objects.requireNonNull(Bukkit.getScoreboardManager()).getMainScoreboard();
-        
-        
+
+        // Times que sobraram de uma execução anterior (por exemplo, após uma queda do servidor)
+        for (Team team : new ArrayList<>(scoreboard.getTeams())) {
+            String name = team.getName();
+            if (name.startsWith(TEAM_PREFIX) || (name.startsWith(LEGACY_TEAM_PREFIX) && team.getEntries().isEmpty())) {
+                team.unregister();
+            }
+        }
+
+        FileConfiguration config = plugin.getTagManager().getTagsConfig();
+        if ("pacotes".equalsIgnoreCase(config.getString("nametag.modo", "scoreboard"))) {
+            enablePacketMode(config);
+        }
+
         Bukkit.getPluginManager().registerEvents(this, plugin);
-        
-        LogUtils.debug("NametagManager inicializado");
+
+        LogUtils.debug("NametagManager inicializado (" + (packetView != null ? "pacotes" : "scoreboard") + ")");
     }
-    
+
+    private void enablePacketMode(FileConfiguration config) {
+        NametagPackets packets = NametagPackets.create();
+        if (!packets.isSupported()) {
+            LogUtils.warning("Nametags por pacotes indisponíveis (requer ProtocolLib) - usando o scoreboard principal");
+            return;
+        }
+
+        packetView = new PacketNametagView(packets, Math.max(1, config.getDouble("nametag.distancia", 48)));
+        long interval = Math.max(1L, config.getLong("nametag.intervalo_visibilidade", 20L));
+        visibilityTask = Bukkit.getScheduler().runTaskTimer(plugin, packetView::syncAll, interval, interval);
+    }
+
     /**
-     * Atualiza a nametag de um jogador
+     * Agenda a atualização da nametag de um jogador para o próximo tick
+     * Pode ser chamado de qualquer thread.
      */
     public void updatePlayerNametag(Player player) {
-        if (player == null || !player.isOnline()) {
+        if (player == null) {
             return;
         }
-        
+
+        pending.add(player.getUniqueId());
+        scheduleFlush();
+    }
+
+    /**
+     * Agenda a atualização das nametags de todos os jogadores online
+     */
+    public void updateAllNametags() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            pending.add(player.getUniqueId());
+        }
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
         try {
-            String tag = plugin.getTagManager().getPlayerActiveTag(player.getUniqueId());
-            String currentTag = playerNametags.get(player.getUniqueId());
-            
-            
-            if ((tag == null || tag.isEmpty()) && (currentTag == null || currentTag.isEmpty())) {
-                return;
-            }
-            if (tag != null && tag.equals(currentTag)) {
-                return;
+            Bukkit.getScheduler().runTask(plugin, this::flush);
+        } catch (IllegalPluginAccessException e) {
+            // Plugin sendo desativado
+            flushScheduled.set(false);
+        }
+    }
+
+    /**
+     * Aplica as atualizações pendentes
+     */
+    private void flush() {
+        flushScheduled.set(false);
+
+        List<UUID> batch = new ArrayList<>(pending);
+        pending.removeAll(batch);
+
+        int changed = 0;
+        List<Player> targets = new ArrayList<>();
+        for (UUID playerUuid : batch) {
+            Player player = Bukkit.getPlayer(playerUuid);
+            if (player == null || !player.isOnline()) {
+                continue;
             }
-            
-            
-            removeFromAllTeams(player);
-            
-            
-            if (tag != null && !tag.isEmpty()) {
-                String teamName = generateUniqueTeamName(player);
-                Team team = scoreboard.getTeam(teamName);
-                
-                if (team == null) {
-                    team = scoreboard.registerNewTeam(teamName);
-                }
-                
-                
-                String cleanTag = ChatColor.translateAlternateColorCodes('&', tag);
-                if (cleanTag.length() > 16) {
-                    cleanTag = cleanTag.substring(0, 16); 
+
+            try {
+                if (packetView != null) {
+                    packetView.setPrefix(playerUuid, resolvePrefix(player));
+                    targets.add(player);
+                } else if (apply(player)) {
+                    changed++;
                 }
-                
-                team.setPrefix(cleanTag + " ");
-                team.addEntry(player.getName());
-                
-                playerNametags.put(player.getUniqueId(), tag);
-                LogUtils.debug("Nametag atualizada para " + player.getName() + ": " + cleanTag);
-            } else {
-                playerNametags.remove(player.getUniqueId());
-                LogUtils.debug("Nametag removida para " + player.getName());
+            } catch (Exception e) {
+                LogUtils.error("Erro ao atualizar nametag do jogador " + player.getName() + ": " + e.getMessage());
             }
-            
-        } catch (Exception e) {
-            LogUtils.error("Erro ao atualizar nametag do jogador " + player.getName() + ": " + e.getMessage());
+        }
+
+        if (packetView != null) {
+            packetView.sync(targets);
+            changed = targets.size();
+        }
+
+        if (changed > 0) {
+            LogUtils.debug("Nametags atualizadas: " + changed + " de " + batch.size() + " jogadores");
         }
     }
-    
+
     /**
-     * Remove jogador de todas as equipes
+     * Coloca o jogador no time da sua tag atual
+     *
+     * @return true se o time do jogador mudou
      */
-    private void removeFromAllTeams(Player player) {
-        for (Team team : scoreboard.getTeams()) {
-            if (team.hasEntry(player.getName())) {
-                team.removeEntry(player.getName());
-                
-                
-                if (team.getSize() == 0 && team.getName().startsWith("hl_")) {
-                    team.unregister();
-                }
+    private boolean apply(Player player) {
+        String prefix = resolvePrefix(player);
+
+        String currentTeam = playerTeams.get(player.getUniqueId());
+        String targetTeam = prefix != null ? teamsByPrefix.get(prefix) : null;
+        if (Objects.equals(currentTeam, targetTeam) && (currentTeam != null || prefix == null)) {
+            return false;
+        }
+
+        leaveTeam(player.getUniqueId(), player.getName());
+
+        if (prefix == null) {
+            return currentTeam != null;
+        }
+
+        Team team = getOrCreateTeam(prefix);
+        team.addEntry(player.getName());
+        playerTeams.put(player.getUniqueId(), team.getName());
+        teamSizes.merge(team.getName(), 1, Integer::sum);
+        return true;
+    }
+
+    private Team getOrCreateTeam(String prefix) {
+        String teamName = teamsByPrefix.get(prefix);
+        Team team = teamName != null ? scoreboard.getTeam(teamName) : null;
+        if (team != null) {
+            return team;
+        }
+
+        teamName = TEAM_PREFIX + Integer.toString(nextTeamId++, 36);
+        team = scoreboard.getTeam(teamName);
+        if (team == null) {
+            team = scoreboard.registerNewTeam(teamName);
+        }
+        team.setPrefix(prefix);
+
+        teamsByPrefix.put(prefix, teamName);
+        teamSizes.put(teamName, 0);
+        return team;
+    }
+
+    /**
+     * Remove o jogador do seu time, descartando o time se ficar vazio
+     */
+    private void leaveTeam(UUID playerUuid, String playerName) {
+        String teamName = playerTeams.remove(playerUuid);
+        if (teamName == null) {
+            return;
+        }
+
+        Team team = scoreboard.getTeam(teamName);
+        if (team != null) {
+            team.removeEntry(playerName);
+        }
+
+        Integer size = teamSizes.merge(teamName, -1, Integer::sum);
+        if (size != null && size <= 0) {
+            teamSizes.remove(teamName);
+            teamsByPrefix.values().remove(teamName);
+            if (team != null) {
+                team.unregister();
             }
         }
     }
-    
+
     /**
-     * Atualiza nametags de todos os jogadores online
+     * Obtém o prefixo da tag ativa do jogador ou null se ele não tiver tag
      */
-    public void updateAllNametags() {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            updatePlayerNametag(player);
+    private String resolvePrefix(Player player) {
+        String tag = plugin.getTagManager().getPlayerActiveTag(player.getUniqueId());
+        return tag == null || tag.isEmpty() ? null : toPrefix(tag);
+    }
+
+    /**
+     * Converte a tag no prefixo do time, respeitando o limite de caracteres
+     */
+    private static String toPrefix(String tag) {
+        String prefix = ChatColor.translateAlternateColorCodes('&', tag);
+        int maxLength = MAX_PREFIX_LENGTH - 1;
+        if (prefix.length() > maxLength) {
+            prefix = prefix.substring(0, maxLength);
+            // Não deixa um código de cor cortado ao meio
+            if (prefix.charAt(prefix.length() - 1) == ChatColor.COLOR_CHAR) {
+                prefix = prefix.substring(0, prefix.length() - 1);
+            }
         }
-        LogUtils.debug("Nametags atualizadas para todos os jogadores online");
+        return prefix + " ";
     }
-    
+
     /**
      * Limpa todas as nametags do plugin
      */
     public void clearAllNametags() {
-        
-        for (Team team : scoreboard.getTeams()) {
-            if (team.getName().startsWith("hliga_")) {
+        for (String teamName : teamSizes.keySet()) {
+            Team team = scoreboard.getTeam(teamName);
+            if (team != null) {
                 team.unregister();
             }
         }
-        
-        playerNametags.clear();
+
+        teamsByPrefix.clear();
+        teamSizes.clear();
+        playerTeams.clear();
+        pending.clear();
+        if (packetView != null) {
+            packetView.clear();
+        }
         LogUtils.debug("Todas as nametags foram limpas");
     }
-    
-    @EventHandler
-    public void onPlayerJoin(PlayerJoinEvent event) {
-        
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            updatePlayerNametag(event.getPlayer());
-        }, 20L);
-    }
-    
+
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
-        removeFromAllTeams(player);
-        playerNametags.remove(player.getUniqueId());
-    }
-    
-    /**
-     * Gera um nome único para a equipe respeitando o limite de 16 caracteres
-     */
-    private String generateUniqueTeamName(Player player) {
-        String playerName = player.getName().toLowerCase();
-        String prefix = "hl_";
-        
-        
-        int maxNameLength = 16 - prefix.length();
-        
-        if (playerName.length() <= maxNameLength) {
-            return prefix + playerName;
+        pending.remove(player.getUniqueId());
+        if (packetView != null) {
+            packetView.remove(player);
         } else {
-            
-            String truncatedName = playerName.substring(0, maxNameLength - 4);
-            int hash = Math.abs(player.getUniqueId().hashCode()) % 1000;
-            return prefix + truncatedName + String.format("%03d", hash);
+            leaveTeam(player.getUniqueId(), player.getName());
         }
     }
-    
+
     public void disable() {
+        if (visibilityTask != null) {
+            visibilityTask.cancel();
+        }
         clearAllNametags();
         LogUtils.debug("NametagManager desabilitado");
     }
-}
\ No newline at end of file
+}
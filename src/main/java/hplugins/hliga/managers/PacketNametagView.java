@@ -0,0 +1,271 @@
+package hplugins.hliga.managers;
+
+import hplugins.hliga.hooks.NametagPackets;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Nametags enviadas por pacotes para cada jogador, apenas dos jogadores próximos a ele
+ *
+ * Guarda o que cada cliente conhece (times criados e em qual time está cada jogador visível) e envia
+ * somente as diferenças, agrupadas em um pacote por time a cada sincronização. Usado apenas na thread principal.
+ *
+ * O alcance é medido em chunks, então a visibilidade de um par só muda quando um dos dois troca de chunk ou de
+ * mundo. A verificação periódica compara apenas esses pares, e só com jogadores que têm tag.
+ */
+class PacketNametagView {
+
+    private static final String TEAM_PREFIX = "hlp_";
+
+    private final NametagPackets packets;
+    /** Alcance em chunks, em cada eixo */
+    private final int maxChunkDistance;
+
+    /** Prefixo exibido → nome do time (o mesmo em todos os clientes) */
+    private final Map<String, String> teamsByPrefix = new HashMap<>();
+    private final Map<String, String> prefixesByTeam = new HashMap<>();
+    private int nextTeamId;
+
+    /** Prefixo atual de cada jogador com tag */
+    private final Map<UUID, String> prefixes = new HashMap<>();
+    /** Jogador que vê → (nome do jogador visto → time) */
+    private final Map<UUID, Map<String, String>> viewerEntries = new HashMap<>();
+    /** Jogador que vê → (time → quantidade de jogadores nele) */
+    private final Map<UUID, Map<String, Integer>> viewerTeams = new HashMap<>();
+    /** Chunk de cada jogador na última verificação */
+    private final Map<UUID, ChunkPosition> positions = new HashMap<>();
+
+    PacketNametagView(NametagPackets packets, double maxDistance) {
+        this.packets = packets;
+        this.maxChunkDistance = Math.max(1, (int) Math.ceil(maxDistance / 16.0));
+    }
+
+    /**
+     * Define o prefixo de um jogador (null remove a tag); enviado na próxima sincronização
+     */
+    void setPrefix(UUID playerUuid, String prefix) {
+        if (prefix == null) {
+            prefixes.remove(playerUuid);
+        } else {
+            prefixes.put(playerUuid, prefix);
+        }
+    }
+
+    /**
+     * Sincroniza os jogadores informados com todos os jogadores online
+     */
+    void sync(Collection<? extends Player> targets) {
+        if (targets.isEmpty()) {
+            return;
+        }
+        for (Player viewer : Bukkit.getOnlinePlayers()) {
+            syncViewer(viewer, targets);
+        }
+    }
+
+    /**
+     * Acompanha quem entrou ou saiu do alcance desde a última verificação
+     *
+     * Quem mudou de chunk é comparado com todos os jogadores com tag; os demais, apenas com os jogadores
+     * com tag que mudaram de chunk.
+     */
+    void syncAll() {
+        Collection<? extends Player> online = Bukkit.getOnlinePlayers();
+        Set<UUID> moved = new HashSet<>();
+        List<Player> tagged = new ArrayList<>();
+        List<Player> movedTagged = new ArrayList<>();
+
+        for (Player player : online) {
+            ChunkPosition position = ChunkPosition.of(player);
+            boolean changed = !position.equals(positions.put(player.getUniqueId(), position));
+            if (changed) {
+                moved.add(player.getUniqueId());
+            }
+            if (prefixes.containsKey(player.getUniqueId())) {
+                tagged.add(player);
+                if (changed) {
+                    movedTagged.add(player);
+                }
+            }
+        }
+
+        if (moved.isEmpty() || tagged.isEmpty()) {
+            return;
+        }
+
+        for (Player viewer : online) {
+            List<Player> targets = moved.contains(viewer.getUniqueId()) ? tagged : movedTagged;
+            if (!targets.isEmpty()) {
+                syncViewer(viewer, targets);
+            }
+        }
+    }
+
+    private void syncViewer(Player viewer, Collection<? extends Player> targets) {
+        Map<String, String> entries = viewerEntries.computeIfAbsent(viewer.getUniqueId(), uuid -> new HashMap<>());
+        Map<String, List<String>> removals = new LinkedHashMap<>();
+        Map<String, List<String>> additions = new LinkedHashMap<>();
+
+        for (Player target : targets) {
+            String prefix = isVisible(viewer, target) ? prefixes.get(target.getUniqueId()) : null;
+            String desired = prefix != null ? getTeamName(prefix) : null;
+            String current = entries.get(target.getName());
+            if (desired == null ? current == null : desired.equals(current)) {
+                continue;
+            }
+
+            if (current != null) {
+                removals.computeIfAbsent(current, team -> new ArrayList<>()).add(target.getName());
+                entries.remove(target.getName());
+            }
+            if (desired != null) {
+                additions.computeIfAbsent(desired, team -> new ArrayList<>()).add(target.getName());
+                entries.put(target.getName(), desired);
+            }
+        }
+
+        if (removals.isEmpty() && additions.isEmpty()) {
+            return;
+        }
+
+        Map<String, Integer> teams = viewerTeams.computeIfAbsent(viewer.getUniqueId(), uuid -> new HashMap<>());
+        for (Map.Entry<String, List<String>> removal : removals.entrySet()) {
+            String teamName = removal.getKey();
+            int remaining = teams.getOrDefault(teamName, 0) - removal.getValue().size();
+            if (remaining > 0) {
+                teams.put(teamName, remaining);
+                packets.removeEntries(viewer, teamName, removal.getValue());
+            } else {
+                teams.remove(teamName);
+                packets.removeTeam(viewer, teamName);
+            }
+        }
+        for (Map.Entry<String, List<String>> addition : additions.entrySet()) {
+            String teamName = addition.getKey();
+            Integer size = teams.get(teamName);
+            if (size == null) {
+                packets.createTeam(viewer, teamName, prefixesByTeam.get(teamName), addition.getValue());
+                teams.put(teamName, addition.getValue().size());
+            } else {
+                packets.addEntries(viewer, teamName, addition.getValue());
+                teams.put(teamName, size + addition.getValue().size());
+            }
+        }
+    }
+
+    private boolean isVisible(Player viewer, Player target) {
+        if (viewer.equals(target)) {
+            return false;
+        }
+        ChunkPosition from = position(viewer);
+        ChunkPosition to = position(target);
+        return Objects.equals(from.world, to.world)
+                && Math.abs(from.x - to.x) <= maxChunkDistance
+                && Math.abs(from.z - to.z) <= maxChunkDistance;
+    }
+
+    /**
+     * Chunk do jogador na última verificação
+     * Jogadores ainda não verificados são lidos na hora, sem guardar: a próxima verificação os trata como
+     * quem mudou de chunk e os compara com todos os jogadores com tag.
+     */
+    private ChunkPosition position(Player player) {
+        ChunkPosition position = positions.get(player.getUniqueId());
+        return position != null ? position : ChunkPosition.of(player);
+    }
+
+    private String getTeamName(String prefix) {
+        String teamName = teamsByPrefix.get(prefix);
+        if (teamName == null) {
+            teamName = TEAM_PREFIX + Integer.toString(nextTeamId++, 36);
+            teamsByPrefix.put(prefix, teamName);
+            prefixesByTeam.put(teamName, prefix);
+        }
+        return teamName;
+    }
+
+    /**
+     * Remove um jogador que saiu: dos clientes que o viam e o estado do próprio cliente
+     */
+    void remove(Player player) {
+        prefixes.remove(player.getUniqueId());
+        viewerEntries.remove(player.getUniqueId());
+        viewerTeams.remove(player.getUniqueId());
+        positions.remove(player.getUniqueId());
+
+        List<Player> others = new ArrayList<>(Bukkit.getOnlinePlayers());
+        others.remove(player);
+        for (Player viewer : others) {
+            syncViewer(viewer, Collections.singletonList(player));
+        }
+    }
+
+    /**
+     * Remove todos os times enviados aos clientes
+     */
+    void clear() {
+        for (Map.Entry<UUID, Map<String, Integer>> entry : viewerTeams.entrySet()) {
+            Player viewer = Bukkit.getPlayer(entry.getKey());
+            if (viewer == null) {
+                continue;
+            }
+            for (String teamName : entry.getValue().keySet()) {
+                packets.removeTeam(viewer, teamName);
+            }
+        }
+        prefixes.clear();
+        viewerEntries.clear();
+        viewerTeams.clear();
+        positions.clear();
+    }
+
+    private static final class ChunkPosition {
+        private final UUID world;
+        private final int x;
+        private final int z;
+
+        private ChunkPosition(UUID world, int x, int z) {
+            this.world = world;
+            this.x = x;
+            this.z = z;
+        }
+
+        static ChunkPosition of(Player player) {
+            Location location = player.getLocation();
+            World world = location.getWorld();
+            return new ChunkPosition(world != null ? world.getUID() : null,
+                    location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof ChunkPosition)) {
+                return false;
+            }
+            ChunkPosition position = (ChunkPosition) other;
+            return x == position.x && z == position.z && Objects.equals(world, position.world);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(world, x, z);
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package hplugins.hliga.managers;
 
 import hplugins.hliga.Main;
+import hplugins.hliga.database.AsyncDatabaseAdapter;
+import hplugins.hliga.database.DatabaseManager;
+import hplugins.hliga.database.PointsJournal;
+import hplugins.hliga.database.RedisSyncChannel;
+import hplugins.hliga.database.adapters.DatabaseAdapter;
 import hplugins.hliga.models.ClanPoints;
 import hplugins.hliga.models.GenericClan;
 import hplugins.hliga.utils.LogUtils;
@@ -8,16 +13,108 @@ import hplugins.hliga.utils.NumberFormatter;
 import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class PointsManager {
 
     private final Main plugin;
+    private final RankingIndex rankingIndex = new RankingIndex();
+    private final PointsJournal pointsJournal;
+    /** Variações enviadas à fila de escrita sem o diário que ainda não foram executadas */
+    private final Map<String, AtomicInteger> queuedDeltas = new ConcurrentHashMap<>();
+    private BukkitTask reconcileTask;
 
     public PointsManager(Main plugin) {
         this.plugin = plugin;
+        this.pointsJournal = new PointsJournal(plugin);
+
+        int recovered = pointsJournal.replay();
+        if (recovered > 0) {
+            LogUtils.info("Diário de pontos recuperado: " + recovered + " clãs atualizados");
+        }
+
+        reloadRanking();
+        pointsJournal.start();
+        updateReconciliation();
+    }
+
+    /**
+     * Grava imediatamente as variações de pontos pendentes no diário
+     *
+     * @return true se não havia pendências ou se a gravação foi bem-sucedida
+     */
+    public boolean flushPendingPoints() {
+        return pointsJournal.flush();
+    }
+
+    /**
+     * Finaliza o gerenciador de pontos, gravando todas as variações pendentes
+     */
+    public void shutdown() {
+        if (reconcileTask != null) {
+            reconcileTask.cancel();
+            reconcileTask = null;
+        }
+        pointsJournal.shutdown();
+    }
+
+    /**
+     * Agenda a reconciliação periódica do ranking com o banco de dados
+     *
+     * Sem o canal de sincronização, servidores que compartilham o mesmo MySQL ou Redis não recebem
+     * as alterações dos outros; o ranking é então recarregado do banco no intervalo configurado.
+     * Deve ser chamado novamente após reconectar ao banco.
+     */
+    public void updateReconciliation() {
+        if (reconcileTask != null) {
+            reconcileTask.cancel();
+            reconcileTask = null;
+        }
+
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        long seconds = plugin.getConfig().getLong("database.sincronizacao.reconciliacao", 30L);
+        if (seconds <= 0 || databaseManager.getSyncChannel() != null || !databaseManager.isSharedBackend()) {
+            return;
+        }
+
+        long ticks = seconds * 20L;
+        reconcileTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+            // A memória local do cache também guarda temporada e tags alteradas pelos outros servidores
+            databaseManager.invalidateLocalCache();
+            resyncRanking();
+        }, ticks, ticks);
+        LogUtils.info("Banco compartilhado sem sincronização entre servidores - ranking recarregado do banco a cada " +
+                seconds + "s (database.sincronizacao.reconciliacao)");
+    }
+
+    /**
+     * Obtém o índice de ranking mantido em memória
+     *
+     * @return Índice de ranking dos clãs
+     */
+    public RankingIndex getRankingIndex() {
+        return rankingIndex;
+    }
+
+    /**
+     * Recarrega o índice de ranking a partir do banco de dados
+     * Deve ser chamado apenas na inicialização, após reconectar ao banco ou após uma transferência para o banco em uso
+     */
+    public void reloadRanking() {
+        List<ClanPoints> clans = plugin.getDatabaseManager().getPrimaryAdapter().getAllClanPoints();
+        rankingIndex.load(clans);
+        // Variações ainda no diário não estão nos totais do banco
+        pointsJournal.getPendingDeltas().forEach(rankingIndex::add);
+        markNPCsDirty();
+        LogUtils.debug("Índice de ranking carregado com " + rankingIndex.size() + " clãs");
     }
 
     /**
@@ -37,7 +134,7 @@ public class PointsManager {
      * @return Pontuação do clã
      */
     public int getClanPoints(String clanTag) {
-        return plugin.getDatabaseManager().getAdapter().getClanPoints(clanTag);
+        return rankingIndex.getPoints(clanTag);
     }
 
     /**
@@ -52,12 +149,14 @@ public class PointsManager {
 
     /**
      * Define os pontos de um clã
+     * O índice é atualizado na hora; a gravação entra na fila de escrita depois das variações já registradas.
+     * Se a gravação falhar, o índice do clã é ressincronizado com o banco de dados.
      *
      * @param clanTag Tag do clã
      * @param points Pontos a serem definidos
-     * @return true se a operação foi bem-sucedida, false caso contrário
+     * @return Futuro com true se os pontos foram gravados no banco de dados
      */
-    public boolean setClanPoints(String clanTag, int points) {
+    public CompletableFuture<Boolean> setClanPoints(String clanTag, int points) {
         FileConfiguration config = plugin.getConfig();
         int maxPoints = config.getInt("pontos.maximo", 0);
 
@@ -65,7 +164,23 @@ public class PointsManager {
             points = maxPoints;
         }
 
-        return plugin.getDatabaseManager().getAdapter().setClanPoints(clanTag, points);
+        final int finalPoints = points;
+        rankingIndex.set(clanTag, finalPoints);
+        markNPCsDirty();
+
+        return completed(pointsJournal.submitAfterPending(adapter -> adapter.setClanPoints(clanTag, finalPoints)))
+                .thenApply(success -> {
+                    if (success) {
+                        RedisSyncChannel sync = syncChannel();
+                        if (sync != null) {
+                            sync.publishPoints(clanTag, 0, finalPoints);
+                        }
+                    } else {
+                        LogUtils.warning("Falha ao gravar pontos do clã " + clanTag + " no banco de dados - ressincronizando");
+                        resyncClan(clanTag);
+                    }
+                    return success;
+                });
     }
 
     /**
@@ -110,35 +225,200 @@ public class PointsManager {
             }
         }
 
-        boolean success = plugin.getDatabaseManager().getAdapter().addClanPoints(clanTag, points);
+        int newTotal = writeDelta(clanTag, points);
+        if (description != null && !description.isEmpty()) {
+            LogUtils.debugHigh("Pontos adicionados ao clã " + clanTag + ": +" + points + " (Total: " + newTotal + "). Motivo: " + description);
+        } else {
+            LogUtils.debugHigh("Pontos adicionados ao clã " + clanTag + ": +" + points + " (Total: " + newTotal + ")");
+        }
+
+        plugin.getLigaManager().sendDiscordPointsNotification(clanTag, points, newTotal, description);
+
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            if (plugin.getTagManager() != null) {
+                plugin.getTagManager().updateRankingTags();
+            }
+        });
+
+        markNPCsDirty();
+
+        return true;
+    }
+
+    /**
+     * Aplica uma variação de pontos no índice de ranking e a grava no banco fora da thread principal,
+     * diretamente ou pelo diário de gravação adiada
+     *
+     * Sem o diário, a variação entra na fila de escrita, que grava na mesma ordem em que o índice foi alterado.
+     * Se a gravação falhar, o índice do clã é ressincronizado com o banco de dados.
+     *
+     * @param clanTag Tag do clã
+     * @param delta Variação de pontos (positiva ou negativa)
+     * @return Nova pontuação do clã no índice
+     */
+    private int writeDelta(String clanTag, int delta) {
+        int newTotal = rankingIndex.add(clanTag, delta);
+
+        if (pointsJournal.isEnabled()) {
+            pointsJournal.record(clanTag, delta);
+            RedisSyncChannel sync = syncChannel();
+            if (sync != null) {
+                sync.publishDelta(clanTag, delta);
+            }
+            return newTotal;
+        }
+
+        AtomicInteger queued = queuedDeltas.computeIfAbsent(clanTag, key -> new AtomicInteger());
+        queued.addAndGet(delta);
+        AtomicBoolean started = new AtomicBoolean(false);
 
-        if (success) {
-            int newTotal = getClanPoints(clanTag);
+        CompletableFuture<Integer> write = async().write(adapter -> {
+            started.set(true);
+            try {
+                return delta > 0
+                        ? adapter.incrementAndGet(clanTag, delta)
+                        : adapter.decrementIfAtLeast(clanTag, -delta);
+            } finally {
+                queued.addAndGet(-delta);
+            }
+        });
 
-            if (description != null && !description.isEmpty()) {
-                LogUtils.debugHigh("Pontos adicionados ao clã " + clanTag + ": +" + points + " (Total: " + newTotal + "). Motivo: " + description);
+        write.whenComplete((total, error) -> {
+            if (!started.get()) {
+                queued.addAndGet(-delta);
+            }
+            if (error != null || total == null || total < 0) {
+                LogUtils.warning("Falha ao gravar variação de " + delta + " pontos do clã " + clanTag +
+                        " - ressincronizando com o banco de dados");
+                resyncClan(clanTag);
             } else {
-                LogUtils.debugHigh("Pontos adicionados ao clã " + clanTag + ": +" + points + " (Total: " + newTotal + ")");
+                RedisSyncChannel sync = syncChannel();
+                if (sync != null) {
+                    sync.publishPoints(clanTag, delta, total);
+                }
             }
+        });
 
-            plugin.getLigaManager().sendDiscordPointsNotification(clanTag, points, newTotal, description);
+        return newTotal;
+    }
 
-            Bukkit.getScheduler().runTask(plugin, () -> {
-                if (plugin.getTagManager() != null) {
-                    plugin.getTagManager().updateRankingTags();
+    /**
+     * Agenda a atualização dos NPCs das posições alteradas
+     * Várias alterações seguidas resultam em uma única atualização
+     */
+    private void markNPCsDirty() {
+        if (plugin.getNpcManager() != null) {
+            plugin.getNpcManager().markRankingDirty();
+        }
+    }
+
+    /**
+     * Recalcula a pontuação de um clã no índice a partir do banco de dados
+     * A leitura passa pela fila de escrita, depois de todas as alterações enviadas antes dela,
+     * vai direto ao banco primário (sem cache) e soma as variações que ainda não chegaram ao banco.
+     *
+     * @param clanTag Tag do clã
+     */
+    private void resyncClan(String clanTag) {
+        async().write(adapter -> {
+            int points = primary().getClanPoints(clanTag) + pointsJournal.getPendingDelta(clanTag) + queuedDelta(clanTag);
+            rankingIndex.set(clanTag, Math.max(0, points));
+            return points;
+        }).whenComplete((points, error) -> {
+            if (error != null) {
+                LogUtils.warning("Erro ao ressincronizar pontos do clã " + clanTag, error);
+            }
+            markNPCsDirty();
+        });
+    }
+
+    /**
+     * Recarrega todo o índice de ranking pela fila de escrita, como em {@link #resyncClan(String)}
+     */
+    private void resyncRanking() {
+        async().write(adapter -> {
+            List<ClanPoints> clans = primary().getAllClanPoints();
+            rankingIndex.load(clans);
+            pointsJournal.getPendingDeltas().forEach(rankingIndex::add);
+            queuedDeltas.forEach((clanTag, queued) -> {
+                if (queued.get() != 0) {
+                    rankingIndex.add(clanTag, queued.get());
                 }
             });
+            return clans.size();
+        }).whenComplete((size, error) -> {
+            if (error != null) {
+                LogUtils.warning("Erro ao ressincronizar o índice de ranking", error);
+            }
+            markNPCsDirty();
+        });
+    }
 
-            int intervaloMinutos = plugin.getConfig().getInt("configuracoes.intervalo_atualizacao", 5);
-            long intervalTicks = intervaloMinutos * 60 * 20L; // Converter minutos para ticks (1 minuto = 1200 ticks)
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                if (plugin.getNpcManager() != null) {
-                    plugin.getNpcManager().updateAllNPCs();
-                }
-            }, intervalTicks);
-        }
+    private int queuedDelta(String clanTag) {
+        AtomicInteger queued = queuedDeltas.get(clanTag);
+        return queued != null ? queued.get() : 0;
+    }
 
-        return success;
+    /**
+     * Converte erros de uma gravação (incluindo fila cheia) em false
+     */
+    private CompletableFuture<Boolean> completed(CompletableFuture<Boolean> write) {
+        return write.handle((success, error) -> {
+            if (error != null) {
+                LogUtils.warning("Erro em gravação de pontos: " + error.getMessage());
+                return false;
+            }
+            return Boolean.TRUE.equals(success);
+        });
+    }
+
+    private DatabaseAdapter primary() {
+        return plugin.getDatabaseManager().getPrimaryAdapter();
+    }
+
+    private AsyncDatabaseAdapter async() {
+        return plugin.getDatabaseManager().getAsync();
+    }
+
+    private RedisSyncChannel syncChannel() {
+        return plugin.getDatabaseManager().getSyncChannel();
+    }
+
+    /**
+     * Aplica no índice de ranking a pontuação de um clã gravada no banco por outro servidor
+     * As variações locais que ainda não chegaram ao banco são somadas ao total recebido.
+     *
+     * @param clanTag Tag do clã
+     * @param newTotal Pontuação gravada no banco de dados
+     */
+    public void applyRemoteTotal(String clanTag, int newTotal) {
+        rankingIndex.set(clanTag, newTotal + pointsJournal.getPendingDelta(clanTag) + queuedDelta(clanTag));
+        markNPCsDirty();
+    }
+
+    /**
+     * Aplica no índice de ranking uma variação de pontos registrada no diário de outro servidor
+     *
+     * @param clanTag Tag do clã
+     * @param delta Variação de pontos
+     */
+    public void applyRemoteDelta(String clanTag, int delta) {
+        rankingIndex.add(clanTag, delta);
+        markNPCsDirty();
+    }
+
+    /**
+     * Aplica no índice de ranking um reset de pontos feito por outro servidor
+     *
+     * @param points Pontuação aplicada a todos os clãs ou -1 se os clãs foram removidos
+     */
+    public void applyRemoteReset(int points) {
+        if (points < 0) {
+            rankingIndex.clear();
+        } else {
+            rankingIndex.resetAll(points);
+        }
+        markNPCsDirty();
     }
 
     /**
@@ -172,33 +452,23 @@ public class PointsManager {
             return false;
         }
 
-        boolean success = plugin.getDatabaseManager().getAdapter().removeClanPoints(clanTag, points);
-        if (success) {
-            int newTotal = getClanPoints(clanTag);
-
-            if (description != null && !description.isEmpty()) {
-                LogUtils.debugHigh("Pontos removidos do clã " + clanTag + ": -" + points + " (Total: " + newTotal + "). Motivo: " + description);
-            } else {
-                LogUtils.debugHigh("Pontos removidos do clã " + clanTag + ": -" + points + " (Total: " + newTotal + ")");
-            }
+        int newTotal = writeDelta(clanTag, -points);
+        if (description != null && !description.isEmpty()) {
+            LogUtils.debugHigh("Pontos removidos do clã " + clanTag + ": -" + points + " (Total: " + newTotal + "). Motivo: " + description);
+        } else {
+            LogUtils.debugHigh("Pontos removidos do clã " + clanTag + ": -" + points + " (Total: " + newTotal + ")");
+        }
 
-            plugin.getLigaManager().sendDiscordPointsNotification(clanTag, -points, newTotal, description);
+        plugin.getLigaManager().sendDiscordPointsNotification(clanTag, -points, newTotal, description);
 
-            Bukkit.getScheduler().runTask(plugin, () -> {
-                if (plugin.getTagManager() != null) {
-                    plugin.getTagManager().updateRankingTags();
-                }
-            });
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            if (plugin.getTagManager() != null) {
+                plugin.getTagManager().updateRankingTags();
+            }
+        });
 
-            int intervaloMinutos = plugin.getConfig().getInt("configuracoes.intervalo_atualizacao", 5);
-            long intervalTicks = intervaloMinutos * 60 * 20L; // Converter minutos para ticks (1 minuto = 1200 ticks)
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                if (plugin.getNpcManager() != null) {
-                    plugin.getNpcManager().updateAllNPCs();
-                }
-            }, intervalTicks);
-        }
-        return success;
+        markNPCsDirty();
+        return true;
     }
 
     /**
@@ -218,18 +488,52 @@ public class PointsManager {
 
     /**
      * Reseta os pontos de todos os clãs
+     * Se a gravação falhar, o índice de ranking é recarregado do banco de dados.
      *
-     * @return true se a operação foi bem-sucedida, false caso contrário
+     * @return Futuro com true se o reset foi gravado no banco de dados
      */
-    public boolean resetAllPoints() {
+    public CompletableFuture<Boolean> resetAllPoints() {
         LogUtils.debug("Reiniciando pontos de todos os clãs...");
-        boolean success = plugin.getDatabaseManager().getAdapter().resetAllPoints();
-        if (success) {
-            LogUtils.debug("Todos os pontos dos clãs foram zerados com sucesso");
-        } else {
-            LogUtils.warning("Falha ao zerar pontos de todos os clãs");
-        }
-        return success;
+        rankingIndex.clear();
+        markNPCsDirty();
+
+        return completed(pointsJournal.submitAfterPending(DatabaseAdapter::resetAllPoints)).thenApply(success -> {
+            if (success) {
+                LogUtils.debug("Todos os pontos dos clãs foram zerados com sucesso");
+                RedisSyncChannel sync = syncChannel();
+                if (sync != null) {
+                    sync.publishReset(-1);
+                }
+            } else {
+                LogUtils.warning("Falha ao zerar pontos de todos os clãs - recarregando o ranking");
+                resyncRanking();
+            }
+            return success;
+        });
+    }
+
+    /**
+     * Zera os pontos de todos os clãs mantendo-os registrados
+     * Se a gravação falhar, o índice de ranking é recarregado do banco de dados.
+     *
+     * @return Futuro com true se o reset foi gravado no banco de dados
+     */
+    public CompletableFuture<Boolean> resetAllClanPoints() {
+        rankingIndex.resetAll(0);
+        markNPCsDirty();
+
+        return completed(pointsJournal.submitAfterPending(DatabaseAdapter::resetAllClanPoints)).thenApply(success -> {
+            if (success) {
+                RedisSyncChannel sync = syncChannel();
+                if (sync != null) {
+                    sync.publishReset(0);
+                }
+            } else {
+                LogUtils.warning("Falha ao zerar pontos de todos os clãs no banco de dados - recarregando o ranking");
+                resyncRanking();
+            }
+            return success;
+        });
     }
 
     /**
@@ -239,7 +543,7 @@ public class PointsManager {
      * @return Lista de clãs ordenados por pontuação
      */
     public List<ClanPoints> getTopClans(int limit) {
-        List<ClanPoints> clans = plugin.getDatabaseManager().getAdapter().getTopClans(limit);
+        List<ClanPoints> clans = rankingIndex.getTop(limit);
 
         if (!plugin.getConfig().getBoolean("visual.mostrar_todos_clans", true)) {
             clans.removeIf(clan -> clan.getPoints() <= 0);
@@ -257,22 +561,34 @@ public class PointsManager {
      * @return Lista com o clã na posição especificada ou lista vazia se não existir
      */
     public List<ClanPoints> getTopClans(int position, int count) {
-        if (position <= 0) {
-            return new ArrayList<>();
+        List<ClanPoints> clans = rankingIndex.getRange(position, count);
+
+        if (!plugin.getConfig().getBoolean("visual.mostrar_todos_clans", true)) {
+            clans.removeIf(clan -> clan.getPoints() <= 0);
         }
 
-        List<ClanPoints> allClans = getTopClans(position + count - 1);
+        return clans;
+    }
 
-        if (allClans.size() < position) {
+    /**
+     * Obtém os clãs ao redor da posição de um clã no ranking
+     *
+     * @param clanTag Tag do clã de referência
+     * @param radius Quantidade de posições acima e abaixo do clã
+     * @return Lista com os clãs vizinhos (incluindo o próprio clã) ou lista vazia se não estiver no ranking
+     */
+    public List<ClanPoints> getClansAround(String clanTag, int radius) {
+        if (getClanPosition(clanTag) <= 0) {
             return new ArrayList<>();
         }
 
-        List<ClanPoints> result = new ArrayList<>(count);
-        for (int i = position - 1; i < Math.min(position - 1 + count, allClans.size()); i++) {
-            result.add(allClans.get(i));
+        List<ClanPoints> clans = new ArrayList<>(rankingIndex.getAround(clanTag, radius));
+
+        if (!plugin.getConfig().getBoolean("visual.mostrar_todos_clans", true)) {
+            clans.removeIf(clan -> clan.getPoints() <= 0);
         }
 
-        return result;
+        return clans;
     }
 
     /**
@@ -282,15 +598,12 @@ public class PointsManager {
      * @return Posição do clã (começando em 1) ou -1 se não estiver no ranking
      */
     public int getClanPosition(String clanTag) {
-        List<ClanPoints> topClans = getTopClans(Integer.MAX_VALUE);
-
-        for (int i = 0; i < topClans.size(); i++) {
-            if (topClans.get(i).getClanTag().equals(clanTag)) {
-                return i + 1;
-            }
+        if (!plugin.getConfig().getBoolean("visual.mostrar_todos_clans", true)
+                && rankingIndex.getPoints(clanTag) <= 0) {
+            return -1;
         }
 
-        return -1;
+        return rankingIndex.getPosition(clanTag);
     }
 
     /**
@@ -299,13 +612,7 @@ public class PointsManager {
      * @return Lista de clãs com seus pontos
      */
     public List<ClanPoints> getAllClanPoints() {
-        List<ClanPoints> clans = plugin.getDatabaseManager().getAdapter().getTopClans(Integer.MAX_VALUE);
-
-        if (!plugin.getConfig().getBoolean("visual.mostrar_todos_clans", true)) {
-            clans.removeIf(clan -> clan.getPoints() <= 0);
-        }
-
-        return clans;
+        return getTopClans(Integer.MAX_VALUE);
     }
 
     /**
@@ -0,0 +1,443 @@
+package hplugins.hliga.managers;
+
+import hplugins.hliga.models.ClanPoints;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de ranking dos clãs mantido em memória
+ *
+ * Implementado como uma árvore de estatística de ordem (treap com tamanho de subárvore)
+ * ordenada por pontos (decrescente) e tag (crescente). Consultas de top-N, posição de um clã
+ * e clãs ao redor de uma posição custam O(log n) e nunca acessam o banco de dados.
+ */
+public class RankingIndex {
+
+    private static final class Node {
+        final String clanTag;
+        final int points;
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(String clanTag, int points, int priority) {
+            this.clanTag = clanTag;
+            this.points = points;
+            this.priority = priority;
+        }
+    }
+
+    private final Map<String, Integer> pointsByClan = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Random random = new Random();
+    private final AtomicLong version = new AtomicLong();
+    private Node root;
+
+    /**
+     * Obtém a versão atual do índice
+     * A versão é incrementada a cada alteração, permitindo detectar dados desatualizados sem bloqueio
+     *
+     * @return Versão do índice
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Recarrega o índice a partir de uma lista completa de pontuações
+     *
+     * @param clans Pontuação de todos os clãs
+     */
+    public void load(Collection<ClanPoints> clans) {
+        lock.writeLock().lock();
+        try {
+            root = null;
+            pointsByClan.clear();
+            for (ClanPoints clan : clans) {
+                if (clan != null && clan.getClanTag() != null) {
+                    setInternal(clan.getClanTag(), clan.getPoints());
+                }
+            }
+        } finally {
+            version.incrementAndGet();
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove todos os clãs do índice
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root = null;
+            pointsByClan.clear();
+        } finally {
+            version.incrementAndGet();
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Define a pontuação de um clã, inserindo-o se necessário
+     *
+     * @param clanTag Tag do clã
+     * @param points Nova pontuação
+     */
+    public void set(String clanTag, int points) {
+        lock.writeLock().lock();
+        try {
+            setInternal(clanTag, points);
+        } finally {
+            version.incrementAndGet();
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Soma uma variação à pontuação de um clã, sem permitir valores negativos
+     *
+     * @param clanTag Tag do clã
+     * @param delta Variação de pontos (positiva ou negativa)
+     * @return Nova pontuação do clã
+     */
+    public int add(String clanTag, int delta) {
+        lock.writeLock().lock();
+        try {
+            Integer current = pointsByClan.get(clanTag);
+            int newPoints = Math.max(0, (current != null ? current : 0) + delta);
+            setInternal(clanTag, newPoints);
+            return newPoints;
+        } finally {
+            version.incrementAndGet();
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um clã do índice
+     *
+     * @param clanTag Tag do clã
+     */
+    public void remove(String clanTag) {
+        lock.writeLock().lock();
+        try {
+            Integer current = pointsByClan.remove(clanTag);
+            if (current != null) {
+                root = delete(root, current, clanTag);
+            }
+        } finally {
+            version.incrementAndGet();
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Define a mesma pontuação para todos os clãs do índice
+     *
+     * @param points Pontuação a ser aplicada
+     */
+    public void resetAll(int points) {
+        lock.writeLock().lock();
+        try {
+            List<String> tags = new ArrayList<>(pointsByClan.keySet());
+            root = null;
+            pointsByClan.clear();
+            for (String tag : tags) {
+                setInternal(tag, points);
+            }
+        } finally {
+            version.incrementAndGet();
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Obtém a pontuação de um clã
+     *
+     * @param clanTag Tag do clã
+     * @return Pontuação do clã ou 0 se não estiver no índice
+     */
+    public int getPoints(String clanTag) {
+        lock.readLock().lock();
+        try {
+            Integer points = pointsByClan.get(clanTag);
+            return points != null ? points : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Verifica se um clã está no índice
+     *
+     * @param clanTag Tag do clã
+     * @return true se o clã estiver registrado
+     */
+    public boolean contains(String clanTag) {
+        lock.readLock().lock();
+        try {
+            return pointsByClan.containsKey(clanTag);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtém a quantidade de clãs no índice
+     *
+     * @return Total de clãs
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Conta os clãs com pontuação maior que a informada, sem percorrer o índice
+     *
+     * @param points Pontuação de referência
+     * @return Quantidade de clãs acima da pontuação
+     */
+    public int countAbove(int points) {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            Node node = root;
+            while (node != null) {
+                if (node.points > points) {
+                    count += size(node.left) + 1;
+                    node = node.right;
+                } else {
+                    node = node.left;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtém a posição de um clã no ranking
+     *
+     * @param clanTag Tag do clã
+     * @return Posição (começando em 1) ou -1 se o clã não estiver no índice
+     */
+    public int getPosition(String clanTag) {
+        lock.readLock().lock();
+        try {
+            Integer points = pointsByClan.get(clanTag);
+            if (points == null) {
+                return -1;
+            }
+
+            int rank = 0;
+            Node node = root;
+            while (node != null) {
+                int cmp = compare(points, clanTag, node);
+                if (cmp < 0) {
+                    node = node.left;
+                } else if (cmp > 0) {
+                    rank += size(node.left) + 1;
+                    node = node.right;
+                } else {
+                    return rank + size(node.left) + 1;
+                }
+            }
+            return -1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtém os clãs com maior pontuação
+     *
+     * @param limit Limite de resultados
+     * @return Nova lista com os clãs ordenados por pontuação
+     */
+    public List<ClanPoints> getTop(int limit) {
+        return getRange(1, limit);
+    }
+
+    /**
+     * Obtém uma faixa do ranking
+     *
+     * @param position Posição inicial (começando em 1)
+     * @param count Quantidade de clãs a partir da posição
+     * @return Nova lista com os clãs da faixa solicitada
+     */
+    public List<ClanPoints> getRange(int position, int count) {
+        if (position <= 0 || count <= 0) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            int total = size(root);
+            if (position > total) {
+                return new ArrayList<>();
+            }
+
+            int wanted = (int) Math.min((long) count, total - position + 1L);
+            List<ClanPoints> result = new ArrayList<>(wanted);
+            collect(root, position - 1, wanted, result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtém os clãs ao redor da posição de um clã
+     *
+     * @param clanTag Tag do clã de referência
+     * @param radius Quantidade de posições acima e abaixo
+     * @return Nova lista com os clãs vizinhos (incluindo o próprio clã) ou lista vazia
+     */
+    public List<ClanPoints> getAround(String clanTag, int radius) {
+        int position = getPosition(clanTag);
+        if (position <= 0) {
+            return Collections.emptyList();
+        }
+
+        int start = Math.max(1, position - Math.max(0, radius));
+        return getRange(start, position - start + Math.max(0, radius) + 1);
+    }
+
+    private void setInternal(String clanTag, int points) {
+        Integer current = pointsByClan.put(clanTag, points);
+        if (current != null) {
+            root = delete(root, current, clanTag);
+        }
+        root = insert(root, new Node(clanTag, points, random.nextInt()));
+    }
+
+    private void collect(Node node, int offset, int count, List<ClanPoints> out) {
+        if (node == null || out.size() >= count) {
+            return;
+        }
+
+        int leftSize = size(node.left);
+        if (offset < leftSize) {
+            collect(node.left, offset, count, out);
+        }
+        if (out.size() >= count) {
+            return;
+        }
+        if (offset <= leftSize) {
+            out.add(new ClanPoints(node.clanTag, node.points));
+        }
+        collect(node.right, Math.max(0, offset - leftSize - 1), count, out);
+    }
+
+    private static int compare(int points, String clanTag, Node node) {
+        if (points != node.points) {
+            return points > node.points ? -1 : 1;
+        }
+        return clanTag.compareTo(node.clanTag);
+    }
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static Node insert(Node node, Node created) {
+        if (node == null) {
+            return created;
+        }
+
+        if (created.priority > node.priority) {
+            Node[] parts = split(node, created.points, created.clanTag);
+            created.left = parts[0];
+            created.right = parts[1];
+            update(created);
+            return created;
+        }
+
+        if (compare(created.points, created.clanTag, node) < 0) {
+            node.left = insert(node.left, created);
+        } else {
+            node.right = insert(node.right, created);
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node delete(Node node, int points, String clanTag) {
+        if (node == null) {
+            return null;
+        }
+
+        int cmp = compare(points, clanTag, node);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+
+        if (cmp < 0) {
+            node.left = delete(node.left, points, clanTag);
+        } else {
+            node.right = delete(node.right, points, clanTag);
+        }
+        update(node);
+        return node;
+    }
+
+    /**
+     * Divide a árvore em [chaves menores que a informada] e [demais chaves]
+     */
+    private static Node[] split(Node node, int points, String clanTag) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+
+        if (compare(points, clanTag, node) > 0) {
+            Node[] parts = split(node.right, points, clanTag);
+            node.right = parts[0];
+            update(node);
+            return new Node[]{node, parts[1]};
+        }
+
+        Node[] parts = split(node.left, points, clanTag);
+        node.left = parts[1];
+        update(node);
+        return new Node[]{parts[0], node};
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+}
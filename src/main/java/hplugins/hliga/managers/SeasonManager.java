@@ -1,6 +1,8 @@
 package hplugins.hliga.managers;
 
 import hplugins.hliga.Main;
+import hplugins.hliga.database.AsyncDatabaseAdapter;
+import hplugins.hliga.database.RedisSyncChannel;
 import hplugins.hliga.models.Season;
 import hplugins.hliga.utils.LogUtils;
 import hplugins.hliga.utils.NotificationUtils;
@@ -20,9 +22,80 @@ public class SeasonManager {
 
     public SeasonManager(Main plugin) {
         this.plugin = plugin;
+        loadActiveSeason();
     }
     private BukkitTask endSeasonTask;
     private Map<Integer, BukkitTask> warningTasks = new HashMap<>();
+    private volatile long seasonVersion;
+    private volatile Season activeSeason;
+    private volatile List<Season> seasonHistory = Collections.emptyList();
+
+    /**
+     * Carrega a temporada ativa do banco de dados para o cache
+     * Chamado apenas na inicialização, antes do servidor começar a processar ticks
+     */
+    private void loadActiveSeason() {
+        setActiveSeason(plugin.getDatabaseManager().getAdapter().getActiveSeason().orElse(null));
+        seasonHistory = plugin.getDatabaseManager().getAdapter().getSeasonHistory();
+    }
+
+    /**
+     * Recarrega a temporada ativa e o histórico do banco de dados fora da thread principal
+     */
+    public void refreshActiveSeason() {
+        async().sync(async().getActiveSeason(), season -> setActiveSeason(season.orElse(null)));
+        refreshSeasonHistory();
+    }
+
+    private void refreshSeasonHistory() {
+        async().getSeasonHistory().thenAccept(history -> seasonHistory = history);
+    }
+
+    private void setActiveSeason(Season season) {
+        this.activeSeason = season;
+        markSeasonChanged();
+    }
+
+    private AsyncDatabaseAdapter async() {
+        return plugin.getDatabaseManager().getAsync();
+    }
+
+    private void publishSeasonChange(Season season, boolean active) {
+        RedisSyncChannel sync = plugin.getDatabaseManager().getSyncChannel();
+        if (sync != null) {
+            sync.publishSeason(season.id, active);
+        }
+    }
+
+    /**
+     * Aplica uma temporada iniciada ou encerrada por outro servidor
+     * O encerramento automático continua sendo responsabilidade do servidor que iniciou a temporada
+     *
+     * @param active true se a temporada foi iniciada, false se foi encerrada
+     */
+    public void applyRemoteSeasonChange(boolean active) {
+        if (!active) {
+            cancelEndTasks();
+        }
+        refreshActiveSeason();
+    }
+
+    /**
+     * Obtém a versão atual da temporada
+     * A versão muda sempre que uma temporada é iniciada ou encerrada
+     *
+     * @return Versão da temporada
+     */
+    public long getSeasonVersion() {
+        return seasonVersion;
+    }
+
+    /**
+     * Marca a temporada ativa como alterada, invalidando dados derivados dela
+     */
+    public synchronized void markSeasonChanged() {
+        seasonVersion++;
+    }
 
     /**
      * Verifica se existe uma temporada ativa
@@ -30,7 +103,7 @@ public class SeasonManager {
      * @return true se existir uma temporada ativa, false caso contrário
      */
     public boolean isSeasonActive() {
-        return plugin.getDatabaseManager().getAdapter().getActiveSeason().isPresent();
+        return activeSeason != null;
     }
 
     /**
@@ -39,7 +112,7 @@ public class SeasonManager {
      * @return Temporada ativa ou Optional vazio se não houver
      */
     public Optional<Season> getActiveSeason() {
-        return plugin.getDatabaseManager().getAdapter().getActiveSeason();
+        return Optional.ofNullable(activeSeason);
     }
 
     /**
@@ -84,16 +157,8 @@ public class SeasonManager {
 
         plugin.getPointsManager().syncClansWithDatabase();
 
-        boolean success = plugin.getDatabaseManager().getAdapter().saveSeason(season);
-
-        if (success) {
-            scheduleSeasonEnd(season);
-
-            int topClansToShow = config.getInt("temporada.top_clans_anuncio", 3);
-            NotificationUtils.announceSeasonStart(plugin, season);
-        }
-
-        return success;
+        saveNewSeason(season);
+        return true;
     }
 
     /**
@@ -122,33 +187,51 @@ public class SeasonManager {
 
         plugin.getPointsManager().syncClansWithDatabase();
 
-        boolean success = plugin.getDatabaseManager().getAdapter().saveSeason(season);
-
-        if (success) {
-            scheduleSeasonEnd(season);
-
-            NotificationUtils.announceSeasonStart(plugin, season);
-        }
+        saveNewSeason(season);
+        return true;
+    }
 
-        return success;
+    /**
+     * Ativa uma nova temporada em memória e a grava no banco fora da thread principal
+     * O anúncio só é feito após a gravação; em caso de falha a temporada é desfeita
+     *
+     * @param season Temporada a ser iniciada
+     */
+    private void saveNewSeason(Season season) {
+        setActiveSeason(season);
+        scheduleSeasonEnd(season);
+
+        async().sync(async().saveSeason(season), success -> {
+            if (Boolean.TRUE.equals(success)) {
+                markSeasonChanged();
+                refreshSeasonHistory();
+                publishSeasonChange(season, true);
+                NotificationUtils.announceSeasonStart(plugin, season);
+            } else {
+                LogUtils.error("Erro ao salvar temporada '" + season.name + "' no banco de dados");
+                if (activeSeason == season) {
+                    cancelEndTasks();
+                    setActiveSeason(null);
+                }
+            }
+        });
     }
 
     /**
      * Encerra a temporada ativa
      *
+     * O ranking final é obtido do índice em memória e a gravação no banco é feita fora da thread principal.
+     *
      * @return true se a operação foi bem-sucedida, false caso contrário
      */
-    public boolean endSeason() {
-        if (!isSeasonActive()) {
+    public synchronized boolean endSeason() {
+        Season activeSeason = this.activeSeason;
+        if (activeSeason == null) {
             return false; // Não há temporada ativa para fechar
         }
 
-        Optional<Season> activeSeasonOpt = getActiveSeason();
-        if (!activeSeasonOpt.isPresent()) {
-            return false;
-        }
-
-        Season activeSeason = activeSeasonOpt.get();
+        // Limpar antes de qualquer anúncio impede que a mesma temporada seja fechada duas vezes
+        setActiveSeason(null);
         FileConfiguration config = plugin.getConfig();
 
         LogUtils.info("Iniciando finalização da temporada: " + activeSeason.name);
@@ -219,8 +302,13 @@ public class SeasonManager {
         if (config.getBoolean("temporada.resetar_pontos", true)) {
             LogUtils.info("Iniciando reset completo da temporada...");
 
-            plugin.getDatabaseManager().getAdapter().resetAllClanPoints();
-            LogUtils.info("Pontos de todos os clãs resetados");
+            plugin.getPointsManager().resetAllClanPoints().thenAccept(success -> {
+                if (success) {
+                    LogUtils.info("Pontos de todos os clãs resetados");
+                } else {
+                    LogUtils.error("Falha ao resetar os pontos dos clãs no banco de dados - o ranking foi recarregado");
+                }
+            });
 
             if (plugin.getTagManager() != null) {
                 plugin.getTagManager().resetSeasonComplete();
@@ -248,15 +336,22 @@ public class SeasonManager {
 
         createSeasonArchiveFile(activeSeason, finalRanking, hasValidWinners);
 
-        boolean success = plugin.getDatabaseManager().getAdapter().endActiveSeason();
-
-        if (success) {
-            LogUtils.info("Temporada '" + activeSeason.name + "' finalizada com sucesso!");
-        } else {
-            LogUtils.error("Erro ao finalizar temporada no banco de dados");
-        }
+        // O vencedor já foi definido pelo anúncio a partir do ranking em memória, antes do reset dos pontos
+        activeSeason.active = false;
+        async().supply(adapter -> {
+            boolean ended = adapter.saveSeason(activeSeason);
+            seasonHistory = adapter.getSeasonHistory();
+            return ended;
+        }).whenComplete((success, error) -> {
+            if (error == null && Boolean.TRUE.equals(success)) {
+                publishSeasonChange(activeSeason, false);
+                LogUtils.info("Temporada '" + activeSeason.name + "' finalizada com sucesso!");
+            } else {
+                LogUtils.error("Erro ao finalizar temporada no banco de dados");
+            }
+        });
 
-        return success;
+        return true;
     }
 
     /**
@@ -265,7 +360,7 @@ public class SeasonManager {
      * @return Lista de temporadas anteriores
      */
     public List<Season> getSeasonHistory() {
-        return plugin.getDatabaseManager().getAdapter().getSeasonHistory();
+        return new ArrayList<>(seasonHistory);
     }
 
     /**
@@ -297,7 +392,7 @@ public class SeasonManager {
      * @return ClanPoints do clan na posição ou null se não encontrado
      */
     public hplugins.hliga.models.ClanPoints getClanAtPosition(int position) {
-        List<hplugins.hliga.models.ClanPoints> clans = plugin.getDatabaseManager().getAdapter().getTopClans(position);
+        List<hplugins.hliga.models.ClanPoints> clans = plugin.getPointsManager().getRankingIndex().getTop(position);
         if (!clans.isEmpty() && position > 0 && position <= clans.size()) {
             return clans.get(position - 1); // position é 1-based, list é 0-based
         }
@@ -340,7 +435,7 @@ public class SeasonManager {
 
         if (delayMillis <= 0) {
             LogUtils.debug("Temporada " + season.name + " já expirou! Finalizando...");
-            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            Bukkit.getScheduler().runTask(plugin, () -> {
                 endSeason();
                 plugin.getRewardManager().distributeRewards();
             });
@@ -426,7 +521,11 @@ public class SeasonManager {
      * @return Temporada encontrada ou Optional vazio
      */
     public Optional<Season> getSeason(int id) {
-        return plugin.getDatabaseManager().getAdapter().getSeason(id);
+        Season current = activeSeason;
+        if (current != null && current.id == id) {
+            return Optional.of(current);
+        }
+        return seasonHistory.stream().filter(season -> season.id == id).findFirst();
     }
 
     /**
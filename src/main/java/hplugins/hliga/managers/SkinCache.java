@@ -0,0 +1,193 @@
+package hplugins.hliga.managers;
+
+import hplugins.hliga.Main;
+import hplugins.hliga.models.SkinTexture;
+import hplugins.hliga.utils.LogUtils;
+import lombok.Getter;
+import lombok.Setter;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.IllegalPluginAccessException;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Cache persistente das skins usadas pelos NPCs do ranking (arquivo skins.yml)
+ *
+ * As texturas são resolvidas fora da thread principal e guardadas por nome de jogador; a thread principal
+ * só lê o que já está no cache. Texturas vencidas continuam sendo usadas enquanto são atualizadas.
+ */
+public class SkinCache {
+
+    /** Tempo até tentar de novo um jogador que não foi encontrado ou cuja consulta falhou */
+    private static final long MISS_RETRY_MILLIS = 10 * 60 * 1000L;
+
+    private final Main plugin;
+    private final File file;
+    private final long ttlMillis;
+    private final Map<String, SkinTexture> textures = new ConcurrentHashMap<>();
+    private final Map<String, Long> misses = new ConcurrentHashMap<>();
+    private final Set<String> resolving = ConcurrentHashMap.newKeySet();
+    private final Object saveLock = new Object();
+
+    /** Consulta usada para resolver as skins (substituível, por exemplo, para testes sem rede) */
+    @Getter
+    @Setter
+    private volatile SkinResolver resolver;
+
+    /**
+     * @param plugin Instância do plugin
+     * @param resolver Consulta usada para resolver as skins
+     * @param ttlMillis Validade de cada textura em milissegundos
+     */
+    public SkinCache(Main plugin, SkinResolver resolver, long ttlMillis) {
+        this.plugin = plugin;
+        this.resolver = resolver;
+        this.ttlMillis = ttlMillis;
+        this.file = new File(plugin.getDataFolder(), "skins.yml");
+
+        load();
+    }
+
+    /**
+     * Obtém a textura em cache de um jogador, mesmo que vencida
+     *
+     * @param playerName Nome do jogador
+     * @return Textura ou null se ainda não foi resolvida
+     */
+    public SkinTexture get(String playerName) {
+        return playerName != null ? textures.get(key(playerName)) : null;
+    }
+
+    /**
+     * Resolve em segundo plano as skins ausentes ou vencidas
+     * Jogadores já em resolução ou não encontrados recentemente são ignorados.
+     *
+     * @param playerNames Nomes dos jogadores
+     * @param onResolved Chamado na thread principal com os nomes (em minúsculas) que tiveram a textura atualizada
+     */
+    public void prewarm(Collection<String> playerNames, Consumer<Set<String>> onResolved) {
+        long now = System.currentTimeMillis();
+        Set<String> pending = new LinkedHashSet<>();
+        for (String playerName : playerNames) {
+            if (playerName == null || playerName.isEmpty()) {
+                continue;
+            }
+
+            String key = key(playerName);
+            SkinTexture texture = textures.get(key);
+            if (texture != null && !texture.isExpired(ttlMillis)) {
+                continue;
+            }
+            Long missedAt = misses.get(key);
+            if (missedAt != null && now - missedAt < MISS_RETRY_MILLIS) {
+                continue;
+            }
+            if (resolving.add(key)) {
+                pending.add(key);
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        try {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> resolveAll(pending, onResolved));
+        } catch (IllegalPluginAccessException e) {
+            // Plugin sendo desativado
+            resolving.removeAll(pending);
+        }
+    }
+
+    private void resolveAll(Set<String> pending, Consumer<Set<String>> onResolved) {
+        Set<String> resolved = new LinkedHashSet<>();
+        try {
+            for (String key : pending) {
+                try {
+                    SkinTexture texture = resolver.resolve(key);
+                    if (texture != null) {
+                        textures.put(key, texture);
+                        misses.remove(key);
+                        resolved.add(key);
+                    } else {
+                        misses.put(key, System.currentTimeMillis());
+                        LogUtils.debug("Skin de " + key + " não encontrada");
+                    }
+                } catch (Exception e) {
+                    misses.put(key, System.currentTimeMillis());
+                    LogUtils.debug("Erro ao resolver skin de " + key + ": " + e.getMessage());
+                }
+            }
+        } finally {
+            resolving.removeAll(pending);
+        }
+
+        if (resolved.isEmpty()) {
+            return;
+        }
+
+        save();
+        LogUtils.debug("Skins resolvidas: " + resolved);
+
+        if (onResolved != null) {
+            try {
+                Bukkit.getScheduler().runTask(plugin, () -> onResolved.accept(resolved));
+            } catch (IllegalPluginAccessException ignored) {
+                // Plugin sendo desativado
+            }
+        }
+    }
+
+    private void load() {
+        if (!file.exists()) {
+            return;
+        }
+
+        ConfigurationSection section = YamlConfiguration.loadConfiguration(file).getConfigurationSection("skins");
+        if (section == null) {
+            return;
+        }
+
+        for (String name : section.getKeys(false)) {
+            String value = section.getString(name + ".value");
+            String signature = section.getString(name + ".signature");
+            if (value != null && signature != null) {
+                textures.put(key(name), new SkinTexture(value, signature, section.getLong(name + ".obtido_em")));
+            }
+        }
+        LogUtils.debug("Cache de skins carregado: " + textures.size() + " jogadores");
+    }
+
+    private void save() {
+        Map<String, SkinTexture> snapshot = new HashMap<>(textures);
+        synchronized (saveLock) {
+            YamlConfiguration config = new YamlConfiguration();
+            for (Map.Entry<String, SkinTexture> entry : snapshot.entrySet()) {
+                String path = "skins." + entry.getKey();
+                config.set(path + ".value", entry.getValue().getValue());
+                config.set(path + ".signature", entry.getValue().getSignature());
+                config.set(path + ".obtido_em", entry.getValue().getFetchedAt());
+            }
+
+            try {
+                config.save(file);
+            } catch (Exception e) {
+                LogUtils.error("Erro ao salvar skins.yml: " + e.getMessage());
+            }
+        }
+    }
+
+    private static String key(String playerName) {
+        return playerName.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,20 @@
+package hplugins.hliga.managers;
+
+import hplugins.hliga.models.SkinTexture;
+
+/**
+ * Obtém a textura da skin de um jogador
+ * Chamado sempre fora da thread principal pelo {@link SkinCache}
+ */
+@FunctionalInterface
+public interface SkinResolver {
+
+    /**
+     * Resolve a skin de um jogador
+     *
+     * @param playerName Nome do jogador
+     * @return Textura encontrada ou null se o jogador não existir
+     * @throws Exception Se a consulta falhar (a tentativa é repetida mais tarde)
+     */
+    SkinTexture resolve(String playerName) throws Exception;
+}
@@ -1,6 +1,8 @@
 package hplugins.hliga.managers;
 
 import hplugins.hliga.Main;
+import hplugins.hliga.database.AsyncDatabaseAdapter;
+import hplugins.hliga.database.RedisSyncChannel;
 import hplugins.hliga.models.ClanPoints;
 import hplugins.hliga.models.GenericClan;
 import hplugins.hliga.models.PlayerTag;
@@ -11,22 +13,37 @@ import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Gerenciador do sistema de tags
  * Compatível com todas as versões do Minecraft
+ *
+ * As tags e preferências dos jogadores online ficam em cache, carregadas fora da thread principal
+ * na entrada do jogador. Placeholders e nametags nunca consultam o banco de dados.
  */
-public class TagManager {
+public class TagManager implements Listener {
 
     private final Main plugin;
     private FileConfiguration tagsConfig;
     private BukkitTask updateTask;
 
     private final Map<UUID, List<PlayerTag>> playerTagsCache = new ConcurrentHashMap<>();
+    private final Map<UUID, Boolean> tagPreferences = new ConcurrentHashMap<>();
+    /** Carregamento em andamento de cada jogador; um carregamento substituído por outro mais novo é descartado */
+    private final Map<UUID, LoadTicket> pendingLoads = new ConcurrentHashMap<>();
+    private final AtomicBoolean rankingUpdateRunning = new AtomicBoolean(false);
+    private final AtomicBoolean rankingUpdatePending = new AtomicBoolean(false);
+    /** Último top aplicado (clã -> posição premiada) ou null se precisar ser comparado com o banco */
+    private volatile Map<String, RankingSlot> appliedRanking;
 
     public TagManager(Main plugin) {
         this.plugin = plugin;
@@ -34,6 +51,167 @@ public class TagManager {
         if (isSystemEnabled()) {
             startAutoUpdate();
         }
+
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        loadPlayer(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        UUID playerUuid = event.getPlayer().getUniqueId();
+        pendingLoads.remove(playerUuid);
+        playerTagsCache.remove(playerUuid);
+        tagPreferences.remove(playerUuid);
+    }
+
+    /**
+     * Carrega as tags e a preferência de um jogador fora da thread principal
+     * O resultado entra no cache na thread principal (ver {@link #applyLoadedPlayer}).
+     *
+     * @param playerUuid UUID do jogador
+     */
+    private void loadPlayer(UUID playerUuid) {
+        LoadTicket ticket = new LoadTicket();
+        pendingLoads.put(playerUuid, ticket);
+
+        async().supply(adapter -> new LoadedPlayer(adapter.getPlayerTags(playerUuid), adapter.getPlayerTagPreference(playerUuid)))
+                .thenAcceptAsync(loaded -> applyLoadedPlayer(playerUuid, ticket, loaded), async().mainThread())
+                .exceptionally(error -> {
+                    pendingLoads.remove(playerUuid, ticket);
+                    LogUtils.warning("Erro ao carregar tags do jogador " + playerUuid, error);
+                    return null;
+                });
+    }
+
+    /**
+     * Coloca no cache as tags carregadas de um jogador
+     *
+     * O resultado é descartado se o jogador saiu ou se um carregamento mais novo foi iniciado. Se as tags
+     * em cache mudaram durante a consulta, o jogador é carregado de novo para não sobrescrever a alteração.
+     * A preferência em cache só muda pelos comandos do próprio jogador, então não é sobrescrita.
+     */
+    private void applyLoadedPlayer(UUID playerUuid, LoadTicket ticket, LoadedPlayer loaded) {
+        if (!pendingLoads.remove(playerUuid, ticket) || Bukkit.getPlayer(playerUuid) == null) {
+            return;
+        }
+        if (ticket.stale) {
+            loadPlayer(playerUuid);
+            return;
+        }
+
+        playerTagsCache.put(playerUuid, Collections.unmodifiableList(new ArrayList<>(loaded.tags)));
+        tagPreferences.putIfAbsent(playerUuid, loaded.tagsEnabled);
+        LogUtils.debug("Tags carregadas para jogador " + playerUuid + ": " + loaded.tags.size());
+        refreshNametag(playerUuid);
+    }
+
+    /**
+     * Marca o carregamento em andamento de um jogador como desatualizado
+     */
+    private void invalidateLoad(UUID playerUuid) {
+        LoadTicket ticket = pendingLoads.get(playerUuid);
+        if (ticket != null) {
+            ticket.stale = true;
+        }
+    }
+
+    /**
+     * Recarrega do banco as tags de todos os jogadores online
+     * Usado quando outro servidor avisa que alterou as tags
+     */
+    public void reloadOnlinePlayers() {
+        appliedRanking = null;
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            loadPlayer(player.getUniqueId());
+        }
+    }
+
+    private void publishTagsChanged() {
+        RedisSyncChannel sync = plugin.getDatabaseManager().getSyncChannel();
+        if (sync != null) {
+            sync.publishTags();
+        }
+    }
+
+    private void refreshNametag(UUID playerUuid) {
+        Player player = Bukkit.getPlayer(playerUuid);
+        if (player != null && plugin.getNametagManager() != null) {
+            plugin.getNametagManager().updatePlayerNametag(player);
+        }
+    }
+
+    private AsyncDatabaseAdapter async() {
+        return plugin.getDatabaseManager().getAsync();
+    }
+
+    /**
+     * Substitui as tags de um tipo no cache de um jogador
+     * Jogadores fora do cache (offline ou ainda carregando) não entram nele.
+     */
+    private void putCachedTag(PlayerTag tag, boolean replaceSameType) {
+        invalidateLoad(tag.getPlayerUuid());
+        playerTagsCache.computeIfPresent(tag.getPlayerUuid(), (uuid, current) -> {
+            List<PlayerTag> tags = new ArrayList<>(current);
+            if (replaceSameType) {
+                tags.removeIf(t -> t.getTagType() == tag.getTagType());
+            }
+            tags.add(tag);
+            return Collections.unmodifiableList(tags);
+        });
+    }
+
+    /**
+     * Remove as tags de ranking de todos os jogadores do cache
+     */
+    private void removeCachedRankingTags() {
+        for (LoadTicket ticket : pendingLoads.values()) {
+            ticket.stale = true;
+        }
+        playerTagsCache.replaceAll((uuid, tags) -> {
+            if (tags.stream().noneMatch(PlayerTag::isRankingTag)) {
+                return tags;
+            }
+            List<PlayerTag> filtered = new ArrayList<>(tags);
+            filtered.removeIf(PlayerTag::isRankingTag);
+            return Collections.unmodifiableList(filtered);
+        });
+    }
+
+    /**
+     * Remove as tags de ranking de um jogador do cache
+     */
+    private void removeCachedRankingTag(UUID playerUuid) {
+        invalidateLoad(playerUuid);
+        playerTagsCache.computeIfPresent(playerUuid, (uuid, tags) -> {
+            if (tags.stream().noneMatch(PlayerTag::isRankingTag)) {
+                return tags;
+            }
+            List<PlayerTag> filtered = new ArrayList<>(tags);
+            filtered.removeIf(PlayerTag::isRankingTag);
+            return Collections.unmodifiableList(filtered);
+        });
+    }
+
+    /**
+     * Obtém do cache a tag mais recente de um tipo
+     */
+    private Optional<PlayerTag> getCachedTag(UUID playerUuid, TagType tagType) {
+        List<PlayerTag> tags = playerTagsCache.get(playerUuid);
+        if (tags == null) {
+            return Optional.empty();
+        }
+
+        PlayerTag latest = null;
+        for (PlayerTag tag : tags) {
+            if (tag.getTagType() == tagType && (latest == null || tag.getObtainedDate() > latest.getObtainedDate())) {
+                latest = tag;
+            }
+        }
+        return Optional.ofNullable(latest);
     }
 
     /**
@@ -47,6 +225,7 @@ public class TagManager {
         }
 
         playerTagsCache.clear();
+        reloadOnlinePlayers();
         LogUtils.debug("Configuração de tags carregada.");
     }
 
@@ -97,12 +276,23 @@ public class TagManager {
     /**
      * Atualiza as tags de ranking baseadas na posição atual dos clãs
      * APENAS durante temporada ativa - NUNCA após reset
+     *
+     * O último top aplicado fica em memória e é comparado com o ranking atual: apenas os membros de clãs
+     * que mudaram de posição, entraram ou saíram do top (ou que entraram/saíram desses clãs) são gravados,
+     * em uma única operação fora da thread principal. Chamadas feitas durante uma atualização em andamento
+     * são agrupadas em uma única nova execução.
      */
     public void updateRankingTags() {
         if (!isSystemEnabled()) {
             return;
         }
 
+        if (!rankingUpdateRunning.compareAndSet(false, true)) {
+            rankingUpdatePending.set(true);
+            return;
+        }
+
+        boolean started = false;
         try {
             String modo = tagsConfig.getString("sistema.modo", "normal").toLowerCase();
 
@@ -119,269 +309,319 @@ public class TagManager {
                 }
             }
 
-            List<ClanPoints> topClans = plugin.getPointsManager().getTopClans(5);
-            boolean hasActiveClans = topClans.stream().anyMatch(clan -> clan.getPoints() > 0);
-
-            boolean needsUpdate = checkIfTagsNeedUpdate(topClans);
-            if (!needsUpdate) {
-                LogUtils.debug("Tags já estão atualizadas - não é necessário modificar");
-                return;
-            }
+            Map<String, RankingSlot> newRanking = buildRankingSlots(plugin.getPointsManager().getTopClans(5));
+            Map<String, RankingSlot> previousRanking = appliedRanking;
 
-            if (!hasActiveClans) {
-                List<PlayerTag> existingTags = plugin.getDatabaseManager().getAdapter().getTagsByType(TagType.RANKING);
-                if (!existingTags.isEmpty()) {
-                    LogUtils.debug("Removendo tags de ranking - nenhum clã com pontos");
-                    clearRankingTags();
+            if (previousRanking != null) {
+                RankingDiff diff = diffRanking(previousRanking, newRanking);
+                if (diff.isEmpty()) {
+                    LogUtils.debug("Tags já estão atualizadas - não é necessário modificar");
+                    return;
                 }
-                return;
+                applyRankingDiff(newRanking, diff, modo);
+            } else {
+                // Sem top aplicado em memória (início, recarga ou alteração remota): compara com o banco
+                async().supply(adapter -> diffAgainstStored(adapter.getTagsByType(TagType.RANKING), newRanking))
+                        .whenCompleteAsync((diff, error) -> {
+                            if (error != null) {
+                                LogUtils.error("Erro ao atualizar tags de ranking: " + error.getMessage());
+                                finishRankingUpdate();
+                            } else if (diff.isEmpty()) {
+                                appliedRanking = newRanking;
+                                LogUtils.debug("Tags já estão atualizadas - não é necessário modificar");
+                                finishRankingUpdate();
+                            } else {
+                                applyRankingDiff(newRanking, diff, modo);
+                            }
+                        }, async().mainThread());
             }
+            started = true;
 
-            LogUtils.debug("Modo " + modo + ": Atualizando tags de ranking");
-
-            clearRankingTags();
+        } catch (Exception e) {
+            LogUtils.error("Erro ao atualizar tags de ranking: " + e.getMessage());
+        } finally {
+            if (!started) {
+                rankingUpdateRunning.set(false);
+            }
+        }
+    }
 
-            for (int i = 0; i < topClans.size(); i++) {
-                int position = i + 1;
-                ClanPoints clanPoints = topClans.get(i);
-                String clanTag = clanPoints.getClanTag();
+    /**
+     * Grava as alterações de tags de ranking e atualiza o cache dos jogadores afetados
+     * Sempre finaliza a atualização em andamento
+     */
+    private void applyRankingDiff(Map<String, RankingSlot> newRanking, RankingDiff diff, String modo) {
+        LogUtils.debug("Modo " + modo + ": Atualizando tags de ranking (" + diff.added.size() + " novas, " + diff.removed.size() + " removidas)");
 
-                if (clanPoints.getPoints() <= 0) {
-                    continue;
+        async().replaceRankingTags(diff.removed, diff.added).whenCompleteAsync((success, error) -> {
+            try {
+                if (error != null || !Boolean.TRUE.equals(success)) {
+                    appliedRanking = null;
+                    LogUtils.error("Erro ao atualizar tags de ranking: " + (error != null ? error.getMessage() : "falha no banco de dados"));
+                    return;
                 }
 
-                GenericClan clan = plugin.getClansManager().getClanByTag(clanTag);
-                if (clan == null) {
-                    continue;
+                appliedRanking = newRanking;
+                for (UUID playerUuid : diff.removed) {
+                    removeCachedRankingTag(playerUuid);
                 }
-
-                String tagFormat = tagsConfig.getString("tags_ranking." + position);
-                if (tagFormat == null) {
-                    continue;
+                for (PlayerTag tag : diff.added) {
+                    putCachedTag(tag, true);
                 }
-
-                List<UUID> allMembers = plugin.getClansManager().getClanMembers(clanTag);
-                for (UUID memberUuid : allMembers) {
-                    setRankingTag(memberUuid, position, tagFormat);
+                for (UUID playerUuid : diff.affectedPlayers()) {
+                    refreshNametag(playerUuid);
                 }
 
-                LogUtils.debug("Tag aplicada ao clã " + clanTag + " (posição " + position + ") - " + allMembers.size() + " membros");
+                LogUtils.debug("Tags de ranking atualizadas para " + newRanking.size() + " clãs (" + diff.added.size() + " jogadores)");
+                publishTagsChanged();
+            } finally {
+                finishRankingUpdate();
             }
+        }, async().mainThread());
+    }
 
-            LogUtils.debug("Tags de ranking atualizadas para " + topClans.size() + " clãs");
-
-        } catch (Exception e) {
-            LogUtils.error("Erro ao atualizar tags de ranking: " + e.getMessage());
+    private void finishRankingUpdate() {
+        rankingUpdateRunning.set(false);
+        if (rankingUpdatePending.getAndSet(false)) {
+            updateRankingTags();
         }
     }
 
     /**
-     * Verifica se as tags precisam ser atualizadas
+     * Monta o top atual com a posição, a tag formatada e os membros de cada clã premiado
      */
-    private boolean checkIfTagsNeedUpdate(List<ClanPoints> currentTopClans) {
-        try {
-            List<PlayerTag> currentTags = plugin.getDatabaseManager().getAdapter().getTagsByType(TagType.RANKING);
-
-            if (currentTags.isEmpty() && !currentTopClans.isEmpty()) {
-                return true;
+    private Map<String, RankingSlot> buildRankingSlots(List<ClanPoints> topClans) {
+        Map<String, RankingSlot> slots = new HashMap<>();
+        for (int i = 0; i < topClans.size(); i++) {
+            int position = i + 1;
+            ClanPoints clanPoints = topClans.get(i);
+            String clanTag = clanPoints.getClanTag();
+
+            if (clanPoints.getPoints() <= 0) {
+                continue;
             }
 
-            if (!currentTags.isEmpty() && currentTopClans.isEmpty()) {
-                return true;
+            GenericClan clan = plugin.getClansManager().getClanByTag(clanTag);
+            if (clan == null) {
+                continue;
             }
 
-            Set<String> currentTaggedClans = new HashSet<>();
-            for (PlayerTag tag : currentTags) {
-                try {
-                    UUID playerUuid = tag.getPlayerUuid();
-                    Player player = Bukkit.getPlayer(playerUuid);
-                    if (player != null && player.isOnline()) {
-                        String clanTag = plugin.getClansManager().getPlayerClanTag(player);
-                        if (clanTag != null) {
-                            currentTaggedClans.add(clanTag);
-                        }
-                    }
-                } catch (Exception e) {
-                }
+            String tagFormat = tagsConfig.getString("tags_ranking." + position);
+            if (tagFormat == null) {
+                continue;
             }
 
-            Set<String> newTopClans = new HashSet<>();
-            for (ClanPoints clanPoints : currentTopClans) {
-                if (clanPoints.getPoints() > 0) {
-                    newTopClans.add(clanPoints.getClanTag());
-                }
-            }
-
-            return !currentTaggedClans.equals(newTopClans);
-
-        } catch (Exception e) {
-            LogUtils.debug("Erro ao verificar necessidade de atualização: " + e.getMessage());
-            return true; // Em caso de erro, atualizar para garantir
+            String formattedTag = ChatColor.translateAlternateColorCodes('&', tagFormat);
+            Set<UUID> members = new HashSet<>(plugin.getClansManager().getClanMembers(clanTag));
+            slots.put(clanTag, new RankingSlot(position, formattedTag, members));
         }
+        return slots;
     }
 
     /**
-     * Remove todas as tags de ranking
+     * Compara o top aplicado anteriormente com o top atual
+     * Clãs que mantiveram posição e tag só geram alterações para membros que entraram ou saíram
      */
-    public void clearRankingTags() {
-        try {
-            LogUtils.info("Removendo todas as tags de ranking...");
+    private RankingDiff diffRanking(Map<String, RankingSlot> previous, Map<String, RankingSlot> current) {
+        RankingDiff diff = new RankingDiff();
 
-            boolean success = plugin.getDatabaseManager().getAdapter().removeAllRankingTags();
+        for (Map.Entry<String, RankingSlot> entry : current.entrySet()) {
+            RankingSlot slot = entry.getValue();
+            RankingSlot old = previous.get(entry.getKey());
 
-            if (success) {
-                LogUtils.info("✓ Tags de ranking removidas do banco de dados");
-
-                playerTagsCache.clear();
-                LogUtils.info("✓ Cache de tags limpo");
+            if (old == null || !old.sameTag(slot)) {
+                for (UUID memberUuid : slot.members) {
+                    diff.add(slot.createTag(memberUuid));
+                }
+                if (old != null) {
+                    diff.removeAll(old.members);
+                }
+                continue;
+            }
 
-                for (org.bukkit.entity.Player onlinePlayer : org.bukkit.Bukkit.getOnlinePlayers()) {
-                    try {
-                        UUID playerUuid = onlinePlayer.getUniqueId();
+            for (UUID memberUuid : slot.members) {
+                if (!old.members.contains(memberUuid)) {
+                    diff.add(slot.createTag(memberUuid));
+                }
+            }
+            for (UUID memberUuid : old.members) {
+                if (!slot.members.contains(memberUuid)) {
+                    diff.remove(memberUuid);
+                }
+            }
+        }
 
-                        String currentTag = getPlayerRankingTag(playerUuid);
-                        if (currentTag.isEmpty()) {
-                            LogUtils.debug("✓ Tag de ranking removida para: " + onlinePlayer.getName());
-                        } else {
-                            LogUtils.warning("Tag ainda presente para: " + onlinePlayer.getName() + " (" + currentTag + ")");
-                        }
+        for (Map.Entry<String, RankingSlot> entry : previous.entrySet()) {
+            if (!current.containsKey(entry.getKey())) {
+                diff.removeAll(entry.getValue().members);
+            }
+        }
 
-                    } catch (Exception e) {
-                        LogUtils.debug("Erro ao verificar tag para " + onlinePlayer.getName() + ": " + e.getMessage());
-                    }
-                }
+        diff.removed.removeAll(diff.addedPlayers);
+        return diff;
+    }
 
-                LogUtils.info("✅ Todas as tags de ranking foram removidas com sucesso");
+    /**
+     * Compara as tags de ranking gravadas no banco com o top atual
+     * Usado quando não há um top aplicado em memória
+     */
+    private RankingDiff diffAgainstStored(List<PlayerTag> storedTags, Map<String, RankingSlot> current) {
+        Map<UUID, PlayerTag> stored = new HashMap<>();
+        for (PlayerTag tag : storedTags) {
+            stored.put(tag.getPlayerUuid(), tag);
+        }
 
-            } else {
-                LogUtils.error("❌ Falha ao remover tags de ranking no banco de dados");
+        RankingDiff diff = new RankingDiff();
+        for (RankingSlot slot : current.values()) {
+            for (UUID memberUuid : slot.members) {
+                PlayerTag existing = stored.remove(memberUuid);
+                if (existing == null || existing.getPosition() != slot.position
+                        || !slot.formattedTag.equals(existing.getFormattedTag())) {
+                    diff.add(slot.createTag(memberUuid));
+                }
             }
-        } catch (Exception e) {
-            LogUtils.error("Erro ao remover tags de ranking: " + e.getMessage());
         }
+        diff.removeAll(stored.keySet());
+        diff.removed.removeAll(diff.addedPlayers);
+        return diff;
     }
 
     /**
-     * Reset completo do sistema quando a temporada finaliza
-     * Remove todas as tags temporárias e atualiza nametags
+     * Posição premiada de um clã no último top aplicado
      */
-    public void resetSeasonComplete() {
-        try {
-            LogUtils.info("Iniciando reset completo do sistema de tags...");
-
-            playerTagsCache.clear();
-            LogUtils.info("✓ Cache de tags limpo ANTES da remoção");
+    private static final class RankingSlot {
+        final int position;
+        final String formattedTag;
+        final Set<UUID> members;
+
+        RankingSlot(int position, String formattedTag, Set<UUID> members) {
+            this.position = position;
+            this.formattedTag = formattedTag;
+            this.members = members;
+        }
 
-            boolean success = plugin.getDatabaseManager().getAdapter().removeAllRankingTags();
+        boolean sameTag(RankingSlot other) {
+            return position == other.position && formattedTag.equals(other.formattedTag);
+        }
 
-            if (success) {
-                LogUtils.info("✓ Tags de ranking removidas do banco de dados");
-            } else {
-                LogUtils.warning("✗ Falha ao remover tags de ranking do banco de dados");
-            }
+        PlayerTag createTag(UUID memberUuid) {
+            return new PlayerTag(memberUuid, position, formattedTag, "TOP" + position);
+        }
+    }
 
-            playerTagsCache.clear();
-            LogUtils.info("✓ Cache de tags limpo APÓS a remoção");
+    /**
+     * Carregamento de um jogador; marcado como desatualizado se as tags em cache mudarem durante a consulta
+     */
+    private static final class LoadTicket {
+        volatile boolean stale;
+    }
 
-            // Isso garante que plugins usando %hliga_tag% vejam as mudanças imediatamente
-            for (org.bukkit.entity.Player onlinePlayer : org.bukkit.Bukkit.getOnlinePlayers()) {
-                try {
-                    UUID playerUuid = onlinePlayer.getUniqueId();
+    /**
+     * Tags e preferência lidas do banco para um jogador
+     */
+    private static final class LoadedPlayer {
+        final List<PlayerTag> tags;
+        final boolean tagsEnabled;
 
-                    List<PlayerTag> playerTags = playerTagsCache.get(playerUuid);
-                    if (playerTags != null) {
-                        playerTags.removeIf(tag -> tag.getTagType() == TagType.RANKING);
-                        if (playerTags.isEmpty()) {
-                            playerTagsCache.remove(playerUuid);
-                        }
-                    }
+        LoadedPlayer(List<PlayerTag> tags, boolean tagsEnabled) {
+            this.tags = tags;
+            this.tagsEnabled = tagsEnabled;
+        }
+    }
 
-                    try {
-                        java.util.Optional<PlayerTag> rankingTagFromDB = plugin.getDatabaseManager().getAdapter().getActivePlayerTag(playerUuid, TagType.RANKING);
+    /**
+     * Alterações de tags de ranking a serem gravadas
+     */
+    private static final class RankingDiff {
+        final List<PlayerTag> added = new ArrayList<>();
+        final Set<UUID> addedPlayers = new HashSet<>();
+        final Set<UUID> removed = new HashSet<>();
+
+        void add(PlayerTag tag) {
+            if (addedPlayers.add(tag.getPlayerUuid())) {
+                added.add(tag);
+            }
+        }
 
-                        if (rankingTagFromDB.isPresent()) {
-                            LogUtils.warning("Tag de ranking ainda encontrada no banco para " + onlinePlayer.getName() + " - removendo forçadamente");
-                            plugin.getDatabaseManager().getAdapter().removePlayerTag(playerUuid, "RANKING", rankingTagFromDB.get().getPosition());
-                        }
+        void remove(UUID playerUuid) {
+            removed.add(playerUuid);
+        }
 
-                        String currentTag = getPlayerActiveTag(playerUuid);
-                        if (currentTag.isEmpty()) {
-                            LogUtils.debug("✓ Tag removida com sucesso para jogador: " + onlinePlayer.getName());
-                        } else {
-                            LogUtils.debug("→ Jogador " + onlinePlayer.getName() + " mantém tag permanente: " + currentTag);
-                        }
+        void removeAll(Collection<UUID> playerUuids) {
+            removed.addAll(playerUuids);
+        }
 
-                    } catch (Exception e) {
-                        LogUtils.debug("Erro ao verificar tag para " + onlinePlayer.getName() + ": " + e.getMessage());
-                    }
+        boolean isEmpty() {
+            return added.isEmpty() && removed.isEmpty();
+        }
 
-                } catch (Exception e) {
-                    LogUtils.debug("Erro ao limpar cache para jogador " + onlinePlayer.getName() + ": " + e.getMessage());
-                }
-            }
+        Set<UUID> affectedPlayers() {
+            Set<UUID> affected = new HashSet<>(removed);
+            affected.addAll(addedPlayers);
+            return affected;
+        }
+    }
 
-            LogUtils.info("=== EXECUTANDO LIMPEZA TOTAL DE TAGS DE RANKING ===");
+    /**
+     * Remove todas as tags de ranking
+     */
+    public void clearRankingTags() {
+        LogUtils.info("Removendo todas as tags de ranking...");
 
-            try {
-                boolean tagsRemoved = plugin.getDatabaseManager().getAdapter().removeAllRankingTags();
-                if (tagsRemoved) {
-                    LogUtils.info("✅ Tags de ranking removidas diretamente do banco de dados");
-                } else {
-                    LogUtils.warning("❌ Falha ao remover tags de ranking do banco");
-                }
-            } catch (Exception e) {
-                LogUtils.warning("Erro ao remover tags do banco: " + e.getMessage());
-            }
+        removeCachedRankingTags();
+        appliedRanking = Collections.emptyMap();
+        LogUtils.info("✓ Cache de tags limpo");
 
-            if (playerTagsCache != null) {
-                playerTagsCache.clear();
-                LogUtils.info("✅ Cache interno de tags completamente limpo");
+        async().removeAllRankingTags().whenComplete((success, error) -> {
+            if (error == null && Boolean.TRUE.equals(success)) {
+                publishTagsChanged();
+                LogUtils.info("✅ Todas as tags de ranking foram removidas com sucesso");
+            } else {
+                appliedRanking = null;
+                LogUtils.error("❌ Falha ao remover tags de ranking no banco de dados");
             }
+        });
+    }
 
-            org.bukkit.Bukkit.getScheduler().runTask(plugin, () -> {
-                try {
-                    LogUtils.info("Forçando limpeza completa do PlaceholderAPI...");
+    /**
+     * Reset completo do sistema quando a temporada finaliza
+     * Remove todas as tags temporárias e atualiza nametags
+     */
+    public void resetSeasonComplete() {
+        try {
+            LogUtils.info("Iniciando reset completo do sistema de tags...");
 
-                    for (org.bukkit.entity.Player onlinePlayer : org.bukkit.Bukkit.getOnlinePlayers()) {
-                        try {
-                            String playerName = onlinePlayer.getName();
-                            UUID uuid = onlinePlayer.getUniqueId();
+            removeCachedRankingTags();
+            appliedRanking = Collections.emptyMap();
+            LogUtils.info("✓ Tags de ranking removidas do cache");
 
-                            try {
-                                java.util.Optional<PlayerTag> checkRanking = plugin.getDatabaseManager().getAdapter().getActivePlayerTag(uuid, TagType.RANKING);
-                                if (checkRanking.isPresent()) {
-                                    LogUtils.warning("ALERTA: Tag de ranking ainda encontrada para " + playerName + " - removendo forçadamente");
-                                    plugin.getDatabaseManager().getAdapter().removePlayerTag(uuid, "RANKING", checkRanking.get().getPosition());
-                                }
-                            } catch (Exception e) {
-                                LogUtils.debug("Erro ao verificar tag para " + playerName + ": " + e.getMessage());
-                            }
-
-                            onlinePlayer.recalculatePermissions();
+            async().sync(async().removeAllRankingTags(), success -> {
+                if (Boolean.TRUE.equals(success)) {
+                    publishTagsChanged();
+                    LogUtils.info("✓ Tags de ranking removidas do banco de dados");
+                } else {
+                    appliedRanking = null;
+                    LogUtils.warning("✗ Falha ao remover tags de ranking do banco de dados");
+                }
 
-                            org.bukkit.Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                                String finalTag = getPlayerActiveTag(uuid);
-                                if (finalTag.isEmpty()) {
-                                    LogUtils.info("✅ " + playerName + " - Tag de ranking removida completamente");
-                                } else {
-                                    LogUtils.info("→ " + playerName + " - Mantém tag permanente: " + finalTag);
-                                }
-                            }, 3L);
+                // Isso garante que plugins usando %hliga_tag% vejam as mudanças imediatamente
+                for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
+                    onlinePlayer.recalculatePermissions();
+                    refreshNametag(onlinePlayer.getUniqueId());
 
-                        } catch (Exception e) {
-                            LogUtils.debug("Erro ao processar jogador " + onlinePlayer.getName() + ": " + e.getMessage());
-                        }
+                    String finalTag = getPlayerActiveTag(onlinePlayer.getUniqueId());
+                    if (finalTag.isEmpty()) {
+                        LogUtils.debug("✓ Tag removida com sucesso para jogador: " + onlinePlayer.getName());
+                    } else {
+                        LogUtils.debug("→ Jogador " + onlinePlayer.getName() + " mantém tag permanente: " + finalTag);
                     }
-
-                    LogUtils.info("✅ Limpeza de tags finalizada - PlaceholderAPI atualizado");
-
-                } catch (Exception e) {
-                    LogUtils.warning("Erro durante limpeza do PlaceholderAPI: " + e.getMessage());
                 }
+
+                LogUtils.info("✅ Limpeza de tags finalizada - PlaceholderAPI atualizado");
             });
 
             if (plugin.getNpcManager() != null) {
-                org.bukkit.Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                Bukkit.getScheduler().runTaskLater(plugin, () -> {
                     plugin.getNpcManager().resetAllNPCsToDefault();
                     LogUtils.info("✓ NPCs resetados para configuração padrão");
                 }, 40L); // 2 segundos de delay para garantir que tudo seja processado
@@ -395,32 +635,6 @@ public class TagManager {
         }
     }
 
-    /**
-     * Define uma tag de ranking para um jogador
-     */
-    private void setRankingTag(UUID playerUuid, int position, String tagFormat) {
-        try {
-            String formattedTag = ChatColor.translateAlternateColorCodes('&', tagFormat);
-            PlayerTag tag = new PlayerTag(playerUuid, position, formattedTag, "TOP" + position);
-
-            boolean success = plugin.getDatabaseManager().getAdapter().savePlayerTag(tag);
-
-            if (success) {
-                List<PlayerTag> playerTags = playerTagsCache.computeIfAbsent(playerUuid, k -> new ArrayList<>());
-                playerTags.removeIf(t -> t.getTagType() == TagType.RANKING);
-                playerTags.add(tag);
-                LogUtils.debug("Tag de ranking definida para jogador na posição " + position);
-            } else {
-                LogUtils.warning("Falha ao salvar tag de ranking no banco de dados - usando apenas cache temporário");
-                List<PlayerTag> playerTags = playerTagsCache.computeIfAbsent(playerUuid, k -> new ArrayList<>());
-                playerTags.removeIf(t -> t.getTagType() == TagType.RANKING);
-                playerTags.add(tag);
-            }
-        } catch (Exception e) {
-            LogUtils.warning("Erro ao definir tag de ranking - operação ignorada: " + e.getMessage());
-        }
-    }
-
     /**
      * Distribui tags permanentes usando ranking já calculado
      * CRÍTICO: Evita problema do reset de pontos antes da distribuição
@@ -472,6 +686,7 @@ public class TagManager {
             LogUtils.info("✅ Confirmado: Há clãs válidos para receber tags permanentes");
 
             int totalMembersTagged = 0;
+            List<PlayerTag> seasonTags = new ArrayList<>();
 
             for (int i = 0; i < Math.min(topClans.size(), positionsRewarded); i++) {
                 ClanPoints clanPoints = topClans.get(i);
@@ -510,7 +725,10 @@ public class TagManager {
                 for (UUID memberUuid : allMembers) {
                     if (memberUuid != null) {
                         LogUtils.info("   📝 Criando tag permanente para membro: " + memberUuid);
-                        giveSeasonTag(memberUuid, position, season.id, formattedTag, season.name);
+                        PlayerTag tag = createSeasonTag(memberUuid, position, season.id, formattedTag);
+                        if (tag != null) {
+                            seasonTags.add(tag);
+                        }
                         membersTagged++;
                     } else {
                         LogUtils.warning("   ❌ UUID nulo encontrado no clã " + clanTag + " - pulando membro");
@@ -521,6 +739,7 @@ public class TagManager {
                 totalMembersTagged += membersTagged;
             }
 
+            saveSeasonTags(seasonTags, season.id, season.name);
             LogUtils.info("🎉 DISTRIBUIÇÃO CONCLUÍDA - Total de jogadores que receberam tags: " + totalMembersTagged);
 
         } catch (Exception e) {
@@ -594,6 +813,7 @@ public class TagManager {
             LogUtils.info("📊 Top clãs encontrados: " + topClans.size() + " | Posições premiadas: " + positionsRewarded);
             LogUtils.info("✅ Confirmado: Há clãs válidos para receber tags permanentes");
             int tagsDistributed = 0;
+            List<PlayerTag> seasonTags = new ArrayList<>();
 
             for (int i = 0; i < Math.min(topClans.size(), positionsRewarded); i++) {
                 int position = i + 1;
@@ -640,28 +860,22 @@ public class TagManager {
                 for (UUID memberUuid : allMembers) {
                     if (memberUuid != null) {
                         LogUtils.info("   📝 Criando tag permanente para membro: " + memberUuid);
-                        giveSeasonTag(memberUuid, position, season.id, formattedTag, season.name);
+                        PlayerTag tag = createSeasonTag(memberUuid, position, season.id, formattedTag);
+                        if (tag != null) {
+                            seasonTags.add(tag);
+                        }
                         membersTagged++;
                     } else {
                         LogUtils.warning("   ❌ UUID nulo encontrado no clã " + clanTag + " - pulando membro");
                     }
                 }
 
-                int tagsVerified = 0;
-                for (UUID memberUuid : allMembers) {
-                    if (memberUuid != null) {
-                        Optional<PlayerTag> savedTag = plugin.getDatabaseManager().getAdapter().getActivePlayerTag(memberUuid, TagType.SEASON);
-                        if (savedTag.isPresent() && savedTag.get().getSeasonNumber() == season.id) {
-                            tagsVerified++;
-                        }
-                    }
-                }
-
                 LogUtils.info("✅ Tags de temporada distribuídas para o clã " + clanTag + " (posição " + position + ", " + membersTagged + " membros)");
-                LogUtils.info("📊 Membros processados: " + membersTagged + " | Tags verificadas no banco: " + tagsVerified);
                 tagsDistributed++;
             }
 
+            saveSeasonTags(seasonTags, season.id, season.name);
+
             if (tagsDistributed > 0) {
                 LogUtils.info("Distribuição de tags de temporada concluída - " + tagsDistributed + " clãs premiados");
             } else {
@@ -691,17 +905,7 @@ public class TagManager {
             return "";
         }
 
-        try {
-            Optional<PlayerTag> rankingTag = plugin.getDatabaseManager().getAdapter().getActivePlayerTag(playerUuid, TagType.RANKING);
-            if (rankingTag.isPresent()) {
-                return rankingTag.get().getFormattedTag();
-            }
-            return "";
-
-        } catch (Exception e) {
-            LogUtils.debug("Erro ao buscar tag de ranking: " + e.getMessage());
-            return "";
-        }
+        return getCachedTag(playerUuid, TagType.RANKING).map(PlayerTag::getFormattedTag).orElse("");
     }
 
     /**
@@ -709,31 +913,14 @@ public class TagManager {
      */
     public String getPlayerPermanentTag(UUID playerUuid) {
         if (!isSystemEnabled()) {
-            LogUtils.debug("Sistema de tags desabilitado para jogador " + playerUuid);
             return "";
         }
 
         if (!isTagsEnabledForPlayer(playerUuid)) {
-            LogUtils.debug("Tags desabilitadas individualmente para jogador " + playerUuid);
             return "";
         }
 
-        try {
-            LogUtils.debug("Buscando tag permanente para jogador " + playerUuid);
-            Optional<PlayerTag> seasonTag = plugin.getDatabaseManager().getAdapter().getActivePlayerTag(playerUuid, TagType.SEASON);
-            if (seasonTag.isPresent()) {
-                String tag = seasonTag.get().getFormattedTag();
-                LogUtils.debug("✓ Tag permanente encontrada para jogador " + playerUuid + ": " + tag);
-                return tag;
-            } else {
-                LogUtils.debug("Nenhuma tag permanente encontrada para jogador " + playerUuid);
-            }
-            return "";
-
-        } catch (Exception e) {
-            LogUtils.error("Erro ao buscar tag permanente para jogador " + playerUuid + ": " + e.getMessage());
-            return "";
-        }
+        return getCachedTag(playerUuid, TagType.SEASON).map(PlayerTag::getFormattedTag).orElse("");
     }
 
     /**
@@ -750,85 +937,83 @@ public class TagManager {
             return "";
         }
 
-        try {
-            Optional<PlayerTag> rankingTag = plugin.getDatabaseManager().getAdapter().getActivePlayerTag(playerUuid, TagType.RANKING);
-            if (rankingTag.isPresent()) {
-                return rankingTag.get().getFormattedTag();
-            }
+        Optional<PlayerTag> rankingTag = getCachedTag(playerUuid, TagType.RANKING);
+        if (rankingTag.isPresent()) {
+            return rankingTag.get().getFormattedTag();
+        }
 
-            Optional<PlayerTag> seasonTag = plugin.getDatabaseManager().getAdapter().getActivePlayerTag(playerUuid, TagType.SEASON);
-            if (seasonTag.isPresent()) {
-                return seasonTag.get().getFormattedTag();
-            }
+        return getCachedTag(playerUuid, TagType.SEASON).map(PlayerTag::getFormattedTag).orElse("");
+    }
 
-            return "";
+    /**
+     * Cria uma tag de temporada permanente para um jogador
+     */
+    private PlayerTag createSeasonTag(UUID playerUuid, int position, int seasonId, String formattedTag) {
+        LogUtils.debug("📝 Iniciando criação de tag permanente para jogador " + playerUuid);
+        LogUtils.debug("   📊 Dados: Posição=" + position + ", Temporada=" + seasonId + ", Tag=" + formattedTag);
 
-        } catch (Exception e) {
-            LogUtils.debug("Erro ao buscar tag ativa: " + e.getMessage());
-            return "";
+        PlayerTag tag = new PlayerTag(playerUuid, position, seasonId, formattedTag, "SEASON_" + seasonId + "_" + position);
+
+        if (!tag.isSeasonTag()) {
+            LogUtils.error("❌ ERRO CRÍTICO: Tag não foi criada como SEASON! Tipo: " + tag.getTagType());
+            return null;
         }
+        return tag;
     }
 
     /**
-     * Dá uma tag de temporada permanente para um jogador
+     * Grava as tags de temporada fora da thread principal e, ao concluir,
+     * atualiza o cache e notifica os jogadores online
      */
-    private void giveSeasonTag(UUID playerUuid, int position, int seasonId, String formattedTag, String seasonName) {
-        try {
-            LogUtils.debug("📝 Iniciando criação de tag permanente para jogador " + playerUuid);
-            LogUtils.debug("   📊 Dados: Posição=" + position + ", Temporada=" + seasonId + ", Tag=" + formattedTag);
-
-            PlayerTag tag = new PlayerTag(playerUuid, position, seasonId, formattedTag, "SEASON_" + seasonId + "_" + position);
-
-            if (!tag.isSeasonTag()) {
-                LogUtils.error("❌ ERRO CRÍTICO: Tag não foi criada como SEASON! Tipo: " + tag.getTagType());
-                return;
-            }
+    private void saveSeasonTags(List<PlayerTag> tags, int seasonId, String seasonName) {
+        if (tags.isEmpty()) {
+            return;
+        }
 
-            LogUtils.debug("✅ Tag criada corretamente - Tipo: " + tag.getTagType());
+        async().sync(async().supply(adapter -> {
+            List<PlayerTag> saved = new ArrayList<>();
+            for (PlayerTag tag : tags) {
+                if (!adapter.savePlayerTag(tag)) {
+                    LogUtils.error("❌ FALHA ao salvar tag permanente no banco para jogador " + tag.getPlayerUuid());
+                    continue;
+                }
 
-            boolean saved = plugin.getDatabaseManager().getAdapter().savePlayerTag(tag);
-            if (!saved) {
-                LogUtils.error("❌ FALHA ao salvar tag permanente no banco para jogador " + playerUuid);
-                return;
+                Optional<PlayerTag> savedTag = adapter.getActivePlayerTag(tag.getPlayerUuid(), TagType.SEASON);
+                if (savedTag.isPresent() && savedTag.get().getSeasonNumber() == seasonId) {
+                    saved.add(tag);
+                } else {
+                    LogUtils.error("❌ ERRO DE INTEGRIDADE: Tag não encontrada no banco após salvamento!");
+                    LogUtils.error("   📊 Esperado: Temporada " + seasonId + " | Encontrado: " +
+                            (savedTag.isPresent() ? "Temporada " + savedTag.get().getSeasonNumber() : "Nenhuma tag"));
+                }
             }
-
-            LogUtils.debug("✅ Tag salva no banco de dados com sucesso");
-
-            Optional<PlayerTag> savedTag = plugin.getDatabaseManager().getAdapter().getActivePlayerTag(playerUuid, TagType.SEASON);
-            if (savedTag.isPresent() && savedTag.get().getSeasonNumber() == seasonId) {
-                LogUtils.debug("✅ Verificação de integridade: Tag encontrada no banco - Temporada " + savedTag.get().getSeasonNumber());
-            } else {
-                LogUtils.error("❌ ERRO DE INTEGRIDADE: Tag não encontrada no banco após salvamento!");
-                LogUtils.error("   📊 Esperado: Temporada " + seasonId + " | Encontrado: " +
-                        (savedTag.isPresent() ? "Temporada " + savedTag.get().getSeasonNumber() : "Nenhuma tag"));
-                return;
+            return saved;
+        }), saved -> {
+            for (PlayerTag tag : saved) {
+                putCachedTag(tag, false);
+
+                Player player = Bukkit.getPlayer(tag.getPlayerUuid());
+                if (player != null) {
+                    String message = tagsConfig.getString("mensagens.tag_permanente_ganha", "&6Parabéns! Você ganhou a tag permanente: {tag}")
+                            .replace("{tag}", tag.getFormattedTag())
+                            .replace("{temporada}", seasonName);
+                    player.sendMessage(ChatColor.translateAlternateColorCodes('&', message));
+                    LogUtils.info("🎉 Jogador ONLINE notificado: " + player.getName() + " - Tag: " + tag.getFormattedTag());
+                }
             }
 
-            List<PlayerTag> playerTags = playerTagsCache.computeIfAbsent(playerUuid, k -> new ArrayList<>());
-            playerTags.add(tag);
-            LogUtils.debug("✅ Cache atualizado");
-
-            Player player = Bukkit.getPlayer(playerUuid);
-            if (player != null) {
-                String message = tagsConfig.getString("mensagens.tag_permanente_ganha", "&6Parabéns! Você ganhou a tag permanente: {tag}")
-                        .replace("{tag}", formattedTag)
-                        .replace("{temporada}", seasonName);
-                player.sendMessage(ChatColor.translateAlternateColorCodes('&', message));
-                LogUtils.info("🎉 Jogador ONLINE notificado: " + player.getName() + " - Tag: " + formattedTag);
-            } else {
-                LogUtils.debug("💾 Jogador OFFLINE - tag salva no banco para acesso futuro");
+            LogUtils.info("📊 Tags permanentes gravadas: " + saved.size() + "/" + tags.size());
+            if (!saved.isEmpty()) {
+                publishTagsChanged();
             }
-
-            LogUtils.debug("🏆 Tag permanente concedida com SUCESSO: " + formattedTag + " para jogador " + playerUuid);
-
-        } catch (Exception e) {
-            LogUtils.error("❌ ERRO CRÍTICO ao conceder tag de temporada para jogador " + playerUuid + ": " + e.getMessage());
-            e.printStackTrace();
-        }
+        });
     }
 
     /**
      * Obtém todas as tags de um jogador
+     *
+     * Jogadores online já carregados vêm do cache. Os demais (offline ou com o carregamento em andamento)
+     * são consultados no banco de dados na thread atual, sem entrar no cache, que guarda apenas jogadores online.
      */
     public List<PlayerTag> getPlayerTags(UUID playerUuid) {
         List<PlayerTag> cachedTags = playerTagsCache.get(playerUuid);
@@ -836,9 +1021,7 @@ public class TagManager {
             return new ArrayList<>(cachedTags);
         }
 
-        List<PlayerTag> tags = plugin.getDatabaseManager().getAdapter().getPlayerTags(playerUuid);
-        playerTagsCache.put(playerUuid, new ArrayList<>(tags));
-        return tags;
+        return new ArrayList<>(plugin.getDatabaseManager().getAdapter().getPlayerTags(playerUuid));
     }
 
     /**
@@ -913,7 +1096,8 @@ public class TagManager {
      * Ativa exibição de tags para um jogador específico
      */
     public void enableTagsForPlayer(UUID playerUuid) {
-        plugin.getDatabaseManager().getAdapter().savePlayerTagPreference(playerUuid, true);
+        tagPreferences.put(playerUuid, true);
+        async().savePlayerTagPreference(playerUuid, true);
         LogUtils.debug("Tags ativadas para jogador: " + playerUuid);
     }
 
@@ -921,7 +1105,8 @@ public class TagManager {
      * Desativa exibição de tags para um jogador específico
      */
     public void disableTagsForPlayer(UUID playerUuid) {
-        plugin.getDatabaseManager().getAdapter().savePlayerTagPreference(playerUuid, false);
+        tagPreferences.put(playerUuid, false);
+        async().savePlayerTagPreference(playerUuid, false);
         LogUtils.debug("Tags desativadas para jogador: " + playerUuid);
     }
 
@@ -929,7 +1114,7 @@ public class TagManager {
      * Verifica se um jogador tem as tags ativadas
      */
     public boolean isTagsEnabledForPlayer(UUID playerUuid) {
-        return plugin.getDatabaseManager().getAdapter().getPlayerTagPreference(playerUuid);
+        return tagPreferences.getOrDefault(playerUuid, true);
     }
 
     /**
@@ -943,7 +1128,9 @@ public class TagManager {
      * Limpa o cache de tags
      */
     public void clearCache() {
+        pendingLoads.clear();
         playerTagsCache.clear();
+        tagPreferences.clear();
     }
 
     /**
@@ -958,10 +1145,8 @@ public class TagManager {
      * Método de debug para verificar tags de temporada de um jogador
      */
     public void debugPlayerSeasonTags(UUID playerUuid) {
-        try {
+        async().sync(async().getPlayerTags(playerUuid), allPlayerTags -> {
             LogUtils.info("=== DEBUG TAGS DE TEMPORADA PARA JOGADOR " + playerUuid + " ===");
-
-            List<PlayerTag> allPlayerTags = plugin.getDatabaseManager().getAdapter().getPlayerTags(playerUuid);
             LogUtils.info("Tags encontradas no banco de dados: " + allPlayerTags.size());
 
             for (PlayerTag tag : allPlayerTags) {
@@ -988,10 +1173,6 @@ public class TagManager {
             LogUtils.info("  - hliga_tag (ativo): '" + activeTag + "'");
 
             LogUtils.info("=== FIM DEBUG ===");
-
-        } catch (Exception e) {
-            LogUtils.error("Erro durante debug de tags: " + e.getMessage());
-            e.printStackTrace();
-        }
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package hplugins.hliga.models;
+
+import lombok.Getter;
+
+/**
+ * Textura de skin assinada pela Mojang (propriedade "textures" do perfil)
+ */
+@Getter
+public class SkinTexture {
+
+    /**
+     * Valor da textura em base64
+     */
+    private final String value;
+
+    /**
+     * Assinatura do valor
+     */
+    private final String signature;
+
+    /**
+     * Momento em que a textura foi obtida (timestamp em milissegundos)
+     */
+    private final long fetchedAt;
+
+    public SkinTexture(String value, String signature, long fetchedAt) {
+        this.value = value;
+        this.signature = signature;
+        this.fetchedAt = fetchedAt;
+    }
+
+    /**
+     * Verifica se a textura foi obtida há mais tempo que o informado
+     *
+     * @param ttlMillis Validade em milissegundos
+     */
+    public boolean isExpired(long ttlMillis) {
+        return System.currentTimeMillis() - fetchedAt > ttlMillis;
+    }
+}
@@ -70,6 +70,7 @@ public class NotificationUtils {
         float pitch = (float) plugin.getConfigManager().getSonsConfig().getDouble("temporada.inicio.pitch", 0.5);
 
         LogUtils.debugHigh("Enviando notificação de início de temporada: " + season.name);
+        XSound xSound = sound != null && !sound.isEmpty() ? XSound.matchXSound(sound).orElse(null) : null;
 
         for (Player player : Bukkit.getOnlinePlayers()) {
             VersionUtils.sendTitle(player,
@@ -77,9 +78,8 @@ public class NotificationUtils {
                     ChatColor.translateAlternateColorCodes('&', subtitle),
                     10, 70, 20);
 
-            if (sound != null && !sound.isEmpty()) {
-                XSound.matchXSound(sound).ifPresent(xSound ->
-                        xSound.play(player, volume, pitch));
+            if (xSound != null) {
+                xSound.play(player, volume, pitch);
             }
         }
 
@@ -104,7 +104,7 @@ public class NotificationUtils {
      * @param topClans Número de clãs a serem anunciados
      */
     public static void announceSeasonEnd(Main plugin, Season season, int topClans) {
-        List<ClanPoints> currentTopClans = plugin.getDatabaseManager().getAdapter().getTopClans(10);
+        List<ClanPoints> currentTopClans = plugin.getPointsManager().getRankingIndex().getTop(10);
 
         List<ClanPoints> validParticipants = new ArrayList<>();
         for (ClanPoints clanPoints : currentTopClans) {
@@ -124,7 +124,6 @@ public class NotificationUtils {
             season.winnerClan = winner.clanTag;
             season.winnerPoints = winner.points;
             season.topClans = new ArrayList<>(validParticipants);
-            plugin.getDatabaseManager().getAdapter().saveSeason(season);
         } else {
             winnerName = plugin.getConfigManager().getMessages().getMessage("temporada.sem_vencedor");
             season.winnerClan = null;
@@ -143,6 +142,7 @@ public class NotificationUtils {
         float pitch = (float) plugin.getConfigManager().getSonsConfig().getDouble("temporada.fim.pitch", 1.0);
 
         LogUtils.debugHigh("Enviando notificação de fim de temporada: " + season.name + " - Vencedor: " + winnerName);
+        XSound xSound = sound != null && !sound.isEmpty() ? XSound.matchXSound(sound).orElse(null) : null;
 
         for (Player player : Bukkit.getOnlinePlayers()) {
             VersionUtils.sendTitle(player,
@@ -165,9 +165,8 @@ public class NotificationUtils {
                 }
             }
 
-            if (sound != null && !sound.isEmpty()) {
-                XSound.matchXSound(sound).ifPresent(xSound ->
-                        xSound.play(player, volume, pitch));
+            if (xSound != null) {
+                xSound.play(player, volume, pitch);
             }
         }
 
@@ -10,7 +10,8 @@ import com.cryptomorin.xseries.XSound;
 import com.cryptomorin.xseries.messages.ActionBar;
 import com.cryptomorin.xseries.messages.Titles;
 
-import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utilitário para detecção e compatibilidade de versões
@@ -40,9 +41,26 @@ public class VersionUtils {
      */
     @Getter
     private static int javaMajorVersion;
+
+    /**
+     * Forma de envio de títulos e action bar escolhida na inicialização
+     */
+    private enum MessagePath {
+        NATIVE,
+        XSERIES,
+        CHAT
+    }
+
+    private static final XSound DEFAULT_SOUND = XSound.ENTITY_EXPERIENCE_ORB_PICKUP;
+    /** Nome configurado → som resolvido */
+    private static final Map<String, XSound> SOUNDS = new ConcurrentHashMap<>();
+
+    private static volatile MessagePath titlePath = MessagePath.XSERIES;
+    private static volatile MessagePath actionBarPath = MessagePath.XSERIES;
     
     static {
         detectVersions();
+        resolveMessagePaths();
     }
     
     /**
@@ -160,29 +178,26 @@ public class VersionUtils {
     }
     
     /**
-     * Envia título ao jogador priorizando XSeries com fallbacks robustos
+     * Envia título ao jogador pelo caminho resolvido na inicialização
      */
     public static void sendTitle(Player player, String title, String subtitle, int fadeIn, int stay, int fadeOut) {
-        
-        try {
-            Titles.sendTitle(player, fadeIn, stay, fadeOut, title, subtitle);
-            return;
-        } catch (Exception e) {
-            LogUtils.debug("XSeries títulos falhou: " + e.getMessage());
-        }
-        
-        
-        try {
-            if (isVersionAtLeast(1, 11)) {
+        switch (titlePath) {
+            case NATIVE:
                 player.sendTitle(title, subtitle, fadeIn, stay, fadeOut);
                 return;
-            }
-        } catch (Exception | NoSuchMethodError e) {
-            LogUtils.debug("API nativa títulos falhou: " + e.getMessage());
+            case XSERIES:
+                try {
+                    Titles.sendTitle(player, fadeIn, stay, fadeOut, title, subtitle);
+                    return;
+                } catch (Exception | LinkageError e) {
+                    titlePath = MessagePath.CHAT;
+                    LogUtils.debug("XSeries títulos falhou, usando o chat daqui em diante: " + e.getMessage());
+                }
+                break;
+            default:
+                break;
         }
-        
-        
-        LogUtils.debug("Usando fallback para chat devido a incompatibilidades");
+
         if (title != null && !title.isEmpty()) {
             player.sendMessage("§6§l" + title);
         }
@@ -192,63 +207,83 @@ public class VersionUtils {
     }
     
     /**
-     * Envia action bar ao jogador priorizando XSeries com fallbacks robustos
+     * Envia action bar ao jogador pelo caminho resolvido na inicialização
      */
     public static void sendActionBar(Player player, String message) {
-        
-        try {
-            ActionBar.sendActionBar(player, message);
-            return;
-        } catch (Exception e) {
-            LogUtils.debug("XSeries action bar falhou: " + e.getMessage());
-        }
-        
-        
-        try {
-            if (isVersionAtLeast(1, 9)) {
-                player.spigot().sendMessage(net.md_5.bungee.api.ChatMessageType.ACTION_BAR, 
-                    net.md_5.bungee.api.chat.TextComponent.fromLegacyText(message));
+        switch (actionBarPath) {
+            case NATIVE:
+                player.spigot().sendMessage(net.md_5.bungee.api.ChatMessageType.ACTION_BAR,
+                        net.md_5.bungee.api.chat.TextComponent.fromLegacyText(message));
                 return;
-            }
-        } catch (Exception | NoSuchMethodError e) {
-            LogUtils.debug("API nativa action bar falhou: " + e.getMessage());
+            case XSERIES:
+                try {
+                    ActionBar.sendActionBar(player, message);
+                    return;
+                } catch (Exception | LinkageError e) {
+                    actionBarPath = MessagePath.CHAT;
+                    LogUtils.debug("XSeries action bar falhou, usando o chat daqui em diante: " + e.getMessage());
+                }
+                break;
+            default:
+                break;
         }
-        
-        
-        LogUtils.debug("Usando fallback para chat devido a incompatibilidades de action bar");
+
         player.sendMessage("§6[Info] §e" + message);
     }
     
     /**
      * Toca som para jogador usando XSeries
+     * O nome é resolvido uma vez; nomes desconhecidos usam o som padrão.
      */
     public static void playSound(Player player, String soundName, float volume, float pitch) {
         try {
-            XSound xSound = XSound.matchXSound(soundName).orElse(XSound.ENTITY_EXPERIENCE_ORB_PICKUP);
-            xSound.play(player, volume, pitch);
+            getSound(soundName).play(player, volume, pitch);
         } catch (Exception e) {
             LogUtils.debug("Erro ao tocar som " + soundName + ": " + e.getMessage());
         }
     }
+
+    /**
+     * Obtém o som correspondente ao nome, com cache
+     *
+     * @param soundName Nome do som (qualquer versão)
+     * @return Som encontrado ou {@link XSound#ENTITY_EXPERIENCE_ORB_PICKUP}
+     */
+    public static XSound getSound(String soundName) {
+        if (soundName == null || soundName.isEmpty()) {
+            return DEFAULT_SOUND;
+        }
+        return SOUNDS.computeIfAbsent(soundName, name -> XSound.matchXSound(name).orElseGet(() -> {
+            LogUtils.debug("Som desconhecido: " + name + " - usando " + DEFAULT_SOUND.name());
+            return DEFAULT_SOUND;
+        }));
+    }
     
     /**
-     * Envia mensagem usando API moderna (Adventure)
+     * Resolve uma única vez os caminhos de envio de títulos e action bar
      */
-    private static void sendModernMessage(Player player, String message) {
+    private static void resolveMessagePaths() {
+        titlePath = hasMethod(Player.class, "sendTitle", String.class, String.class, int.class, int.class, int.class)
+                ? MessagePath.NATIVE : MessagePath.XSERIES;
+
+        actionBarPath = MessagePath.XSERIES;
         try {
-            
-            Class<?> componentClass = Class.forName("net.kyori.adventure.text.Component");
-            Class<?> miniMessageClass = Class.forName("net.kyori.adventure.text.minimessage.MiniMessage");
-            
-            Object miniMessage = miniMessageClass.getMethod("miniMessage").invoke(null);
-            Object component = miniMessageClass.getMethod("deserialize", String.class).invoke(miniMessage, message);
-            
-            Method sendMessageMethod = player.getClass().getMethod("sendMessage", componentClass);
-            sendMessageMethod.invoke(player, component);
-            
-        } catch (Exception e) {
-            
-            player.sendMessage(message);
+            Class<?> chatMessageType = Class.forName("net.md_5.bungee.api.ChatMessageType");
+            Class<?> components = Class.forName("[Lnet.md_5.bungee.api.chat.BaseComponent;");
+            if (hasMethod(Player.Spigot.class, "sendMessage", chatMessageType, components)) {
+                actionBarPath = MessagePath.NATIVE;
+            }
+        } catch (ClassNotFoundException | LinkageError ignored) {
+            // Versões sem ChatMessageType usam o XSeries
+        }
+    }
+
+    private static boolean hasMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            type.getMethod(name, parameterTypes);
+            return true;
+        } catch (NoSuchMethodException | LinkageError e) {
+            return false;
         }
     }
     
@@ -406,6 +441,8 @@ public class VersionUtils {
                 "&8[&2hLiga&8] &a✓ Compatibilidade confirmada")
             );
         }
+
+        LogUtils.debug("Caminhos de mensagem: títulos=" + titlePath + ", action bar=" + actionBarPath);
     }
     
     /**
@@ -0,0 +1,55 @@
+package hplugins.hliga;
+
+import hplugins.hliga.utils.LogUtils;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.logging.Logger;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Ambiente comum dos testes e benchmarks, sem um servidor Bukkit
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    /**
+     * Cria um {@link Main} simulado, ativo e com logs de debug desligados, e inicializa o {@link LogUtils}
+     * Cada teste acrescenta os stubs de que precisa (gerenciadores, pasta de dados, configurações).
+     *
+     * @return Plugin simulado
+     */
+    public static Main mockPlugin() {
+        return mockPlugin(new YamlConfiguration());
+    }
+
+    /**
+     * @param config Configuração devolvida por {@link Main#getConfig()}
+     * @return Plugin simulado
+     */
+    public static Main mockPlugin(YamlConfiguration config) {
+        config.set("sistema.debug", false);
+        config.set("sistema.log_level", 0);
+
+        Main plugin = mock(Main.class);
+        when(plugin.getConfig()).thenReturn(config);
+        when(plugin.getLogger()).thenReturn(Logger.getLogger("hLiga-Test"));
+        when(plugin.isEnabled()).thenReturn(true);
+        LogUtils.init(plugin);
+        return plugin;
+    }
+
+    /**
+     * Obtém uma porta TCP livre para servidores locais (Redis embutido, stubs HTTP)
+     */
+    public static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
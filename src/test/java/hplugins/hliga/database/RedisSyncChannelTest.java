@@ -0,0 +1,117 @@
+package hplugins.hliga.database;
+
+import hplugins.hliga.Main;
+import hplugins.hliga.TestFixtures;
+import hplugins.hliga.managers.PointsManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Dois servidores ligados ao mesmo Redis embutido trocando eventos de pontos
+ */
+class RedisSyncChannelTest {
+
+    private static final String CHANNEL = "hliga:sync:test";
+    private static final long WAIT_MILLIS = 5000L;
+
+    private RedisServer redisServer;
+    private JedisPool pool;
+    private PointsManager sourcePoints;
+    private PointsManager targetPoints;
+    private RedisSyncChannel source;
+    private RedisSyncChannel target;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        int port = TestFixtures.freePort();
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        pool = new JedisPool("localhost", port);
+
+        sourcePoints = mock(PointsManager.class);
+        targetPoints = mock(PointsManager.class);
+        source = new RedisSyncChannel(mockPlugin(sourcePoints), pool, CHANNEL, Runnable::run);
+        target = new RedisSyncChannel(mockPlugin(targetPoints), pool, CHANNEL, Runnable::run);
+        source.start();
+        target.start();
+        awaitSubscribers(2);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        source.shutdown();
+        target.shutdown();
+        pool.close();
+        redisServer.stop();
+    }
+
+    @Test
+    void journalDeltaIsAddedNotSetAsTotal() {
+        source.publishDelta("ABC", 5);
+
+        verify(targetPoints, timeout(WAIT_MILLIS)).applyRemoteDelta("ABC", 5);
+        verify(targetPoints, never()).applyRemoteTotal(anyString(), anyInt());
+    }
+
+    @Test
+    void databaseTotalIsAppliedAsTotal() {
+        source.publishPoints("ABC", 3, 40);
+
+        verify(targetPoints, timeout(WAIT_MILLIS)).applyRemoteTotal("ABC", 40);
+        verify(targetPoints, never()).applyRemoteDelta(anyString(), anyInt());
+    }
+
+    @Test
+    void clanTagMayContainSeparator() {
+        source.publishDelta("A;B", -2);
+        source.publishPoints("C;D", 0, 7);
+
+        verify(targetPoints, timeout(WAIT_MILLIS)).applyRemoteDelta("A;B", -2);
+        verify(targetPoints, timeout(WAIT_MILLIS)).applyRemoteTotal("C;D", 7);
+    }
+
+    @Test
+    void ownEventsAreIgnored() {
+        source.publishDelta("ABC", 5);
+
+        verify(targetPoints, timeout(WAIT_MILLIS)).applyRemoteDelta("ABC", 5);
+        verify(sourcePoints, after(500).never()).applyRemoteDelta(anyString(), anyInt());
+    }
+
+    private static Main mockPlugin(PointsManager pointsManager) {
+        Main plugin = TestFixtures.mockPlugin();
+        when(plugin.getPointsManager()).thenReturn(pointsManager);
+        when(plugin.getDatabaseManager()).thenReturn(mock(DatabaseManager.class));
+        return plugin;
+    }
+
+    private void awaitSubscribers(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            try (Jedis jedis = pool.getResource()) {
+                Long count = jedis.pubsubNumSub(CHANNEL).get(CHANNEL);
+                if (count != null && count >= expected) {
+                    return;
+                }
+            }
+            Thread.sleep(20);
+        }
+        fail("Servidores não se inscreveram no canal a tempo");
+    }
+}
@@ -0,0 +1,243 @@
+package hplugins.hliga.hooks;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import hplugins.hliga.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Fila de entrega do Discord contra um servidor HTTP local que imita o webhook
+ */
+class DiscordDeliveryQueueTest {
+
+    private static final long WAIT_MILLIS = 5000L;
+
+    @TempDir
+    File dataFolder;
+
+    private HttpServer server;
+    private String url;
+    /** Respostas programadas: código;cabeçalho=valor (204 quando vazia) */
+    private final Queue<String> responses = new ConcurrentLinkedQueue<>();
+    private final List<JsonObject> requests = new CopyOnWriteArrayList<>();
+    private final List<Long> requestTimes = new CopyOnWriteArrayList<>();
+    private DiscordDeliveryQueue queue;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // A fila não usa o plugin, apenas o LogUtils
+        TestFixtures.mockPlugin();
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/webhook", this::handle);
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/webhook";
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null) {
+            queue.stop();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void batchesUpToTenEmbedsPerRequest() {
+        queue = newQueue(0L);
+        for (int i = 0; i < 12; i++) {
+            queue.enqueue(delivery("staff", i));
+        }
+        queue.start();
+
+        await(() -> requests.size() == 2);
+        assertEquals(10, requests.get(0).getAsJsonArray("embeds").size());
+        assertEquals(2, requests.get(1).getAsJsonArray("embeds").size());
+        assertEquals("hLiga", requests.get(0).get("username").getAsString());
+    }
+
+    @Test
+    void waitsForRetryAfterOnRateLimit() {
+        responses.add("429;Retry-After=0.3");
+        queue = newQueue(0L);
+        queue.start();
+        queue.enqueue(delivery("staff", 1));
+
+        await(() -> requests.size() == 2);
+        assertTrue(requestTimes.get(1) - requestTimes.get(0) >= 300L, "Reenvio antes do Retry-After");
+        assertEquals(requests.get(0), requests.get(1));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void dropsRequestsRejectedByTheWebhook() throws InterruptedException {
+        responses.add("400");
+        queue = newQueue(0L);
+        queue.start();
+        queue.enqueue(delivery("staff", 1));
+
+        await(() -> requests.size() == 1);
+        TimeUnit.MILLISECONDS.sleep(300L);
+        assertEquals(1, requests.size());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void coalescesChangesWithTheSameKey() {
+        queue = newQueue(200L);
+        queue.start();
+        queue.enqueueCoalesced("ABC", new Counter(1));
+        queue.enqueueCoalesced("ABC", new Counter(2));
+        queue.enqueueCoalesced("XYZ", new Counter(5));
+
+        await(() -> requests.size() >= 1 && embedCount() == 2);
+        assertEquals(2, embedCount());
+        assertTrue(requests.stream().flatMap(DiscordDeliveryQueueTest::stream).anyMatch(
+                embed -> "3".equals(embed.get("description").getAsString())));
+    }
+
+    @Test
+    void savesUndeliveredMessagesAndSendsThemOnNextStart() {
+        for (int i = 0; i < 5; i++) {
+            responses.add("503");
+        }
+        queue = newQueue(0L);
+        queue.start();
+        queue.enqueue(delivery("staff", 1));
+        await(() -> requests.size() == 1);
+        queue.stop();
+
+        File saved = new File(dataFolder, "discord_fila.json");
+        assertTrue(saved.exists());
+
+        responses.clear();
+        requests.clear();
+        queue = newQueue(0L);
+        queue.start();
+
+        await(() -> requests.size() == 1);
+        assertEquals("1", stream(requests.get(0)).findFirst().get().get("description").getAsString());
+        assertFalse(saved.exists());
+    }
+
+    private DiscordDeliveryQueue newQueue(long coalesceMillis) {
+        return new DiscordDeliveryQueue(new File(dataFolder, "discord_fila.json"),
+                target -> "staff".equals(target) ? url : null, "hLiga", "", coalesceMillis);
+    }
+
+    private static DiscordDeliveryQueue.Delivery delivery(String target, int value) {
+        JsonObject embed = new JsonObject();
+        embed.addProperty("description", Integer.toString(value));
+        return new DiscordDeliveryQueue.Delivery(target, null, embed);
+    }
+
+    private int embedCount() {
+        return requests.stream().mapToInt(request -> request.getAsJsonArray("embeds").size()).sum();
+    }
+
+    private static Stream<JsonObject> stream(JsonObject request) {
+        return StreamSupport.stream(request.getAsJsonArray("embeds").spliterator(), false)
+                .map(JsonElement::getAsJsonObject);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestTimes.add(System.currentTimeMillis());
+        requests.add(new JsonParser().parse(read(exchange.getRequestBody())).getAsJsonObject());
+
+        String response = responses.poll();
+        int status = 204;
+        if (response != null) {
+            String[] parts = response.split(";");
+            status = Integer.parseInt(parts[0]);
+            for (int i = 1; i < parts.length; i++) {
+                String[] header = parts[i].split("=", 2);
+                exchange.getResponseHeaders().add(header[0], header[1]);
+            }
+        }
+
+        if (status == 204) {
+            exchange.sendResponseHeaders(status, -1);
+        } else {
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        }
+        exchange.close();
+    }
+
+    private static String read(InputStream input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+        }
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return;
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(20L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        fail("Condição não atendida a tempo");
+    }
+
+    /**
+     * Alteração agrupável que soma valores
+     */
+    private static final class Counter implements DiscordDeliveryQueue.Coalescible {
+        private final int value;
+
+        private Counter(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public DiscordDeliveryQueue.Coalescible merge(DiscordDeliveryQueue.Coalescible newer) {
+            return new Counter(value + ((Counter) newer).value);
+        }
+
+        @Override
+        public DiscordDeliveryQueue.Delivery toDelivery() {
+            return delivery("staff", value);
+        }
+    }
+}
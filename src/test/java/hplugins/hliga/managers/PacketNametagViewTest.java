@@ -0,0 +1,115 @@
+package hplugins.hliga.managers;
+
+import hplugins.hliga.hooks.NametagPackets;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Times enviados por pacotes conforme os jogadores entram, saem e se movem
+ */
+class PacketNametagViewTest {
+
+    private static final String PREFIX = "[TOP] ";
+
+    private final List<Player> online = new ArrayList<>();
+    private final World world = mock(World.class);
+    private NametagPackets packets;
+    private PacketNametagView view;
+    private MockedStatic<Bukkit> bukkit;
+
+    @BeforeEach
+    void setUp() {
+        when(world.getUID()).thenReturn(UUID.randomUUID());
+        bukkit = mockStatic(Bukkit.class);
+        bukkit.when(Bukkit::getOnlinePlayers).thenAnswer(invocation -> online);
+
+        packets = mock(NametagPackets.class);
+        view = new PacketNametagView(packets, 48);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bukkit.close();
+    }
+
+    @Test
+    void joinerNextToStationaryTaggedPlayerReceivesItsTeam() {
+        Player tagged = join("Tagged", 0, PREFIX);
+        view.syncAll();
+
+        Player joiner = join("Joiner", 1, null);
+        view.syncAll();
+
+        verify(packets).createTeam(eq(joiner), anyString(), eq(PREFIX), eq(Collections.singletonList("Tagged")));
+        verify(packets, never()).createTeam(eq(tagged), anyString(), any(), any());
+    }
+
+    @Test
+    void rejoiningInTheSameChunkReceivesTheTeamAgain() {
+        join("Tagged", 0, PREFIX);
+        view.syncAll();
+
+        Player joiner = join("Joiner", 1, null);
+        view.syncAll();
+        quit(joiner);
+        view.syncAll();
+
+        online.add(joiner);
+        view.sync(Collections.singletonList(joiner));
+        view.syncAll();
+
+        verify(packets, times(2)).createTeam(eq(joiner), anyString(), eq(PREFIX), eq(Collections.singletonList("Tagged")));
+    }
+
+    @Test
+    void playerOutOfRangeDoesNotReceiveTheTeam() {
+        join("Tagged", 0, PREFIX);
+        view.syncAll();
+
+        Player far = join("Far", 16 * 10, null);
+        view.syncAll();
+
+        verify(packets, never()).createTeam(eq(far), anyString(), any(), any());
+    }
+
+    /**
+     * Entrada como feita pelo {@link NametagManager}: define o prefixo e sincroniza o jogador como alvo
+     */
+    private Player join(String name, double x, String prefix) {
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(player.getName()).thenReturn(name);
+        when(player.getLocation()).thenAnswer(invocation -> new Location(world, x, 64, 0));
+
+        online.add(player);
+        view.setPrefix(player.getUniqueId(), prefix);
+        view.sync(Collections.singletonList(player));
+        return player;
+    }
+
+    private void quit(Player player) {
+        view.remove(player);
+        online.remove(player);
+    }
+}